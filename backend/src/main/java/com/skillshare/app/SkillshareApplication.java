@@ -4,10 +4,12 @@ import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.context.annotation.ComponentScan;
 import org.springframework.data.mongodb.repository.config.EnableMongoRepositories;
+import org.springframework.data.mongodb.repository.config.EnableReactiveMongoRepositories;
 
 @SpringBootApplication
 @ComponentScan(basePackages = "com.skillshare")
 @EnableMongoRepositories(basePackages = "com.skillshare.repository")
+@EnableReactiveMongoRepositories(basePackages = "com.skillshare.repository.reactive")
 public class SkillshareApplication {
 
     public static void main(String[] args) {
@@ -0,0 +1,134 @@
+package com.skillshare.config;
+
+import com.skillshare.model.ActivityBucket;
+import com.skillshare.model.DeletionJob;
+import com.skillshare.model.EngagementDaily;
+import com.skillshare.model.FollowEdge;
+import com.skillshare.model.LearningPath;
+import com.skillshare.model.LearningProgress;
+import com.skillshare.model.LikeEdge;
+import com.skillshare.model.MediaObject;
+import com.skillshare.model.NotificationBucket;
+import com.skillshare.model.Post;
+import com.skillshare.model.User;
+import org.bson.Document;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.index.CompoundIndexDefinition;
+import org.springframework.data.mongodb.core.index.Index;
+import org.springframework.data.mongodb.core.index.IndexOperations;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Component;
+
+/**
+ * Ensures the indexes the query paths depend on. This runs in the background
+ * once the application is up, so a slow or unreachable database never blocks
+ * startup (annotation-driven index creation would).
+ */
+@Component
+public class MongoIndexConfig {
+
+    private static final Logger log = LoggerFactory.getLogger(MongoIndexConfig.class);
+
+    private final MongoTemplate mongoTemplate;
+
+    public MongoIndexConfig(MongoTemplate mongoTemplate) {
+        this.mongoTemplate = mongoTemplate;
+    }
+
+    @Async
+    @EventListener(ApplicationReadyEvent.class)
+    public void ensureIndexes() {
+        try {
+            IndexOperations follows = mongoTemplate.indexOps(FollowEdge.class);
+            follows.ensureIndex(new Index().on("followerId", Sort.Direction.ASC)
+                    .on("followeeId", Sort.Direction.ASC).unique().named("follower_followee"));
+            follows.ensureIndex(new CompoundIndexDefinition(new Document("followeeId", 1).append("_id", -1))
+                    .named("followee_id"));
+            follows.ensureIndex(new CompoundIndexDefinition(new Document("followerId", 1).append("_id", -1))
+                    .named("follower_id"));
+
+            IndexOperations progress = mongoTemplate.indexOps(LearningProgress.class);
+            progress.ensureIndex(new Index().on("userId", Sort.Direction.ASC)
+                    .on("lastUpdatedAt", Sort.Direction.DESC).named("user_last_updated"));
+            progress.ensureIndex(new Index().on("learningPathId", Sort.Direction.ASC).named("learning_path"));
+
+            // Per-user grouping in profile stats reconciliation
+            IndexOperations paths = mongoTemplate.indexOps(LearningPath.class);
+            paths.ensureIndex(new Index().on("userId", Sort.Direction.ASC).named("user"));
+            // Newest public paths on the home page
+            paths.ensureIndex(new Index().on("isPublic", Sort.Direction.ASC)
+                    .on("createdAt", Sort.Direction.DESC).named("public_created"));
+
+            // Cascade deletion looks up a user's posts and comments
+            IndexOperations posts = mongoTemplate.indexOps(Post.class);
+            posts.ensureIndex(new Index().on("userId", Sort.Direction.ASC).named("user"));
+            posts.ensureIndex(new Index().on("comments.userId", Sort.Direction.ASC).named("comment_user"));
+            // Recent and popular sections of the home page
+            posts.ensureIndex(new Index().on("createdAt", Sort.Direction.DESC).named("created"));
+            posts.ensureIndex(new Index().on("likes", Sort.Direction.DESC).named("likes"));
+
+            // Archive tiers answer per-user reads and cascade deletion only
+            IndexOperations archivedPosts = mongoTemplate.indexOps(Post.ARCHIVE_COLLECTION);
+            archivedPosts.ensureIndex(new Index().on("userId", Sort.Direction.ASC).named("user"));
+            archivedPosts.ensureIndex(new Index().on("comments.userId", Sort.Direction.ASC).named("comment_user"));
+            IndexOperations archivedProgress = mongoTemplate.indexOps(LearningProgress.ARCHIVE_COLLECTION);
+            archivedProgress.ensureIndex(new Index().on("userId", Sort.Direction.ASC)
+                    .on("learningPathId", Sort.Direction.ASC).named("user_path"));
+            archivedProgress.ensureIndex(new Index().on("learningPathId", Sort.Direction.ASC).named("learning_path"));
+
+            // Newest inbox bucket first
+            mongoTemplate.indexOps(NotificationBucket.class).ensureIndex(new Index()
+                    .on("userId", Sort.Direction.ASC).on("firstId", Sort.Direction.DESC).named("user_first"));
+
+            // Newest activity bucket first; the window lookup serves the append upsert
+            IndexOperations activity = mongoTemplate.indexOps(ActivityBucket.class);
+            activity.ensureIndex(new Index()
+                    .on("userId", Sort.Direction.ASC).on("firstId", Sort.Direction.DESC).named("user_first"));
+            activity.ensureIndex(new Index()
+                    .on("userId", Sort.Direction.ASC).on("windowStart", Sort.Direction.DESC).named("user_window"));
+
+            // Range reads go by _id; this one serves cleanup when an entity is deleted
+            mongoTemplate.indexOps(EngagementDaily.class).ensureIndex(new Index()
+                    .on("entityId", Sort.Direction.ASC).named("entity"));
+
+            // Likers of one entity are an _id range; these serve cleanup by user and by post
+            IndexOperations likes = mongoTemplate.indexOps(LikeEdge.class);
+            likes.ensureIndex(new Index().on("userId", Sort.Direction.ASC).named("user"));
+            likes.ensureIndex(new Index().on("parentId", Sort.Direction.ASC).sparse().named("parent"));
+
+            mongoTemplate.indexOps(DeletionJob.class).ensureIndex(new Index()
+                    .on("status", Sort.Direction.ASC).on("leaseUntil", Sort.Direction.ASC).named("status_lease"));
+
+            mongoTemplate.indexOps(MediaObject.class).ensureIndex(new Index()
+                    .on("variantStatus", Sort.Direction.ASC).on("variantLeaseUntil", Sort.Direction.ASC)
+                    .sparse().named("variant_queue"));
+
+            IndexOperations users = mongoTemplate.indexOps(User.class);
+            ensureUniqueOrPlain(users, "username");
+            ensureUniqueOrPlain(users, "email");
+
+            log.info("MongoDB indexes verified");
+        } catch (Exception e) {
+            log.warn("Could not ensure MongoDB indexes: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Unique indexes back the in-memory availability checks against races.
+     * Existing duplicates make the unique build fail; fall back to a plain
+     * index so lookups stay fast until the data is cleaned up.
+     */
+    private void ensureUniqueOrPlain(IndexOperations ops, String field) {
+        try {
+            ops.ensureIndex(new Index().on(field, Sort.Direction.ASC).unique().sparse().named(field + "_unique"));
+        } catch (Exception e) {
+            log.warn("Could not create unique index on users.{}, using a non-unique one: {}", field, e.getMessage());
+            ops.ensureIndex(new Index().on(field, Sort.Direction.ASC).named(field + "_lookup"));
+        }
+    }
+}
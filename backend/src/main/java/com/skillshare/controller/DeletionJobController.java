@@ -0,0 +1,26 @@
+package com.skillshare.controller;
+
+import com.skillshare.model.DeletionJob;
+import com.skillshare.service.CascadeDeletionService;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/api/deletion-jobs")
+@CrossOrigin(origins = "*")
+public class DeletionJobController {
+
+    private final CascadeDeletionService cascadeDeletionService;
+
+    public DeletionJobController(CascadeDeletionService cascadeDeletionService) {
+        this.cascadeDeletionService = cascadeDeletionService;
+    }
+
+    @GetMapping("/{id}")
+    public ResponseEntity<DeletionJob> getJob(@PathVariable String id) {
+        return cascadeDeletionService.getJob(id)
+                .map(job -> new ResponseEntity<>(job, HttpStatus.OK))
+                .orElse(new ResponseEntity<>(HttpStatus.NOT_FOUND));
+    }
+}
@@ -0,0 +1,73 @@
+package com.skillshare.controller;
+
+import com.skillshare.model.EngagementDaily;
+import com.skillshare.service.EngagementService;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Daily or weekly engagement series for a post, a path, or everything a
+ * user owns, e.g. {@code /api/posts/{id}/engagement?from=2025-01-01&interval=week}.
+ * Defaults to the last 30 days by day.
+ */
+@RestController
+@RequestMapping("/api")
+@CrossOrigin(origins = "*")
+public class EngagementController {
+
+    private static final int DEFAULT_DAYS = 30;
+
+    private final EngagementService engagementService;
+
+    public EngagementController(EngagementService engagementService) {
+        this.engagementService = engagementService;
+    }
+
+    @GetMapping("/posts/{id}/engagement")
+    public ResponseEntity<List<EngagementDaily>> getPostEngagement(@PathVariable String id,
+                                                                   @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+                                                                   @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+                                                                   @RequestParam(defaultValue = "day") String interval) {
+        return series(EngagementDaily.POST, id, from, to, interval);
+    }
+
+    @GetMapping("/paths/{id}/engagement")
+    public ResponseEntity<List<EngagementDaily>> getPathEngagement(@PathVariable String id,
+                                                                   @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+                                                                   @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+                                                                   @RequestParam(defaultValue = "day") String interval) {
+        return series(EngagementDaily.PATH, id, from, to, interval);
+    }
+
+    @GetMapping("/users/{id}/engagement")
+    public ResponseEntity<List<EngagementDaily>> getUserEngagement(@PathVariable String id,
+                                                                   @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+                                                                   @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+                                                                   @RequestParam(defaultValue = "day") String interval) {
+        return series(EngagementDaily.USER, id, from, to, interval);
+    }
+
+    private ResponseEntity<List<EngagementDaily>> series(String entityType, String id, LocalDate from, LocalDate to, String interval) {
+        boolean weekly;
+        if ("week".equalsIgnoreCase(interval)) {
+            weekly = true;
+        } else if ("day".equalsIgnoreCase(interval)) {
+            weekly = false;
+        } else {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "interval must be day or week");
+        }
+        LocalDate end = to != null ? to : LocalDate.now();
+        LocalDate start = from != null ? from : end.minusDays(DEFAULT_DAYS - 1);
+        try {
+            return new ResponseEntity<>(engagementService.getEngagement(entityType, id, start, end, weekly), HttpStatus.OK);
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage());
+        }
+    }
+}
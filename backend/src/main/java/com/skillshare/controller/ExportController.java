@@ -0,0 +1,76 @@
+package com.skillshare.controller;
+
+import com.skillshare.service.ExportService;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.zip.GZIPOutputStream;
+
+@RestController
+@RequestMapping("/api/export")
+@CrossOrigin(origins = "*")
+public class ExportController {
+
+    private static final int MAX_BATCH_SIZE = 1000;
+
+    private final ExportService exportService;
+
+    public ExportController(ExportService exportService) {
+        this.exportService = exportService;
+    }
+
+    @GetMapping("/users")
+    public ResponseEntity<StreamingResponseBody> exportUsers(@RequestParam(required = false) String since,
+                                                             @RequestParam(defaultValue = "500") int batchSize,
+                                                             @RequestParam(defaultValue = "false") boolean gzip) {
+        return stream(gzip, out -> exportService.exportUsers(since, clamp(batchSize), out));
+    }
+
+    @GetMapping("/paths")
+    public ResponseEntity<StreamingResponseBody> exportPaths(@RequestParam(required = false) String since,
+                                                             @RequestParam(defaultValue = "500") int batchSize,
+                                                             @RequestParam(defaultValue = "false") boolean gzip) {
+        return stream(gzip, out -> exportService.exportPaths(since, clamp(batchSize), out));
+    }
+
+    @GetMapping("/progress")
+    public ResponseEntity<StreamingResponseBody> exportProgress(@RequestParam(required = false) String since,
+                                                                @RequestParam(defaultValue = "500") int batchSize,
+                                                                @RequestParam(defaultValue = "false") boolean gzip) {
+        return stream(gzip, out -> exportService.exportProgress(since, clamp(batchSize), out));
+    }
+
+    private ResponseEntity<StreamingResponseBody> stream(boolean gzip, ExportWriter writer) {
+        StreamingResponseBody body = out -> {
+            if (gzip) {
+                GZIPOutputStream gzipOut = new GZIPOutputStream(out, 8192, true);
+                writer.write(gzipOut);
+                gzipOut.finish();
+            } else {
+                writer.write(out);
+            }
+        };
+
+        ResponseEntity.BodyBuilder response = ResponseEntity.status(HttpStatus.OK)
+                .contentType(MediaType.APPLICATION_NDJSON);
+        if (gzip) {
+            response.header(HttpHeaders.CONTENT_ENCODING, "gzip");
+        }
+        return response.body(body);
+    }
+
+    private static int clamp(int batchSize) {
+        return Math.max(1, Math.min(batchSize, MAX_BATCH_SIZE));
+    }
+
+    @FunctionalInterface
+    private interface ExportWriter {
+        void write(OutputStream out) throws IOException;
+    }
+}
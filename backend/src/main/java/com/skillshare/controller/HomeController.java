@@ -0,0 +1,29 @@
+package com.skillshare.controller;
+
+import com.skillshare.model.HomeFeed;
+import com.skillshare.service.HomeService;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/api/home")
+@CrossOrigin(origins = "*")
+public class HomeController {
+
+    private final HomeService homeService;
+
+    public HomeController(HomeService homeService) {
+        this.homeService = homeService;
+    }
+
+    @GetMapping
+    public ResponseEntity<HomeFeed> getHomeFeed(@RequestParam(required = false) String userId,
+                                                @RequestParam(defaultValue = "0") int pathPage,
+                                                @RequestParam(defaultValue = "12") int pathSize) {
+        if (pathPage < 0 || pathSize < 1 || pathSize > 50) {
+            return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
+        }
+        return new ResponseEntity<>(homeService.getHomeFeed(userId, pathPage, pathSize), HttpStatus.OK);
+    }
+}
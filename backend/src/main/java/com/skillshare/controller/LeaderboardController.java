@@ -0,0 +1,89 @@
+package com.skillshare.controller;
+
+import com.skillshare.model.LeaderboardEntry;
+import com.skillshare.model.LeaderboardType;
+import com.skillshare.service.LeaderboardService;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/leaderboards")
+@CrossOrigin(origins = "*")
+public class LeaderboardController {
+
+    private static final int MAX_LIMIT = 100;
+
+    private final LeaderboardService leaderboardService;
+
+    public LeaderboardController(LeaderboardService leaderboardService) {
+        this.leaderboardService = leaderboardService;
+    }
+
+    @GetMapping("/{type}")
+    public ResponseEntity<List<LeaderboardEntry>> getGlobalTop(@PathVariable String type,
+                                                               @RequestParam(defaultValue = "10") int limit) {
+        return new ResponseEntity<>(leaderboardService.getTop(globalType(type), null, clamp(limit)), HttpStatus.OK);
+    }
+
+    @GetMapping("/{type}/users/{userId}")
+    public ResponseEntity<List<LeaderboardEntry>> getGlobalAroundUser(@PathVariable String type,
+                                                                      @PathVariable String userId,
+                                                                      @RequestParam(defaultValue = "5") int radius) {
+        return new ResponseEntity<>(leaderboardService.getAround(globalType(type), null, userId, clamp(radius)), HttpStatus.OK);
+    }
+
+    @GetMapping("/{type}/users/{userId}/rank")
+    public ResponseEntity<LeaderboardEntry> getGlobalRank(@PathVariable String type, @PathVariable String userId) {
+        return leaderboardService.getRank(globalType(type), null, userId)
+                .map(entry -> new ResponseEntity<>(entry, HttpStatus.OK))
+                .orElse(new ResponseEntity<>(HttpStatus.NOT_FOUND));
+    }
+
+    @GetMapping("/paths/{pathId}/{type}")
+    public ResponseEntity<List<LeaderboardEntry>> getPathTop(@PathVariable String pathId,
+                                                             @PathVariable String type,
+                                                             @RequestParam(defaultValue = "10") int limit) {
+        return new ResponseEntity<>(leaderboardService.getTop(parseType(type), pathId, clamp(limit)), HttpStatus.OK);
+    }
+
+    @GetMapping("/paths/{pathId}/{type}/users/{userId}")
+    public ResponseEntity<List<LeaderboardEntry>> getPathAroundUser(@PathVariable String pathId,
+                                                                    @PathVariable String type,
+                                                                    @PathVariable String userId,
+                                                                    @RequestParam(defaultValue = "5") int radius) {
+        return new ResponseEntity<>(leaderboardService.getAround(parseType(type), pathId, userId, clamp(radius)), HttpStatus.OK);
+    }
+
+    @GetMapping("/paths/{pathId}/{type}/users/{userId}/rank")
+    public ResponseEntity<LeaderboardEntry> getPathRank(@PathVariable String pathId,
+                                                        @PathVariable String type,
+                                                        @PathVariable String userId) {
+        return leaderboardService.getRank(parseType(type), pathId, userId)
+                .map(entry -> new ResponseEntity<>(entry, HttpStatus.OK))
+                .orElse(new ResponseEntity<>(HttpStatus.NOT_FOUND));
+    }
+
+    private static LeaderboardType globalType(String type) {
+        LeaderboardType parsed = parseType(type);
+        if (parsed == LeaderboardType.FASTEST) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Fastest completion is only ranked per learning path");
+        }
+        return parsed;
+    }
+
+    private static LeaderboardType parseType(String type) {
+        try {
+            return LeaderboardType.valueOf(type.toUpperCase());
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Unknown leaderboard type: " + type);
+        }
+    }
+
+    private static int clamp(int value) {
+        return Math.max(0, Math.min(value, MAX_LIMIT));
+    }
+}
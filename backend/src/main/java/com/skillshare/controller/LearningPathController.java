@@ -1,13 +1,24 @@
 package com.skillshare.controller;
 
+import com.skillshare.model.DeletionJob;
+import com.skillshare.model.FunnelReport;
 import com.skillshare.model.LearningPath;
+import com.skillshare.model.LikeEdge;
+import com.skillshare.model.LikeState;
+import com.skillshare.model.PathRecommendation;
 import com.skillshare.service.LearningPathService;
+import com.skillshare.service.LikeService;
+import com.skillshare.service.PathAnalyticsService;
+import com.skillshare.service.PathRecommendationService;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.server.ResponseStatusException;
 
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 @RestController
@@ -16,9 +27,18 @@ import java.util.Optional;
 public class LearningPathController {
 
     private final LearningPathService learningPathService;
-
-    public LearningPathController(LearningPathService learningPathService) {
+    private final PathRecommendationService pathRecommendationService;
+    private final PathAnalyticsService pathAnalyticsService;
+    private final LikeService likeService;
+
+    public LearningPathController(LearningPathService learningPathService,
+                                  PathRecommendationService pathRecommendationService,
+                                  PathAnalyticsService pathAnalyticsService,
+                                  LikeService likeService) {
         this.learningPathService = learningPathService;
+        this.pathRecommendationService = pathRecommendationService;
+        this.pathAnalyticsService = pathAnalyticsService;
+        this.likeService = likeService;
     }
 
     @PostMapping
@@ -58,6 +78,10 @@ public class LearningPathController {
         return new ResponseEntity<>(learningPathService.getPathsByTag(tag), HttpStatus.OK);
     }
 
+    /**
+     * Replaces the editable fields. The body must carry the {@code version}
+     * the client last read; a stale version gets 409.
+     */
     @PutMapping("/{id}")
     public ResponseEntity<LearningPath> updatePath(@PathVariable String id, @RequestBody LearningPath path, @RequestParam String userId) {
         // Check if user is the creator of the path
@@ -73,11 +97,43 @@ public class LearningPathController {
         }
         
         path.setId(id);
-        return new ResponseEntity<>(learningPathService.updatePath(path), HttpStatus.OK);
+        try {
+            return new ResponseEntity<>(learningPathService.updatePath(path), HttpStatus.OK);
+        } catch (OptimisticLockingFailureException e) {
+            throw new ResponseStatusException(HttpStatus.CONFLICT, e.getMessage());
+        }
+    }
+
+    /**
+     * JSON Merge Patch of the fields the client changed. The body must carry
+     * the {@code version} the client last read; a stale version gets 409.
+     */
+    @PatchMapping("/{id}")
+    public ResponseEntity<LearningPath> patchPath(@PathVariable String id, @RequestBody Map<String, Object> patch,
+                                                  @RequestParam String userId) {
+        Optional<LearningPath> existingPath = learningPathService.getPathById(id);
+        if (existingPath.isEmpty()) {
+            return new ResponseEntity<>(HttpStatus.NOT_FOUND);
+        }
+        if (!existingPath.get().getUserId().equals(userId)) {
+            throw new ResponseStatusException(HttpStatus.FORBIDDEN, "You are not authorized to update this learning path");
+        }
+
+        Object version = patch.remove("version");
+        if (!(version instanceof Number)) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "version is required");
+        }
+        try {
+            return new ResponseEntity<>(learningPathService.patchPath(id, ((Number) version).longValue(), patch), HttpStatus.OK);
+        } catch (OptimisticLockingFailureException e) {
+            throw new ResponseStatusException(HttpStatus.CONFLICT, e.getMessage());
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage());
+        }
     }
 
     @DeleteMapping("/{id}")
-    public ResponseEntity<Void> deletePath(@PathVariable String id, @RequestParam String userId) {
+    public ResponseEntity<Map<String, String>> deletePath(@PathVariable String id, @RequestParam String userId) {
         // Check if user is the creator of the path
         Optional<LearningPath> existingPath = learningPathService.getPathById(id);
         
@@ -90,8 +146,13 @@ public class LearningPathController {
             throw new ResponseStatusException(HttpStatus.FORBIDDEN, "You are not authorized to delete this learning path");
         }
         
-        learningPathService.deletePath(id);
-        return new ResponseEntity<>(HttpStatus.NO_CONTENT);
+        DeletionJob job = learningPathService.deletePath(id);
+
+        // Enrollments are cleaned up in the background; clients can poll the job
+        Map<String, String> response = new HashMap<>();
+        response.put("pathId", id);
+        response.put("jobId", job.getId());
+        return new ResponseEntity<>(response, HttpStatus.ACCEPTED);
     }
 
     @PostMapping("/{id}/milestones")
@@ -109,15 +170,64 @@ public class LearningPathController {
         return new ResponseEntity<>(HttpStatus.OK);
     }
 
+    // Moves the milestone right after ?after=, or to the front without it
+    @PutMapping("/{id}/milestones/{milestoneId}/position")
+    public ResponseEntity<Void> moveMilestone(@PathVariable String id,
+                                              @PathVariable String milestoneId,
+                                              @RequestParam(required = false) String after) {
+        try {
+            learningPathService.moveMilestone(id, milestoneId, after);
+        } catch (OptimisticLockingFailureException e) {
+            throw new ResponseStatusException(HttpStatus.CONFLICT, e.getMessage());
+        }
+        return new ResponseEntity<>(HttpStatus.OK);
+    }
+
     @DeleteMapping("/{id}/milestones/{milestoneId}")
     public ResponseEntity<Void> removeMilestone(@PathVariable String id, @PathVariable String milestoneId) {
         learningPathService.removeMilestone(id, milestoneId);
         return new ResponseEntity<>(HttpStatus.NO_CONTENT);
     }
 
-    @PutMapping("/{id}/like")
-    public ResponseEntity<Void> likePath(@PathVariable String id) {
-        learningPathService.likePath(id);
+    @GetMapping("/{id}/related")
+    public ResponseEntity<List<PathRecommendation>> getRelatedPaths(@PathVariable String id,
+                                                                    @RequestParam(defaultValue = "10") int limit) {
+        return new ResponseEntity<>(pathRecommendationService.getRelatedPaths(id, limit), HttpStatus.OK);
+    }
+
+    @GetMapping("/{id}/funnel")
+    public ResponseEntity<FunnelReport> getFunnel(@PathVariable String id) {
+        return pathAnalyticsService.getFunnel(id)
+                .map(report -> new ResponseEntity<>(report, HttpStatus.OK))
+                .orElse(new ResponseEntity<>(HttpStatus.NOT_FOUND));
+    }
+
+    @PostMapping("/{id}/funnel/refresh")
+    public ResponseEntity<Void> refreshFunnel(@PathVariable String id) {
+        pathAnalyticsService.recomputeFunnel(id);
         return new ResponseEntity<>(HttpStatus.OK);
     }
+
+    @PutMapping("/{id}/like")
+    public ResponseEntity<LikeState> likePath(@PathVariable String id, @RequestParam String userId) {
+        LikeState state = learningPathService.likePath(id, userId);
+        if (state == null) {
+            return new ResponseEntity<>(HttpStatus.NOT_FOUND);
+        }
+        return new ResponseEntity<>(state, HttpStatus.OK);
+    }
+
+    @DeleteMapping("/{id}/like")
+    public ResponseEntity<LikeState> unlikePath(@PathVariable String id, @RequestParam String userId) {
+        LikeState state = learningPathService.unlikePath(id, userId);
+        if (state == null) {
+            return new ResponseEntity<>(HttpStatus.NOT_FOUND);
+        }
+        return new ResponseEntity<>(state, HttpStatus.OK);
+    }
+
+    @GetMapping("/{id}/like")
+    public ResponseEntity<Map<String, Boolean>> hasLikedPath(@PathVariable String id, @RequestParam String userId) {
+        return new ResponseEntity<>(Map.of("liked", likeService.hasLiked(LikeEdge.PATH, id, userId)), HttpStatus.OK);
+    }
 }
\ No newline at end of file
@@ -1,12 +1,18 @@
 package com.skillshare.controller;
 
 import com.skillshare.model.LearningProgress;
+import com.skillshare.model.LikeEdge;
+import com.skillshare.model.LikeState;
 import com.skillshare.service.LearningProgressService;
+import com.skillshare.service.LikeService;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ResponseStatusException;
 
 import java.util.List;
+import java.util.Map;
 
 @RestController
 @RequestMapping("/api/progress")
@@ -14,9 +20,11 @@ import java.util.List;
 public class LearningProgressController {
 
     private final LearningProgressService learningProgressService;
+    private final LikeService likeService;
 
-    public LearningProgressController(LearningProgressService learningProgressService) {
+    public LearningProgressController(LearningProgressService learningProgressService, LikeService likeService) {
         this.learningProgressService = learningProgressService;
+        this.likeService = likeService;
     }
 
     @PostMapping
@@ -53,10 +61,45 @@ public class LearningProgressController {
                 .orElse(new ResponseEntity<>(HttpStatus.NOT_FOUND));
     }
 
+    /**
+     * Replaces the editable fields. The body must carry the {@code version}
+     * the client last read; a stale version gets 409.
+     */
     @PutMapping("/{id}")
     public ResponseEntity<LearningProgress> updateProgress(@PathVariable String id, @RequestBody LearningProgress progress) {
+        if (learningProgressService.getProgressById(id).isEmpty()) {
+            return new ResponseEntity<>(HttpStatus.NOT_FOUND);
+        }
+
         progress.setId(id);
-        return new ResponseEntity<>(learningProgressService.updateProgress(progress), HttpStatus.OK);
+        try {
+            return new ResponseEntity<>(learningProgressService.updateProgress(progress), HttpStatus.OK);
+        } catch (OptimisticLockingFailureException e) {
+            throw new ResponseStatusException(HttpStatus.CONFLICT, e.getMessage());
+        }
+    }
+
+    /**
+     * JSON Merge Patch of the fields the client changed. The body must carry
+     * the {@code version} the client last read; a stale version gets 409.
+     */
+    @PatchMapping("/{id}")
+    public ResponseEntity<LearningProgress> patchProgress(@PathVariable String id, @RequestBody Map<String, Object> patch) {
+        if (learningProgressService.getProgressById(id).isEmpty()) {
+            return new ResponseEntity<>(HttpStatus.NOT_FOUND);
+        }
+
+        Object version = patch.remove("version");
+        if (!(version instanceof Number)) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "version is required");
+        }
+        try {
+            return new ResponseEntity<>(learningProgressService.patchProgress(id, ((Number) version).longValue(), patch), HttpStatus.OK);
+        } catch (OptimisticLockingFailureException e) {
+            throw new ResponseStatusException(HttpStatus.CONFLICT, e.getMessage());
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage());
+        }
     }
 
     @DeleteMapping("/{id}")
@@ -84,9 +127,26 @@ public class LearningProgressController {
     }
 
     @PutMapping("/{id}/like")
-    public ResponseEntity<Void> likeProgress(@PathVariable String id) {
-        learningProgressService.likeProgress(id);
-        return new ResponseEntity<>(HttpStatus.OK);
+    public ResponseEntity<LikeState> likeProgress(@PathVariable String id, @RequestParam String userId) {
+        LikeState state = learningProgressService.likeProgress(id, userId);
+        if (state == null) {
+            return new ResponseEntity<>(HttpStatus.NOT_FOUND);
+        }
+        return new ResponseEntity<>(state, HttpStatus.OK);
+    }
+
+    @DeleteMapping("/{id}/like")
+    public ResponseEntity<LikeState> unlikeProgress(@PathVariable String id, @RequestParam String userId) {
+        LikeState state = learningProgressService.unlikeProgress(id, userId);
+        if (state == null) {
+            return new ResponseEntity<>(HttpStatus.NOT_FOUND);
+        }
+        return new ResponseEntity<>(state, HttpStatus.OK);
+    }
+
+    @GetMapping("/{id}/like")
+    public ResponseEntity<Map<String, Boolean>> hasLikedProgress(@PathVariable String id, @RequestParam String userId) {
+        return new ResponseEntity<>(Map.of("liked", likeService.hasLiked(LikeEdge.PROGRESS, id, userId)), HttpStatus.OK);
     }
 
     @GetMapping("/users/{userId}/recent")
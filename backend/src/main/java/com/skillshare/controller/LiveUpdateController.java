@@ -0,0 +1,47 @@
+package com.skillshare.controller;
+
+import com.skillshare.model.LiveUpdate;
+import com.skillshare.service.LiveUpdateService;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.codec.ServerSentEvent;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ResponseStatusException;
+import reactor.core.publisher.Flux;
+
+import java.util.List;
+
+/**
+ * Server-sent events with like, share, comment and milestone changes for
+ * the posts and paths a page is showing, e.g.
+ * {@code /api/live?posts=a,b&paths=c}. Clients should reload a target after
+ * reconnecting, since events sent while disconnected are not replayed.
+ */
+@RestController
+@RequestMapping("/api/live")
+@CrossOrigin(origins = "*")
+public class LiveUpdateController {
+
+    private final LiveUpdateService liveUpdateService;
+
+    public LiveUpdateController(LiveUpdateService liveUpdateService) {
+        this.liveUpdateService = liveUpdateService;
+    }
+
+    @GetMapping(produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public Flux<ServerSentEvent<LiveUpdate>> subscribe(@RequestParam(defaultValue = "") List<String> posts,
+                                                       @RequestParam(defaultValue = "") List<String> paths) {
+        posts.removeIf(String::isBlank);
+        paths.removeIf(String::isBlank);
+        if (posts.isEmpty() && paths.isEmpty()) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Specify at least one post or path");
+        }
+        try {
+            return liveUpdateService.subscribe(posts, paths);
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage());
+        } catch (IllegalStateException e) {
+            throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,180 @@
+package com.skillshare.controller;
+
+import com.skillshare.model.MediaObject;
+import com.skillshare.service.ImageVariantService;
+import com.skillshare.service.MediaService;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.HashMap;
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/media")
+@CrossOrigin(origins = "*")
+public class MediaController {
+
+    // Content is addressed by hash, so a URL never changes meaning
+    private static final String CACHE_CONTROL = "public, max-age=31536000, immutable";
+    private static final String SENDFILE_SUPPORT = "org.apache.tomcat.sendfile.support";
+    private static final String SENDFILE_FILENAME = "org.apache.tomcat.sendfile.filename";
+    private static final String SENDFILE_START = "org.apache.tomcat.sendfile.start";
+    private static final String SENDFILE_END = "org.apache.tomcat.sendfile.end";
+
+    // Variant redirects change once the variant is rendered, so they are only cached briefly
+    private static final String VARIANT_CACHE_CONTROL = "public, max-age=300";
+
+    private final MediaService mediaService;
+    private final ImageVariantService imageVariantService;
+
+    public MediaController(MediaService mediaService, ImageVariantService imageVariantService) {
+        this.mediaService = mediaService;
+        this.imageVariantService = imageVariantService;
+    }
+
+    @PostMapping(consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    public ResponseEntity<Map<String, Object>> uploadMultipart(@RequestParam("file") MultipartFile file) throws IOException {
+        // The multipart resolver spools parts to disk, so this stream is not held in memory
+        try (InputStream in = file.getInputStream()) {
+            return created(mediaService.store(in, file.getContentType()));
+        }
+    }
+
+    @PostMapping
+    public ResponseEntity<Map<String, Object>> uploadRaw(HttpServletRequest request) throws IOException {
+        // Raw request bodies are hashed and written to the store as they arrive
+        try (InputStream in = request.getInputStream()) {
+            return created(mediaService.store(in, request.getContentType()));
+        }
+    }
+
+    @GetMapping("/{id}")
+    public void download(@PathVariable String id,
+                         @RequestParam(required = false) String variant,
+                         HttpServletRequest request, HttpServletResponse response) throws IOException {
+        if (variant != null) {
+            // Point at the rendered variant, or the original until it exists
+            String target = imageVariantService.getVariantId(id, variant).orElse(id);
+            response.setHeader(HttpHeaders.CACHE_CONTROL, VARIANT_CACHE_CONTROL);
+            response.setHeader(HttpHeaders.LOCATION, request.getRequestURI().replace(id, target));
+            response.setStatus(HttpStatus.FOUND.value());
+            return;
+        }
+
+        MediaObject media = mediaService.getMedia(id)
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Media not found with ID: " + id));
+        Path file = mediaService.resolve(id)
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Media not found with ID: " + id));
+
+        String etag = "\"" + id + "\"";
+        response.setHeader(HttpHeaders.CACHE_CONTROL, CACHE_CONTROL);
+        response.setHeader(HttpHeaders.ACCEPT_RANGES, "bytes");
+        response.setHeader("X-Content-Type-Options", "nosniff");
+        if (new ServletWebRequest(request, response).checkNotModified(etag)) {
+            return;
+        }
+
+        long size = media.getSize();
+        long start = 0;
+        long end = size - 1;
+        String range = request.getHeader(HttpHeaders.RANGE);
+        String ifRange = request.getHeader(HttpHeaders.IF_RANGE);
+        // Single ranges only; a multi-range request gets the whole file, which RFC 9110 allows
+        if (range != null && range.startsWith("bytes=") && !range.contains(",")
+                && (ifRange == null || ifRange.equals(etag))) {
+            long[] bounds = parseRange(range.substring("bytes=".length()).trim(), size);
+            if (bounds == null) {
+                response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes */" + size);
+                response.setStatus(HttpStatus.REQUESTED_RANGE_NOT_SATISFIABLE.value());
+                return;
+            }
+            start = bounds[0];
+            end = bounds[1];
+            response.setStatus(HttpStatus.PARTIAL_CONTENT.value());
+            response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes " + start + "-" + end + "/" + size);
+        }
+
+        long length = end - start + 1;
+        response.setContentType(media.getContentType());
+        response.setContentLengthLong(length);
+        if ("HEAD".equals(request.getMethod()) || length <= 0) {
+            return;
+        }
+
+        if (Boolean.TRUE.equals(request.getAttribute(SENDFILE_SUPPORT))) {
+            // Let the connector hand the file to the kernel (sendfile); nothing is copied through the heap
+            request.setAttribute(SENDFILE_FILENAME, file.toString());
+            request.setAttribute(SENDFILE_START, start);
+            request.setAttribute(SENDFILE_END, end + 1);
+            return;
+        }
+
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            WritableByteChannel out = Channels.newChannel(response.getOutputStream());
+            long position = start;
+            long remaining = length;
+            while (remaining > 0) {
+                long sent = channel.transferTo(position, remaining, out);
+                if (sent <= 0) {
+                    break;
+                }
+                position += sent;
+                remaining -= sent;
+            }
+        }
+    }
+
+    /**
+     * Parses "first-last", "first-" or "-suffixLength" into inclusive bounds,
+     * clamped to the file; null if the range cannot be satisfied.
+     */
+    private static long[] parseRange(String spec, long size) {
+        int dash = spec.indexOf('-');
+        if (dash < 0 || size == 0) {
+            return null;
+        }
+        try {
+            long start;
+            long end = size - 1;
+            if (dash == 0) {
+                long suffix = Long.parseLong(spec.substring(1));
+                if (suffix == 0) {
+                    return null;
+                }
+                start = Math.max(0, size - suffix);
+            } else {
+                start = Long.parseLong(spec.substring(0, dash));
+                if (dash < spec.length() - 1) {
+                    end = Math.min(end, Long.parseLong(spec.substring(dash + 1)));
+                }
+            }
+            return start <= end && start < size ? new long[] {start, end} : null;
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    private static ResponseEntity<Map<String, Object>> created(MediaObject media) {
+        Map<String, Object> response = new HashMap<>();
+        response.put("id", media.getId());
+        response.put("url", "/api/media/" + media.getId());
+        response.put("contentType", media.getContentType());
+        response.put("size", media.getSize());
+        return new ResponseEntity<>(response, HttpStatus.CREATED);
+    }
+}
@@ -0,0 +1,207 @@
+package com.skillshare.controller;
+
+import com.skillshare.model.FollowPage;
+import com.skillshare.model.HomeFeed;
+import com.skillshare.model.Post;
+import com.skillshare.model.User;
+import com.skillshare.model.UserSummary;
+import com.skillshare.service.ImageVariantService;
+import org.springframework.beans.BeanUtils;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.converter.json.AbstractJackson2HttpMessageConverter;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyAdvice;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Adds resized-variant URLs next to media stored in the local media store,
+ * so clients can show thumbnails instead of full-size images. Variants are
+ * looked up with one batched query per response (and cached once finished).
+ * Posts and users may be shared with other requests by the read coalescing
+ * and caches, so variants go on shallow copies that replace them in the body.
+ */
+@ControllerAdvice
+public class MediaVariantResponseAdvice implements ResponseBodyAdvice<Object> {
+
+    private static final Pattern MEDIA_URL = Pattern.compile("^(.*/api/media/)([0-9a-f]{64})$");
+
+    private final ImageVariantService imageVariantService;
+
+    public MediaVariantResponseAdvice(ImageVariantService imageVariantService) {
+        this.imageVariantService = imageVariantService;
+    }
+
+    @Override
+    public boolean supports(MethodParameter returnType, Class<? extends HttpMessageConverter<?>> converterType) {
+        return AbstractJackson2HttpMessageConverter.class.isAssignableFrom(converterType);
+    }
+
+    @Override
+    public Object beforeBodyWrite(Object body, MethodParameter returnType, MediaType selectedContentType,
+                                  Class<? extends HttpMessageConverter<?>> selectedConverterType,
+                                  ServerHttpRequest request, ServerHttpResponse response) {
+        List<Post> posts = new ArrayList<>();
+        List<User> users = new ArrayList<>();
+        List<UserSummary> summaries = body instanceof FollowPage ? ((FollowPage) body).getUsers() : List.of();
+        collect(body, posts, users, true);
+        if (posts.isEmpty() && users.isEmpty() && summaries.isEmpty()) {
+            return body;
+        }
+
+        Set<String> mediaIds = new HashSet<>();
+        for (Post post : posts) {
+            if (post.getMediaUrls() != null) {
+                post.getMediaUrls().forEach(url -> addMediaId(url, mediaIds));
+            }
+        }
+        for (User user : users) {
+            addMediaId(user.getProfilePicture(), mediaIds);
+        }
+        for (UserSummary user : summaries) {
+            addMediaId(user.getProfilePicture(), mediaIds);
+        }
+        if (mediaIds.isEmpty()) {
+            return body;
+        }
+
+        Map<String, Map<String, String>> variants;
+        try {
+            variants = imageVariantService.getVariants(mediaIds);
+        } catch (RuntimeException e) {
+            // Variants are an optimization; never fail the response over them
+            return body;
+        }
+        if (variants.isEmpty()) {
+            return body;
+        }
+        Map<Object, Object> copies = new IdentityHashMap<>();
+        for (Post post : posts) {
+            Map<String, Map<String, String>> byUrl = new HashMap<>();
+            if (post.getMediaUrls() != null) {
+                for (String url : post.getMediaUrls()) {
+                    Map<String, String> urls = variantUrls(url, variants);
+                    if (urls != null) {
+                        byUrl.put(url, urls);
+                    }
+                }
+            }
+            if (!byUrl.isEmpty()) {
+                Post copy = new Post();
+                BeanUtils.copyProperties(post, copy);
+                copy.setMediaVariants(byUrl);
+                copies.put(post, copy);
+            }
+        }
+        for (User user : users) {
+            Map<String, String> urls = variantUrls(user.getProfilePicture(), variants);
+            if (urls != null) {
+                User copy = new User();
+                BeanUtils.copyProperties(user, copy);
+                copy.setProfilePictureVariants(urls);
+                copies.put(user, copy);
+            }
+        }
+        // Follow pages are built per request, so their summaries can be set directly
+        for (UserSummary user : summaries) {
+            user.setProfilePictureVariants(variantUrls(user.getProfilePicture(), variants));
+        }
+        return copies.isEmpty() ? body : replace(body, copies, true);
+    }
+
+    // Looks one level into collections and maps, e.g. the login/register response
+    private static void collect(Object value, List<Post> posts, List<User> users, boolean descend) {
+        if (value instanceof Post) {
+            posts.add((Post) value);
+        } else if (value instanceof User) {
+            users.add((User) value);
+        } else if (value instanceof HomeFeed) {
+            collect(((HomeFeed) value).getRecentPosts(), posts, users, true);
+            collect(((HomeFeed) value).getPopularPosts(), posts, users, true);
+        } else if (descend && value instanceof List) {
+            for (Object element : (List<?>) value) {
+                collect(element, posts, users, false);
+            }
+        } else if (descend && value instanceof Map) {
+            for (Object element : ((Map<?, ?>) value).values()) {
+                collect(element, posts, users, false);
+            }
+        }
+    }
+
+    // Rebuilds the containers collect() looked into, swapping in the copies
+    private static Object replace(Object value, Map<Object, Object> copies, boolean descend) {
+        if (copies.containsKey(value)) {
+            return copies.get(value);
+        } else if (value instanceof HomeFeed) {
+            HomeFeed feed = (HomeFeed) value;
+            HomeFeed copy = new HomeFeed();
+            BeanUtils.copyProperties(feed, copy);
+            copy.setRecentPosts(replacePosts(feed.getRecentPosts(), copies));
+            copy.setPopularPosts(replacePosts(feed.getPopularPosts(), copies));
+            return copy;
+        } else if (descend && value instanceof List) {
+            List<Object> copy = new ArrayList<>();
+            for (Object element : (List<?>) value) {
+                copy.add(replace(element, copies, false));
+            }
+            return copy;
+        } else if (descend && value instanceof Map) {
+            Map<Object, Object> copy = new LinkedHashMap<>();
+            ((Map<?, ?>) value).forEach((key, element) -> copy.put(key, replace(element, copies, false)));
+            return copy;
+        }
+        return value;
+    }
+
+    private static List<Post> replacePosts(List<Post> posts, Map<Object, Object> copies) {
+        if (posts == null) {
+            return null;
+        }
+        List<Post> copy = new ArrayList<>(posts.size());
+        for (Post post : posts) {
+            copy.add((Post) copies.getOrDefault(post, post));
+        }
+        return copy;
+    }
+
+    private static void addMediaId(String url, Set<String> mediaIds) {
+        if (url == null) {
+            return;
+        }
+        Matcher matcher = MEDIA_URL.matcher(url);
+        if (matcher.matches()) {
+            mediaIds.add(matcher.group(2));
+        }
+    }
+
+    private static Map<String, String> variantUrls(String url, Map<String, Map<String, String>> variants) {
+        if (url == null) {
+            return null;
+        }
+        Matcher matcher = MEDIA_URL.matcher(url);
+        if (!matcher.matches()) {
+            return null;
+        }
+        Map<String, String> ids = variants.get(matcher.group(2));
+        if (ids == null || ids.isEmpty()) {
+            return null;
+        }
+        Map<String, String> urls = new HashMap<>();
+        ids.forEach((variant, id) -> urls.put(variant, matcher.group(1) + id));
+        return urls;
+    }
+}
@@ -0,0 +1,39 @@
+package com.skillshare.controller;
+
+import com.skillshare.model.NotificationPage;
+import com.skillshare.service.NotificationService;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/users/{userId}/notifications")
+@CrossOrigin(origins = "*")
+public class NotificationController {
+
+    private final NotificationService notificationService;
+
+    public NotificationController(NotificationService notificationService) {
+        this.notificationService = notificationService;
+    }
+
+    @GetMapping
+    public ResponseEntity<NotificationPage> getNotifications(@PathVariable String userId,
+                                                             @RequestParam(required = false) String before,
+                                                             @RequestParam(defaultValue = "20") int limit) {
+        return new ResponseEntity<>(notificationService.getNotifications(userId, before, limit), HttpStatus.OK);
+    }
+
+    @GetMapping("/unread-count")
+    public ResponseEntity<Map<String, Long>> getUnreadCount(@PathVariable String userId) {
+        return new ResponseEntity<>(Map.of("unreadCount", notificationService.getUnreadCount(userId)), HttpStatus.OK);
+    }
+
+    @PostMapping("/read")
+    public ResponseEntity<Void> markAllRead(@PathVariable String userId) {
+        notificationService.markAllRead(userId);
+        return new ResponseEntity<>(HttpStatus.NO_CONTENT);
+    }
+}
@@ -1,16 +1,20 @@
 package com.skillshare.controller;
 
+import com.skillshare.model.LikeEdge;
+import com.skillshare.model.LikeState;
 import com.skillshare.model.Post;
+import com.skillshare.service.LikeService;
 import com.skillshare.service.PostService;
+import com.skillshare.util.TimeOrderedId;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
-import java.util.UUID;
 
 @RestController
 @RequestMapping("/api/posts")
@@ -18,9 +22,11 @@ import java.util.UUID;
 public class PostController {
 
     private final PostService postService;
+    private final LikeService likeService;
 
-    public PostController(PostService postService) {
+    public PostController(PostService postService, LikeService likeService) {
         this.postService = postService;
+        this.likeService = likeService;
     }
 
     @PostMapping
@@ -83,7 +89,11 @@ public class PostController {
 
         // Update the post
         post.setId(id);
-        return new ResponseEntity<>(postService.updatePost(post), HttpStatus.OK);
+        Post updated = postService.updatePost(post);
+        if (updated == null) {
+            return new ResponseEntity<>(HttpStatus.NOT_FOUND);
+        }
+        return new ResponseEntity<>(updated, HttpStatus.OK);
     }
 
     @DeleteMapping("/{id}")
@@ -107,9 +117,35 @@ public class PostController {
     }
 
     @PutMapping("/{id}/like")
-    public ResponseEntity<Void> likePost(@PathVariable String id) {
-        postService.likePost(id);
-        return new ResponseEntity<>(HttpStatus.OK);
+    public ResponseEntity<LikeState> likePost(@PathVariable String id, @RequestParam String userId) {
+        LikeState state = postService.likePost(id, userId);
+        if (state == null) {
+            return new ResponseEntity<>(HttpStatus.NOT_FOUND);
+        }
+        return new ResponseEntity<>(state, HttpStatus.OK);
+    }
+
+    @DeleteMapping("/{id}/like")
+    public ResponseEntity<LikeState> unlikePost(@PathVariable String id, @RequestParam String userId) {
+        LikeState state = postService.unlikePost(id, userId);
+        if (state == null) {
+            return new ResponseEntity<>(HttpStatus.NOT_FOUND);
+        }
+        return new ResponseEntity<>(state, HttpStatus.OK);
+    }
+
+    @GetMapping("/{id}/like")
+    public ResponseEntity<Map<String, Boolean>> hasLikedPost(@PathVariable String id, @RequestParam String userId) {
+        return new ResponseEntity<>(Map.of("liked", likeService.hasLiked(LikeEdge.POST, id, userId)), HttpStatus.OK);
+    }
+
+    // Which of the listed posts the user has liked, so a feed can mark them in one request
+    @GetMapping("/liked")
+    public ResponseEntity<List<String>> getLikedPostIds(@RequestParam List<String> ids, @RequestParam String userId) {
+        if (ids.size() > 100) {
+            return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
+        }
+        return new ResponseEntity<>(new ArrayList<>(likeService.likedAmong(LikeEdge.POST, ids, userId)), HttpStatus.OK);
     }
 
     @PutMapping("/{id}/share")
@@ -131,7 +167,7 @@ public class PostController {
         }
 
         // Set metadata for the comment
-        comment.setId(UUID.randomUUID().toString());
+        comment.setId(TimeOrderedId.next());
         comment.setUserId(userId);
         comment.setCreatedAt(LocalDateTime.now());
         comment.setUpdatedAt(LocalDateTime.now());
@@ -145,6 +181,19 @@ public class PostController {
         }
     }
     
+    @GetMapping("/{postId}/comments")
+    public ResponseEntity<List<Post.Comment>> getComments(
+            @PathVariable String postId,
+            @RequestParam(required = false) String after,
+            @RequestParam(defaultValue = "20") int limit) {
+        if (limit < 1 || limit > 100) {
+            return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
+        }
+        return postService.getComments(postId, after, limit)
+                .map(comments -> new ResponseEntity<>(comments, HttpStatus.OK))
+                .orElse(new ResponseEntity<>(HttpStatus.NOT_FOUND));
+    }
+
     @PutMapping("/{postId}/comments/{commentId}")
     public ResponseEntity<Post.Comment> updateComment(
             @PathVariable String postId, 
@@ -187,9 +236,10 @@ public class PostController {
     @PostMapping("/{postId}/comments/{commentId}/like")
     public ResponseEntity<Void> likeComment(
             @PathVariable String postId, 
-            @PathVariable String commentId) {
+            @PathVariable String commentId,
+            @RequestParam String userId) {
         
-        boolean liked = postService.likeCommentInPost(postId, commentId);
+        boolean liked = postService.likeCommentInPost(postId, commentId, userId);
         
         if (liked) {
             return new ResponseEntity<>(HttpStatus.OK);
@@ -197,4 +247,19 @@ public class PostController {
             return new ResponseEntity<>(HttpStatus.NOT_FOUND);
         }
     }
-}
\ No newline at end of file
+
+    @DeleteMapping("/{postId}/comments/{commentId}/like")
+    public ResponseEntity<Void> unlikeComment(@PathVariable String postId,
+                                              @PathVariable String commentId,
+                                              @RequestParam String userId) {
+        postService.unlikeCommentInPost(postId, commentId, userId);
+        return new ResponseEntity<>(HttpStatus.OK);
+    }
+
+    @GetMapping("/{postId}/comments/{commentId}/like")
+    public ResponseEntity<Map<String, Boolean>> hasLikedComment(@PathVariable String postId,
+                                                                @PathVariable String commentId,
+                                                                @RequestParam String userId) {
+        return new ResponseEntity<>(Map.of("liked", likeService.hasLiked(LikeEdge.COMMENT, commentId, userId)), HttpStatus.OK);
+    }
+}
@@ -0,0 +1,60 @@
+package com.skillshare.controller;
+
+import com.skillshare.model.LearningPath;
+import com.skillshare.model.Post;
+import com.skillshare.service.ReactiveFeedService;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Flux;
+
+/**
+ * Non-blocking variants of the read-heavy listing endpoints. Requests for
+ * application/x-ndjson are streamed one document per line as the cursor is
+ * drained; plain application/json requests are collected into an array.
+ */
+@RestController
+@RequestMapping("/api/reactive")
+@CrossOrigin(origins = "*")
+public class ReactiveFeedController {
+
+    private final ReactiveFeedService reactiveFeedService;
+
+    public ReactiveFeedController(ReactiveFeedService reactiveFeedService) {
+        this.reactiveFeedService = reactiveFeedService;
+    }
+
+    @GetMapping(value = "/posts", produces = {MediaType.APPLICATION_NDJSON_VALUE, MediaType.APPLICATION_JSON_VALUE})
+    public Flux<Post> streamAllPosts() {
+        return reactiveFeedService.streamAllPosts();
+    }
+
+    @GetMapping(value = "/posts/users/{userId}", produces = {MediaType.APPLICATION_NDJSON_VALUE, MediaType.APPLICATION_JSON_VALUE})
+    public Flux<Post> streamPostsByUserId(@PathVariable String userId) {
+        return reactiveFeedService.streamPostsByUserId(userId);
+    }
+
+    @GetMapping(value = "/posts/tags/{tag}", produces = {MediaType.APPLICATION_NDJSON_VALUE, MediaType.APPLICATION_JSON_VALUE})
+    public Flux<Post> streamPostsByTag(@PathVariable String tag) {
+        return reactiveFeedService.streamPostsByTag(tag);
+    }
+
+    @GetMapping(value = "/posts/recent", produces = {MediaType.APPLICATION_NDJSON_VALUE, MediaType.APPLICATION_JSON_VALUE})
+    public Flux<Post> streamRecentPosts() {
+        return reactiveFeedService.streamRecentPosts();
+    }
+
+    @GetMapping(value = "/posts/popular", produces = {MediaType.APPLICATION_NDJSON_VALUE, MediaType.APPLICATION_JSON_VALUE})
+    public Flux<Post> streamPopularPosts() {
+        return reactiveFeedService.streamPopularPosts();
+    }
+
+    @GetMapping(value = "/paths/public", produces = {MediaType.APPLICATION_NDJSON_VALUE, MediaType.APPLICATION_JSON_VALUE})
+    public Flux<LearningPath> streamPublicPaths() {
+        return reactiveFeedService.streamPublicPaths();
+    }
+
+    @GetMapping(value = "/paths/tags/{tag}", produces = {MediaType.APPLICATION_NDJSON_VALUE, MediaType.APPLICATION_JSON_VALUE})
+    public Flux<LearningPath> streamPathsByTag(@PathVariable String tag) {
+        return reactiveFeedService.streamPathsByTag(tag);
+    }
+}
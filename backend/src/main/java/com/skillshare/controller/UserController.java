@@ -1,7 +1,19 @@
 package com.skillshare.controller;
 
+import com.skillshare.model.ActivityPage;
+import com.skillshare.model.DeletionJob;
+import com.skillshare.model.FollowPage;
+import com.skillshare.model.FollowSuggestion;
+import com.skillshare.model.PathRecommendation;
 import com.skillshare.model.User;
+import com.skillshare.model.UserDashboard;
+import com.skillshare.model.UserStats;
+import com.skillshare.service.ActivityService;
+import com.skillshare.service.DashboardService;
+import com.skillshare.service.FollowSuggestionService;
+import com.skillshare.service.PathRecommendationService;
 import com.skillshare.service.UserService;
+import com.skillshare.service.UserStatsService;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
@@ -19,9 +31,24 @@ import java.util.Date;
 public class UserController {
 
     private final UserService userService;
-
-    public UserController(UserService userService) {
+    private final FollowSuggestionService followSuggestionService;
+    private final PathRecommendationService pathRecommendationService;
+    private final UserStatsService userStatsService;
+    private final DashboardService dashboardService;
+    private final ActivityService activityService;
+
+    public UserController(UserService userService,
+                          FollowSuggestionService followSuggestionService,
+                          PathRecommendationService pathRecommendationService,
+                          UserStatsService userStatsService,
+                          DashboardService dashboardService,
+                          ActivityService activityService) {
         this.userService = userService;
+        this.followSuggestionService = followSuggestionService;
+        this.pathRecommendationService = pathRecommendationService;
+        this.userStatsService = userStatsService;
+        this.dashboardService = dashboardService;
+        this.activityService = activityService;
     }
 
     @PostMapping
@@ -41,6 +68,19 @@ public class UserController {
         return new ResponseEntity<>(userService.getAllUsers(), HttpStatus.OK);
     }
 
+    @GetMapping("/availability")
+    public ResponseEntity<Map<String, Boolean>> checkAvailability(@RequestParam(required = false) String username,
+                                                                  @RequestParam(required = false) String email) {
+        Map<String, Boolean> response = new HashMap<>();
+        if (username != null) {
+            response.put("usernameAvailable", !userService.existsByUsername(username));
+        }
+        if (email != null) {
+            response.put("emailAvailable", !userService.existsByEmail(email));
+        }
+        return new ResponseEntity<>(response, HttpStatus.OK);
+    }
+
     @GetMapping("/username/{username}")
     public ResponseEntity<User> getUserByUsername(@PathVariable String username) {
         return userService.getUserByUsername(username)
@@ -77,13 +117,15 @@ public class UserController {
     @DeleteMapping("/{id}")
     public ResponseEntity<Map<String, String>> deleteUser(@PathVariable String id) {
         try {
-            userService.deleteUser(id);
+            DeletionJob job = userService.deleteUser(id);
 
             Map<String, String> response = new HashMap<>();
             response.put("message", "User successfully deleted");
             response.put("userId", id);
+            // Dependent records are removed in the background; poll /api/deletion-jobs/{jobId}
+            response.put("jobId", job.getId());
 
-            return new ResponseEntity<>(response, HttpStatus.OK);
+            return new ResponseEntity<>(response, HttpStatus.ACCEPTED);
         } catch (RuntimeException e) {
             if (e.getMessage().contains("not found")) {
                 throw new ResponseStatusException(HttpStatus.NOT_FOUND, e.getMessage());
@@ -102,7 +144,16 @@ public class UserController {
 
     @PutMapping("/{id}/follow/{followedId}")
     public ResponseEntity<Void> followUser(@PathVariable String id, @PathVariable String followedId) {
-        userService.followUser(id, followedId);
+        try {
+            userService.followUser(id, followedId);
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage());
+        } catch (RuntimeException e) {
+            if (e.getMessage() != null && e.getMessage().contains("not found")) {
+                throw new ResponseStatusException(HttpStatus.NOT_FOUND, e.getMessage());
+            }
+            throw e;
+        }
         return new ResponseEntity<>(HttpStatus.OK);
     }
 
@@ -112,6 +163,56 @@ public class UserController {
         return new ResponseEntity<>(HttpStatus.OK);
     }
 
+    @GetMapping("/{id}/followers")
+    public ResponseEntity<FollowPage> getFollowers(@PathVariable String id,
+                                                   @RequestParam(required = false) String before,
+                                                   @RequestParam(defaultValue = "20") int limit) {
+        return new ResponseEntity<>(userService.getFollowers(id, before, limit), HttpStatus.OK);
+    }
+
+    @GetMapping("/{id}/following")
+    public ResponseEntity<FollowPage> getFollowing(@PathVariable String id,
+                                                   @RequestParam(required = false) String before,
+                                                   @RequestParam(defaultValue = "20") int limit) {
+        return new ResponseEntity<>(userService.getFollowing(id, before, limit), HttpStatus.OK);
+    }
+
+    @GetMapping("/{id}/suggestions")
+    public ResponseEntity<List<FollowSuggestion>> getFollowSuggestions(@PathVariable String id,
+                                                                       @RequestParam(defaultValue = "10") int limit) {
+        return new ResponseEntity<>(followSuggestionService.getSuggestions(id, limit), HttpStatus.OK);
+    }
+
+    @GetMapping("/{id}/followed-by-following/{targetId}")
+    public ResponseEntity<List<String>> getFollowedByFollowing(@PathVariable String id, @PathVariable String targetId) {
+        return new ResponseEntity<>(followSuggestionService.getFollowedByFollowing(id, targetId), HttpStatus.OK);
+    }
+
+    @GetMapping("/{id}/stats")
+    public ResponseEntity<UserStats> getUserStats(@PathVariable String id) {
+        return userStatsService.getStats(id)
+                .map(stats -> new ResponseEntity<>(stats, HttpStatus.OK))
+                .orElse(new ResponseEntity<>(HttpStatus.NOT_FOUND));
+    }
+
+    @GetMapping("/{id}/dashboard")
+    public ResponseEntity<UserDashboard> getDashboard(@PathVariable String id) {
+        return new ResponseEntity<>(dashboardService.getDashboard(id), HttpStatus.OK);
+    }
+
+    @GetMapping("/{id}/activity")
+    public ResponseEntity<ActivityPage> getActivity(@PathVariable String id,
+                                                    @RequestParam(required = false) String before,
+                                                    @RequestParam(defaultValue = "20") int limit) {
+        return new ResponseEntity<>(activityService.getActivity(id, before, limit), HttpStatus.OK);
+    }
+
+    @GetMapping("/{id}/recommended-paths")
+    public ResponseEntity<List<PathRecommendation>> getRecommendedPaths(@PathVariable String id,
+                                                                        @RequestParam(defaultValue = "10") int limit) {
+        return new ResponseEntity<>(pathRecommendationService.getRecommendedPaths(id, limit), HttpStatus.OK);
+    }
+
     @PostMapping("/login")
     public ResponseEntity<Map<String, Object>> loginUser(@RequestBody Map<String, String> credentials) {
         String username = credentials.get("username");
@@ -151,8 +252,17 @@ public class UserController {
         user.setCreatedAt(new Date());
         user.setRole("user"); // Default role
 
-        // Create the user (service should handle password hashing)
-        User createdUser = userService.createUser(user);
+        // Create the user (service should handle password hashing); the service
+        // rejects a duplicate that slipped past the checks above
+        User createdUser;
+        try {
+            createdUser = userService.createUser(user);
+        } catch (RuntimeException e) {
+            if (e.getMessage() != null && e.getMessage().contains("already")) {
+                throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage());
+            }
+            throw e;
+        }
 
         // Generate JWT token
         String token = userService.generateToken(createdUser);
@@ -0,0 +1,406 @@
+package com.skillshare.graph;
+
+import com.skillshare.model.FollowSuggestion;
+import com.skillshare.util.IntCounter;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-memory follow graph. User ids are mapped to dense int ordinals and the
+ * forward adjacency is stored in compressed sparse row form: the followees of
+ * ordinal {@code v} are {@code targets[offsets[v] .. offsets[v + 1])}, sorted.
+ *
+ * Follow/unfollow deltas are kept in small per-node overlays and folded back
+ * into the CSR arrays once they grow past a fraction of the edge count.
+ */
+public class SocialGraph {
+
+    // Below this many followees a 2-hop expansion is cheaper to run inline
+    private static final int PARALLEL_THRESHOLD = 64;
+    private static final int MIN_COMPACTION_DELTAS = 1024;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<String, Integer> ordinals;
+    private final List<String> ids;
+
+    private int[] offsets;
+    private int[] targets;
+    private final Map<Integer, Set<Integer>> added = new HashMap<>();
+    private final Map<Integer, Set<Integer>> removed = new HashMap<>();
+    private int deltaCount = 0;
+
+    private SocialGraph(Map<String, Integer> ordinals, List<String> ids, int[] offsets, int[] targets) {
+        this.ordinals = ordinals;
+        this.ids = ids;
+        this.offsets = offsets;
+        this.targets = targets;
+    }
+
+    public static SocialGraph empty() {
+        return new Builder().build();
+    }
+
+    public int nodeCount() {
+        lock.readLock().lock();
+        try {
+            return ids.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public long edgeCount() {
+        lock.readLock().lock();
+        try {
+            long count = targets.length;
+            for (Set<Integer> set : added.values()) {
+                count += set.size();
+            }
+            for (Set<Integer> set : removed.values()) {
+                count -= set.size();
+            }
+            return count;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public void addEdge(String followerId, String followeeId) {
+        if (followerId.equals(followeeId)) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            int src = ordinalFor(followerId);
+            int dst = ordinalFor(followeeId);
+            if (removeFrom(removed, src, dst)) {
+                deltaCount--;
+                return;
+            }
+            if (!csrContains(src, dst) && added.computeIfAbsent(src, k -> new HashSet<>()).add(dst)) {
+                deltaCount++;
+                compactIfNeeded();
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void removeEdge(String followerId, String followeeId) {
+        lock.writeLock().lock();
+        try {
+            Integer src = ordinals.get(followerId);
+            Integer dst = ordinals.get(followeeId);
+            if (src == null || dst == null) {
+                return;
+            }
+            if (removeFrom(added, src, dst)) {
+                deltaCount--;
+                return;
+            }
+            if (csrContains(src, dst) && removed.computeIfAbsent(src, k -> new HashSet<>()).add(dst)) {
+                deltaCount++;
+                compactIfNeeded();
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public List<String> following(String userId) {
+        lock.readLock().lock();
+        try {
+            Integer v = ordinals.get(userId);
+            if (v == null) {
+                return new ArrayList<>();
+            }
+            return toIds(neighbors(v));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Users followed by at least one of {@code userId}'s followees, not already
+     * followed by {@code userId}, ranked by how many followees follow them.
+     */
+    public List<FollowSuggestion> suggest(String userId, int limit) {
+        lock.readLock().lock();
+        try {
+            Integer source = ordinals.get(userId);
+            if (source == null || limit <= 0) {
+                return new ArrayList<>();
+            }
+
+            int[] followees = neighbors(source);
+            IntCounter scores = followees.length < PARALLEL_THRESHOLD
+                    ? new TwoHopTask(followees, 0, followees.length).compute()
+                    : ForkJoinPool.commonPool().invoke(new TwoHopTask(followees, 0, followees.length));
+
+            // Min-heap of the best {@code limit} candidates, ties broken by ordinal
+            PriorityQueue<long[]> top = new PriorityQueue<>(limit + 1,
+                    (a, b) -> a[1] != b[1] ? Long.compare(a[1], b[1]) : Long.compare(b[0], a[0]));
+            scores.forEach((candidate, score) -> {
+                if (candidate == source || Arrays.binarySearch(followees, candidate) >= 0) {
+                    return;
+                }
+                top.offer(new long[] {candidate, score});
+                if (top.size() > limit) {
+                    top.poll();
+                }
+            });
+
+            FollowSuggestion[] result = new FollowSuggestion[top.size()];
+            for (int i = result.length - 1; i >= 0; i--) {
+                long[] entry = top.poll();
+                result[i] = new FollowSuggestion(ids.get((int) entry[0]), (int) entry[1]);
+            }
+            return new ArrayList<>(Arrays.asList(result));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * The followees of {@code userId} who themselves follow {@code targetId}.
+     */
+    public List<String> followedByFollowing(String userId, String targetId) {
+        lock.readLock().lock();
+        try {
+            Integer source = ordinals.get(userId);
+            Integer target = ordinals.get(targetId);
+            if (source == null || target == null) {
+                return new ArrayList<>();
+            }
+
+            List<String> result = new ArrayList<>();
+            for (int followee : neighbors(source)) {
+                if (Arrays.binarySearch(neighbors(followee), target) >= 0) {
+                    result.add(ids.get(followee));
+                }
+            }
+            return result;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Caller must hold the read or write lock
+    private int[] neighbors(int v) {
+        int start = v < offsets.length - 1 ? offsets[v] : 0;
+        int end = v < offsets.length - 1 ? offsets[v + 1] : 0;
+        Set<Integer> plus = added.get(v);
+        Set<Integer> minus = removed.get(v);
+        if (plus == null && minus == null) {
+            return Arrays.copyOfRange(targets, start, end);
+        }
+
+        int[] merged = new int[end - start + (plus == null ? 0 : plus.size())];
+        int n = 0;
+        for (int i = start; i < end; i++) {
+            if (minus == null || !minus.contains(targets[i])) {
+                merged[n++] = targets[i];
+            }
+        }
+        if (plus != null) {
+            for (int dst : plus) {
+                merged[n++] = dst;
+            }
+        }
+        int[] result = Arrays.copyOf(merged, n);
+        Arrays.sort(result);
+        return result;
+    }
+
+    private boolean csrContains(int src, int dst) {
+        if (src >= offsets.length - 1) {
+            return false;
+        }
+        return Arrays.binarySearch(targets, offsets[src], offsets[src + 1], dst) >= 0;
+    }
+
+    private int ordinalFor(String id) {
+        Integer ordinal = ordinals.get(id);
+        if (ordinal == null) {
+            ordinal = ids.size();
+            ordinals.put(id, ordinal);
+            ids.add(id);
+        }
+        return ordinal;
+    }
+
+    private static boolean removeFrom(Map<Integer, Set<Integer>> deltas, int src, int dst) {
+        Set<Integer> set = deltas.get(src);
+        if (set == null || !set.remove(dst)) {
+            return false;
+        }
+        if (set.isEmpty()) {
+            deltas.remove(src);
+        }
+        return true;
+    }
+
+    private void compactIfNeeded() {
+        if (deltaCount < Math.max(MIN_COMPACTION_DELTAS, targets.length / 8)) {
+            return;
+        }
+
+        int nodes = ids.size();
+        int[][] rows = new int[nodes][];
+        int total = 0;
+        for (int v = 0; v < nodes; v++) {
+            rows[v] = neighbors(v);
+            total += rows[v].length;
+        }
+
+        int[] newOffsets = new int[nodes + 1];
+        int[] newTargets = new int[total];
+        int pos = 0;
+        for (int v = 0; v < nodes; v++) {
+            newOffsets[v] = pos;
+            System.arraycopy(rows[v], 0, newTargets, pos, rows[v].length);
+            pos += rows[v].length;
+        }
+        newOffsets[nodes] = pos;
+
+        offsets = newOffsets;
+        targets = newTargets;
+        added.clear();
+        removed.clear();
+        deltaCount = 0;
+    }
+
+    private List<String> toIds(int[] ordinalsToMap) {
+        List<String> result = new ArrayList<>(ordinalsToMap.length);
+        for (int ordinal : ordinalsToMap) {
+            result.add(ids.get(ordinal));
+        }
+        return result;
+    }
+
+    /**
+     * Counts, for a range of followees, how often each second-hop node appears.
+     * Ranges are split in half until they fall under the parallel threshold.
+     */
+    private class TwoHopTask extends RecursiveTask<IntCounter> {
+        private static final long serialVersionUID = 1L;
+
+        private final int[] followees;
+        private final int from;
+        private final int to;
+
+        TwoHopTask(int[] followees, int from, int to) {
+            this.followees = followees;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected IntCounter compute() {
+            if (to - from <= PARALLEL_THRESHOLD) {
+                IntCounter counter = new IntCounter(64);
+                for (int i = from; i < to; i++) {
+                    for (int candidate : neighbors(followees[i])) {
+                        counter.increment(candidate);
+                    }
+                }
+                return counter;
+            }
+
+            int mid = (from + to) >>> 1;
+            TwoHopTask left = new TwoHopTask(followees, from, mid);
+            left.fork();
+            IntCounter right = new TwoHopTask(followees, mid, to).compute();
+            IntCounter merged = left.join();
+            merged.addAll(right);
+            return merged;
+        }
+    }
+
+    /**
+     * Collects edges and lays them out as CSR arrays in one counting-sort pass.
+     */
+    public static class Builder {
+        private final Map<String, Integer> ordinals = new HashMap<>();
+        private final List<String> ids = new ArrayList<>();
+        private int[] sources = new int[1024];
+        private int[] destinations = new int[1024];
+        private int edges = 0;
+
+        public Builder addEdges(String followerId, Collection<String> followeeIds) {
+            int src = ordinalFor(followerId);
+            if (followeeIds == null) {
+                return this;
+            }
+            for (String followeeId : followeeIds) {
+                if (followeeId == null || followeeId.equals(followerId)) {
+                    continue;
+                }
+                if (edges == sources.length) {
+                    sources = Arrays.copyOf(sources, edges * 2);
+                    destinations = Arrays.copyOf(destinations, edges * 2);
+                }
+                sources[edges] = src;
+                destinations[edges] = ordinalFor(followeeId);
+                edges++;
+            }
+            return this;
+        }
+
+        public SocialGraph build() {
+            int nodes = ids.size();
+            int[] offsets = new int[nodes + 1];
+            for (int i = 0; i < edges; i++) {
+                offsets[sources[i] + 1]++;
+            }
+            for (int v = 0; v < nodes; v++) {
+                offsets[v + 1] += offsets[v];
+            }
+
+            int[] cursor = Arrays.copyOf(offsets, nodes);
+            int[] targets = new int[edges];
+            for (int i = 0; i < edges; i++) {
+                targets[cursor[sources[i]]++] = destinations[i];
+            }
+
+            // Sort each row and drop duplicate edges, compacting in place
+            int write = 0;
+            int[] compactOffsets = new int[nodes + 1];
+            for (int v = 0; v < nodes; v++) {
+                int start = offsets[v];
+                int end = offsets[v + 1];
+                Arrays.sort(targets, start, end);
+                compactOffsets[v] = write;
+                for (int i = start; i < end; i++) {
+                    if (i == start || targets[i] != targets[i - 1]) {
+                        targets[write++] = targets[i];
+                    }
+                }
+            }
+            compactOffsets[nodes] = write;
+
+            return new SocialGraph(ordinals, ids, compactOffsets, Arrays.copyOf(targets, write));
+        }
+
+        private int ordinalFor(String id) {
+            Integer ordinal = ordinals.get(id);
+            if (ordinal == null) {
+                ordinal = ids.size();
+                ordinals.put(id, ordinal);
+                ids.add(id);
+            }
+            return ordinal;
+        }
+    }
+}
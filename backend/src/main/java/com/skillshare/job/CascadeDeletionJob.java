@@ -0,0 +1,33 @@
+package com.skillshare.job;
+
+import com.skillshare.service.CascadeDeletionService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Drains the deletion job queue. Jobs left RUNNING by a previous process are
+ * picked up again once their lease expires, so deletions survive restarts.
+ */
+@Component
+public class CascadeDeletionJob {
+
+    private static final Logger log = LoggerFactory.getLogger(CascadeDeletionJob.class);
+
+    private final CascadeDeletionService cascadeDeletionService;
+
+    public CascadeDeletionJob(CascadeDeletionService cascadeDeletionService) {
+        this.cascadeDeletionService = cascadeDeletionService;
+    }
+
+    @Scheduled(initialDelayString = "${skillshare.cascade.poll-interval-ms:5000}",
+               fixedDelayString = "${skillshare.cascade.poll-interval-ms:5000}")
+    public void processPending() {
+        try {
+            cascadeDeletionService.processPending();
+        } catch (Exception e) {
+            log.warn("Could not process deletion jobs: {}", e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,33 @@
+package com.skillshare.job;
+
+import com.skillshare.service.EngagementService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Writes buffered engagement counts to the daily rollups, so a burst of
+ * likes on one post costs one $inc per flush instead of one per like.
+ */
+@Component
+public class EngagementFlushJob {
+
+    private static final Logger log = LoggerFactory.getLogger(EngagementFlushJob.class);
+
+    private final EngagementService engagementService;
+
+    public EngagementFlushJob(EngagementService engagementService) {
+        this.engagementService = engagementService;
+    }
+
+    @Scheduled(initialDelayString = "${skillshare.engagement.flush-interval-ms:10000}",
+               fixedDelayString = "${skillshare.engagement.flush-interval-ms:10000}")
+    public void flush() {
+        try {
+            engagementService.flush();
+        } catch (Exception e) {
+            log.warn("Could not flush engagement rollups: {}", e.getMessage());
+        }
+    }
+}
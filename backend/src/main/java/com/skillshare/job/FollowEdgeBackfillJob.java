@@ -0,0 +1,113 @@
+package com.skillshare.job;
+
+import com.skillshare.model.FollowEdge;
+import com.skillshare.model.User;
+import org.bson.Document;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.stream.Stream;
+
+/**
+ * Seeds the follows collection and the follower/following counters from the
+ * legacy {@code User.followingUsers} arrays. Only runs while the follows
+ * collection is still empty, so it is a no-op after the first deployment.
+ */
+@Component
+public class FollowEdgeBackfillJob {
+
+    private static final Logger log = LoggerFactory.getLogger(FollowEdgeBackfillJob.class);
+    private static final int BATCH_SIZE = 500;
+
+    private final MongoTemplate mongoTemplate;
+
+    public FollowEdgeBackfillJob(MongoTemplate mongoTemplate) {
+        this.mongoTemplate = mongoTemplate;
+    }
+
+    @Async
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfill() {
+        try {
+            if (mongoTemplate.estimatedCount(FollowEdge.class) > 0) {
+                return;
+            }
+
+            long edges = insertEdges();
+            recountFollowers();
+            log.info("Backfilled {} follow edges", edges);
+        } catch (Exception e) {
+            log.warn("Follow edge backfill failed: {}", e.getMessage());
+        }
+    }
+
+    private long insertEdges() {
+        Query query = new Query(Criteria.where("followingUsers.0").exists(true)).cursorBatchSize(BATCH_SIZE);
+        query.fields().include("followingUsers");
+
+        long inserted = 0;
+        int pending = 0;
+        BulkOperations edgeOps = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, FollowEdge.class);
+        BulkOperations counterOps = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, User.class);
+
+        try (Stream<User> users = mongoTemplate.stream(query, User.class)) {
+            for (User user : (Iterable<User>) users::iterator) {
+                for (String followeeId : user.getFollowingUsers()) {
+                    edgeOps.upsert(new Query(Criteria.where("followerId").is(user.getId()).and("followeeId").is(followeeId)),
+                            new Update().setOnInsert("createdAt", LocalDateTime.now()));
+                    pending++;
+                    inserted++;
+                }
+                counterOps.updateOne(new Query(Criteria.where("_id").is(user.getId())),
+                        new Update().set("followingCount", user.getFollowingUsers().size()));
+
+                if (pending >= BATCH_SIZE) {
+                    edgeOps.execute();
+                    counterOps.execute();
+                    edgeOps = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, FollowEdge.class);
+                    counterOps = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, User.class);
+                    pending = 0;
+                }
+            }
+        }
+
+        if (pending > 0) {
+            edgeOps.execute();
+            counterOps.execute();
+        }
+        return inserted;
+    }
+
+    private void recountFollowers() {
+        Aggregation aggregation = Aggregation.newAggregation(
+                Aggregation.group("followeeId").count().as("followers"));
+
+        BulkOperations counterOps = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, User.class);
+        int pending = 0;
+        try (Stream<Document> counts = mongoTemplate.aggregateStream(aggregation, FollowEdge.class, Document.class)) {
+            for (Document count : (Iterable<Document>) counts::iterator) {
+                counterOps.updateOne(new Query(Criteria.where("_id").is(count.get("_id"))),
+                        new Update().set("followerCount", ((Number) count.get("followers")).longValue()));
+                if (++pending >= BATCH_SIZE) {
+                    counterOps.execute();
+                    counterOps = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, User.class);
+                    pending = 0;
+                }
+            }
+        }
+        if (pending > 0) {
+            counterOps.execute();
+        }
+    }
+}
@@ -0,0 +1,33 @@
+package com.skillshare.job;
+
+import com.skillshare.service.ImageVariantService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Feeds queued images to the variant workers, only as fast as they have
+ * room for; the rest stay PENDING in the media collection.
+ */
+@Component
+public class ImageVariantJob {
+
+    private static final Logger log = LoggerFactory.getLogger(ImageVariantJob.class);
+
+    private final ImageVariantService imageVariantService;
+
+    public ImageVariantJob(ImageVariantService imageVariantService) {
+        this.imageVariantService = imageVariantService;
+    }
+
+    @Scheduled(initialDelayString = "${skillshare.media.variant-poll-interval-ms:2000}",
+               fixedDelayString = "${skillshare.media.variant-poll-interval-ms:2000}")
+    public void dispatch() {
+        try {
+            imageVariantService.dispatchPending();
+        } catch (Exception e) {
+            log.warn("Could not dispatch image variant work: {}", e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,51 @@
+package com.skillshare.job;
+
+import com.skillshare.service.LeaderboardService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Restores the in-memory leaderboards at startup and periodically persists
+ * the boards that changed since the last snapshot.
+ */
+@Component
+public class LeaderboardSnapshotJob {
+
+    private static final Logger log = LoggerFactory.getLogger(LeaderboardSnapshotJob.class);
+
+    private final LeaderboardService leaderboardService;
+
+    public LeaderboardSnapshotJob(LeaderboardService leaderboardService) {
+        this.leaderboardService = leaderboardService;
+    }
+
+    @Async
+    @EventListener(ApplicationReadyEvent.class)
+    public void restore() {
+        try {
+            leaderboardService.restore();
+        } catch (Exception e) {
+            log.warn("Could not restore leaderboards: {}", e.getMessage());
+        }
+    }
+
+    @Scheduled(initialDelayString = "${skillshare.leaderboards.snapshot-interval-ms:60000}",
+               fixedDelayString = "${skillshare.leaderboards.snapshot-interval-ms:60000}")
+    public void snapshot() {
+        try {
+            // Retry a restore that failed at startup (e.g. database not yet reachable)
+            if (!leaderboardService.isReady()) {
+                leaderboardService.restore();
+                return;
+            }
+            leaderboardService.snapshot();
+        } catch (Exception e) {
+            log.warn("Leaderboard snapshot failed: {}", e.getMessage());
+        }
+    }
+}
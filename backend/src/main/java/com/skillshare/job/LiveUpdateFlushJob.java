@@ -0,0 +1,32 @@
+package com.skillshare.job;
+
+import com.skillshare.service.LiveUpdateService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Delivers coalesced live updates once per interval, so a burst of likes
+ * on one post reaches each subscriber as a single event.
+ */
+@Component
+public class LiveUpdateFlushJob {
+
+    private static final Logger log = LoggerFactory.getLogger(LiveUpdateFlushJob.class);
+
+    private final LiveUpdateService liveUpdateService;
+
+    public LiveUpdateFlushJob(LiveUpdateService liveUpdateService) {
+        this.liveUpdateService = liveUpdateService;
+    }
+
+    @Scheduled(fixedDelayString = "${skillshare.live.flush-interval-ms:500}")
+    public void flush() {
+        try {
+            liveUpdateService.flush();
+        } catch (Exception e) {
+            log.warn("Could not flush live updates: {}", e.getMessage());
+        }
+    }
+}
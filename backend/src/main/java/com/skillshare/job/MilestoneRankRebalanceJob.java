@@ -0,0 +1,37 @@
+package com.skillshare.job;
+
+import com.skillshare.service.LearningPathService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Occasionally rewrites milestone ranks that repeated moves have grown long,
+ * and gives paths written before ranks existed their first set. Each run
+ * handles one bounded batch; a path edited meanwhile is simply skipped.
+ */
+@Component
+public class MilestoneRankRebalanceJob {
+
+    private static final Logger log = LoggerFactory.getLogger(MilestoneRankRebalanceJob.class);
+
+    private final LearningPathService learningPathService;
+
+    public MilestoneRankRebalanceJob(LearningPathService learningPathService) {
+        this.learningPathService = learningPathService;
+    }
+
+    @Scheduled(initialDelayString = "${skillshare.paths.rebalance-initial-delay-ms:60000}",
+               fixedDelayString = "${skillshare.paths.rebalance-interval-ms:600000}")
+    public void rebalance() {
+        try {
+            int rebalanced = learningPathService.rebalanceMilestoneRanks();
+            if (rebalanced > 0) {
+                log.info("Rebalanced milestone ranks on {} learning paths", rebalanced);
+            }
+        } catch (Exception e) {
+            log.warn("Milestone rank rebalance failed: {}", e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,33 @@
+package com.skillshare.job;
+
+import com.skillshare.service.NotificationService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Writes buffered notifications to the inboxes in batches, off the request
+ * threads that produced them.
+ */
+@Component
+public class NotificationFlushJob {
+
+    private static final Logger log = LoggerFactory.getLogger(NotificationFlushJob.class);
+
+    private final NotificationService notificationService;
+
+    public NotificationFlushJob(NotificationService notificationService) {
+        this.notificationService = notificationService;
+    }
+
+    @Scheduled(initialDelayString = "${skillshare.notifications.flush-interval-ms:5000}",
+               fixedDelayString = "${skillshare.notifications.flush-interval-ms:5000}")
+    public void flush() {
+        try {
+            notificationService.flush();
+        } catch (Exception e) {
+            log.warn("Could not flush notifications: {}", e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,32 @@
+package com.skillshare.job;
+
+import com.skillshare.service.PathAnalyticsService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Recomputes stored path funnels from the progress collections, correcting
+ * drift from missed or racing incremental updates.
+ */
+@Component
+public class PathFunnelReconciliationJob {
+
+    private static final Logger log = LoggerFactory.getLogger(PathFunnelReconciliationJob.class);
+
+    private final PathAnalyticsService pathAnalyticsService;
+
+    public PathFunnelReconciliationJob(PathAnalyticsService pathAnalyticsService) {
+        this.pathAnalyticsService = pathAnalyticsService;
+    }
+
+    @Scheduled(cron = "${skillshare.analytics.reconcile-cron:0 0 4 * * *}")
+    public void reconcile() {
+        try {
+            pathAnalyticsService.reconcileFunnels();
+        } catch (Exception e) {
+            log.warn("Path funnel reconciliation failed: {}", e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,33 @@
+package com.skillshare.job;
+
+import com.skillshare.service.PathRecommendationService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Periodically recomputes the co-enrollment neighbour table. Requests are
+ * always served from the last completed table, never from a partial one.
+ */
+@Component
+public class PathRecommendationRefreshJob {
+
+    private static final Logger log = LoggerFactory.getLogger(PathRecommendationRefreshJob.class);
+
+    private final PathRecommendationService pathRecommendationService;
+
+    public PathRecommendationRefreshJob(PathRecommendationService pathRecommendationService) {
+        this.pathRecommendationService = pathRecommendationService;
+    }
+
+    @Scheduled(initialDelayString = "${skillshare.recommendations.initial-delay-ms:15000}",
+               fixedDelayString = "${skillshare.recommendations.refresh-interval-ms:3600000}")
+    public void refresh() {
+        try {
+            pathRecommendationService.refresh();
+        } catch (Exception e) {
+            log.warn("Path recommendation refresh failed: {}", e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,35 @@
+package com.skillshare.job;
+
+import com.skillshare.service.FollowSuggestionService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Component;
+
+/**
+ * Builds the in-memory follow graph in the background once the application
+ * has started. Until it finishes, suggestion endpoints return empty lists.
+ */
+@Component
+public class SocialGraphLoaderJob {
+
+    private static final Logger log = LoggerFactory.getLogger(SocialGraphLoaderJob.class);
+
+    private final FollowSuggestionService followSuggestionService;
+
+    public SocialGraphLoaderJob(FollowSuggestionService followSuggestionService) {
+        this.followSuggestionService = followSuggestionService;
+    }
+
+    @Async
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        try {
+            followSuggestionService.rebuild();
+        } catch (Exception e) {
+            log.warn("Could not build social graph: {}", e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,41 @@
+package com.skillshare.job;
+
+import com.skillshare.service.TieringService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Moves old, idle posts and learning progress to the archive collections a
+ * few batches at a time, keeping the hot collections and their indexes
+ * close to the working set.
+ */
+@Component
+public class TieringJob {
+
+    private static final Logger log = LoggerFactory.getLogger(TieringJob.class);
+
+    private final TieringService tieringService;
+    private final boolean enabled;
+
+    public TieringJob(TieringService tieringService,
+                      @Value("${skillshare.tiering.enabled:true}") boolean enabled) {
+        this.tieringService = tieringService;
+        this.enabled = enabled;
+    }
+
+    @Scheduled(initialDelayString = "${skillshare.tiering.initial-delay-ms:120000}",
+               fixedDelayString = "${skillshare.tiering.interval-ms:600000}")
+    public void archiveStale() {
+        if (!enabled) {
+            return;
+        }
+        try {
+            tieringService.archiveStale();
+        } catch (Exception e) {
+            log.warn("Tiering run failed: {}", e.getMessage());
+        }
+    }
+}
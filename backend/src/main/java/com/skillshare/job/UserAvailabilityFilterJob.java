@@ -0,0 +1,43 @@
+package com.skillshare.job;
+
+import com.skillshare.service.UserAvailabilityService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Builds the username/email filters at startup and rebuilds them
+ * periodically, which resizes them as the user base grows and clears any
+ * drift from changes made by other application instances.
+ */
+@Component
+public class UserAvailabilityFilterJob {
+
+    private static final Logger log = LoggerFactory.getLogger(UserAvailabilityFilterJob.class);
+
+    private final UserAvailabilityService userAvailabilityService;
+
+    public UserAvailabilityFilterJob(UserAvailabilityService userAvailabilityService) {
+        this.userAvailabilityService = userAvailabilityService;
+    }
+
+    @Async
+    @EventListener(ApplicationReadyEvent.class)
+    public void build() {
+        rebuild();
+    }
+
+    @Scheduled(initialDelayString = "${skillshare.availability.rebuild-interval-ms:21600000}",
+               fixedDelayString = "${skillshare.availability.rebuild-interval-ms:21600000}")
+    public void rebuild() {
+        try {
+            userAvailabilityService.rebuild();
+        } catch (Exception e) {
+            log.warn("Could not build username/email filters: {}", e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,32 @@
+package com.skillshare.job;
+
+import com.skillshare.service.UserStatsService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Recomputes all profile stats from the source collections, correcting
+ * drift from missed or racing incremental updates.
+ */
+@Component
+public class UserStatsReconciliationJob {
+
+    private static final Logger log = LoggerFactory.getLogger(UserStatsReconciliationJob.class);
+
+    private final UserStatsService userStatsService;
+
+    public UserStatsReconciliationJob(UserStatsService userStatsService) {
+        this.userStatsService = userStatsService;
+    }
+
+    @Scheduled(cron = "${skillshare.stats.reconcile-cron:0 30 3 * * *}")
+    public void reconcile() {
+        try {
+            userStatsService.reconcileAll();
+        } catch (Exception e) {
+            log.warn("Profile stats reconciliation failed: {}", e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,75 @@
+package com.skillshare.json;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+
+/**
+ * Writes {@link LocalDateTime} exactly as {@link DateTimeFormatter#ISO_LOCAL_DATE_TIME}
+ * does (e.g. "2024-05-01T10:15:30" or "2024-05-01T10:15:30.25"), but fills a
+ * small char array from a precomputed two-digit table instead of going
+ * through the formatter's field-printer chain for every value.
+ */
+public class IsoLocalDateTimeSerializer extends StdSerializer<LocalDateTime> {
+
+    private static final long serialVersionUID = 1L;
+    private static final char[] DIGIT_PAIRS = new char[200];
+
+    static {
+        for (int i = 0; i < 100; i++) {
+            DIGIT_PAIRS[i * 2] = (char) ('0' + i / 10);
+            DIGIT_PAIRS[i * 2 + 1] = (char) ('0' + i % 10);
+        }
+    }
+
+    public IsoLocalDateTimeSerializer() {
+        super(LocalDateTime.class);
+    }
+
+    @Override
+    public void serialize(LocalDateTime value, JsonGenerator generator, SerializerProvider provider) throws IOException {
+        int year = value.getYear();
+        if (year < 0 || year > 9999) {
+            // Signed and 5+ digit years are rare; leave them to the formatter
+            generator.writeString(DateTimeFormatter.ISO_LOCAL_DATE_TIME.format(value));
+            return;
+        }
+
+        char[] buffer = new char[29];
+        writePair(buffer, 0, year / 100);
+        writePair(buffer, 2, year % 100);
+        buffer[4] = '-';
+        writePair(buffer, 5, value.getMonthValue());
+        buffer[7] = '-';
+        writePair(buffer, 8, value.getDayOfMonth());
+        buffer[10] = 'T';
+        writePair(buffer, 11, value.getHour());
+        buffer[13] = ':';
+        writePair(buffer, 14, value.getMinute());
+        buffer[16] = ':';
+        writePair(buffer, 17, value.getSecond());
+        int length = 19;
+
+        int nano = value.getNano();
+        if (nano > 0) {
+            // Fraction digits with trailing zeros dropped, as the ISO formatter prints them
+            buffer[length++] = '.';
+            int divisor = 100_000_000;
+            while (nano > 0) {
+                buffer[length++] = (char) ('0' + nano / divisor);
+                nano %= divisor;
+                divisor /= 10;
+            }
+        }
+        generator.writeString(buffer, 0, length);
+    }
+
+    private static void writePair(char[] buffer, int offset, int value) {
+        buffer[offset] = DIGIT_PAIRS[value * 2];
+        buffer[offset + 1] = DIGIT_PAIRS[value * 2 + 1];
+    }
+}
@@ -0,0 +1,258 @@
+package com.skillshare.leaderboard;
+
+import com.skillshare.model.LeaderboardEntry;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+
+/**
+ * Sorted score set with rank queries, backed by a size-augmented treap.
+ * Members are ordered by score (highest first, or lowest first for
+ * "fastest" style boards) and then by member id, so ranks are stable.
+ *
+ * put, remove, rank and the start of a range walk are O(log n); a range of
+ * k entries costs O(log n + k). All methods are synchronized.
+ */
+public class RankedSet {
+
+    private final boolean ascending;
+    private final Map<String, Long> scores = new HashMap<>();
+    private final SplittableRandom random = new SplittableRandom();
+    private Node root;
+
+    public RankedSet(boolean ascending) {
+        this.ascending = ascending;
+    }
+
+    public synchronized int size() {
+        return scores.size();
+    }
+
+    public synchronized Long score(String member) {
+        return scores.get(member);
+    }
+
+    public synchronized void put(String member, long score) {
+        Long previous = scores.put(member, score);
+        if (previous != null) {
+            if (previous == score) {
+                return;
+            }
+            root = delete(root, previous, member);
+        }
+        Node node = new Node(member, score, random.nextInt());
+        Node[] parts = split(root, score, member);
+        root = merge(merge(parts[0], node), parts[1]);
+    }
+
+    public synchronized long increment(String member, long delta) {
+        long updated = scores.getOrDefault(member, 0L) + delta;
+        put(member, updated);
+        return updated;
+    }
+
+    public synchronized boolean remove(String member) {
+        Long previous = scores.remove(member);
+        if (previous == null) {
+            return false;
+        }
+        root = delete(root, previous, member);
+        return true;
+    }
+
+    /**
+     * Zero-based rank of {@code member}, or -1 if it is not on the board.
+     */
+    public synchronized int rank(String member) {
+        Long score = scores.get(member);
+        if (score == null) {
+            return -1;
+        }
+        int rank = 0;
+        Node node = root;
+        while (node != null) {
+            int cmp = compare(score, member, node.score, node.member);
+            if (cmp < 0) {
+                node = node.left;
+            } else if (cmp > 0) {
+                rank += size(node.left) + 1;
+                node = node.right;
+            } else {
+                return rank + size(node.left);
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Up to {@code count} entries starting at zero-based rank {@code from}.
+     */
+    public synchronized List<LeaderboardEntry> range(int from, int count) {
+        List<LeaderboardEntry> result = new ArrayList<>(Math.max(0, Math.min(count, size(root) - from)));
+        if (from >= 0 && count > 0) {
+            collect(root, from, from + count, 0, result);
+        }
+        return result;
+    }
+
+    /**
+     * The entries within {@code radius} ranks of {@code member}, inclusive.
+     */
+    public synchronized List<LeaderboardEntry> around(String member, int radius) {
+        int rank = rank(member);
+        if (rank < 0) {
+            return new ArrayList<>();
+        }
+        int from = Math.max(0, rank - radius);
+        return range(from, rank - from + radius + 1);
+    }
+
+    public synchronized void writeTo(DataOutputStream out) throws IOException {
+        out.writeInt(scores.size());
+        for (Map.Entry<String, Long> entry : scores.entrySet()) {
+            out.writeUTF(entry.getKey());
+            out.writeLong(entry.getValue());
+        }
+    }
+
+    /**
+     * Serializes the entries in parts of at most {@code maxEntries}, each in
+     * the {@link #writeTo} layout, so no single part outgrows a document.
+     * An empty set yields one empty part.
+     */
+    public synchronized List<byte[]> writeParts(int maxEntries) throws IOException {
+        List<byte[]> parts = new ArrayList<>();
+        Iterator<Map.Entry<String, Long>> entries = scores.entrySet().iterator();
+        int remaining = scores.size();
+        do {
+            int count = Math.min(maxEntries, remaining);
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+            try (DataOutputStream out = new DataOutputStream(bytes)) {
+                out.writeInt(count);
+                for (int i = 0; i < count; i++) {
+                    Map.Entry<String, Long> entry = entries.next();
+                    out.writeUTF(entry.getKey());
+                    out.writeLong(entry.getValue());
+                }
+            }
+            parts.add(bytes.toByteArray());
+            remaining -= count;
+        } while (remaining > 0);
+        return parts;
+    }
+
+    public synchronized List<String> members() {
+        return new ArrayList<>(scores.keySet());
+    }
+
+    public synchronized void readFrom(DataInputStream in) throws IOException {
+        int count = in.readInt();
+        for (int i = 0; i < count; i++) {
+            put(in.readUTF(), in.readLong());
+        }
+    }
+
+    private void collect(Node node, int from, int to, int offset, List<LeaderboardEntry> out) {
+        if (node == null || offset >= to) {
+            return;
+        }
+        int leftSize = size(node.left);
+        int nodeRank = offset + leftSize;
+        if (from < nodeRank) {
+            collect(node.left, from, to, offset, out);
+        }
+        if (nodeRank >= from && nodeRank < to) {
+            out.add(new LeaderboardEntry(node.member, node.score, nodeRank + 1));
+        }
+        if (nodeRank + 1 < to) {
+            collect(node.right, from, to, nodeRank + 1, out);
+        }
+    }
+
+    private int compare(long scoreA, String memberA, long scoreB, String memberB) {
+        int byScore = ascending ? Long.compare(scoreA, scoreB) : Long.compare(scoreB, scoreA);
+        return byScore != 0 ? byScore : memberA.compareTo(memberB);
+    }
+
+    // Splits into nodes ordered before (score, member) and the rest
+    private Node[] split(Node node, long score, String member) {
+        if (node == null) {
+            return new Node[] {null, null};
+        }
+        if (compare(node.score, node.member, score, member) < 0) {
+            Node[] parts = split(node.right, score, member);
+            node.right = parts[0];
+            node.update();
+            return new Node[] {node, parts[1]};
+        }
+        Node[] parts = split(node.left, score, member);
+        node.left = parts[1];
+        node.update();
+        return new Node[] {parts[0], node};
+    }
+
+    private Node merge(Node left, Node right) {
+        if (left == null) {
+            return right;
+        }
+        if (right == null) {
+            return left;
+        }
+        if (left.priority > right.priority) {
+            left.right = merge(left.right, right);
+            left.update();
+            return left;
+        }
+        right.left = merge(left, right.left);
+        right.update();
+        return right;
+    }
+
+    private Node delete(Node node, long score, String member) {
+        if (node == null) {
+            return null;
+        }
+        int cmp = compare(score, member, node.score, node.member);
+        if (cmp == 0) {
+            return merge(node.left, node.right);
+        }
+        if (cmp < 0) {
+            node.left = delete(node.left, score, member);
+        } else {
+            node.right = delete(node.right, score, member);
+        }
+        node.update();
+        return node;
+    }
+
+    private static int size(Node node) {
+        return node == null ? 0 : node.size;
+    }
+
+    private static final class Node {
+        final String member;
+        final long score;
+        final int priority;
+        int size = 1;
+        Node left;
+        Node right;
+
+        Node(String member, long score, int priority) {
+            this.member = member;
+            this.score = score;
+            this.priority = priority;
+        }
+
+        void update() {
+            size = 1 + RankedSet.size(left) + RankedSet.size(right);
+        }
+    }
+}
@@ -0,0 +1,144 @@
+package com.skillshare.media;
+
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReadParam;
+import javax.imageio.ImageReader;
+import javax.imageio.stream.ImageInputStream;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.Iterator;
+import java.util.Map;
+
+/**
+ * Decodes an image once and renders the requested variants from it.
+ *
+ * Large sources are decoded with subsampling so the decoder never produces
+ * more than about twice the pixels the largest variant needs, and each
+ * smaller variant is scaled from the next larger one rather than from the
+ * source. Opaque results are written as JPEG, anything with alpha as PNG.
+ */
+public final class ImageResizer {
+
+    // Refuse decompression bombs before allocating the raster
+    private static final long MAX_SOURCE_PIXELS = 100_000_000L;
+
+    static {
+        // Decode from memory/file directly instead of through ImageIO's temp-file cache
+        ImageIO.setUseCache(false);
+    }
+
+    private ImageResizer() {}
+
+    public static Map<ImageVariant, Rendered> render(InputStream source, ImageVariant... variants) throws IOException {
+        Map<ImageVariant, Rendered> result = new EnumMap<>(ImageVariant.class);
+        try (ImageInputStream in = ImageIO.createImageInputStream(source)) {
+            if (in == null) {
+                return result;
+            }
+            Iterator<ImageReader> readers = ImageIO.getImageReaders(in);
+            if (!readers.hasNext()) {
+                return result;
+            }
+            ImageReader reader = readers.next();
+            try {
+                reader.setInput(in, true, true);
+                int width = reader.getWidth(0);
+                int height = reader.getHeight(0);
+                if ((long) width * height > MAX_SOURCE_PIXELS) {
+                    throw new IOException("Image too large: " + width + "x" + height);
+                }
+
+                ImageVariant[] largestFirst = variants.clone();
+                Arrays.sort(largestFirst, Comparator.comparingInt(ImageVariant::maxDimension).reversed());
+                if (largestFirst.length == 0 || Math.max(width, height) <= largestFirst[largestFirst.length - 1].maxDimension()) {
+                    // Already no larger than the smallest variant
+                    return result;
+                }
+
+                ImageReadParam param = reader.getDefaultReadParam();
+                int subsample = Math.max(1, Math.max(width, height) / (2 * largestFirst[0].maxDimension()));
+                param.setSourceSubsampling(subsample, subsample, 0, 0);
+                BufferedImage current = reader.read(0, param);
+
+                for (ImageVariant variant : largestFirst) {
+                    if (Math.max(width, height) <= variant.maxDimension()) {
+                        continue;
+                    }
+                    current = scale(current, variant.maxDimension());
+                    result.put(variant, encode(current));
+                }
+                return result;
+            } finally {
+                reader.dispose();
+            }
+        }
+    }
+
+    static BufferedImage scale(BufferedImage image, int maxDimension) {
+        int width = image.getWidth();
+        int height = image.getHeight();
+        double factor = Math.min(1.0, (double) maxDimension / Math.max(width, height));
+        int targetWidth = Math.max(1, (int) Math.round(width * factor));
+        int targetHeight = Math.max(1, (int) Math.round(height * factor));
+
+        boolean alpha = image.getColorModel().hasAlpha();
+        BufferedImage scaled = new BufferedImage(targetWidth, targetHeight,
+                alpha ? BufferedImage.TYPE_INT_ARGB : BufferedImage.TYPE_INT_RGB);
+        Graphics2D g = scaled.createGraphics();
+        try {
+            g.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+            g.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+            g.drawImage(image, 0, 0, targetWidth, targetHeight, null);
+        } finally {
+            g.dispose();
+        }
+        return scaled;
+    }
+
+    private static Rendered encode(BufferedImage image) throws IOException {
+        boolean alpha = image.getColorModel().hasAlpha();
+        String format = alpha ? "png" : "jpeg";
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        if (!ImageIO.write(image, format, out)) {
+            throw new IOException("No ImageIO writer for " + format);
+        }
+        return new Rendered(out.toByteArray(), "image/" + format, image.getWidth(), image.getHeight());
+    }
+
+    public static final class Rendered {
+        private final byte[] data;
+        private final String contentType;
+        private final int width;
+        private final int height;
+
+        Rendered(byte[] data, String contentType, int width, int height) {
+            this.data = data;
+            this.contentType = contentType;
+            this.width = width;
+            this.height = height;
+        }
+
+        public byte[] getData() {
+            return data;
+        }
+
+        public String getContentType() {
+            return contentType;
+        }
+
+        public int getWidth() {
+            return width;
+        }
+
+        public int getHeight() {
+            return height;
+        }
+    }
+}
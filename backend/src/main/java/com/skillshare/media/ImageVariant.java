@@ -0,0 +1,35 @@
+package com.skillshare.media;
+
+/**
+ * Resized renditions generated for uploaded images. {@code maxDimension}
+ * bounds the longer side; images already smaller are not upscaled.
+ */
+public enum ImageVariant {
+    THUMB("thumb", 200),
+    MEDIUM("medium", 800);
+
+    private final String key;
+    private final int maxDimension;
+
+    ImageVariant(String key, int maxDimension) {
+        this.key = key;
+        this.maxDimension = maxDimension;
+    }
+
+    public String key() {
+        return key;
+    }
+
+    public int maxDimension() {
+        return maxDimension;
+    }
+
+    public static ImageVariant fromKey(String key) {
+        for (ImageVariant variant : values()) {
+            if (variant.key.equalsIgnoreCase(key)) {
+                return variant;
+            }
+        }
+        return null;
+    }
+}
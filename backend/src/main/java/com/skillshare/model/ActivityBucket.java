@@ -0,0 +1,94 @@
+package com.skillshare.model;
+
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Up to a fixed number of one user's activity events from one time window,
+ * in arrival order. A full window simply gets another bucket, so documents
+ * stay bounded however active the learner is.
+ */
+@Document(collection = "activity_buckets")
+public class ActivityBucket {
+    @Id
+    private String id;
+    private String userId;
+    private LocalDateTime windowStart;
+    // Oldest and newest event ids in the bucket; firstId orders buckets per user
+    private String firstId;
+    private String lastId;
+    private int count;
+    private List<ActivityEvent> events = new ArrayList<>();
+    private LocalDateTime updatedAt;
+
+    // Constructors
+    public ActivityBucket() {}
+
+    // Getters and Setters
+    public String getId() {
+        return id;
+    }
+
+    public void setId(String id) {
+        this.id = id;
+    }
+
+    public String getUserId() {
+        return userId;
+    }
+
+    public void setUserId(String userId) {
+        this.userId = userId;
+    }
+
+    public LocalDateTime getWindowStart() {
+        return windowStart;
+    }
+
+    public void setWindowStart(LocalDateTime windowStart) {
+        this.windowStart = windowStart;
+    }
+
+    public String getFirstId() {
+        return firstId;
+    }
+
+    public void setFirstId(String firstId) {
+        this.firstId = firstId;
+    }
+
+    public String getLastId() {
+        return lastId;
+    }
+
+    public void setLastId(String lastId) {
+        this.lastId = lastId;
+    }
+
+    public int getCount() {
+        return count;
+    }
+
+    public void setCount(int count) {
+        this.count = count;
+    }
+
+    public List<ActivityEvent> getEvents() {
+        return events;
+    }
+
+    public void setEvents(List<ActivityEvent> events) {
+        this.events = events;
+    }
+
+    public LocalDateTime getUpdatedAt() {
+        return updatedAt;
+    }
+
+    public void setUpdatedAt(LocalDateTime updatedAt) {
+        this.updatedAt = updatedAt;
+    }
+}
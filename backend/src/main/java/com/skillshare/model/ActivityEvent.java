@@ -0,0 +1,91 @@
+package com.skillshare.model;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import java.time.LocalDateTime;
+
+/**
+ * One entry in a learner's activity history, stored inside an
+ * {@link ActivityBucket}. Events are never updated once written.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class ActivityEvent {
+    public enum Type {
+        PATH_STARTED, MILESTONE_COMPLETED, BADGE_AWARDED
+    }
+
+    // Time-ordered, so it doubles as the paging cursor
+    private String id;
+    private Type type;
+    private String progressId;
+    private String learningPathId;
+    private String milestoneId;
+    private String badge;
+    private LocalDateTime occurredAt;
+
+    // Constructors
+    public ActivityEvent() {}
+
+    public ActivityEvent(Type type, LearningProgress progress) {
+        this.type = type;
+        this.progressId = progress.getId();
+        this.learningPathId = progress.getLearningPathId();
+    }
+
+    // Getters and Setters
+    public String getId() {
+        return id;
+    }
+
+    public void setId(String id) {
+        this.id = id;
+    }
+
+    public Type getType() {
+        return type;
+    }
+
+    public void setType(Type type) {
+        this.type = type;
+    }
+
+    public String getProgressId() {
+        return progressId;
+    }
+
+    public void setProgressId(String progressId) {
+        this.progressId = progressId;
+    }
+
+    public String getLearningPathId() {
+        return learningPathId;
+    }
+
+    public void setLearningPathId(String learningPathId) {
+        this.learningPathId = learningPathId;
+    }
+
+    public String getMilestoneId() {
+        return milestoneId;
+    }
+
+    public void setMilestoneId(String milestoneId) {
+        this.milestoneId = milestoneId;
+    }
+
+    public String getBadge() {
+        return badge;
+    }
+
+    public void setBadge(String badge) {
+        this.badge = badge;
+    }
+
+    public LocalDateTime getOccurredAt() {
+        return occurredAt;
+    }
+
+    public void setOccurredAt(LocalDateTime occurredAt) {
+        this.occurredAt = occurredAt;
+    }
+}
@@ -0,0 +1,38 @@
+package com.skillshare.model;
+
+import java.util.List;
+
+/**
+ * One page of a learner's activity, newest first. {@code nextCursor} is
+ * passed back as {@code before} to fetch the next page and is null on the
+ * last page.
+ */
+public class ActivityPage {
+    private List<ActivityEvent> events;
+    private String nextCursor;
+
+    // Constructors
+    public ActivityPage() {}
+
+    public ActivityPage(List<ActivityEvent> events, String nextCursor) {
+        this.events = events;
+        this.nextCursor = nextCursor;
+    }
+
+    // Getters and Setters
+    public List<ActivityEvent> getEvents() {
+        return events;
+    }
+
+    public void setEvents(List<ActivityEvent> events) {
+        this.events = events;
+    }
+
+    public String getNextCursor() {
+        return nextCursor;
+    }
+
+    public void setNextCursor(String nextCursor) {
+        this.nextCursor = nextCursor;
+    }
+}
@@ -0,0 +1,151 @@
+package com.skillshare.model;
+
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+import java.time.LocalDateTime;
+
+/**
+ * A queued cascade deletion. The primary record (user or learning path) is
+ * deleted synchronously; this job removes the records that depend on it in
+ * batches. {@code step} is the index of the next cleanup step to run, so a
+ * job picked up again after a restart resumes where it stopped.
+ */
+@Document(collection = "deletion_jobs")
+public class DeletionJob {
+
+    public enum TargetType { USER, PATH }
+
+    public enum Status { PENDING, RUNNING, DONE, FAILED }
+
+    @Id
+    private String id;
+    private TargetType targetType;
+    private String targetId;
+    private Status status = Status.PENDING;
+    private int step = 0;
+    private String stepName;
+    private long processed = 0;
+    private int attempts = 0;
+    private String lastError;
+    // A RUNNING job whose lease has expired is considered abandoned and may be claimed again
+    private LocalDateTime leaseUntil;
+    private LocalDateTime createdAt;
+    private LocalDateTime updatedAt;
+    private LocalDateTime completedAt;
+
+    // Constructors
+    public DeletionJob() {}
+
+    public DeletionJob(TargetType targetType, String targetId) {
+        this.targetType = targetType;
+        this.targetId = targetId;
+        this.createdAt = LocalDateTime.now();
+        this.updatedAt = this.createdAt;
+        this.leaseUntil = this.createdAt;
+    }
+
+    // Getters and Setters
+    public String getId() {
+        return id;
+    }
+
+    public void setId(String id) {
+        this.id = id;
+    }
+
+    public TargetType getTargetType() {
+        return targetType;
+    }
+
+    public void setTargetType(TargetType targetType) {
+        this.targetType = targetType;
+    }
+
+    public String getTargetId() {
+        return targetId;
+    }
+
+    public void setTargetId(String targetId) {
+        this.targetId = targetId;
+    }
+
+    public Status getStatus() {
+        return status;
+    }
+
+    public void setStatus(Status status) {
+        this.status = status;
+    }
+
+    public int getStep() {
+        return step;
+    }
+
+    public void setStep(int step) {
+        this.step = step;
+    }
+
+    public String getStepName() {
+        return stepName;
+    }
+
+    public void setStepName(String stepName) {
+        this.stepName = stepName;
+    }
+
+    public long getProcessed() {
+        return processed;
+    }
+
+    public void setProcessed(long processed) {
+        this.processed = processed;
+    }
+
+    public int getAttempts() {
+        return attempts;
+    }
+
+    public void setAttempts(int attempts) {
+        this.attempts = attempts;
+    }
+
+    public String getLastError() {
+        return lastError;
+    }
+
+    public void setLastError(String lastError) {
+        this.lastError = lastError;
+    }
+
+    public LocalDateTime getLeaseUntil() {
+        return leaseUntil;
+    }
+
+    public void setLeaseUntil(LocalDateTime leaseUntil) {
+        this.leaseUntil = leaseUntil;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    public void setCreatedAt(LocalDateTime createdAt) {
+        this.createdAt = createdAt;
+    }
+
+    public LocalDateTime getUpdatedAt() {
+        return updatedAt;
+    }
+
+    public void setUpdatedAt(LocalDateTime updatedAt) {
+        this.updatedAt = updatedAt;
+    }
+
+    public LocalDateTime getCompletedAt() {
+        return completedAt;
+    }
+
+    public void setCompletedAt(LocalDateTime completedAt) {
+        this.completedAt = completedAt;
+    }
+}
@@ -0,0 +1,138 @@
+package com.skillshare.model;
+
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * Engagement counters for one post, path or user on one day. The id is
+ * "type:entityId:yyyy-MM-dd", so a date range for one entity is a single
+ * range scan on _id. Also used for the weekly sums returned by range queries.
+ */
+@Document(collection = "engagement_daily")
+public class EngagementDaily {
+    public static final String POST = "post";
+    public static final String PATH = "path";
+    // Totals across everything a user owns
+    public static final String USER = "user";
+
+    public enum Metric {
+        LIKES("likes"), SHARES("shares"), COMMENTS("comments"), ENROLLMENTS("enrollments");
+
+        private final String field;
+
+        Metric(String field) {
+            this.field = field;
+        }
+
+        public String field() {
+            return field;
+        }
+    }
+
+    @Id
+    private String id;
+    private String entityType;
+    private String entityId;
+    private LocalDate day;
+    private long likes;
+    private long shares;
+    private long comments;
+    private long enrollments;
+    private LocalDateTime updatedAt;
+
+    // Constructors
+    public EngagementDaily() {}
+
+    public EngagementDaily(String entityType, String entityId, LocalDate day) {
+        this.id = id(entityType, entityId, day);
+        this.entityType = entityType;
+        this.entityId = entityId;
+        this.day = day;
+    }
+
+    public static String id(String entityType, String entityId, LocalDate day) {
+        return entityType + ":" + entityId + ":" + day;
+    }
+
+    public void add(EngagementDaily other) {
+        likes += other.likes;
+        shares += other.shares;
+        comments += other.comments;
+        enrollments += other.enrollments;
+    }
+
+    // Getters and Setters
+    public String getId() {
+        return id;
+    }
+
+    public void setId(String id) {
+        this.id = id;
+    }
+
+    public String getEntityType() {
+        return entityType;
+    }
+
+    public void setEntityType(String entityType) {
+        this.entityType = entityType;
+    }
+
+    public String getEntityId() {
+        return entityId;
+    }
+
+    public void setEntityId(String entityId) {
+        this.entityId = entityId;
+    }
+
+    public LocalDate getDay() {
+        return day;
+    }
+
+    public void setDay(LocalDate day) {
+        this.day = day;
+    }
+
+    public long getLikes() {
+        return likes;
+    }
+
+    public void setLikes(long likes) {
+        this.likes = likes;
+    }
+
+    public long getShares() {
+        return shares;
+    }
+
+    public void setShares(long shares) {
+        this.shares = shares;
+    }
+
+    public long getComments() {
+        return comments;
+    }
+
+    public void setComments(long comments) {
+        this.comments = comments;
+    }
+
+    public long getEnrollments() {
+        return enrollments;
+    }
+
+    public void setEnrollments(long enrollments) {
+        this.enrollments = enrollments;
+    }
+
+    public LocalDateTime getUpdatedAt() {
+        return updatedAt;
+    }
+
+    public void setUpdatedAt(LocalDateTime updatedAt) {
+        this.updatedAt = updatedAt;
+    }
+}
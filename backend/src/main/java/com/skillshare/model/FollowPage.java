@@ -0,0 +1,47 @@
+package com.skillshare.model;
+
+import java.util.List;
+
+/**
+ * One page of a follower or following list. {@code nextCursor} is passed back
+ * as {@code before} to fetch the next page and is null on the last page.
+ */
+public class FollowPage {
+    private List<UserSummary> users;
+    private String nextCursor;
+    private long total;
+
+    // Constructors
+    public FollowPage() {}
+
+    public FollowPage(List<UserSummary> users, String nextCursor, long total) {
+        this.users = users;
+        this.nextCursor = nextCursor;
+        this.total = total;
+    }
+
+    // Getters and Setters
+    public List<UserSummary> getUsers() {
+        return users;
+    }
+
+    public void setUsers(List<UserSummary> users) {
+        this.users = users;
+    }
+
+    public String getNextCursor() {
+        return nextCursor;
+    }
+
+    public void setNextCursor(String nextCursor) {
+        this.nextCursor = nextCursor;
+    }
+
+    public long getTotal() {
+        return total;
+    }
+
+    public void setTotal(long total) {
+        this.total = total;
+    }
+}
@@ -0,0 +1,35 @@
+package com.skillshare.model;
+
+/**
+ * A suggested account together with how many of the requesting user's
+ * followees already follow it.
+ */
+public class FollowSuggestion {
+    private String userId;
+    private int mutualCount;
+
+    // Constructors
+    public FollowSuggestion() {}
+
+    public FollowSuggestion(String userId, int mutualCount) {
+        this.userId = userId;
+        this.mutualCount = mutualCount;
+    }
+
+    // Getters and Setters
+    public String getUserId() {
+        return userId;
+    }
+
+    public void setUserId(String userId) {
+        this.userId = userId;
+    }
+
+    public int getMutualCount() {
+        return mutualCount;
+    }
+
+    public void setMutualCount(int mutualCount) {
+        this.mutualCount = mutualCount;
+    }
+}
@@ -0,0 +1,103 @@
+package com.skillshare.model;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Author-facing view of a {@link PathFunnel}, with steps in milestone order.
+ */
+public class FunnelReport {
+    private String pathId;
+    private long enrollments;
+    private List<Step> steps = new ArrayList<>();
+
+    public static class Step {
+        private String milestoneId;
+        private String title;
+        private int orderIndex;
+        private long completions;
+        private double completionRate;
+        // Approximate: midpoint of the median log2 histogram bucket
+        private Long medianSecondsFromPrevious;
+
+        // Constructors
+        public Step() {}
+
+        // Getters and Setters
+        public String getMilestoneId() {
+            return milestoneId;
+        }
+
+        public void setMilestoneId(String milestoneId) {
+            this.milestoneId = milestoneId;
+        }
+
+        public String getTitle() {
+            return title;
+        }
+
+        public void setTitle(String title) {
+            this.title = title;
+        }
+
+        public int getOrderIndex() {
+            return orderIndex;
+        }
+
+        public void setOrderIndex(int orderIndex) {
+            this.orderIndex = orderIndex;
+        }
+
+        public long getCompletions() {
+            return completions;
+        }
+
+        public void setCompletions(long completions) {
+            this.completions = completions;
+        }
+
+        public double getCompletionRate() {
+            return completionRate;
+        }
+
+        public void setCompletionRate(double completionRate) {
+            this.completionRate = completionRate;
+        }
+
+        public Long getMedianSecondsFromPrevious() {
+            return medianSecondsFromPrevious;
+        }
+
+        public void setMedianSecondsFromPrevious(Long medianSecondsFromPrevious) {
+            this.medianSecondsFromPrevious = medianSecondsFromPrevious;
+        }
+    }
+
+    // Constructors
+    public FunnelReport() {}
+
+    // Getters and Setters
+    public String getPathId() {
+        return pathId;
+    }
+
+    public void setPathId(String pathId) {
+        this.pathId = pathId;
+    }
+
+    public long getEnrollments() {
+        return enrollments;
+    }
+
+    public void setEnrollments(long enrollments) {
+        this.enrollments = enrollments;
+    }
+
+    public List<Step> getSteps() {
+        return steps;
+    }
+
+    public void setSteps(List<Step> steps) {
+        this.steps = steps;
+    }
+}
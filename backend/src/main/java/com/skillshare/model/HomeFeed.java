@@ -0,0 +1,60 @@
+package com.skillshare.model;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Everything the home page shows, fetched in one request. Sections that
+ * failed or timed out are empty and listed in {@code degradedSections}.
+ */
+public class HomeFeed {
+    private List<Post> recentPosts = new ArrayList<>();
+    private List<Post> popularPosts = new ArrayList<>();
+    private List<LearningPath> publicPaths = new ArrayList<>();
+    private List<LearningProgress> recentProgress = new ArrayList<>();
+    private List<String> degradedSections = new ArrayList<>();
+
+    // Constructors
+    public HomeFeed() {}
+
+    // Getters and Setters
+    public List<Post> getRecentPosts() {
+        return recentPosts;
+    }
+
+    public void setRecentPosts(List<Post> recentPosts) {
+        this.recentPosts = recentPosts;
+    }
+
+    public List<Post> getPopularPosts() {
+        return popularPosts;
+    }
+
+    public void setPopularPosts(List<Post> popularPosts) {
+        this.popularPosts = popularPosts;
+    }
+
+    public List<LearningPath> getPublicPaths() {
+        return publicPaths;
+    }
+
+    public void setPublicPaths(List<LearningPath> publicPaths) {
+        this.publicPaths = publicPaths;
+    }
+
+    public List<LearningProgress> getRecentProgress() {
+        return recentProgress;
+    }
+
+    public void setRecentProgress(List<LearningProgress> recentProgress) {
+        this.recentProgress = recentProgress;
+    }
+
+    public List<String> getDegradedSections() {
+        return degradedSections;
+    }
+
+    public void setDegradedSections(List<String> degradedSections) {
+        this.degradedSections = degradedSections;
+    }
+}
@@ -0,0 +1,44 @@
+package com.skillshare.model;
+
+/**
+ * One row of a leaderboard. {@code rank} is one-based.
+ */
+public class LeaderboardEntry {
+    private String userId;
+    private long score;
+    private int rank;
+
+    // Constructors
+    public LeaderboardEntry() {}
+
+    public LeaderboardEntry(String userId, long score, int rank) {
+        this.userId = userId;
+        this.score = score;
+        this.rank = rank;
+    }
+
+    // Getters and Setters
+    public String getUserId() {
+        return userId;
+    }
+
+    public void setUserId(String userId) {
+        this.userId = userId;
+    }
+
+    public long getScore() {
+        return score;
+    }
+
+    public void setScore(long score) {
+        this.score = score;
+    }
+
+    public int getRank() {
+        return rank;
+    }
+
+    public void setRank(int rank) {
+        this.rank = rank;
+    }
+}
@@ -0,0 +1,84 @@
+package com.skillshare.model;
+
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+import java.time.LocalDateTime;
+
+/**
+ * Serialized copy of one in-memory leaderboard, keyed by board name
+ * (e.g. "global:MILESTONES" or "path:{pathId}:FASTEST"). The entries are
+ * packed as (member, score) pairs in {@code data}. Large boards are split
+ * into {@code parts} documents; part n &gt; 0 is keyed "{board}#n".
+ */
+@Document(collection = "leaderboard_snapshots")
+public class LeaderboardSnapshot {
+    @Id
+    private String id;
+    private int size;
+    private int part;
+    private int parts;
+    private byte[] data;
+    private LocalDateTime takenAt;
+
+    // Constructors
+    public LeaderboardSnapshot() {}
+
+    public LeaderboardSnapshot(String id, int size, int part, int parts, byte[] data, LocalDateTime takenAt) {
+        this.id = id;
+        this.size = size;
+        this.part = part;
+        this.parts = parts;
+        this.data = data;
+        this.takenAt = takenAt;
+    }
+
+    // Getters and Setters
+    public String getId() {
+        return id;
+    }
+
+    public void setId(String id) {
+        this.id = id;
+    }
+
+    public int getSize() {
+        return size;
+    }
+
+    public void setSize(int size) {
+        this.size = size;
+    }
+
+    public int getPart() {
+        return part;
+    }
+
+    public void setPart(int part) {
+        this.part = part;
+    }
+
+    // Snapshots written before boards were split have no parts field
+    public int getParts() {
+        return Math.max(1, parts);
+    }
+
+    public void setParts(int parts) {
+        this.parts = parts;
+    }
+
+    public byte[] getData() {
+        return data;
+    }
+
+    public void setData(byte[] data) {
+        this.data = data;
+    }
+
+    public LocalDateTime getTakenAt() {
+        return takenAt;
+    }
+
+    public void setTakenAt(LocalDateTime takenAt) {
+        this.takenAt = takenAt;
+    }
+}
@@ -0,0 +1,10 @@
+package com.skillshare.model;
+
+public enum LeaderboardType {
+    // Completed milestones, highest first
+    MILESTONES,
+    // Awarded badges, highest first
+    BADGES,
+    // Seconds from enrollment to completing every milestone, lowest first (per path only)
+    FASTEST
+}
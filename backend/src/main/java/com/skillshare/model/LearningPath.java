@@ -1,8 +1,10 @@
 package com.skillshare.model;
 
+import com.skillshare.util.OrderKey;
 import org.springframework.data.annotation.Id;
 import org.springframework.data.mongodb.core.mapping.Document;
 import java.time.LocalDateTime;
+import java.util.Comparator;
 import java.util.List;
 import java.util.ArrayList;
 
@@ -19,6 +21,8 @@ public class LearningPath {
     private boolean isPublic = true;
     private List<String> tags = new ArrayList<>();
     private int likes = 0;
+    // Bumped by every content edit; PATCH requests must name the version they read
+    private long version = 0;
     
     // Nested Milestone class
     public static class Milestone {
@@ -26,6 +30,8 @@ public class LearningPath {
         private String title;
         private String description;
         private int orderIndex;
+        // Lexicographic key (see OrderKey) that defines the order; orderIndex is derived from it on read
+        private String rank;
         private List<String> resources = new ArrayList<>();
         
         // Constructors, getters and setters
@@ -69,6 +75,14 @@ public class LearningPath {
             this.orderIndex = orderIndex;
         }
         
+        public String getRank() {
+            return rank;
+        }
+        
+        public void setRank(String rank) {
+            this.rank = rank;
+        }
+        
         public List<String> getResources() {
             return resources;
         }
@@ -141,6 +155,22 @@ public class LearningPath {
         this.milestones = milestones;
     }
     
+    /**
+     * Milestones in display order: by rank once every milestone has a valid
+     * one, otherwise by the legacy orderIndex. The stored list order is left
+     * alone, since positional updates address elements by array index.
+     */
+    public List<Milestone> milestonesInOrder() {
+        return inDisplayOrder(milestones);
+    }
+    
+    public static List<Milestone> inDisplayOrder(List<Milestone> milestones) {
+        List<Milestone> ordered = new ArrayList<>(milestones);
+        boolean ranked = ordered.stream().allMatch(m -> OrderKey.isValid(m.getRank()));
+        ordered.sort(ranked ? Comparator.comparing(Milestone::getRank) : Comparator.comparingInt(Milestone::getOrderIndex));
+        return ordered;
+    }
+    
     public boolean isPublic() {
         return isPublic;
     }
@@ -164,4 +194,12 @@ public class LearningPath {
     public void setLikes(int likes) {
         this.likes = likes;
     }
-}
\ No newline at end of file
+    
+    public long getVersion() {
+        return version;
+    }
+    
+    public void setVersion(long version) {
+        this.version = version;
+    }
+}
@@ -8,6 +8,9 @@ import java.util.ArrayList;
 
 @Document(collection = "learning_progress")
 public class LearningProgress {
+    // Cold tier for documents the tiering job moved out; same shape as the hot collection
+    public static final String ARCHIVE_COLLECTION = "learning_progress_archive";
+
     @Id
     private String id;
     private String userId;
@@ -18,6 +21,8 @@ public class LearningProgress {
     private List<CompletedMilestone> completedMilestones = new ArrayList<>();
     private List<String> awardedBadges = new ArrayList<>();
     private int likes = 0;
+    // Bumped by every content edit; PATCH requests must name the version they read
+    private long version = 0;
     
     // Nested class for completed milestones
     public static class CompletedMilestone {
@@ -147,4 +152,12 @@ public class LearningProgress {
     public void setLikes(int likes) {
         this.likes = likes;
     }
-}
\ No newline at end of file
+    
+    public long getVersion() {
+        return version;
+    }
+    
+    public void setVersion(long version) {
+        this.version = version;
+    }
+}
@@ -0,0 +1,93 @@
+package com.skillshare.model;
+
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+import java.time.LocalDateTime;
+
+/**
+ * One user's like of a post, comment, path or progress entry. The id is
+ * "type:entityId:userId", so inserting a duplicate like fails on the primary
+ * key and all likers of one entity are a single range scan on _id.
+ */
+@Document(collection = "likes")
+public class LikeEdge {
+    public static final String POST = "post";
+    public static final String COMMENT = "comment";
+    public static final String PATH = "path";
+    public static final String PROGRESS = "progress";
+
+    @Id
+    private String id;
+    private String entityType;
+    private String entityId;
+    // The post a liked comment belongs to; null for other types
+    private String parentId;
+    private String userId;
+    private LocalDateTime createdAt;
+
+    // Constructors
+    public LikeEdge() {}
+
+    public LikeEdge(String entityType, String entityId, String parentId, String userId) {
+        this.id = prefix(entityType, entityId) + userId;
+        this.entityType = entityType;
+        this.entityId = entityId;
+        this.parentId = parentId;
+        this.userId = userId;
+        this.createdAt = LocalDateTime.now();
+    }
+
+    // Every edge id of the entity starts with this
+    public static String prefix(String entityType, String entityId) {
+        return entityType + ":" + entityId + ":";
+    }
+
+    // Getters and Setters
+    public String getId() {
+        return id;
+    }
+
+    public void setId(String id) {
+        this.id = id;
+    }
+
+    public String getEntityType() {
+        return entityType;
+    }
+
+    public void setEntityType(String entityType) {
+        this.entityType = entityType;
+    }
+
+    public String getEntityId() {
+        return entityId;
+    }
+
+    public void setEntityId(String entityId) {
+        this.entityId = entityId;
+    }
+
+    public String getParentId() {
+        return parentId;
+    }
+
+    public void setParentId(String parentId) {
+        this.parentId = parentId;
+    }
+
+    public String getUserId() {
+        return userId;
+    }
+
+    public void setUserId(String userId) {
+        this.userId = userId;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    public void setCreatedAt(LocalDateTime createdAt) {
+        this.createdAt = createdAt;
+    }
+}
@@ -0,0 +1,35 @@
+package com.skillshare.model;
+
+/**
+ * The caller's like and the entity's counter after a like or unlike, so
+ * clients show what was stored instead of guessing from their own clicks.
+ */
+public class LikeState {
+    private boolean liked;
+    private int likes;
+
+    // Constructors
+    public LikeState() {}
+
+    public LikeState(boolean liked, int likes) {
+        this.liked = liked;
+        this.likes = likes;
+    }
+
+    // Getters and Setters
+    public boolean isLiked() {
+        return liked;
+    }
+
+    public void setLiked(boolean liked) {
+        this.liked = liked;
+    }
+
+    public int getLikes() {
+        return likes;
+    }
+
+    public void setLikes(int likes) {
+        this.likes = likes;
+    }
+}
@@ -0,0 +1,129 @@
+package com.skillshare.model;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Compact change event for one post or path. Counters carry the latest
+ * absolute value; only the fields that changed are set.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class LiveUpdate {
+    public static final String POST = "post";
+    public static final String PATH = "path";
+
+    private String type;
+    private String id;
+    private Integer likes;
+    private Integer shares;
+    private Integer commentCount;
+    private List<String> newCommentIds;
+    private List<String> removedCommentIds;
+    private Integer milestoneCount;
+
+    // Constructors
+    public LiveUpdate() {}
+
+    public LiveUpdate(String type, String id) {
+        this.type = type;
+        this.id = id;
+    }
+
+    /**
+     * Combines this pending update with a newer one for the same target:
+     * newer counters win, comment id lists accumulate.
+     */
+    public LiveUpdate merge(LiveUpdate newer) {
+        LiveUpdate merged = new LiveUpdate(type, id);
+        merged.likes = newer.likes != null ? newer.likes : likes;
+        merged.shares = newer.shares != null ? newer.shares : shares;
+        merged.commentCount = newer.commentCount != null ? newer.commentCount : commentCount;
+        merged.milestoneCount = newer.milestoneCount != null ? newer.milestoneCount : milestoneCount;
+        merged.newCommentIds = concat(newCommentIds, newer.newCommentIds);
+        merged.removedCommentIds = concat(removedCommentIds, newer.removedCommentIds);
+        return merged;
+    }
+
+    private static List<String> concat(List<String> first, List<String> second) {
+        if (first == null) {
+            return second;
+        }
+        if (second == null) {
+            return first;
+        }
+        List<String> all = new ArrayList<>(first);
+        all.addAll(second);
+        return all;
+    }
+
+    public String topic() {
+        return type + ":" + id;
+    }
+
+    // Getters and Setters
+    public String getType() {
+        return type;
+    }
+
+    public void setType(String type) {
+        this.type = type;
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public void setId(String id) {
+        this.id = id;
+    }
+
+    public Integer getLikes() {
+        return likes;
+    }
+
+    public void setLikes(Integer likes) {
+        this.likes = likes;
+    }
+
+    public Integer getShares() {
+        return shares;
+    }
+
+    public void setShares(Integer shares) {
+        this.shares = shares;
+    }
+
+    public Integer getCommentCount() {
+        return commentCount;
+    }
+
+    public void setCommentCount(Integer commentCount) {
+        this.commentCount = commentCount;
+    }
+
+    public List<String> getNewCommentIds() {
+        return newCommentIds;
+    }
+
+    public void setNewCommentIds(List<String> newCommentIds) {
+        this.newCommentIds = newCommentIds;
+    }
+
+    public List<String> getRemovedCommentIds() {
+        return removedCommentIds;
+    }
+
+    public void setRemovedCommentIds(List<String> removedCommentIds) {
+        this.removedCommentIds = removedCommentIds;
+    }
+
+    public Integer getMilestoneCount() {
+        return milestoneCount;
+    }
+
+    public void setMilestoneCount(Integer milestoneCount) {
+        this.milestoneCount = milestoneCount;
+    }
+}
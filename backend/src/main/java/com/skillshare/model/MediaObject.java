@@ -0,0 +1,106 @@
+package com.skillshare.model;
+
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Metadata for a stored media file. The id is the lowercase hex SHA-256 of
+ * the content, so identical uploads share one record and one file on disk.
+ *
+ * Uploaded images also act as the work queue for resized variants:
+ * {@code variantStatus} is PENDING until the pipeline has written the
+ * variants, whose media ids are kept in {@code variants} by name.
+ */
+@Document(collection = "media")
+public class MediaObject {
+
+    public enum VariantStatus { PENDING, RUNNING, DONE, SKIPPED, FAILED }
+
+    @Id
+    private String id;
+    private String contentType;
+    private long size;
+    private LocalDateTime createdAt;
+    private VariantStatus variantStatus;
+    private Map<String, String> variants = new HashMap<>();
+    private int variantAttempts = 0;
+    private LocalDateTime variantLeaseUntil;
+
+    // Constructors
+    public MediaObject() {}
+
+    public MediaObject(String id, String contentType, long size) {
+        this.id = id;
+        this.contentType = contentType;
+        this.size = size;
+        this.createdAt = LocalDateTime.now();
+    }
+
+    // Getters and Setters
+    public String getId() {
+        return id;
+    }
+
+    public void setId(String id) {
+        this.id = id;
+    }
+
+    public String getContentType() {
+        return contentType;
+    }
+
+    public void setContentType(String contentType) {
+        this.contentType = contentType;
+    }
+
+    public long getSize() {
+        return size;
+    }
+
+    public void setSize(long size) {
+        this.size = size;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    public void setCreatedAt(LocalDateTime createdAt) {
+        this.createdAt = createdAt;
+    }
+
+    public VariantStatus getVariantStatus() {
+        return variantStatus;
+    }
+
+    public void setVariantStatus(VariantStatus variantStatus) {
+        this.variantStatus = variantStatus;
+    }
+
+    public Map<String, String> getVariants() {
+        return variants;
+    }
+
+    public void setVariants(Map<String, String> variants) {
+        this.variants = variants;
+    }
+
+    public int getVariantAttempts() {
+        return variantAttempts;
+    }
+
+    public void setVariantAttempts(int variantAttempts) {
+        this.variantAttempts = variantAttempts;
+    }
+
+    public LocalDateTime getVariantLeaseUntil() {
+        return variantLeaseUntil;
+    }
+
+    public void setVariantLeaseUntil(LocalDateTime variantLeaseUntil) {
+        this.variantLeaseUntil = variantLeaseUntil;
+    }
+}
@@ -0,0 +1,125 @@
+package com.skillshare.model;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import org.springframework.data.annotation.Transient;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * One inbox entry, stored inside a {@link NotificationBucket}. Similar events
+ * (same type and target) are folded into one entry while it is unread, so
+ * "12 people liked your post" is a single notification with actorCount 12.
+ */
+public class Notification {
+    public enum Type {
+        FOLLOW, COMMENT, LIKE, BADGE
+    }
+
+    // Most recent actors kept for display; actorCount has the full number
+    public static final int MAX_ACTORS = 3;
+
+    private String id;
+    private Type type;
+    private String targetId;
+    private String detail;
+    private List<String> actorIds = new ArrayList<>();
+    private long actorCount;
+    private String groupKey;
+    private LocalDateTime createdAt;
+    private LocalDateTime updatedAt;
+    @Transient
+    private boolean read;
+
+    // Constructors
+    public Notification() {}
+
+    public Notification(Type type, String targetId, String detail) {
+        this.type = type;
+        this.targetId = targetId;
+        this.detail = detail;
+    }
+
+    // Getters and Setters
+    public String getId() {
+        return id;
+    }
+
+    public void setId(String id) {
+        this.id = id;
+    }
+
+    public Type getType() {
+        return type;
+    }
+
+    public void setType(Type type) {
+        this.type = type;
+    }
+
+    public String getTargetId() {
+        return targetId;
+    }
+
+    public void setTargetId(String targetId) {
+        this.targetId = targetId;
+    }
+
+    public String getDetail() {
+        return detail;
+    }
+
+    public void setDetail(String detail) {
+        this.detail = detail;
+    }
+
+    public List<String> getActorIds() {
+        return actorIds;
+    }
+
+    public void setActorIds(List<String> actorIds) {
+        this.actorIds = actorIds;
+    }
+
+    public long getActorCount() {
+        return actorCount;
+    }
+
+    public void setActorCount(long actorCount) {
+        this.actorCount = actorCount;
+    }
+
+    @JsonIgnore
+    public String getGroupKey() {
+        return groupKey;
+    }
+
+    public void setGroupKey(String groupKey) {
+        this.groupKey = groupKey;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    public void setCreatedAt(LocalDateTime createdAt) {
+        this.createdAt = createdAt;
+    }
+
+    public LocalDateTime getUpdatedAt() {
+        return updatedAt;
+    }
+
+    public void setUpdatedAt(LocalDateTime updatedAt) {
+        this.updatedAt = updatedAt;
+    }
+
+    public boolean isRead() {
+        return read;
+    }
+
+    public void setRead(boolean read) {
+        this.read = read;
+    }
+}
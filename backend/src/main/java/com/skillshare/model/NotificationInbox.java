@@ -0,0 +1,49 @@
+package com.skillshare.model;
+
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+import java.time.LocalDateTime;
+
+/**
+ * Unread counter for one user (id = user id). Notifications updated after
+ * lastReadAt are unread.
+ */
+@Document(collection = "notification_inbox")
+public class NotificationInbox {
+    @Id
+    private String id;
+    private long unreadCount = 0;
+    private LocalDateTime lastReadAt;
+
+    // Constructors
+    public NotificationInbox() {}
+
+    public NotificationInbox(String id) {
+        this.id = id;
+    }
+
+    // Getters and Setters
+    public String getId() {
+        return id;
+    }
+
+    public void setId(String id) {
+        this.id = id;
+    }
+
+    public long getUnreadCount() {
+        return unreadCount;
+    }
+
+    public void setUnreadCount(long unreadCount) {
+        this.unreadCount = unreadCount;
+    }
+
+    public LocalDateTime getLastReadAt() {
+        return lastReadAt;
+    }
+
+    public void setLastReadAt(LocalDateTime lastReadAt) {
+        this.lastReadAt = lastReadAt;
+    }
+}
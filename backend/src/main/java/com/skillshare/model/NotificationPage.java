@@ -0,0 +1,48 @@
+package com.skillshare.model;
+
+import java.util.List;
+
+/**
+ * One page of a user's notifications, newest first. {@code nextCursor} is
+ * passed back as {@code before} to fetch the next page and is null on the
+ * last page.
+ */
+public class NotificationPage {
+    private List<Notification> notifications;
+    private String nextCursor;
+    private long unreadCount;
+
+    // Constructors
+    public NotificationPage() {}
+
+    public NotificationPage(List<Notification> notifications, String nextCursor, long unreadCount) {
+        this.notifications = notifications;
+        this.nextCursor = nextCursor;
+        this.unreadCount = unreadCount;
+    }
+
+    // Getters and Setters
+    public List<Notification> getNotifications() {
+        return notifications;
+    }
+
+    public void setNotifications(List<Notification> notifications) {
+        this.notifications = notifications;
+    }
+
+    public String getNextCursor() {
+        return nextCursor;
+    }
+
+    public void setNextCursor(String nextCursor) {
+        this.nextCursor = nextCursor;
+    }
+
+    public long getUnreadCount() {
+        return unreadCount;
+    }
+
+    public void setUnreadCount(long unreadCount) {
+        this.unreadCount = unreadCount;
+    }
+}
@@ -0,0 +1,100 @@
+package com.skillshare.model;
+
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Materialized completion funnel for one learning path, keyed by the path id.
+ * Built by an aggregation over learning_progress and then kept current with
+ * $inc updates as milestones are completed. A document created by an
+ * increment before the first aggregation has no computedAt.
+ */
+@Document(collection = "path_funnels")
+public class PathFunnel {
+    @Id
+    private String id;
+    private long enrollments;
+    private Map<String, MilestoneFunnel> milestones = new HashMap<>();
+    private LocalDateTime computedAt;
+    // Incremental updates applied so far; a recompute only replaces the document if none landed meanwhile
+    private long writes;
+
+    // Nested per-milestone counters
+    public static class MilestoneFunnel {
+        private long completions;
+        // Completions bucketed by floor(log2(seconds since the previous completion + 1))
+        private Map<String, Long> durationHistogram = new HashMap<>();
+
+        // Constructors
+        public MilestoneFunnel() {}
+
+        // Getters and Setters
+        public long getCompletions() {
+            return completions;
+        }
+
+        public void setCompletions(long completions) {
+            this.completions = completions;
+        }
+
+        public Map<String, Long> getDurationHistogram() {
+            return durationHistogram;
+        }
+
+        public void setDurationHistogram(Map<String, Long> durationHistogram) {
+            this.durationHistogram = durationHistogram;
+        }
+    }
+
+    // Constructors
+    public PathFunnel() {}
+
+    public PathFunnel(String id) {
+        this.id = id;
+        this.computedAt = LocalDateTime.now();
+    }
+
+    // Getters and Setters
+    public String getId() {
+        return id;
+    }
+
+    public void setId(String id) {
+        this.id = id;
+    }
+
+    public long getEnrollments() {
+        return enrollments;
+    }
+
+    public void setEnrollments(long enrollments) {
+        this.enrollments = enrollments;
+    }
+
+    public Map<String, MilestoneFunnel> getMilestones() {
+        return milestones;
+    }
+
+    public void setMilestones(Map<String, MilestoneFunnel> milestones) {
+        this.milestones = milestones;
+    }
+
+    public LocalDateTime getComputedAt() {
+        return computedAt;
+    }
+
+    public void setComputedAt(LocalDateTime computedAt) {
+        this.computedAt = computedAt;
+    }
+
+    public long getWrites() {
+        return writes;
+    }
+
+    public void setWrites(long writes) {
+        this.writes = writes;
+    }
+}
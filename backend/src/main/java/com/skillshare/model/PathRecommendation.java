@@ -0,0 +1,46 @@
+package com.skillshare.model;
+
+/**
+ * A learning path recommended from co-enrollment data. {@code score} is the
+ * cosine similarity of the enrollment sets (summed over the user's paths for
+ * personal recommendations), {@code coEnrollments} the raw overlap count.
+ */
+public class PathRecommendation {
+    private String pathId;
+    private double score;
+    private int coEnrollments;
+
+    // Constructors
+    public PathRecommendation() {}
+
+    public PathRecommendation(String pathId, double score, int coEnrollments) {
+        this.pathId = pathId;
+        this.score = score;
+        this.coEnrollments = coEnrollments;
+    }
+
+    // Getters and Setters
+    public String getPathId() {
+        return pathId;
+    }
+
+    public void setPathId(String pathId) {
+        this.pathId = pathId;
+    }
+
+    public double getScore() {
+        return score;
+    }
+
+    public void setScore(double score) {
+        this.score = score;
+    }
+
+    public int getCoEnrollments() {
+        return coEnrollments;
+    }
+
+    public void setCoEnrollments(int coEnrollments) {
+        this.coEnrollments = coEnrollments;
+    }
+}
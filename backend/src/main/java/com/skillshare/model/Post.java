@@ -1,13 +1,19 @@
 package com.skillshare.model;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
 import org.springframework.data.annotation.Id;
+import org.springframework.data.annotation.Transient;
 import org.springframework.data.mongodb.core.mapping.Document;
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.ArrayList;
+import java.util.Map;
 
 @Document(collection = "posts")
 public class Post {
+    // Cold tier for documents the tiering job moved out; same shape as the hot collection
+    public static final String ARCHIVE_COLLECTION = "posts_archive";
+
     @Id
     private String id;
     private String userId;
@@ -20,6 +26,10 @@ public class Post {
     private int likes = 0;
     private int shares = 0;
     private List<Comment> comments = new ArrayList<>();
+    // Resized variants per media URL, filled in for API responses only
+    @Transient
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private Map<String, Map<String, String>> mediaVariants;
     
     // Nested Comment class for embedded documents
     public static class Comment {
@@ -180,6 +190,14 @@ public class Post {
     public void setComments(List<Comment> comments) {
         this.comments = comments;
     }
+
+    public Map<String, Map<String, String>> getMediaVariants() {
+        return mediaVariants;
+    }
+
+    public void setMediaVariants(Map<String, Map<String, String>> mediaVariants) {
+        this.mediaVariants = mediaVariants;
+    }
     
     // Helper methods for comment management
     public void addComment(Comment comment) {
@@ -0,0 +1,79 @@
+package com.skillshare.model;
+
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+import java.time.LocalDateTime;
+
+/**
+ * Progress of the current archiving pass over one hot collection. Batches
+ * walk the collection in _id order; {@code lastId} is the last id examined,
+ * so a pass interrupted by a restart resumes after it. A null lastId means
+ * the next batch starts a new pass from the beginning.
+ */
+@Document(collection = "tiering_state")
+public class TieringState {
+    // The hot collection name
+    @Id
+    private String id;
+    private String lastId;
+    private LocalDateTime passStartedAt;
+    private long archivedInPass = 0;
+    private long archivedTotal = 0;
+    private LocalDateTime updatedAt;
+
+    // Constructors
+    public TieringState() {}
+
+    public TieringState(String id) {
+        this.id = id;
+    }
+
+    // Getters and Setters
+    public String getId() {
+        return id;
+    }
+
+    public void setId(String id) {
+        this.id = id;
+    }
+
+    public String getLastId() {
+        return lastId;
+    }
+
+    public void setLastId(String lastId) {
+        this.lastId = lastId;
+    }
+
+    public LocalDateTime getPassStartedAt() {
+        return passStartedAt;
+    }
+
+    public void setPassStartedAt(LocalDateTime passStartedAt) {
+        this.passStartedAt = passStartedAt;
+    }
+
+    public long getArchivedInPass() {
+        return archivedInPass;
+    }
+
+    public void setArchivedInPass(long archivedInPass) {
+        this.archivedInPass = archivedInPass;
+    }
+
+    public long getArchivedTotal() {
+        return archivedTotal;
+    }
+
+    public void setArchivedTotal(long archivedTotal) {
+        this.archivedTotal = archivedTotal;
+    }
+
+    public LocalDateTime getUpdatedAt() {
+        return updatedAt;
+    }
+
+    public void setUpdatedAt(LocalDateTime updatedAt) {
+        this.updatedAt = updatedAt;
+    }
+}
@@ -1,10 +1,13 @@
 package com.skillshare.model;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
 import org.springframework.data.annotation.Id;
+import org.springframework.data.annotation.Transient;
 import org.springframework.data.mongodb.core.mapping.Document;
 import java.util.List;
 import java.util.ArrayList;
 import java.util.Date;
+import java.util.Map;
 
 @Document(collection = "users")
 public class User {
@@ -14,8 +17,14 @@ public class User {
     private String email;
     private String password;
     private String profilePicture;
+    // Resized variants of the profile picture, filled in for API responses only
+    @Transient
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private Map<String, String> profilePictureVariants;
     private List<String> badges = new ArrayList<>();
     private List<String> followingUsers = new ArrayList<>();
+    private long followerCount = 0;
+    private long followingCount = 0;
     private String role;
     private Date createdAt;
     
@@ -85,6 +94,22 @@ public class User {
         this.followingUsers = followingUsers;
     }
 
+    public long getFollowerCount() {
+        return followerCount;
+    }
+
+    public void setFollowerCount(long followerCount) {
+        this.followerCount = followerCount;
+    }
+
+    public long getFollowingCount() {
+        return followingCount;
+    }
+
+    public void setFollowingCount(long followingCount) {
+        this.followingCount = followingCount;
+    }
+
     public String getRole() {
         return role;
     }
@@ -100,4 +125,12 @@ public class User {
     public void setCreatedAt(Date createdAt) {
         this.createdAt = createdAt;
     }
-}
\ No newline at end of file
+
+    public Map<String, String> getProfilePictureVariants() {
+        return profilePictureVariants;
+    }
+
+    public void setProfilePictureVariants(Map<String, String> profilePictureVariants) {
+        this.profilePictureVariants = profilePictureVariants;
+    }
+}
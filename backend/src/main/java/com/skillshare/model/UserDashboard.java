@@ -0,0 +1,129 @@
+package com.skillshare.model;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A learner's enrollments, each joined with a compact summary of its path.
+ */
+public class UserDashboard {
+    private String userId;
+    private List<Enrollment> enrollments = new ArrayList<>();
+
+    public static class Enrollment {
+        private LearningProgress progress;
+        // Null if the path has been deleted but the enrollment not yet cleaned up
+        private PathSummary path;
+
+        // Constructors
+        public Enrollment() {}
+
+        public Enrollment(LearningProgress progress, PathSummary path) {
+            this.progress = progress;
+            this.path = path;
+        }
+
+        // Getters and Setters
+        public LearningProgress getProgress() {
+            return progress;
+        }
+
+        public void setProgress(LearningProgress progress) {
+            this.progress = progress;
+        }
+
+        public PathSummary getPath() {
+            return path;
+        }
+
+        public void setPath(PathSummary path) {
+            this.path = path;
+        }
+    }
+
+    public static class PathSummary {
+        private String id;
+        private String title;
+        private String description;
+        private int milestoneCount;
+        private List<String> tags = new ArrayList<>();
+
+        // Constructors
+        public PathSummary() {}
+
+        public PathSummary(LearningPath path) {
+            this.id = path.getId();
+            this.title = path.getTitle();
+            this.description = path.getDescription();
+            this.milestoneCount = path.getMilestones() == null ? 0 : path.getMilestones().size();
+            if (path.getTags() != null) {
+                this.tags = path.getTags();
+            }
+        }
+
+        // Getters and Setters
+        public String getId() {
+            return id;
+        }
+
+        public void setId(String id) {
+            this.id = id;
+        }
+
+        public String getTitle() {
+            return title;
+        }
+
+        public void setTitle(String title) {
+            this.title = title;
+        }
+
+        public String getDescription() {
+            return description;
+        }
+
+        public void setDescription(String description) {
+            this.description = description;
+        }
+
+        public int getMilestoneCount() {
+            return milestoneCount;
+        }
+
+        public void setMilestoneCount(int milestoneCount) {
+            this.milestoneCount = milestoneCount;
+        }
+
+        public List<String> getTags() {
+            return tags;
+        }
+
+        public void setTags(List<String> tags) {
+            this.tags = tags;
+        }
+    }
+
+    // Constructors
+    public UserDashboard() {}
+
+    public UserDashboard(String userId) {
+        this.userId = userId;
+    }
+
+    // Getters and Setters
+    public String getUserId() {
+        return userId;
+    }
+
+    public void setUserId(String userId) {
+        this.userId = userId;
+    }
+
+    public List<Enrollment> getEnrollments() {
+        return enrollments;
+    }
+
+    public void setEnrollments(List<Enrollment> enrollments) {
+        this.enrollments = enrollments;
+    }
+}
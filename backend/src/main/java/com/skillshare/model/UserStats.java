@@ -0,0 +1,97 @@
+package com.skillshare.model;
+
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Profile counters for one user (id = user id), kept current with $inc
+ * updates as posts, paths, follows and likes change and periodically
+ * recomputed from the source collections to correct any drift.
+ */
+@Document(collection = "user_stats")
+public class UserStats {
+    @Id
+    private String id;
+    private long postCount = 0;
+    private long pathCount = 0;
+    private long followerCount = 0;
+    private long followingCount = 0;
+    private long likesReceived = 0;
+    private List<String> badges = new ArrayList<>();
+    private LocalDateTime reconciledAt;
+
+    // Constructors
+    public UserStats() {}
+
+    public UserStats(String id) {
+        this.id = id;
+    }
+
+    // Getters and Setters
+    public String getId() {
+        return id;
+    }
+
+    public void setId(String id) {
+        this.id = id;
+    }
+
+    public long getPostCount() {
+        return postCount;
+    }
+
+    public void setPostCount(long postCount) {
+        this.postCount = postCount;
+    }
+
+    public long getPathCount() {
+        return pathCount;
+    }
+
+    public void setPathCount(long pathCount) {
+        this.pathCount = pathCount;
+    }
+
+    public long getFollowerCount() {
+        return followerCount;
+    }
+
+    public void setFollowerCount(long followerCount) {
+        this.followerCount = followerCount;
+    }
+
+    public long getFollowingCount() {
+        return followingCount;
+    }
+
+    public void setFollowingCount(long followingCount) {
+        this.followingCount = followingCount;
+    }
+
+    public long getLikesReceived() {
+        return likesReceived;
+    }
+
+    public void setLikesReceived(long likesReceived) {
+        this.likesReceived = likesReceived;
+    }
+
+    public List<String> getBadges() {
+        return badges;
+    }
+
+    public void setBadges(List<String> badges) {
+        this.badges = badges;
+    }
+
+    public LocalDateTime getReconciledAt() {
+        return reconciledAt;
+    }
+
+    public void setReconciledAt(LocalDateTime reconciledAt) {
+        this.reconciledAt = reconciledAt;
+    }
+}
@@ -0,0 +1,74 @@
+package com.skillshare.model;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import java.util.Map;
+
+/**
+ * The public fields of a user shown in lists such as followers/following,
+ * read with a projection instead of loading the whole {@link User} document.
+ */
+public class UserSummary {
+    public static final String[] FIELDS = {"username", "profilePicture", "followerCount", "followingCount"};
+
+    private String id;
+    private String username;
+    private String profilePicture;
+    // Resized variants of the profile picture, filled in for API responses only
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private Map<String, String> profilePictureVariants;
+    private long followerCount;
+    private long followingCount;
+
+    // Constructors
+    public UserSummary() {}
+
+    // Getters and Setters
+    public String getId() {
+        return id;
+    }
+
+    public void setId(String id) {
+        this.id = id;
+    }
+
+    public String getUsername() {
+        return username;
+    }
+
+    public void setUsername(String username) {
+        this.username = username;
+    }
+
+    public String getProfilePicture() {
+        return profilePicture;
+    }
+
+    public void setProfilePicture(String profilePicture) {
+        this.profilePicture = profilePicture;
+    }
+
+    public Map<String, String> getProfilePictureVariants() {
+        return profilePictureVariants;
+    }
+
+    public void setProfilePictureVariants(Map<String, String> profilePictureVariants) {
+        this.profilePictureVariants = profilePictureVariants;
+    }
+
+    public long getFollowerCount() {
+        return followerCount;
+    }
+
+    public void setFollowerCount(long followerCount) {
+        this.followerCount = followerCount;
+    }
+
+    public long getFollowingCount() {
+        return followingCount;
+    }
+
+    public void setFollowingCount(long followingCount) {
+        this.followingCount = followingCount;
+    }
+}
@@ -0,0 +1,172 @@
+package com.skillshare.recommendation;
+
+import com.skillshare.model.PathRecommendation;
+import com.skillshare.util.IntCounter;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.stream.IntStream;
+
+/**
+ * Immutable item-to-item neighbour table computed from enrollment baskets
+ * ("users who took X also took Y"). Paths are mapped to dense ordinals and
+ * co-occurrence is counted per row with primitive counters, one row per
+ * parallel task, so no shared state is written during the computation.
+ */
+public class CoEnrollmentTable {
+
+    private final Map<String, List<PathRecommendation>> neighbours;
+
+    private CoEnrollmentTable(Map<String, List<PathRecommendation>> neighbours) {
+        this.neighbours = neighbours;
+    }
+
+    public static CoEnrollmentTable empty() {
+        return new CoEnrollmentTable(Collections.emptyMap());
+    }
+
+    public int size() {
+        return neighbours.size();
+    }
+
+    public List<PathRecommendation> related(String pathId, int limit) {
+        List<PathRecommendation> row = neighbours.getOrDefault(pathId, Collections.emptyList());
+        return new ArrayList<>(row.subList(0, Math.min(limit, row.size())));
+    }
+
+    /**
+     * Sums the neighbour scores of every path in {@code enrolled} and returns
+     * the best paths the user has not started yet.
+     */
+    public List<PathRecommendation> recommend(Set<String> enrolled, int limit) {
+        Map<String, PathRecommendation> totals = new HashMap<>();
+        for (String pathId : enrolled) {
+            for (PathRecommendation neighbour : neighbours.getOrDefault(pathId, Collections.emptyList())) {
+                if (enrolled.contains(neighbour.getPathId())) {
+                    continue;
+                }
+                PathRecommendation total = totals.computeIfAbsent(neighbour.getPathId(),
+                        id -> new PathRecommendation(id, 0, 0));
+                total.setScore(total.getScore() + neighbour.getScore());
+                total.setCoEnrollments(total.getCoEnrollments() + neighbour.getCoEnrollments());
+            }
+        }
+
+        List<PathRecommendation> ranked = new ArrayList<>(totals.values());
+        ranked.sort((a, b) -> Double.compare(b.getScore(), a.getScore()));
+        return new ArrayList<>(ranked.subList(0, Math.min(limit, ranked.size())));
+    }
+
+    /**
+     * Accumulates one basket (the distinct paths a user enrolled in) at a time.
+     */
+    public static class Builder {
+        private final Map<String, Integer> ordinals = new HashMap<>();
+        private final List<String> pathIds = new ArrayList<>();
+        private final List<int[]> baskets = new ArrayList<>();
+        private final int maxBasketSize;
+
+        public Builder(int maxBasketSize) {
+            this.maxBasketSize = maxBasketSize;
+        }
+
+        public Builder addBasket(List<String> basketPathIds) {
+            int[] basket = basketPathIds.stream()
+                    .mapToInt(this::ordinalFor)
+                    .distinct()
+                    .limit(maxBasketSize)
+                    .toArray();
+            if (basket.length > 1) {
+                baskets.add(basket);
+            }
+            return this;
+        }
+
+        /**
+         * @param eligible paths that may appear as recommendations (e.g. public ones)
+         * @param topN     neighbours kept per path
+         */
+        public CoEnrollmentTable build(Set<String> eligible, int topN) {
+            int paths = pathIds.size();
+
+            // Enrollment count per path and inverted index path -> baskets
+            int[] degree = new int[paths];
+            for (int[] basket : baskets) {
+                for (int p : basket) {
+                    degree[p]++;
+                }
+            }
+            int[][] basketsOf = new int[paths][];
+            for (int p = 0; p < paths; p++) {
+                basketsOf[p] = new int[degree[p]];
+            }
+            int[] fill = new int[paths];
+            for (int b = 0; b < baskets.size(); b++) {
+                for (int p : baskets.get(b)) {
+                    basketsOf[p][fill[p]++] = b;
+                }
+            }
+
+            boolean[] allowed = new boolean[paths];
+            for (int p = 0; p < paths; p++) {
+                allowed[p] = eligible.contains(pathIds.get(p));
+            }
+
+            // Each task sets only its own slot, so the list never changes size
+            List<List<PathRecommendation>> rows = new ArrayList<>(Collections.nCopies(paths, null));
+            IntStream.range(0, paths).parallel().forEach(p -> {
+                IntCounter co = new IntCounter(32);
+                for (int b : basketsOf[p]) {
+                    for (int q : baskets.get(b)) {
+                        if (q != p && allowed[q]) {
+                            co.increment(q);
+                        }
+                    }
+                }
+                rows.set(p, topNeighbours(co, degree, p, topN));
+            });
+
+            Map<String, List<PathRecommendation>> neighbours = new HashMap<>(paths * 2);
+            for (int p = 0; p < paths; p++) {
+                if (!rows.get(p).isEmpty()) {
+                    neighbours.put(pathIds.get(p), rows.get(p));
+                }
+            }
+            return new CoEnrollmentTable(neighbours);
+        }
+
+        private List<PathRecommendation> topNeighbours(IntCounter co, int[] degree, int p, int topN) {
+            PriorityQueue<double[]> top = new PriorityQueue<>(topN + 1, (a, b) -> Double.compare(a[1], b[1]));
+            co.forEach((q, count) -> {
+                double score = count / Math.sqrt((double) degree[p] * degree[q]);
+                top.offer(new double[] {q, score, count});
+                if (top.size() > topN) {
+                    top.poll();
+                }
+            });
+
+            PathRecommendation[] row = new PathRecommendation[top.size()];
+            for (int i = row.length - 1; i >= 0; i--) {
+                double[] entry = top.poll();
+                row[i] = new PathRecommendation(pathIds.get((int) entry[0]), entry[1], (int) entry[2]);
+            }
+            return Collections.unmodifiableList(Arrays.asList(row));
+        }
+
+        private int ordinalFor(String pathId) {
+            Integer ordinal = ordinals.get(pathId);
+            if (ordinal == null) {
+                ordinal = pathIds.size();
+                ordinals.put(pathId, ordinal);
+                pathIds.add(pathId);
+            }
+            return ordinal;
+        }
+    }
+}
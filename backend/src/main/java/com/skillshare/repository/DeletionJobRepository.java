@@ -0,0 +1,9 @@
+package com.skillshare.repository;
+
+import com.skillshare.model.DeletionJob;
+import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface DeletionJobRepository extends MongoRepository<DeletionJob, String> {
+}
@@ -0,0 +1,18 @@
+package com.skillshare.repository;
+
+import com.skillshare.model.FollowEdge;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.stereotype.Repository;
+import java.util.List;
+
+@Repository
+public interface FollowEdgeRepository extends MongoRepository<FollowEdge, String> {
+    List<FollowEdge> findByFolloweeIdOrderByIdDesc(String followeeId, Pageable pageable);
+    List<FollowEdge> findByFolloweeIdAndIdLessThanOrderByIdDesc(String followeeId, String id, Pageable pageable);
+    List<FollowEdge> findByFollowerIdOrderByIdDesc(String followerId, Pageable pageable);
+    List<FollowEdge> findByFollowerIdAndIdLessThanOrderByIdDesc(String followerId, String id, Pageable pageable);
+    long countByFolloweeId(String followeeId);
+    long countByFollowerId(String followerId);
+    long deleteByFollowerIdAndFolloweeId(String followerId, String followeeId);
+}
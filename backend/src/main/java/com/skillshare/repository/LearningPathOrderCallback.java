@@ -0,0 +1,28 @@
+package com.skillshare.repository;
+
+import com.skillshare.model.LearningPath;
+import org.bson.Document;
+import org.springframework.data.mongodb.core.mapping.event.AfterConvertCallback;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Renumbers milestone orderIndex densely from the rank order on every read.
+ * A move only rewrites the moved milestone's rank, so the stored orderIndex
+ * values go stale; clients keep sorting by orderIndex and see the new order.
+ */
+@Component
+public class LearningPathOrderCallback implements AfterConvertCallback<LearningPath> {
+
+    @Override
+    public LearningPath onAfterConvert(LearningPath path, Document document, String collection) {
+        if (path.getMilestones() != null) {
+            List<LearningPath.Milestone> ordered = path.milestonesInOrder();
+            for (int i = 0; i < ordered.size(); i++) {
+                ordered.get(i).setOrderIndex(i);
+            }
+        }
+        return path;
+    }
+}
@@ -1,15 +1,34 @@
 package com.skillshare.repository;
 
 import com.skillshare.model.LearningPath;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.data.mongodb.repository.Query;
 import org.springframework.stereotype.Repository;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 @Repository
 public interface LearningPathRepository extends MongoRepository<LearningPath, String> {
     List<LearningPath> findByUserId(String userId);
     List<LearningPath> findByIsPublic(boolean isPublic);
+    List<LearningPath> findByIsPublic(boolean isPublic, Pageable pageable);
     List<LearningPath> findByTitleContainingIgnoreCase(String title);
     List<LearningPath> findByTagsContaining(String tag);
     List<LearningPath> findByUserIdAndIsPublic(String userId, boolean isPublic);
+
+    @Query(value = "{ 'isPublic' : ?0 }", fields = "{ '_id' : 1 }")
+    List<LearningPath> findIdsByIsPublic(boolean isPublic);
+
+    @Query(value = "{ '_id' : ?0 }", fields = "{ 'milestones.id' : 1 }")
+    Optional<LearningPath> findMilestoneIdsById(String id);
+
+    // Milestone layout only: what positional updates and reordering need
+    @Query(value = "{ '_id' : ?0 }", fields = "{ 'version' : 1, 'milestones.id' : 1, 'milestones.rank' : 1, 'milestones.orderIndex' : 1 }")
+    Optional<LearningPath> findMilestoneOrderById(String id);
+
+    // Just enough of each path to render a dashboard card
+    @Query(value = "{ '_id' : { '$in' : ?0 } }", fields = "{ 'title' : 1, 'description' : 1, 'tags' : 1, 'milestones.id' : 1 }")
+    List<LearningPath> findSummariesByIdIn(Collection<String> ids);
 }
\ No newline at end of file
@@ -2,14 +2,30 @@ package com.skillshare.repository;
 
 import com.skillshare.model.LearningProgress;
 import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.data.mongodb.repository.Query;
 import org.springframework.stereotype.Repository;
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
+// Lookups by id or by user, and deleteById, also cover the archive tier (TieredProgressRepository)
 @Repository
-public interface LearningProgressRepository extends MongoRepository<LearningProgress, String> {
-    List<LearningProgress> findByUserId(String userId);
+public interface LearningProgressRepository extends MongoRepository<LearningProgress, String>, TieredProgressRepository {
+    @Override
+    Optional<LearningProgress> findById(String id);
+    @Override
+    void deleteById(String id);
+
     List<LearningProgress> findByLearningPathId(String pathId);
-    Optional<LearningProgress> findByUserIdAndLearningPathId(String userId, String pathId);
-    List<LearningProgress> findByUserIdOrderByLastUpdatedAtDesc(String userId);
+
+    // Enrollment pairs only, without milestone payloads
+    @Query(value = "{ 'userId' : ?0 }", fields = "{ 'learningPathId' : 1 }")
+    List<LearningProgress> findEnrollmentsByUserId(String userId);
+
+    @Query(value = "{}", fields = "{ 'userId' : 1, 'learningPathId' : 1 }", sort = "{ 'userId' : 1 }")
+    Stream<LearningProgress> streamEnrollmentsOrderByUserId();
+
+    Stream<LearningProgress> streamAllBy();
+    Stream<LearningProgress> streamByLastUpdatedAtGreaterThanEqual(LocalDateTime since);
 }
\ No newline at end of file
@@ -4,10 +4,16 @@ import com.skillshare.model.Post;
 import org.springframework.data.mongodb.repository.MongoRepository;
 import org.springframework.stereotype.Repository;
 import java.util.List;
+import java.util.Optional;
 
+// findById, findByUserId and deleteById also cover the archive tier (TieredPostRepository)
 @Repository
-public interface PostRepository extends MongoRepository<Post, String> {
-    List<Post> findByUserId(String userId);
+public interface PostRepository extends MongoRepository<Post, String>, TieredPostRepository {
+    @Override
+    Optional<Post> findById(String id);
+    @Override
+    void deleteById(String id);
+
     List<Post> findByTitleContainingIgnoreCase(String title);
     List<Post> findByTagsContaining(String tag);
     List<Post> findTop10ByOrderByCreatedAtDesc();
@@ -0,0 +1,16 @@
+package com.skillshare.repository;
+
+import com.skillshare.model.Post;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Post reads and deletes that also cover {@link Post#ARCHIVE_COLLECTION}.
+ */
+public interface TieredPostRepository {
+    Optional<Post> findById(String id);
+    List<Post> findByUserId(String userId);
+    void deleteById(String id);
+    boolean restoreFromArchive(String id);
+}
@@ -0,0 +1,37 @@
+package com.skillshare.repository;
+
+import com.skillshare.model.Post;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+
+import java.util.List;
+import java.util.Optional;
+
+public class TieredPostRepositoryImpl extends TieredRepositorySupport<Post> implements TieredPostRepository {
+
+    public TieredPostRepositoryImpl(MongoTemplate mongoTemplate, MeterRegistry meterRegistry) {
+        super(mongoTemplate, meterRegistry, Post.class, Post.ARCHIVE_COLLECTION, Post::getId);
+    }
+
+    @Override
+    public Optional<Post> findById(String id) {
+        return findOne(byId(id));
+    }
+
+    @Override
+    public List<Post> findByUserId(String userId) {
+        return findBoth(new Query(Criteria.where("userId").is(userId)));
+    }
+
+    @Override
+    public void deleteById(String id) {
+        deleteFromBoth(id);
+    }
+
+    @Override
+    public boolean restoreFromArchive(String id) {
+        return restore(id);
+    }
+}
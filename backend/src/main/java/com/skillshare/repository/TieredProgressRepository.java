@@ -0,0 +1,27 @@
+package com.skillshare.repository;
+
+import com.skillshare.model.LearningProgress;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Stream;
+
+/**
+ * Learning progress reads and deletes that also cover
+ * {@link LearningProgress#ARCHIVE_COLLECTION}.
+ */
+public interface TieredProgressRepository {
+    Optional<LearningProgress> findById(String id);
+    List<LearningProgress> findByUserId(String userId);
+    Optional<LearningProgress> findByUserIdAndLearningPathId(String userId, String pathId);
+    List<LearningProgress> findByUserIdOrderByLastUpdatedAtDesc(String userId);
+    void deleteById(String id);
+    boolean restoreFromArchive(String id);
+
+    // Archived records only, for rebuilds that must see every enrollment
+    Stream<LearningProgress> streamArchived();
+
+    // Users with a record for the path in either tier
+    Set<String> findUserIdsByLearningPathId(String pathId);
+}
@@ -0,0 +1,71 @@
+package com.skillshare.repository;
+
+import com.skillshare.model.LearningProgress;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+
+import java.time.LocalDateTime;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Stream;
+
+public class TieredProgressRepositoryImpl extends TieredRepositorySupport<LearningProgress>
+        implements TieredProgressRepository {
+
+    public TieredProgressRepositoryImpl(MongoTemplate mongoTemplate, MeterRegistry meterRegistry) {
+        super(mongoTemplate, meterRegistry, LearningProgress.class, LearningProgress.ARCHIVE_COLLECTION,
+                LearningProgress::getId);
+    }
+
+    @Override
+    public Optional<LearningProgress> findById(String id) {
+        return findOne(byId(id));
+    }
+
+    @Override
+    public List<LearningProgress> findByUserId(String userId) {
+        return findBoth(new Query(Criteria.where("userId").is(userId)));
+    }
+
+    @Override
+    public Optional<LearningProgress> findByUserIdAndLearningPathId(String userId, String pathId) {
+        return findOne(new Query(Criteria.where("userId").is(userId).and("learningPathId").is(pathId)));
+    }
+
+    @Override
+    public List<LearningProgress> findByUserIdOrderByLastUpdatedAtDesc(String userId) {
+        List<LearningProgress> progress = findByUserId(userId);
+        progress.sort(Comparator.comparing(LearningProgress::getLastUpdatedAt,
+                Comparator.nullsLast(Comparator.<LocalDateTime>reverseOrder())));
+        return progress;
+    }
+
+    @Override
+    public void deleteById(String id) {
+        deleteFromBoth(id);
+    }
+
+    @Override
+    public boolean restoreFromArchive(String id) {
+        return restore(id);
+    }
+
+    @Override
+    public Stream<LearningProgress> streamArchived() {
+        return mongoTemplate.stream(new Query(), LearningProgress.class, LearningProgress.ARCHIVE_COLLECTION);
+    }
+
+    @Override
+    public Set<String> findUserIdsByLearningPathId(String pathId) {
+        Query query = new Query(Criteria.where("learningPathId").is(pathId));
+        Set<String> userIds = new HashSet<>(mongoTemplate.findDistinct(query, "userId", LearningProgress.class, String.class));
+        userIds.addAll(mongoTemplate.findDistinct(query, "userId", LearningProgress.ARCHIVE_COLLECTION,
+                LearningProgress.class, String.class));
+        return userIds;
+    }
+}
@@ -0,0 +1,109 @@
+package com.skillshare.repository;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
+
+/**
+ * Shared reads for collections with an archive tier. Lookups try the hot
+ * collection first and fall back to the archive on a miss; list reads
+ * return both tiers. Services update archived documents by restoring them
+ * first, so an id lives in one tier at a time and aggregates may add the
+ * two tiers up.
+ *
+ * Lookups are counted as skillshare.tiering.reads by collection and the
+ * tier that answered (hot, archive or miss).
+ */
+abstract class TieredRepositorySupport<T> {
+
+    protected final MongoTemplate mongoTemplate;
+    private final Class<T> type;
+    private final String archiveCollection;
+    private final Function<T, String> idOf;
+    private final Counter hotReads;
+    private final Counter archiveReads;
+    private final Counter misses;
+
+    TieredRepositorySupport(MongoTemplate mongoTemplate, MeterRegistry meterRegistry, Class<T> type,
+                            String archiveCollection, Function<T, String> idOf) {
+        this.mongoTemplate = mongoTemplate;
+        this.type = type;
+        this.archiveCollection = archiveCollection;
+        this.idOf = idOf;
+        String collection = mongoTemplate.getCollectionName(type);
+        this.hotReads = reads(meterRegistry, collection, "hot");
+        this.archiveReads = reads(meterRegistry, collection, "archive");
+        this.misses = reads(meterRegistry, collection, "miss");
+    }
+
+    protected Optional<T> findOne(Query query) {
+        T found = mongoTemplate.findOne(query, type);
+        if (found != null) {
+            hotReads.increment();
+            return Optional.of(found);
+        }
+        found = mongoTemplate.findOne(query, type, archiveCollection);
+        (found == null ? misses : archiveReads).increment();
+        return Optional.ofNullable(found);
+    }
+
+    // Hot results first, then archived ones that have no hot copy
+    protected List<T> findBoth(Query query) {
+        List<T> results = new ArrayList<>(mongoTemplate.find(query, type));
+        Set<String> ids = new HashSet<>();
+        for (T result : results) {
+            ids.add(idOf.apply(result));
+        }
+        for (T archived : mongoTemplate.find(query, type, archiveCollection)) {
+            if (ids.add(idOf.apply(archived))) {
+                results.add(archived);
+            }
+        }
+        return results;
+    }
+
+    protected void deleteFromBoth(String id) {
+        mongoTemplate.remove(byId(id), type);
+        mongoTemplate.remove(byId(id), type, archiveCollection);
+    }
+
+    /**
+     * Moves an archived document back to the hot collection, for writes that
+     * update in place rather than saving a whole document.
+     * @return false if the document is not archived
+     */
+    protected boolean restore(String id) {
+        T archived = mongoTemplate.findById(id, type, archiveCollection);
+        if (archived == null) {
+            return false;
+        }
+        try {
+            mongoTemplate.insert(archived);
+        } catch (DuplicateKeyException e) {
+            // Already written back to the hot tier; the archived copy is stale
+        }
+        mongoTemplate.remove(byId(id), type, archiveCollection);
+        return true;
+    }
+
+    protected static Query byId(String id) {
+        return new Query(Criteria.where("_id").is(id));
+    }
+
+    private static Counter reads(MeterRegistry meterRegistry, String collection, String tier) {
+        return Counter.builder("skillshare.tiering.reads")
+                .tag("collection", collection)
+                .tag("tier", tier)
+                .register(meterRegistry);
+    }
+}
@@ -2,8 +2,10 @@ package com.skillshare.repository;
 
 import com.skillshare.model.User;
 import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.data.mongodb.repository.Query;
 import org.springframework.stereotype.Repository;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface UserRepository extends MongoRepository<User, String> {
@@ -11,4 +13,17 @@ public interface UserRepository extends MongoRepository<User, String> {
     Optional<User> findByEmail(String email);
     boolean existsByUsername(String username);
     boolean existsByEmail(String email);
+
+    // Cursor over only the forward follow edges, for building in-memory indexes
+    @Query(value = "{}", fields = "{ 'followingUsers' : 1 }")
+    Stream<User> streamFollowingBy();
+
+    @Query(value = "{}", fields = "{ 'username' : 1, 'email' : 1 }")
+    Stream<User> streamUsernamesAndEmailsBy();
+
+    @Query(value = "{}", fields = "{ 'badges' : 1 }")
+    Stream<User> streamBadgesBy();
+
+    @Query(value = "{ '_id' : ?0 }", fields = "{ 'followerCount' : 1, 'followingCount' : 1 }")
+    Optional<User> findFollowCountsById(String id);
 }
\ No newline at end of file
@@ -0,0 +1,18 @@
+package com.skillshare.repository.reactive;
+
+import com.skillshare.model.LearningPath;
+import org.springframework.data.mongodb.repository.Meta;
+import org.springframework.data.mongodb.repository.ReactiveMongoRepository;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+
+@Repository
+public interface ReactiveLearningPathRepository extends ReactiveMongoRepository<LearningPath, String> {
+    // Cursor batches are kept small so demand from the subscriber drives the getMore calls
+    @Meta(cursorBatchSize = 100)
+    Flux<LearningPath> findAllBy();
+    Flux<LearningPath> findByUserId(String userId);
+    @Meta(cursorBatchSize = 100)
+    Flux<LearningPath> findByIsPublic(boolean isPublic);
+    Flux<LearningPath> findByTagsContaining(String tag);
+}
@@ -0,0 +1,18 @@
+package com.skillshare.repository.reactive;
+
+import com.skillshare.model.Post;
+import org.springframework.data.mongodb.repository.Meta;
+import org.springframework.data.mongodb.repository.ReactiveMongoRepository;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+
+@Repository
+public interface ReactivePostRepository extends ReactiveMongoRepository<Post, String> {
+    // Cursor batches are kept small so demand from the subscriber drives the getMore calls
+    @Meta(cursorBatchSize = 100)
+    Flux<Post> findAllBy();
+    Flux<Post> findByUserId(String userId);
+    Flux<Post> findByTagsContaining(String tag);
+    Flux<Post> findTop10ByOrderByCreatedAtDesc();
+    Flux<Post> findTop10ByOrderByLikesDesc();
+}
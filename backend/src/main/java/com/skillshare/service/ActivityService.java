@@ -0,0 +1,17 @@
+package com.skillshare.service;
+
+import com.skillshare.model.ActivityEvent;
+import com.skillshare.model.ActivityPage;
+
+/**
+ * Append-only per-user history of learning progress events, stored in
+ * bounded buckets per time window.
+ */
+public interface ActivityService {
+    /**
+     * Appends the event with a single upsert. Failures are logged and
+     * counted, never thrown, so history never blocks the action itself.
+     */
+    void record(String userId, ActivityEvent event);
+    ActivityPage getActivity(String userId, String before, int limit);
+}
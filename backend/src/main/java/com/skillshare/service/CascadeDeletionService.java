@@ -0,0 +1,15 @@
+package com.skillshare.service;
+
+import com.skillshare.model.DeletionJob;
+import java.util.Optional;
+
+/**
+ * Durable queue of cascade deletions. Enqueueing is cheap; the dependent
+ * records are removed in the background by {@link #processPending()}.
+ */
+public interface CascadeDeletionService {
+    DeletionJob enqueueUserDeletion(String userId);
+    DeletionJob enqueuePathDeletion(String pathId);
+    Optional<DeletionJob> getJob(String jobId);
+    int processPending();
+}
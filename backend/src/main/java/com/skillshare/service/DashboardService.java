@@ -0,0 +1,14 @@
+package com.skillshare.service;
+
+import com.skillshare.model.UserDashboard;
+
+/**
+ * Per-learner dashboard of enrollments joined with path summaries. Results
+ * are cached per user; writers call the invalidate methods after changing
+ * progress records or paths.
+ */
+public interface DashboardService {
+    UserDashboard getDashboard(String userId);
+    void invalidateUser(String userId);
+    void invalidatePath(String pathId);
+}
@@ -0,0 +1,29 @@
+package com.skillshare.service;
+
+import com.skillshare.model.EngagementDaily;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Per-day like, share, comment and enrollment counters for posts, paths and
+ * users. Recording only touches memory; {@link #flush()} writes the buffered
+ * counts in one bulk upsert.
+ */
+public interface EngagementService {
+    void record(String entityType, String entityId, EngagementDaily.Metric metric);
+    int flush();
+    /**
+     * One entry per day (or per week, starting Monday) from {@code from} to
+     * {@code to} inclusive, zero-filled. Counts lag by up to one flush interval.
+     *
+     * @throws IllegalArgumentException if the range is reversed or too long
+     */
+    List<EngagementDaily> getEngagement(String entityType, String entityId, LocalDate from, LocalDate to, boolean weekly);
+    long delete(String entityType, Collection<String> entityIds);
+    /**
+     * Drops up to limit counters of one entity; 0 once none are left.
+     */
+    long delete(String entityType, String entityId, int limit);
+}
@@ -0,0 +1,10 @@
+package com.skillshare.service;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+public interface ExportService {
+    long exportUsers(String since, int batchSize, OutputStream out) throws IOException;
+    long exportPaths(String since, int batchSize, OutputStream out) throws IOException;
+    long exportProgress(String since, int batchSize, OutputStream out) throws IOException;
+}
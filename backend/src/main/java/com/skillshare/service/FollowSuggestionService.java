@@ -0,0 +1,12 @@
+package com.skillshare.service;
+
+import com.skillshare.model.FollowSuggestion;
+import java.util.List;
+
+public interface FollowSuggestionService {
+    List<FollowSuggestion> getSuggestions(String userId, int limit);
+    List<String> getFollowedByFollowing(String userId, String targetId);
+    void onFollow(String userId, String followedUserId);
+    void onUnfollow(String userId, String unfollowedUserId);
+    void rebuild();
+}
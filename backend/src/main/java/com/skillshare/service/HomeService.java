@@ -0,0 +1,10 @@
+package com.skillshare.service;
+
+import com.skillshare.model.HomeFeed;
+
+public interface HomeService {
+    /**
+     * @param userId viewer whose recent progress is included, or null for anonymous visitors
+     */
+    HomeFeed getHomeFeed(String userId, int pathPage, int pathSize);
+}
@@ -0,0 +1,15 @@
+package com.skillshare.service;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Generates thumbnail/medium renditions of uploaded images in the background
+ * and answers which renditions exist for a given media id.
+ */
+public interface ImageVariantService {
+    int dispatchPending();
+    Optional<String> getVariantId(String mediaId, String variant);
+    Map<String, Map<String, String>> getVariants(Collection<String> mediaIds);
+}
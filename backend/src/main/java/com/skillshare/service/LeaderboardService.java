@@ -0,0 +1,24 @@
+package com.skillshare.service;
+
+import com.skillshare.model.LeaderboardEntry;
+import com.skillshare.model.LeaderboardType;
+import com.skillshare.model.LearningProgress;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Global and per-path leaderboards. A null {@code pathId} selects the global
+ * board for the given type.
+ */
+public interface LeaderboardService {
+    void onProgressChanged(LearningProgress progress);
+    void onProgressRemoved(LearningProgress progress);
+    // Drops the cached milestone count after the path's milestones change
+    void invalidatePath(String pathId);
+    List<LeaderboardEntry> getTop(LeaderboardType type, String pathId, int limit);
+    Optional<LeaderboardEntry> getRank(LeaderboardType type, String pathId, String userId);
+    List<LeaderboardEntry> getAround(LeaderboardType type, String pathId, String userId, int radius);
+    void restore();
+    boolean isReady();
+    void snapshot();
+}
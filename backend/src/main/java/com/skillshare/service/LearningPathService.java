@@ -1,7 +1,10 @@
 package com.skillshare.service;
 
+import com.skillshare.model.DeletionJob;
 import com.skillshare.model.LearningPath;
+import com.skillshare.model.LikeState;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 public interface LearningPathService {
@@ -10,12 +13,33 @@ public interface LearningPathService {
     List<LearningPath> getAllPaths();
     List<LearningPath> getPathsByUserId(String userId);
     List<LearningPath> getPublicPaths();
+    List<LearningPath> getPublicPaths(int page, int size);
     List<LearningPath> searchPathsByTitle(String title);
     List<LearningPath> getPathsByTag(String tag);
     LearningPath updatePath(LearningPath path);
-    void deletePath(String id);
+    /**
+     * Applies a JSON Merge Patch as a minimal update.
+     * @throws org.springframework.dao.OptimisticLockingFailureException if the path is no longer at expectedVersion
+     */
+    LearningPath patchPath(String id, long expectedVersion, Map<String, Object> patch);
+    DeletionJob deletePath(String id);
     void addMilestone(String pathId, LearningPath.Milestone milestone);
     void updateMilestone(String pathId, LearningPath.Milestone milestone);
     void removeMilestone(String pathId, String milestoneId);
-    void likePath(String pathId);
+    /**
+     * Moves a milestone to just after {@code afterMilestoneId}, or to the front if null,
+     * by rewriting only its rank.
+     */
+    void moveMilestone(String pathId, String milestoneId, String afterMilestoneId);
+    /**
+     * Re-spreads milestone ranks on a batch of paths whose keys grew long or are missing.
+     * @return the number of paths rewritten
+     */
+    int rebalanceMilestoneRanks();
+    /**
+     * Records the user's like and bumps the counter; repeat likes are no-ops.
+     * @return the stored like and counter, or null if the path does not exist
+     */
+    LikeState likePath(String pathId, String userId);
+    LikeState unlikePath(String pathId, String userId);
 }
\ No newline at end of file
@@ -1,7 +1,9 @@
 package com.skillshare.service;
 
 import com.skillshare.model.LearningProgress;
+import com.skillshare.model.LikeState;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 public interface LearningProgressService {
@@ -12,10 +14,20 @@ public interface LearningProgressService {
     List<LearningProgress> getProgressByLearningPathId(String pathId);
     Optional<LearningProgress> getProgressByUserAndPath(String userId, String pathId);
     LearningProgress updateProgress(LearningProgress progress);
+    /**
+     * Applies a JSON Merge Patch as a minimal update.
+     * @throws org.springframework.dao.OptimisticLockingFailureException if the record is no longer at expectedVersion
+     */
+    LearningProgress patchProgress(String id, long expectedVersion, Map<String, Object> patch);
     void deleteProgress(String id);
     void completeMilestone(String progressId, LearningProgress.CompletedMilestone milestone);
     void updateProgressPercentage(String progressId);
     void awardBadge(String progressId, String badge);
-    void likeProgress(String progressId);
+    /**
+     * Records the user's like and bumps the counter; repeat likes are no-ops.
+     * @return the stored like and counter, or null if the progress record does not exist
+     */
+    LikeState likeProgress(String progressId, String userId);
+    LikeState unlikeProgress(String progressId, String userId);
     List<LearningProgress> getRecentProgressByUser(String userId);
 }
\ No newline at end of file
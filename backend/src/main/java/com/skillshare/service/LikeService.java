@@ -0,0 +1,41 @@
+package com.skillshare.service;
+
+import com.skillshare.model.LikeEdge;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Who liked what. The likes collection is the source of truth; hot entities
+ * keep their likers in memory for a short while as a bitmap of user
+ * ordinals, so membership checks mostly cost no database read.
+ */
+public interface LikeService {
+    /**
+     * @param parentId the post of a liked comment, otherwise null
+     * @return true if this added the like, false if the user already had one
+     */
+    boolean like(String entityType, String entityId, String parentId, String userId);
+    /**
+     * @return true if this removed the like, false if there was none
+     */
+    boolean unlike(String entityType, String entityId, String userId);
+    boolean hasLiked(String entityType, String entityId, String userId);
+    /**
+     * The subset of entityIds the user has liked, read in one query, for
+     * marking a whole list at once.
+     */
+    Set<String> likedAmong(String entityType, Collection<String> entityIds, String userId);
+    List<LikeEdge> findByUser(String userId, int limit);
+    /**
+     * Drops the likes of deleted entities (and, for posts, of their comments)
+     * without touching any counters. Returns how many were removed.
+     */
+    long deleteEntities(String entityType, Collection<String> entityIds);
+    /**
+     * Drops up to limit likes of one entity, for deleting a heavily liked
+     * item in batches. Returns how many were removed; 0 once none are left.
+     */
+    long deleteEntity(String entityType, String entityId, int limit);
+}
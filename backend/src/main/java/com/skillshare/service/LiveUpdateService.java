@@ -0,0 +1,21 @@
+package com.skillshare.service;
+
+import com.skillshare.model.LiveUpdate;
+import org.springframework.http.codec.ServerSentEvent;
+import reactor.core.publisher.Flux;
+
+import java.util.Collection;
+
+/**
+ * Fan-out of post and path changes to SSE subscribers. Publishing never
+ * blocks: updates are coalesced per target and delivered by {@link #flush()}.
+ */
+public interface LiveUpdateService {
+    /**
+     * @throws IllegalStateException if the subscriber limit has been reached
+     */
+    Flux<ServerSentEvent<LiveUpdate>> subscribe(Collection<String> postIds, Collection<String> pathIds);
+    void publish(LiveUpdate update);
+    int flush();
+    int getSubscriberCount();
+}
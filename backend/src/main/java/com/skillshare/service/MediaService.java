@@ -0,0 +1,17 @@
+package com.skillshare.service;
+
+import com.skillshare.model.MediaObject;
+import java.io.InputStream;
+import java.nio.file.Path;
+import java.util.Optional;
+
+/**
+ * Content-addressed media store. Uploads are streamed to disk while being
+ * hashed; the SHA-256 of the content becomes the media id.
+ */
+public interface MediaService {
+    MediaObject store(InputStream content, String contentType);
+    MediaObject storeVariant(InputStream content, String contentType);
+    Optional<MediaObject> getMedia(String id);
+    Optional<Path> resolve(String id);
+}
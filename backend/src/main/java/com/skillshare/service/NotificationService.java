@@ -0,0 +1,21 @@
+package com.skillshare.service;
+
+import com.skillshare.model.Notification;
+import com.skillshare.model.NotificationPage;
+
+/**
+ * Per-user notification inbox. {@link #notify} only records the event in
+ * memory, where similar events are folded together; {@link #flush()} writes
+ * them to the inbox buckets in batches.
+ */
+public interface NotificationService {
+    /**
+     * @param actorId user who caused the event, or null if unknown
+     * @param detail  type-specific extra, e.g. the comment id or badge name
+     */
+    void notify(String recipientId, Notification.Type type, String targetId, String actorId, String detail);
+    int flush();
+    NotificationPage getNotifications(String userId, String before, int limit);
+    long getUnreadCount(String userId);
+    void markAllRead(String userId);
+}
@@ -0,0 +1,27 @@
+package com.skillshare.service;
+
+import com.skillshare.model.FunnelReport;
+import com.skillshare.model.LearningProgress;
+import java.util.Optional;
+
+public interface PathAnalyticsService {
+    Optional<FunnelReport> getFunnel(String pathId);
+    void recomputeFunnel(String pathId);
+    /**
+     * Recomputes every stored funnel from the progress collections,
+     * correcting drift from missed or racing increments. Returns how many
+     * were recomputed.
+     */
+    int reconcileFunnels();
+    void onEnrollment(LearningProgress progress);
+    void onMilestoneCompleted(LearningProgress progress, LearningProgress.CompletedMilestone milestone);
+    /**
+     * Applies the difference between two versions of an enrollment to the
+     * funnel, e.g. after a full-document save. Nothing is written when the
+     * completed milestones are unchanged. {@code before} is null for a new
+     * enrollment.
+     */
+    void onProgressReplaced(LearningProgress before, LearningProgress after);
+    void onProgressRemoved(LearningProgress progress);
+    void invalidate(String pathId);
+}
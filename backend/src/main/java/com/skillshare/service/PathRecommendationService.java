@@ -0,0 +1,10 @@
+package com.skillshare.service;
+
+import com.skillshare.model.PathRecommendation;
+import java.util.List;
+
+public interface PathRecommendationService {
+    List<PathRecommendation> getRelatedPaths(String pathId, int limit);
+    List<PathRecommendation> getRecommendedPaths(String userId, int limit);
+    void refresh();
+}
@@ -1,5 +1,6 @@
 package com.skillshare.service;
 
+import com.skillshare.model.LikeState;
 import com.skillshare.model.Post;
 import java.util.List;
 import java.util.Optional;
@@ -15,12 +16,22 @@ public interface PostService {
     List<Post> getPopularPosts();
     Post updatePost(Post post);
     void deletePost(String id);
-    void likePost(String id);
+    /**
+     * Records the user's like and bumps the counter; repeat likes are no-ops.
+     * @return the stored like and counter, or null if the post does not exist
+     */
+    LikeState likePost(String id, String userId);
+    LikeState unlikePost(String id, String userId);
     void sharePost(String id);
     
     // Comment related methods
     Optional<Post> addCommentToPost(String postId, Post.Comment comment);
     Optional<Post.Comment> updateCommentInPost(String postId, String commentId, String userId, String content);
     boolean removeCommentFromPost(String postId, String commentId, String userId);
-    boolean likeCommentInPost(String postId, String commentId);
+    /**
+     * @return false if the post or comment does not exist
+     */
+    boolean likeCommentInPost(String postId, String commentId, String userId);
+    boolean unlikeCommentInPost(String postId, String commentId, String userId);
+    Optional<List<Post.Comment>> getComments(String postId, String afterCommentId, int limit);
 }
\ No newline at end of file
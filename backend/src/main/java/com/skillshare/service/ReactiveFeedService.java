@@ -0,0 +1,15 @@
+package com.skillshare.service;
+
+import com.skillshare.model.LearningPath;
+import com.skillshare.model.Post;
+import reactor.core.publisher.Flux;
+
+public interface ReactiveFeedService {
+    Flux<Post> streamAllPosts();
+    Flux<Post> streamPostsByUserId(String userId);
+    Flux<Post> streamPostsByTag(String tag);
+    Flux<Post> streamRecentPosts();
+    Flux<Post> streamPopularPosts();
+    Flux<LearningPath> streamPublicPaths();
+    Flux<LearningPath> streamPathsByTag(String tag);
+}
@@ -0,0 +1,15 @@
+package com.skillshare.service;
+
+/**
+ * Hot/cold tiering for posts and learning progress. Documents that are both
+ * old and idle move to archive collections; repository lookups fall back to
+ * the archive transparently.
+ */
+public interface TieringService {
+    /**
+     * Runs a bounded number of archiving batches per collection, resuming
+     * the pass a previous run (or process) left off.
+     * @return the number of documents moved to the archive
+     */
+    long archiveStale();
+}
@@ -0,0 +1,15 @@
+package com.skillshare.service;
+
+import com.skillshare.model.User;
+
+/**
+ * Answers "is this username/email taken?" from an in-memory filter, falling
+ * through to the database only when the filter reports a possible match.
+ */
+public interface UserAvailabilityService {
+    boolean isUsernameTaken(String username);
+    boolean isEmailTaken(String email);
+    void onUserSaved(String previousUsername, String previousEmail, User user);
+    void onUserDeleted(User user);
+    void rebuild();
+}
@@ -1,5 +1,7 @@
 package com.skillshare.service;
 
+import com.skillshare.model.DeletionJob;
+import com.skillshare.model.FollowPage;
 import com.skillshare.model.User;
 import java.util.List;
 import java.util.Optional;
@@ -11,12 +13,14 @@ public interface UserService {
     Optional<User> getUserByEmail(String email);
     List<User> getAllUsers();
     User updateUser(User user);
-    void deleteUser(String id);
+    DeletionJob deleteUser(String id);
     boolean existsByUsername(String username);
     boolean existsByEmail(String email);
     void addBadge(String userId, String badge);
     void followUser(String userId, String followedUserId);
     void unfollowUser(String userId, String unfollowedUserId);
+    FollowPage getFollowers(String userId, String before, int limit);
+    FollowPage getFollowing(String userId, String before, int limit);
     String generateToken(User createdUser);
     boolean validatePassword(String password, String password2);
     User getUserFromToken(String token);
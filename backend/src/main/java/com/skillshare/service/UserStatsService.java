@@ -0,0 +1,20 @@
+package com.skillshare.service;
+
+import com.skillshare.model.UserStats;
+import java.util.Optional;
+
+/**
+ * Materialized per-user profile counters. The increment methods only touch
+ * an existing stats document; a missing one is computed in full on first read.
+ */
+public interface UserStatsService {
+    Optional<UserStats> getStats(String userId);
+    void incrementPosts(String userId, long delta);
+    void incrementPaths(String userId, long delta);
+    void incrementLikes(String userId, long delta);
+    void incrementFollows(String followerId, String followeeId, long delta);
+    void addBadge(String userId, String badge);
+    void remove(String userId);
+    UserStats reconcile(String userId);
+    int reconcileAll();
+}
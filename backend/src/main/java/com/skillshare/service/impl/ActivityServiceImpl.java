@@ -0,0 +1,132 @@
+package com.skillshare.service.impl;
+
+import com.skillshare.model.ActivityBucket;
+import com.skillshare.model.ActivityEvent;
+import com.skillshare.model.ActivityPage;
+import com.skillshare.service.ActivityService;
+import com.skillshare.util.TimeOrderedId;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+@Service
+public class ActivityServiceImpl implements ActivityService {
+
+    private static final Logger log = LoggerFactory.getLogger(ActivityServiceImpl.class);
+    private static final int MAX_PAGE_SIZE = 100;
+
+    private final MongoTemplate mongoTemplate;
+    private final int bucketSize;
+    private final long windowDays;
+    private final Counter dropped;
+
+    public ActivityServiceImpl(MongoTemplate mongoTemplate,
+                               MeterRegistry meterRegistry,
+                               @Value("${skillshare.activity.bucket-size:100}") int bucketSize,
+                               @Value("${skillshare.activity.window-days:7}") long windowDays) {
+        this.mongoTemplate = mongoTemplate;
+        this.bucketSize = bucketSize;
+        this.windowDays = windowDays;
+        this.dropped = Counter.builder("skillshare.activity.dropped")
+                .description("Activity events that could not be written")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Pushes into the user's open bucket for the current window; when that
+     * bucket is full (or missing) the count guard stops it matching and the
+     * upsert starts a new one.
+     */
+    @Override
+    public void record(String userId, ActivityEvent event) {
+        if (userId == null) {
+            return;
+        }
+        LocalDateTime now = LocalDateTime.now();
+        String id = TimeOrderedId.next();
+        event.setId(id);
+        event.setOccurredAt(now);
+
+        Query openBucket = new Query(Criteria.where("userId").is(userId)
+                .and("windowStart").is(windowStart(now))
+                .and("count").lt(bucketSize));
+        Update append = new Update()
+                .push("events", event)
+                .inc("count", 1)
+                .min("firstId", id)
+                .max("lastId", id)
+                .set("updatedAt", now);
+        try {
+            mongoTemplate.upsert(openBucket, append, ActivityBucket.class);
+        } catch (RuntimeException e) {
+            dropped.increment();
+            log.warn("Could not record {} activity for user {}: {}", event.getType(), userId, e.getMessage());
+        }
+    }
+
+    /**
+     * Newest buckets first: enough full buckets for the page plus the one
+     * the cursor falls in. Sparse windows hold fewer events, so if that
+     * falls short one more query fetches at most one bucket per missing event.
+     */
+    @Override
+    public ActivityPage getActivity(String userId, String before, int limit) {
+        int pageSize = Math.max(1, Math.min(limit, MAX_PAGE_SIZE));
+        String cursor = before == null || before.isEmpty() ? null : before;
+
+        List<ActivityEvent> events = new ArrayList<>();
+        int firstLimit = pageSize / bucketSize + 2;
+        List<ActivityBucket> buckets = buckets(userId, cursor, firstLimit);
+        collect(buckets, cursor, events);
+        if (events.size() <= pageSize && buckets.size() == firstLimit) {
+            String oldest = buckets.get(buckets.size() - 1).getFirstId();
+            collect(buckets(userId, oldest, pageSize + 1 - events.size()), cursor, events);
+        }
+
+        // Concurrent appends can interleave slightly across buckets
+        events.sort(Comparator.comparing(ActivityEvent::getId).reversed());
+        boolean more = events.size() > pageSize;
+        List<ActivityEvent> page = more ? new ArrayList<>(events.subList(0, pageSize)) : events;
+        return new ActivityPage(page, more ? page.get(page.size() - 1).getId() : null);
+    }
+
+    private List<ActivityBucket> buckets(String userId, String before, int limit) {
+        Criteria criteria = Criteria.where("userId").is(userId);
+        if (before != null) {
+            criteria = criteria.and("firstId").lt(before);
+        }
+        return mongoTemplate.find(new Query(criteria)
+                .with(Sort.by(Sort.Direction.DESC, "firstId"))
+                .limit(limit), ActivityBucket.class);
+    }
+
+    private static void collect(List<ActivityBucket> buckets, String before, List<ActivityEvent> events) {
+        for (ActivityBucket bucket : buckets) {
+            for (ActivityEvent event : bucket.getEvents()) {
+                if (before == null || event.getId().compareTo(before) < 0) {
+                    events.add(event);
+                }
+            }
+        }
+    }
+
+    // Windows are aligned to multiples of windowDays since the epoch
+    private LocalDateTime windowStart(LocalDateTime time) {
+        long day = time.toLocalDate().toEpochDay();
+        return LocalDate.ofEpochDay(Math.floorDiv(day, windowDays) * windowDays).atStartOfDay();
+    }
+}
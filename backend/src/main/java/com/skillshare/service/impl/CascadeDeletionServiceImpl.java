@@ -0,0 +1,478 @@
+package com.skillshare.service.impl;
+
+import com.skillshare.model.ActivityBucket;
+import com.skillshare.model.DeletionJob;
+import com.skillshare.model.EngagementDaily;
+import com.skillshare.model.FollowEdge;
+import com.skillshare.model.LearningPath;
+import com.skillshare.model.LearningProgress;
+import com.skillshare.model.LikeEdge;
+import com.skillshare.model.NotificationBucket;
+import com.skillshare.model.NotificationInbox;
+import com.skillshare.model.PathFunnel;
+import com.skillshare.model.Post;
+import com.skillshare.model.User;
+import com.skillshare.model.UserStats;
+import com.skillshare.repository.DeletionJobRepository;
+import com.skillshare.service.CascadeDeletionService;
+import com.skillshare.service.DashboardService;
+import com.skillshare.service.EngagementService;
+import com.skillshare.service.FollowSuggestionService;
+import com.skillshare.service.LeaderboardService;
+import com.skillshare.service.LikeService;
+import com.skillshare.service.PathAnalyticsService;
+import org.bson.Document;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.BiFunction;
+import java.util.stream.Collectors;
+
+@Service
+public class CascadeDeletionServiceImpl implements CascadeDeletionService {
+
+    private static final Logger log = LoggerFactory.getLogger(CascadeDeletionServiceImpl.class);
+    private static final int MAX_ATTEMPTS = 5;
+
+    private final MongoTemplate mongoTemplate;
+    private final DeletionJobRepository deletionJobRepository;
+    private final LeaderboardService leaderboardService;
+    private final PathAnalyticsService pathAnalyticsService;
+    private final FollowSuggestionService followSuggestionService;
+    private final DashboardService dashboardService;
+    private final EngagementService engagementService;
+    private final LikeService likeService;
+    private final int batchSize;
+    private final long batchPauseMs;
+    private final long leaseMs;
+
+    // Cleanup steps per target type, run in order. Each returns how many
+    // records one batch handled and 0 once nothing is left, so re-running a
+    // step after a crash is safe. Jobs persist the step index, so new steps
+    // are only ever appended.
+    private final List<Step> userSteps = Arrays.asList(
+            new Step("posts", (job, size) -> deletePostsBatch(job, size, hot(Post.class))),
+            new Step("comments", (job, size) -> deleteCommentsBatch(job, size, hot(Post.class))),
+            new Step("progress", (job, size) -> deleteProgressBatch(
+                    Criteria.where("userId").is(job.getTargetId()), size, hot(LearningProgress.class))),
+            new Step("following", this::deleteFollowingBatch),
+            new Step("followers", this::deleteFollowersBatch),
+            new Step("stats", this::deleteStats),
+            new Step("notifications", this::deleteNotificationsBatch),
+            new Step("archived posts", (job, size) -> deletePostsBatch(job, size, Post.ARCHIVE_COLLECTION)),
+            new Step("archived comments", (job, size) -> deleteCommentsBatch(job, size, Post.ARCHIVE_COLLECTION)),
+            new Step("archived progress", (job, size) -> deleteProgressBatch(
+                    Criteria.where("userId").is(job.getTargetId()), size, LearningProgress.ARCHIVE_COLLECTION)),
+            new Step("activity", this::deleteActivityBatch),
+            new Step("engagement", (job, size) -> deleteEngagementBatch(EngagementDaily.USER, job, size)),
+            new Step("likes given", this::deleteLikesGivenBatch));
+    private final List<Step> pathSteps = Arrays.asList(
+            new Step("progress", (job, size) -> deleteProgressBatch(
+                    Criteria.where("learningPathId").is(job.getTargetId()), size, hot(LearningProgress.class))),
+            new Step("funnel", this::deleteFunnel),
+            new Step("archived progress", (job, size) -> deleteProgressBatch(
+                    Criteria.where("learningPathId").is(job.getTargetId()), size, LearningProgress.ARCHIVE_COLLECTION)),
+            new Step("engagement", (job, size) -> deleteEngagementBatch(EngagementDaily.PATH, job, size)),
+            new Step("likes", this::deletePathLikesBatch));
+
+    public CascadeDeletionServiceImpl(MongoTemplate mongoTemplate,
+                                      DeletionJobRepository deletionJobRepository,
+                                      LeaderboardService leaderboardService,
+                                      PathAnalyticsService pathAnalyticsService,
+                                      FollowSuggestionService followSuggestionService,
+                                      DashboardService dashboardService,
+                                      EngagementService engagementService,
+                                      LikeService likeService,
+                                      @Value("${skillshare.cascade.batch-size:500}") int batchSize,
+                                      @Value("${skillshare.cascade.batch-pause-ms:50}") long batchPauseMs,
+                                      @Value("${skillshare.cascade.lease-ms:300000}") long leaseMs) {
+        this.mongoTemplate = mongoTemplate;
+        this.deletionJobRepository = deletionJobRepository;
+        this.leaderboardService = leaderboardService;
+        this.pathAnalyticsService = pathAnalyticsService;
+        this.followSuggestionService = followSuggestionService;
+        this.dashboardService = dashboardService;
+        this.engagementService = engagementService;
+        this.likeService = likeService;
+        this.batchSize = batchSize;
+        this.batchPauseMs = batchPauseMs;
+        this.leaseMs = leaseMs;
+    }
+
+    @Override
+    public DeletionJob enqueueUserDeletion(String userId) {
+        return deletionJobRepository.insert(new DeletionJob(DeletionJob.TargetType.USER, userId));
+    }
+
+    @Override
+    public DeletionJob enqueuePathDeletion(String pathId) {
+        return deletionJobRepository.insert(new DeletionJob(DeletionJob.TargetType.PATH, pathId));
+    }
+
+    @Override
+    public Optional<DeletionJob> getJob(String jobId) {
+        return deletionJobRepository.findById(jobId);
+    }
+
+    @Override
+    public int processPending() {
+        int completed = 0;
+        DeletionJob job;
+        while ((job = claimNext()) != null) {
+            if (run(job)) {
+                completed++;
+            }
+        }
+        return completed;
+    }
+
+    /**
+     * Atomically takes the oldest runnable job: a pending one whose retry
+     * delay has passed, or a running one whose worker stopped renewing its lease.
+     */
+    private DeletionJob claimNext() {
+        LocalDateTime now = LocalDateTime.now();
+        Query query = new Query(Criteria.where("status").in(DeletionJob.Status.PENDING, DeletionJob.Status.RUNNING)
+                .and("leaseUntil").lte(now))
+                .with(Sort.by(Sort.Direction.ASC, "createdAt"));
+        Update update = new Update()
+                .set("status", DeletionJob.Status.RUNNING)
+                .set("leaseUntil", now.plusNanos(leaseMs * 1_000_000))
+                .set("updatedAt", now);
+        return mongoTemplate.findAndModify(query, update, FindAndModifyOptions.options().returnNew(true), DeletionJob.class);
+    }
+
+    private boolean run(DeletionJob job) {
+        List<Step> steps = job.getTargetType() == DeletionJob.TargetType.USER ? userSteps : pathSteps;
+        try {
+            for (int i = job.getStep(); i < steps.size(); i++) {
+                Step step = steps.get(i);
+                long handled;
+                do {
+                    handled = step.batch.apply(job, batchSize);
+                    recordProgress(job, i, step.name, handled);
+                    if (handled > 0) {
+                        pause();
+                    }
+                } while (handled > 0);
+            }
+
+            mongoTemplate.updateFirst(byId(job.getId()), new Update()
+                    .set("status", DeletionJob.Status.DONE)
+                    .set("step", steps.size())
+                    .set("completedAt", LocalDateTime.now())
+                    .set("updatedAt", LocalDateTime.now())
+                    .unset("leaseUntil"), DeletionJob.class);
+            log.info("Cascade deletion of {} {} finished ({} records)",
+                    job.getTargetType(), job.getTargetId(), job.getProcessed());
+            return true;
+        } catch (RuntimeException e) {
+            int attempts = job.getAttempts() + 1;
+            boolean giveUp = attempts >= MAX_ATTEMPTS;
+            // Back off a little more after each failure
+            LocalDateTime retryAt = LocalDateTime.now().plusSeconds(30L << Math.min(attempts, 6));
+            mongoTemplate.updateFirst(byId(job.getId()), new Update()
+                    .set("status", giveUp ? DeletionJob.Status.FAILED : DeletionJob.Status.PENDING)
+                    .set("attempts", attempts)
+                    .set("lastError", e.getMessage())
+                    .set("leaseUntil", retryAt)
+                    .set("updatedAt", LocalDateTime.now()), DeletionJob.class);
+            log.warn("Cascade deletion of {} {} failed (attempt {}): {}",
+                    job.getTargetType(), job.getTargetId(), attempts, e.getMessage());
+            return false;
+        }
+    }
+
+    // Persists the step position and renews the lease after every batch
+    private void recordProgress(DeletionJob job, int step, String stepName, long handled) {
+        LocalDateTime now = LocalDateTime.now();
+        job.setProcessed(job.getProcessed() + handled);
+        mongoTemplate.updateFirst(byId(job.getId()), new Update()
+                .set("step", step)
+                .set("stepName", stepName)
+                .inc("processed", handled)
+                .set("leaseUntil", now.plusNanos(leaseMs * 1_000_000))
+                .set("updatedAt", now), DeletionJob.class);
+    }
+
+    private void pause() {
+        if (batchPauseMs <= 0) {
+            return;
+        }
+        try {
+            Thread.sleep(batchPauseMs);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Cascade deletion interrupted", e);
+        }
+    }
+
+    private long deletePostsBatch(DeletionJob job, int size, String collection) {
+        List<Object> ids = findIds(Criteria.where("userId").is(job.getTargetId()), size, collection);
+        if (ids.isEmpty()) {
+            return 0;
+        }
+        // Rollups and likes first: a retried batch finds the posts again, but not the other way round
+        List<String> postIds = ids.stream().map(Object::toString).collect(Collectors.toList());
+        engagementService.delete(EngagementDaily.POST, postIds);
+        likeService.deleteEntities(LikeEdge.POST, postIds);
+        return mongoTemplate.remove(new Query(Criteria.where("_id").in(ids)), collection).getDeletedCount();
+    }
+
+    /**
+     * Pulls the user's comments from one batch of posts, dropping the likes
+     * on them first and taking those likes off the author's likesReceived
+     * afterwards, so a retry can leave the counter too high but never
+     * decrement it twice.
+     */
+    private long deleteCommentsBatch(DeletionJob job, int size, String collection) {
+        String userId = job.getTargetId();
+        Query query = new Query(Criteria.where("comments.userId").is(userId)).limit(size);
+        query.fields().include("comments._id").include("comments.userId").include("comments.likes");
+        List<Post> posts = mongoTemplate.find(query, Post.class, collection);
+        if (posts.isEmpty()) {
+            return 0;
+        }
+        List<Object> ids = new ArrayList<>();
+        List<String> commentIds = new ArrayList<>();
+        long likes = 0;
+        for (Post post : posts) {
+            ids.add(post.getId());
+            for (Post.Comment comment : post.getComments()) {
+                if (userId.equals(comment.getUserId())) {
+                    commentIds.add(comment.getId());
+                    likes += comment.getLikes();
+                }
+            }
+        }
+        likeService.deleteEntities(LikeEdge.COMMENT, commentIds);
+        mongoTemplate.updateMulti(new Query(Criteria.where("_id").in(ids)),
+                new Update().pull("comments", new Document("userId", userId)), collection);
+        if (likes > 0) {
+            mongoTemplate.updateFirst(byId(userId), new Update().inc("likesReceived", -likes), UserStats.class);
+        }
+        return posts.size();
+    }
+
+    private long deleteProgressBatch(Criteria criteria, int size, String collection) {
+        List<LearningProgress> batch = mongoTemplate.find(new Query(criteria).limit(size), LearningProgress.class, collection);
+        if (batch.isEmpty()) {
+            return 0;
+        }
+        List<String> ids = batch.stream().map(LearningProgress::getId).collect(Collectors.toList());
+        likeService.deleteEntities(LikeEdge.PROGRESS, ids);
+        mongoTemplate.remove(new Query(Criteria.where("_id").in(ids)), LearningProgress.class, collection);
+
+        Set<String> pathIds = new LinkedHashSet<>();
+        Set<String> userIds = new LinkedHashSet<>();
+        BulkOperations statsOps = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, UserStats.class);
+        boolean likesRemoved = false;
+        for (LearningProgress progress : batch) {
+            leaderboardService.onProgressRemoved(progress);
+            if (progress.getLikes() > 0 && progress.getUserId() != null) {
+                statsOps.updateOne(byId(progress.getUserId()), new Update().inc("likesReceived", -progress.getLikes()));
+                likesRemoved = true;
+            }
+            if (progress.getLearningPathId() != null) {
+                pathIds.add(progress.getLearningPathId());
+            }
+            if (progress.getUserId() != null) {
+                userIds.add(progress.getUserId());
+            }
+        }
+        if (likesRemoved) {
+            statsOps.execute();
+        }
+        pathIds.forEach(pathAnalyticsService::invalidate);
+        userIds.forEach(dashboardService::invalidateUser);
+        return batch.size();
+    }
+
+    // Edges where the deleted user is the follower: the followees lose a follower
+    private long deleteFollowingBatch(DeletionJob job, int size) {
+        List<FollowEdge> edges = mongoTemplate.find(
+                new Query(Criteria.where("followerId").is(job.getTargetId())).limit(size), FollowEdge.class);
+        if (edges.isEmpty()) {
+            return 0;
+        }
+        BulkOperations counterOps = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, User.class);
+        BulkOperations statsOps = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, UserStats.class);
+        for (FollowEdge edge : edges) {
+            counterOps.updateOne(byId(edge.getFolloweeId()), new Update().inc("followerCount", -1));
+            statsOps.updateOne(byId(edge.getFolloweeId()), new Update().inc("followerCount", -1));
+        }
+        return removeEdges(edges, counterOps, statsOps);
+    }
+
+    // Edges where the deleted user is the followee: the followers lose a followee
+    private long deleteFollowersBatch(DeletionJob job, int size) {
+        String userId = job.getTargetId();
+        List<FollowEdge> edges = mongoTemplate.find(
+                new Query(Criteria.where("followeeId").is(userId)).limit(size), FollowEdge.class);
+        if (edges.isEmpty()) {
+            return 0;
+        }
+        BulkOperations counterOps = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, User.class);
+        BulkOperations statsOps = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, UserStats.class);
+        for (FollowEdge edge : edges) {
+            counterOps.updateOne(byId(edge.getFollowerId()),
+                    new Update().pull("followingUsers", userId).inc("followingCount", -1));
+            statsOps.updateOne(byId(edge.getFollowerId()), new Update().inc("followingCount", -1));
+        }
+        return removeEdges(edges, counterOps, statsOps);
+    }
+
+    /**
+     * Deletes the edges first so a crash between the two writes can only
+     * leave counters too high (fixed by a later reconciliation), never
+     * decrement them twice on retry.
+     */
+    private long removeEdges(List<FollowEdge> edges, BulkOperations counterOps, BulkOperations statsOps) {
+        List<String> ids = edges.stream().map(FollowEdge::getId).collect(Collectors.toList());
+        long removed = mongoTemplate.remove(new Query(Criteria.where("_id").in(ids)), FollowEdge.class).getDeletedCount();
+        counterOps.execute();
+        statsOps.execute();
+        for (FollowEdge edge : edges) {
+            followSuggestionService.onUnfollow(edge.getFollowerId(), edge.getFolloweeId());
+        }
+        return removed;
+    }
+
+    private long deleteStats(DeletionJob job, int size) {
+        return mongoTemplate.remove(byId(job.getTargetId()), UserStats.class).getDeletedCount();
+    }
+
+    private long deleteNotificationsBatch(DeletionJob job, int size) {
+        List<Object> ids = findIds(Criteria.where("userId").is(job.getTargetId()), size, NotificationBucket.class);
+        if (ids.isEmpty()) {
+            return mongoTemplate.remove(byId(job.getTargetId()), NotificationInbox.class).getDeletedCount();
+        }
+        return mongoTemplate.remove(new Query(Criteria.where("_id").in(ids)), NotificationBucket.class).getDeletedCount();
+    }
+
+    private long deleteActivityBatch(DeletionJob job, int size) {
+        List<Object> ids = findIds(Criteria.where("userId").is(job.getTargetId()), size, ActivityBucket.class);
+        if (ids.isEmpty()) {
+            return 0;
+        }
+        return mongoTemplate.remove(new Query(Criteria.where("_id").in(ids)), ActivityBucket.class).getDeletedCount();
+    }
+
+    private long deleteEngagementBatch(String entityType, DeletionJob job, int size) {
+        return engagementService.delete(entityType, job.getTargetId(), size);
+    }
+
+    private long deletePathLikesBatch(DeletionJob job, int size) {
+        return likeService.deleteEntity(LikeEdge.PATH, job.getTargetId(), size);
+    }
+
+    /**
+     * Withdraws one batch of the user's likes and takes each off the liked
+     * item's counter, in whichever tier it lives. Owners' likesReceived are
+     * left to the nightly stats reconciliation. Counts only the likes
+     * actually withdrawn, so edges that cannot be removed end the step
+     * instead of looping on it.
+     */
+    private long deleteLikesGivenBatch(DeletionJob job, int size) {
+        List<LikeEdge> edges = likeService.findByUser(job.getTargetId(), size);
+        long removed = 0;
+        for (LikeEdge edge : edges) {
+            if (likeService.unlike(edge.getEntityType(), edge.getEntityId(), edge.getUserId())) {
+                decrementLikes(edge);
+                removed++;
+            }
+        }
+        return removed;
+    }
+
+    private void decrementLikes(LikeEdge edge) {
+        Criteria positive = Criteria.where("likes").gt(0);
+        switch (edge.getEntityType()) {
+            case LikeEdge.POST:
+                decrementInTiers(Criteria.where("_id").is(edge.getEntityId()).andOperator(positive),
+                        "likes", Post.class, Post.ARCHIVE_COLLECTION);
+                break;
+            case LikeEdge.COMMENT:
+                decrementInTiers(Criteria.where("_id").is(edge.getParentId()).and("comments").elemMatch(
+                        Criteria.where("_id").is(edge.getEntityId()).andOperator(positive)),
+                        "comments.$.likes", Post.class, Post.ARCHIVE_COLLECTION);
+                break;
+            case LikeEdge.PATH:
+                decrementInTiers(Criteria.where("_id").is(edge.getEntityId()).andOperator(positive),
+                        "likes", LearningPath.class);
+                break;
+            case LikeEdge.PROGRESS:
+                decrementInTiers(Criteria.where("_id").is(edge.getEntityId()).andOperator(positive),
+                        "likes", LearningProgress.class, LearningProgress.ARCHIVE_COLLECTION);
+                break;
+            default:
+                log.warn("Unknown like type {} on {}", edge.getEntityType(), edge.getId());
+        }
+    }
+
+    // Tries the hot collection of the type, then each archive, until one matches
+    private void decrementInTiers(Criteria criteria, String field, Class<?> type, String... archives) {
+        Query query = new Query(criteria);
+        Update update = new Update().inc(field, -1);
+        if (mongoTemplate.updateFirst(query, update, type).getMatchedCount() > 0) {
+            return;
+        }
+        for (String archive : archives) {
+            if (mongoTemplate.updateFirst(query, update, type, archive).getMatchedCount() > 0) {
+                return;
+            }
+        }
+    }
+
+    private long deleteFunnel(DeletionJob job, int size) {
+        return mongoTemplate.remove(byId(job.getTargetId()), PathFunnel.class).getDeletedCount();
+    }
+
+    private List<Object> findIds(Criteria criteria, int size, Class<?> type) {
+        return findIds(criteria, size, hot(type));
+    }
+
+    private List<Object> findIds(Criteria criteria, int size, String collection) {
+        Query query = new Query(criteria).limit(size);
+        query.fields().include("_id");
+        List<Object> ids = new ArrayList<>();
+        for (Document document : mongoTemplate.find(query, Document.class, collection)) {
+            ids.add(document.get("_id"));
+        }
+        return ids;
+    }
+
+    private String hot(Class<?> type) {
+        return mongoTemplate.getCollectionName(type);
+    }
+
+    private static Query byId(String id) {
+        return new Query(Criteria.where("_id").is(id));
+    }
+
+    private static final class Step {
+        final String name;
+        final BiFunction<DeletionJob, Integer, Long> batch;
+
+        Step(String name, BiFunction<DeletionJob, Integer, Long> batch) {
+            this.name = name;
+            this.batch = batch;
+        }
+    }
+}
@@ -0,0 +1,193 @@
+package com.skillshare.service.impl;
+
+import com.skillshare.model.LearningPath;
+import com.skillshare.model.LearningProgress;
+import com.skillshare.model.UserDashboard;
+import com.skillshare.repository.LearningPathRepository;
+import com.skillshare.repository.LearningProgressRepository;
+import com.skillshare.service.DashboardService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+@Service
+public class DashboardServiceImpl implements DashboardService {
+
+    private static final int GENERATION_STRIPES = 64;
+
+    private final LearningProgressRepository learningProgressRepository;
+    private final LearningPathRepository learningPathRepository;
+    private final int maxEntries;
+    private final long ttlMs;
+    private final Counter hits;
+    private final Counter misses;
+
+    // LRU by access order; usersByPath lets a path change drop only the
+    // dashboards that show it. Both are guarded by the cache lock.
+    private final Object lock = new Object();
+    private final LinkedHashMap<String, Entry> cache;
+    private final Map<String, Set<String>> usersByPath = new HashMap<>();
+    // Bumped by invalidations, striped by user and by path, so a computation
+    // that raced an invalidation of its own user or one of its paths is not cached
+    private final long[] userGenerations = new long[GENERATION_STRIPES];
+    private final long[] pathGenerations = new long[GENERATION_STRIPES];
+
+    public DashboardServiceImpl(LearningProgressRepository learningProgressRepository,
+                                LearningPathRepository learningPathRepository,
+                                MeterRegistry meterRegistry,
+                                @Value("${skillshare.dashboard.cache-size:10000}") int maxEntries,
+                                @Value("${skillshare.dashboard.cache-ttl-ms:300000}") long ttlMs) {
+        this.learningProgressRepository = learningProgressRepository;
+        this.learningPathRepository = learningPathRepository;
+        this.maxEntries = maxEntries;
+        this.ttlMs = ttlMs;
+        this.cache = new LinkedHashMap<>(16, 0.75f, true);
+        this.hits = Counter.builder("skillshare.dashboard.cache").tag("result", "hit").register(meterRegistry);
+        this.misses = Counter.builder("skillshare.dashboard.cache").tag("result", "miss").register(meterRegistry);
+    }
+
+    @Override
+    public UserDashboard getDashboard(String userId) {
+        long observedUser;
+        long[] observedPaths;
+        synchronized (lock) {
+            Entry entry = cache.get(userId);
+            if (entry != null && entry.expiresAt > System.currentTimeMillis()) {
+                hits.increment();
+                return entry.dashboard;
+            }
+            observedUser = userGenerations[stripe(userId)];
+            observedPaths = pathGenerations.clone();
+        }
+        misses.increment();
+
+        UserDashboard dashboard = compute(userId);
+        synchronized (lock) {
+            if (userGenerations[stripe(userId)] == observedUser && !pathsChanged(dashboard, observedPaths)) {
+                put(userId, dashboard);
+            }
+        }
+        return dashboard;
+    }
+
+    @Override
+    public void invalidateUser(String userId) {
+        if (userId == null) {
+            return;
+        }
+        synchronized (lock) {
+            userGenerations[stripe(userId)]++;
+            evict(userId);
+        }
+    }
+
+    @Override
+    public void invalidatePath(String pathId) {
+        if (pathId == null) {
+            return;
+        }
+        synchronized (lock) {
+            pathGenerations[stripe(pathId)]++;
+            Set<String> users = usersByPath.get(pathId);
+            if (users != null) {
+                new HashSet<>(users).forEach(this::evict);
+            }
+        }
+    }
+
+    /**
+     * Two queries regardless of enrollment count: the learner's progress
+     * records, then one projected $in over the paths they reference.
+     */
+    private UserDashboard compute(String userId) {
+        List<LearningProgress> progress = learningProgressRepository.findByUserIdOrderByLastUpdatedAtDesc(userId);
+
+        Set<String> pathIds = new LinkedHashSet<>();
+        for (LearningProgress record : progress) {
+            if (record.getLearningPathId() != null) {
+                pathIds.add(record.getLearningPathId());
+            }
+        }
+        Map<String, UserDashboard.PathSummary> summaries = new HashMap<>();
+        if (!pathIds.isEmpty()) {
+            for (LearningPath path : learningPathRepository.findSummariesByIdIn(pathIds)) {
+                summaries.put(path.getId(), new UserDashboard.PathSummary(path));
+            }
+        }
+
+        UserDashboard dashboard = new UserDashboard(userId);
+        for (LearningProgress record : progress) {
+            dashboard.getEnrollments().add(new UserDashboard.Enrollment(record,
+                    record.getLearningPathId() == null ? null : summaries.get(record.getLearningPathId())));
+        }
+        return dashboard;
+    }
+
+    // Caller must hold the cache lock
+    private boolean pathsChanged(UserDashboard dashboard, long[] observedPaths) {
+        for (UserDashboard.Enrollment enrollment : dashboard.getEnrollments()) {
+            String pathId = enrollment.getProgress().getLearningPathId();
+            if (pathId != null && pathGenerations[stripe(pathId)] != observedPaths[stripe(pathId)]) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void put(String userId, UserDashboard dashboard) {
+        evict(userId);
+        Entry entry = new Entry(dashboard, System.currentTimeMillis() + ttlMs);
+        for (UserDashboard.Enrollment enrollment : dashboard.getEnrollments()) {
+            String pathId = enrollment.getProgress().getLearningPathId();
+            if (pathId != null) {
+                entry.pathIds.add(pathId);
+                usersByPath.computeIfAbsent(pathId, id -> new HashSet<>()).add(userId);
+            }
+        }
+        cache.put(userId, entry);
+
+        while (cache.size() > maxEntries) {
+            evict(cache.keySet().iterator().next());
+        }
+    }
+
+    private void evict(String userId) {
+        Entry removed = cache.remove(userId);
+        if (removed == null) {
+            return;
+        }
+        for (String pathId : removed.pathIds) {
+            Set<String> users = usersByPath.get(pathId);
+            if (users != null) {
+                users.remove(userId);
+                if (users.isEmpty()) {
+                    usersByPath.remove(pathId);
+                }
+            }
+        }
+    }
+
+    private static int stripe(String key) {
+        return (key.hashCode() & 0x7fffffff) % GENERATION_STRIPES;
+    }
+
+    private static final class Entry {
+        final UserDashboard dashboard;
+        final long expiresAt;
+        final Set<String> pathIds = new HashSet<>();
+
+        Entry(UserDashboard dashboard, long expiresAt) {
+            this.dashboard = dashboard;
+            this.expiresAt = expiresAt;
+        }
+    }
+}
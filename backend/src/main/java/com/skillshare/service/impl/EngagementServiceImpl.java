@@ -0,0 +1,207 @@
+package com.skillshare.service.impl;
+
+import com.skillshare.model.EngagementDaily;
+import com.skillshare.service.EngagementService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.BulkOperationException;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Service;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+@Service
+public class EngagementServiceImpl implements EngagementService {
+
+    private static final Logger log = LoggerFactory.getLogger(EngagementServiceImpl.class);
+    private static final EngagementDaily.Metric[] METRICS = EngagementDaily.Metric.values();
+
+    private final MongoTemplate mongoTemplate;
+    private final int maxPending;
+    private final int maxRangeDays;
+    private final Counter dropped;
+    // Counts not yet written, keyed by rollup document id
+    private final Map<String, Pending> pending = new ConcurrentHashMap<>();
+
+    public EngagementServiceImpl(MongoTemplate mongoTemplate,
+                                 MeterRegistry meterRegistry,
+                                 @Value("${skillshare.engagement.max-pending:100000}") int maxPending,
+                                 @Value("${skillshare.engagement.max-range-days:366}") int maxRangeDays) {
+        this.mongoTemplate = mongoTemplate;
+        this.maxPending = maxPending;
+        this.maxRangeDays = maxRangeDays;
+        this.dropped = Counter.builder("skillshare.engagement.dropped")
+                .description("Engagement events discarded because the pending buffer was full")
+                .register(meterRegistry);
+        Gauge.builder("skillshare.engagement.pending", pending, Map::size).register(meterRegistry);
+    }
+
+    @Override
+    public void record(String entityType, String entityId, EngagementDaily.Metric metric) {
+        if (entityId == null) {
+            return;
+        }
+        LocalDate day = LocalDate.now();
+        String key = EngagementDaily.id(entityType, entityId, day);
+        // Shed load rather than grow without bound while the database is unavailable
+        if (pending.size() >= maxPending && !pending.containsKey(key)) {
+            dropped.increment();
+            return;
+        }
+        pending.compute(key, (k, entry) -> {
+            Pending updated = entry != null ? entry : new Pending(entityType, entityId, day);
+            updated.counts[metric.ordinal()]++;
+            return updated;
+        });
+    }
+
+    /**
+     * Upserts every pending counter with $inc. Unordered, so one bad entry
+     * does not hold up the rest; entries the database rejected, or all of them
+     * if the outcome is unknown, go back into the buffer for the next flush.
+     */
+    @Override
+    public int flush() {
+        List<Pending> batch = new ArrayList<>();
+        for (String key : pending.keySet()) {
+            Pending entry = pending.remove(key);
+            if (entry != null) {
+                batch.add(entry);
+            }
+        }
+        if (batch.isEmpty()) {
+            return 0;
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        BulkOperations ops = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, EngagementDaily.class);
+        for (Pending entry : batch) {
+            Update update = new Update()
+                    .setOnInsert("entityType", entry.entityType)
+                    .setOnInsert("entityId", entry.entityId)
+                    .setOnInsert("day", entry.day)
+                    .set("updatedAt", now);
+            for (EngagementDaily.Metric metric : METRICS) {
+                if (entry.counts[metric.ordinal()] != 0) {
+                    update.inc(metric.field(), entry.counts[metric.ordinal()]);
+                }
+            }
+            ops.upsert(byId(entry.id()), update);
+        }
+        try {
+            ops.execute();
+            return batch.size();
+        } catch (BulkOperationException e) {
+            log.warn("Could not write {} of {} engagement rollups, will retry", e.getErrors().size(), batch.size());
+            e.getErrors().forEach(error -> requeue(batch.get(error.getIndex())));
+            return batch.size() - e.getErrors().size();
+        } catch (RuntimeException e) {
+            log.warn("Could not write engagement rollups, will retry: {}", e.getMessage());
+            batch.forEach(this::requeue);
+            return 0;
+        }
+    }
+
+    @Override
+    public List<EngagementDaily> getEngagement(String entityType, String entityId, LocalDate from, LocalDate to, boolean weekly) {
+        if (to.isBefore(from)) {
+            throw new IllegalArgumentException("Range ends before it starts: " + from + " to " + to);
+        }
+        if (ChronoUnit.DAYS.between(from, to) >= maxRangeDays) {
+            throw new IllegalArgumentException("Range is longer than " + maxRangeDays + " days");
+        }
+
+        // Ids share the entity prefix and end in an ISO date, so they sort by day
+        Query query = new Query(Criteria.where("_id")
+                .gte(EngagementDaily.id(entityType, entityId, from))
+                .lte(EngagementDaily.id(entityType, entityId, to)))
+                .with(Sort.by(Sort.Direction.ASC, "_id"));
+        Map<LocalDate, EngagementDaily> stored = new HashMap<>();
+        for (EngagementDaily daily : mongoTemplate.find(query, EngagementDaily.class)) {
+            stored.put(daily.getDay(), daily);
+        }
+
+        Map<LocalDate, EngagementDaily> series = new LinkedHashMap<>();
+        for (LocalDate day = from; !day.isAfter(to); day = day.plusDays(1)) {
+            LocalDate slot = weekly ? day.with(DayOfWeek.MONDAY) : day;
+            EngagementDaily entry = series.computeIfAbsent(slot, d -> new EngagementDaily(entityType, entityId, d));
+            EngagementDaily daily = stored.get(day);
+            if (daily != null) {
+                entry.add(daily);
+            }
+        }
+        return new ArrayList<>(series.values());
+    }
+
+    @Override
+    public long delete(String entityType, Collection<String> entityIds) {
+        if (entityIds.isEmpty()) {
+            return 0;
+        }
+        return mongoTemplate.remove(new Query(Criteria.where("entityId").in(entityIds).and("entityType").is(entityType)),
+                EngagementDaily.class).getDeletedCount();
+    }
+
+    @Override
+    public long delete(String entityType, String entityId, int limit) {
+        Query query = new Query(Criteria.where("entityId").is(entityId).and("entityType").is(entityType)).limit(limit);
+        query.fields().include("_id");
+        List<String> ids = mongoTemplate.find(query, EngagementDaily.class).stream()
+                .map(EngagementDaily::getId).collect(Collectors.toList());
+        if (ids.isEmpty()) {
+            return 0;
+        }
+        return mongoTemplate.remove(new Query(Criteria.where("_id").in(ids)), EngagementDaily.class).getDeletedCount();
+    }
+
+    private void requeue(Pending entry) {
+        pending.merge(entry.id(), entry, (current, returned) -> {
+            for (int i = 0; i < current.counts.length; i++) {
+                current.counts[i] += returned.counts[i];
+            }
+            return current;
+        });
+    }
+
+    private static Query byId(String id) {
+        return new Query(Criteria.where("_id").is(id));
+    }
+
+    private static final class Pending {
+        final String entityType;
+        final String entityId;
+        final LocalDate day;
+        // Indexed by Metric ordinal; only mutated inside the map's compute/merge
+        final long[] counts = new long[METRICS.length];
+
+        Pending(String entityType, String entityId, LocalDate day) {
+            this.entityType = entityType;
+            this.entityId = entityId;
+            this.day = day;
+        }
+
+        String id() {
+            return EngagementDaily.id(entityType, entityId, day);
+        }
+    }
+}
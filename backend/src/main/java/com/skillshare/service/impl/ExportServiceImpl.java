@@ -0,0 +1,125 @@
+package com.skillshare.service.impl;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.skillshare.model.LearningPath;
+import com.skillshare.model.LearningProgress;
+import com.skillshare.model.User;
+import com.skillshare.service.ExportService;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+@Service
+public class ExportServiceImpl implements ExportService {
+
+    private final MongoTemplate mongoTemplate;
+    private final ObjectMapper objectMapper;
+    private final ObjectWriter lineWriter;
+
+    public ExportServiceImpl(MongoTemplate mongoTemplate, ObjectMapper objectMapper) {
+        this.mongoTemplate = mongoTemplate;
+        this.objectMapper = objectMapper;
+        this.lineWriter = objectMapper.writer().without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+    }
+
+    @Override
+    public long exportUsers(String since, int batchSize, OutputStream out) throws IOException {
+        return export(User.class, User::getId, null, since, batchSize, out);
+    }
+
+    @Override
+    public long exportPaths(String since, int batchSize, OutputStream out) throws IOException {
+        return export(LearningPath.class, LearningPath::getId, null, since, batchSize, out);
+    }
+
+    @Override
+    public long exportProgress(String since, int batchSize, OutputStream out) throws IOException {
+        // Archived records are still part of the data set
+        return export(LearningProgress.class, LearningProgress::getId, LearningProgress.ARCHIVE_COLLECTION,
+                since, batchSize, out);
+    }
+
+    /**
+     * Writes every document of the given type as one JSON object per line, in
+     * ascending _id order. Passing the last id a client received as {@code since}
+     * resumes the export directly after that document. With an archive
+     * collection, both tiers are merged into the one _id-ordered stream.
+     */
+    private <T> long export(Class<T> type, Function<T, String> idOf, String archiveCollection,
+                            String since, int batchSize, OutputStream out) throws IOException {
+        Query query = new Query().with(Sort.by(Sort.Direction.ASC, "_id")).cursorBatchSize(batchSize);
+        if (since != null && !since.isEmpty()) {
+            query.addCriteria(Criteria.where("_id").gt(since));
+        }
+
+        long written = 0;
+        JsonGenerator generator = objectMapper.getFactory().createGenerator(out);
+        generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+        generator.setRootValueSeparator(null);
+
+        try (Stream<T> hot = mongoTemplate.stream(query, type);
+             Stream<T> archived = archiveCollection == null
+                     ? Stream.empty() : mongoTemplate.stream(query, type, archiveCollection)) {
+            Iterator<T> iterator = mergeById(hot.iterator(), archived.iterator(), idOf);
+            while (iterator.hasNext()) {
+                lineWriter.writeValue(generator, iterator.next());
+                generator.writeRaw('\n');
+                written++;
+
+                // Push each completed batch to the client instead of buffering it
+                if (written % batchSize == 0) {
+                    generator.flush();
+                }
+            }
+        }
+
+        generator.flush();
+        return written;
+    }
+
+    // Merges two cursors sorted by _id; a record caught in both tiers mid-move is written once
+    private static <T> Iterator<T> mergeById(Iterator<T> hot, Iterator<T> archived, Function<T, String> idOf) {
+        return new Iterator<T>() {
+            private T nextHot = hot.hasNext() ? hot.next() : null;
+            private T nextArchived = archived.hasNext() ? archived.next() : null;
+
+            @Override
+            public boolean hasNext() {
+                return nextHot != null || nextArchived != null;
+            }
+
+            @Override
+            public T next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                int order = nextHot == null ? 1 : nextArchived == null ? -1
+                        : idOf.apply(nextHot).compareTo(idOf.apply(nextArchived));
+                T value;
+                if (order <= 0) {
+                    value = nextHot;
+                    nextHot = hot.hasNext() ? hot.next() : null;
+                    if (order == 0) {
+                        nextArchived = archived.hasNext() ? archived.next() : null;
+                    }
+                } else {
+                    value = nextArchived;
+                    nextArchived = archived.hasNext() ? archived.next() : null;
+                }
+                return value;
+            }
+        };
+    }
+}
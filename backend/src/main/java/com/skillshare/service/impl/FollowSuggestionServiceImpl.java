@@ -0,0 +1,89 @@
+package com.skillshare.service.impl;
+
+import com.skillshare.graph.SocialGraph;
+import com.skillshare.model.FollowSuggestion;
+import com.skillshare.model.User;
+import com.skillshare.repository.UserRepository;
+import com.skillshare.service.FollowSuggestionService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+@Service
+public class FollowSuggestionServiceImpl implements FollowSuggestionService {
+
+    private static final Logger log = LoggerFactory.getLogger(FollowSuggestionServiceImpl.class);
+    private static final int MAX_SUGGESTIONS = 100;
+
+    private final UserRepository userRepository;
+    private volatile SocialGraph graph = SocialGraph.empty();
+
+    // Deltas that arrive while a rebuild is scanning the users collection,
+    // replayed on top of the new graph before it is published
+    private List<String[]> pendingDeltas;
+
+    public FollowSuggestionServiceImpl(UserRepository userRepository) {
+        this.userRepository = userRepository;
+    }
+
+    @Override
+    public void rebuild() {
+        synchronized (this) {
+            pendingDeltas = new ArrayList<>();
+        }
+
+        SocialGraph.Builder builder = new SocialGraph.Builder();
+        try (Stream<User> users = userRepository.streamFollowingBy()) {
+            users.forEach(user -> builder.addEdges(user.getId(), user.getFollowingUsers()));
+        } catch (RuntimeException e) {
+            synchronized (this) {
+                pendingDeltas = null;
+            }
+            throw e;
+        }
+        SocialGraph built = builder.build();
+
+        synchronized (this) {
+            for (String[] delta : pendingDeltas) {
+                if (delta[0] != null) {
+                    built.addEdge(delta[0], delta[1]);
+                } else {
+                    built.removeEdge(delta[2], delta[1]);
+                }
+            }
+            pendingDeltas = null;
+            graph = built;
+        }
+        log.info("Social graph built: {} users, {} follow edges", built.nodeCount(), built.edgeCount());
+    }
+
+    @Override
+    public List<FollowSuggestion> getSuggestions(String userId, int limit) {
+        return graph.suggest(userId, Math.max(1, Math.min(limit, MAX_SUGGESTIONS)));
+    }
+
+    @Override
+    public List<String> getFollowedByFollowing(String userId, String targetId) {
+        return graph.followedByFollowing(userId, targetId);
+    }
+
+    @Override
+    public synchronized void onFollow(String userId, String followedUserId) {
+        graph.addEdge(userId, followedUserId);
+        if (pendingDeltas != null) {
+            pendingDeltas.add(new String[] {userId, followedUserId, null});
+        }
+    }
+
+    @Override
+    public synchronized void onUnfollow(String userId, String unfollowedUserId) {
+        graph.removeEdge(userId, unfollowedUserId);
+        if (pendingDeltas != null) {
+            pendingDeltas.add(new String[] {null, unfollowedUserId, userId});
+        }
+    }
+}
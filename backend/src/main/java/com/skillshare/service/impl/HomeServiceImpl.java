@@ -0,0 +1,142 @@
+package com.skillshare.service.impl;
+
+import com.skillshare.model.HomeFeed;
+import com.skillshare.model.LearningProgress;
+import com.skillshare.service.HomeService;
+import com.skillshare.service.LearningPathService;
+import com.skillshare.service.LearningProgressService;
+import com.skillshare.service.PostService;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+@Service
+public class HomeServiceImpl implements HomeService {
+
+    private static final Logger log = LoggerFactory.getLogger(HomeServiceImpl.class);
+    private static final int RECENT_PROGRESS_LIMIT = 5;
+
+    private final PostService postService;
+    private final LearningPathService learningPathService;
+    private final LearningProgressService learningProgressService;
+    private final MeterRegistry meterRegistry;
+    private final ThreadPoolExecutor sections;
+    private final long sectionTimeoutMs;
+
+    public HomeServiceImpl(PostService postService,
+                           LearningPathService learningPathService,
+                           LearningProgressService learningProgressService,
+                           MeterRegistry meterRegistry,
+                           @Value("${skillshare.home.threads:32}") int threads,
+                           @Value("${skillshare.home.section-timeout-ms:800}") long sectionTimeoutMs) {
+        this.postService = postService;
+        this.learningPathService = learningPathService;
+        this.learningProgressService = learningProgressService;
+        this.meterRegistry = meterRegistry;
+        this.sectionTimeoutMs = sectionTimeoutMs;
+
+        // Sections block on Mongo rather than the CPU, so the pool is wider
+        // than the core count; the short queue sheds load instead of piling up
+        AtomicInteger counter = new AtomicInteger();
+        this.sections = new ThreadPoolExecutor(threads, threads, 60, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(threads * 4), runnable -> {
+                    Thread thread = new Thread(runnable, "home-sections-" + counter.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+        this.sections.allowCoreThreadTimeOut(true);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        sections.shutdownNow();
+    }
+
+    /**
+     * Runs every section at once and waits for each until a shared deadline,
+     * so the response takes as long as the slowest section (capped by the
+     * timeout) rather than the sum of all of them.
+     */
+    @Override
+    public HomeFeed getHomeFeed(String userId, int pathPage, int pathSize) {
+        HomeFeed feed = new HomeFeed();
+        List<Section<?>> pending = new ArrayList<>();
+        pending.add(submit("recentPosts", postService::getRecentPosts, feed::setRecentPosts));
+        pending.add(submit("popularPosts", postService::getPopularPosts, feed::setPopularPosts));
+        pending.add(submit("publicPaths", () -> learningPathService.getPublicPaths(pathPage, pathSize),
+                feed::setPublicPaths));
+        if (userId != null && !userId.isEmpty()) {
+            pending.add(submit("recentProgress", () -> recentProgress(userId), feed::setRecentProgress));
+        }
+
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(sectionTimeoutMs);
+        for (Section<?> section : pending) {
+            if (!section.await(deadline)) {
+                feed.getDegradedSections().add(section.name);
+                meterRegistry.counter("skillshare.home.degraded", "section", section.name).increment();
+            }
+        }
+        return feed;
+    }
+
+    private List<LearningProgress> recentProgress(String userId) {
+        List<LearningProgress> progress = learningProgressService.getRecentProgressByUser(userId);
+        return progress.size() > RECENT_PROGRESS_LIMIT ? progress.subList(0, RECENT_PROGRESS_LIMIT) : progress;
+    }
+
+    private <T> Section<T> submit(String name, Supplier<T> query, Consumer<T> target) {
+        CompletableFuture<T> future;
+        try {
+            future = CompletableFuture.supplyAsync(query, sections);
+        } catch (RejectedExecutionException e) {
+            future = CompletableFuture.failedFuture(e);
+        }
+        return new Section<>(name, future, target);
+    }
+
+    private static final class Section<T> {
+        final String name;
+        final CompletableFuture<T> future;
+        final Consumer<T> target;
+
+        Section(String name, CompletableFuture<T> future, Consumer<T> target) {
+            this.name = name;
+            this.future = future;
+            this.target = target;
+        }
+
+        // Applies the result if it arrives in time; otherwise leaves the section empty
+        boolean await(long deadlineNanos) {
+            try {
+                long remaining = Math.max(0, deadlineNanos - System.nanoTime());
+                target.accept(future.get(remaining, TimeUnit.NANOSECONDS));
+                return true;
+            } catch (TimeoutException e) {
+                // The query keeps running and finishes into a future nobody reads
+                future.cancel(true);
+                log.warn("Home section {} timed out", name);
+            } catch (ExecutionException e) {
+                log.warn("Home section {} failed: {}", name, e.getCause().getMessage());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return false;
+        }
+    }
+}
@@ -0,0 +1,212 @@
+package com.skillshare.service.impl;
+
+import com.skillshare.media.ImageResizer;
+import com.skillshare.media.ImageVariant;
+import com.skillshare.model.MediaObject;
+import com.skillshare.repository.MediaObjectRepository;
+import com.skillshare.service.ImageVariantService;
+import com.skillshare.service.MediaService;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Service;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+@Service
+public class ImageVariantServiceImpl implements ImageVariantService {
+
+    private static final Logger log = LoggerFactory.getLogger(ImageVariantServiceImpl.class);
+    private static final int MAX_ATTEMPTS = 3;
+    // Finished variants never change, so they can be cached without invalidation
+    private static final int MAX_CACHED = 50000;
+
+    private final MongoTemplate mongoTemplate;
+    private final MediaObjectRepository mediaObjectRepository;
+    private final MediaService mediaService;
+    private final ThreadPoolExecutor workers;
+    private final Timer renderTimer;
+    private final long leaseMs;
+    private final Map<String, Map<String, String>> finished = new ConcurrentHashMap<>();
+
+    public ImageVariantServiceImpl(MongoTemplate mongoTemplate,
+                                   MediaObjectRepository mediaObjectRepository,
+                                   MediaService mediaService,
+                                   MeterRegistry meterRegistry,
+                                   @Value("${skillshare.media.variant-workers:0}") int configuredWorkers,
+                                   @Value("${skillshare.media.variant-lease-ms:120000}") long leaseMs) {
+        this.mongoTemplate = mongoTemplate;
+        this.mediaObjectRepository = mediaObjectRepository;
+        this.mediaService = mediaService;
+        this.leaseMs = leaseMs;
+
+        // Decoding and scaling are CPU bound: one worker per core, and only a
+        // short hand-off queue so the claim stage cannot run ahead of them
+        int threads = configuredWorkers > 0 ? configuredWorkers : Runtime.getRuntime().availableProcessors();
+        AtomicInteger counter = new AtomicInteger();
+        this.workers = new ThreadPoolExecutor(threads, threads, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(threads * 2), runnable -> {
+                    Thread thread = new Thread(runnable, "image-variants-" + counter.incrementAndGet());
+                    thread.setDaemon(true);
+                    thread.setPriority(Thread.NORM_PRIORITY - 1);
+                    return thread;
+                });
+        this.renderTimer = Timer.builder("skillshare.media.variants.render")
+                .description("Time to decode an image and write all of its variants")
+                .register(meterRegistry);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        // Claimed-but-unfinished images are picked up again when their lease expires
+        workers.shutdownNow();
+    }
+
+    @Override
+    public int dispatchPending() {
+        int dispatched = 0;
+        while (workers.getQueue().remainingCapacity() > 0) {
+            MediaObject media = claimNext();
+            if (media == null) {
+                break;
+            }
+            try {
+                workers.execute(() -> process(media));
+                dispatched++;
+            } catch (RejectedExecutionException e) {
+                release(media);
+                break;
+            }
+        }
+        return dispatched;
+    }
+
+    @Override
+    public Optional<String> getVariantId(String mediaId, String variant) {
+        Map<String, String> variants = getVariants(List.of(mediaId)).get(mediaId);
+        return variants == null ? Optional.empty() : Optional.ofNullable(variants.get(variant));
+    }
+
+    @Override
+    public Map<String, Map<String, String>> getVariants(Collection<String> mediaIds) {
+        Map<String, Map<String, String>> result = new HashMap<>();
+        List<String> missing = new ArrayList<>();
+        for (String id : mediaIds) {
+            Map<String, String> cached = finished.get(id);
+            if (cached != null) {
+                result.put(id, cached);
+            } else {
+                missing.add(id);
+            }
+        }
+        if (missing.isEmpty()) {
+            return result;
+        }
+
+        for (MediaObject media : mediaObjectRepository.findAllById(missing)) {
+            if (media.getVariantStatus() == MediaObject.VariantStatus.DONE) {
+                remember(media.getId(), media.getVariants());
+                result.put(media.getId(), media.getVariants());
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Claims the oldest image waiting for variants, or one whose worker
+     * stopped before finishing (expired lease).
+     */
+    private MediaObject claimNext() {
+        LocalDateTime now = LocalDateTime.now();
+        Query query = new Query(Criteria.where("variantStatus").in(MediaObject.VariantStatus.PENDING, MediaObject.VariantStatus.RUNNING)
+                .and("variantLeaseUntil").lte(now))
+                .with(Sort.by(Sort.Direction.ASC, "createdAt"));
+        Update update = new Update()
+                .set("variantStatus", MediaObject.VariantStatus.RUNNING)
+                .set("variantLeaseUntil", now.plusNanos(leaseMs * 1_000_000));
+        return mongoTemplate.findAndModify(query, update, FindAndModifyOptions.options().returnNew(true), MediaObject.class);
+    }
+
+    private void release(MediaObject media) {
+        mongoTemplate.updateFirst(byId(media.getId()), new Update()
+                .set("variantStatus", MediaObject.VariantStatus.PENDING)
+                .set("variantLeaseUntil", LocalDateTime.now()), MediaObject.class);
+    }
+
+    private void process(MediaObject media) {
+        Timer.Sample sample = Timer.start();
+        try {
+            Path source = mediaService.resolve(media.getId())
+                    .orElseThrow(() -> new IOException("Media file missing for " + media.getId()));
+
+            Map<ImageVariant, ImageResizer.Rendered> rendered;
+            try (InputStream in = Files.newInputStream(source)) {
+                rendered = ImageResizer.render(in, ImageVariant.values());
+            }
+
+            Map<String, String> variants = new HashMap<>();
+            for (Map.Entry<ImageVariant, ImageResizer.Rendered> entry : rendered.entrySet()) {
+                ImageResizer.Rendered image = entry.getValue();
+                MediaObject stored = mediaService.storeVariant(new ByteArrayInputStream(image.getData()), image.getContentType());
+                variants.put(entry.getKey().key(), stored.getId());
+            }
+
+            // Nothing rendered: not a decodable image or already small enough
+            MediaObject.VariantStatus status = variants.isEmpty()
+                    ? MediaObject.VariantStatus.SKIPPED : MediaObject.VariantStatus.DONE;
+            mongoTemplate.updateFirst(byId(media.getId()), new Update()
+                    .set("variantStatus", status)
+                    .set("variants", variants)
+                    .unset("variantLeaseUntil"), MediaObject.class);
+            if (status == MediaObject.VariantStatus.DONE) {
+                remember(media.getId(), variants);
+            }
+            sample.stop(renderTimer);
+        } catch (Exception e) {
+            int attempts = media.getVariantAttempts() + 1;
+            boolean giveUp = attempts >= MAX_ATTEMPTS;
+            mongoTemplate.updateFirst(byId(media.getId()), new Update()
+                    .set("variantStatus", giveUp ? MediaObject.VariantStatus.FAILED : MediaObject.VariantStatus.PENDING)
+                    .set("variantAttempts", attempts)
+                    .set("variantLeaseUntil", LocalDateTime.now().plusMinutes(attempts)), MediaObject.class);
+            log.warn("Could not render variants for media {} (attempt {}): {}", media.getId(), attempts, e.getMessage());
+        }
+    }
+
+    private void remember(String mediaId, Map<String, String> variants) {
+        if (finished.size() >= MAX_CACHED) {
+            finished.clear();
+        }
+        finished.put(mediaId, variants);
+    }
+
+    private static Query byId(String id) {
+        return new Query(Criteria.where("_id").is(id));
+    }
+}
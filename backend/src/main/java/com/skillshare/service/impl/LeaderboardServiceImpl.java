@@ -0,0 +1,483 @@
+package com.skillshare.service.impl;
+
+import com.skillshare.leaderboard.RankedSet;
+import com.skillshare.model.LeaderboardEntry;
+import com.skillshare.model.LeaderboardSnapshot;
+import com.skillshare.model.LeaderboardType;
+import com.skillshare.model.LearningPath;
+import com.skillshare.model.LearningProgress;
+import com.skillshare.repository.LeaderboardSnapshotRepository;
+import com.skillshare.repository.LearningPathRepository;
+import com.skillshare.repository.LearningProgressRepository;
+import com.skillshare.service.LeaderboardService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.ByteArrayInputStream;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Stream;
+
+@Service
+public class LeaderboardServiceImpl implements LeaderboardService {
+
+    private static final Logger log = LoggerFactory.getLogger(LeaderboardServiceImpl.class);
+    private static final String GLOBAL_PREFIX = "global:";
+    private static final String PATH_PREFIX = "path:";
+    private static final char PART_SEPARATOR = '#';
+    // Past this many buffered events the restore re-reads the changed records instead
+    private static final int MAX_PENDING = 10000;
+
+    private final LearningProgressRepository learningProgressRepository;
+    private final LearningPathRepository learningPathRepository;
+    private final LeaderboardSnapshotRepository leaderboardSnapshotRepository;
+    private final int partEntries;
+    private final Duration catchUpMargin;
+
+    private final Map<String, RankedSet> boards = new ConcurrentHashMap<>();
+    private final Set<String> dirty = ConcurrentHashMap.newKeySet();
+    // Milestones per path, dropped whenever the path's milestones change
+    private final Map<String, Integer> pathSizes = new ConcurrentHashMap<>();
+    // Snapshot parts last written per board, so parts a shrunken board no longer needs get deleted
+    private final Map<String, Integer> savedParts = new ConcurrentHashMap<>();
+
+    // Events received before restore() finishes are buffered and replayed
+    private boolean ready = false;
+    private final AtomicBoolean restoring = new AtomicBoolean(false);
+    private final List<LearningProgress> pending = new ArrayList<>();
+    // When the buffer first filled up, or null while every event fits
+    private LocalDateTime overflowSince;
+
+    public LeaderboardServiceImpl(LearningProgressRepository learningProgressRepository,
+                                  LearningPathRepository learningPathRepository,
+                                  LeaderboardSnapshotRepository leaderboardSnapshotRepository,
+                                  @Value("${skillshare.leaderboards.snapshot-part-entries:50000}") int partEntries,
+                                  @Value("${skillshare.leaderboards.catch-up-margin-ms:300000}") long catchUpMarginMs) {
+        this.learningProgressRepository = learningProgressRepository;
+        this.learningPathRepository = learningPathRepository;
+        this.leaderboardSnapshotRepository = leaderboardSnapshotRepository;
+        this.partEntries = partEntries;
+        this.catchUpMargin = Duration.ofMillis(catchUpMarginMs);
+    }
+
+    @Override
+    public void onProgressChanged(LearningProgress progress) {
+        // Resolve the path size outside the lock so a slow read never blocks other updates
+        int pathMilestones = pathSize(progress.getLearningPathId());
+        synchronized (this) {
+            if (!ready) {
+                if (pending.size() < MAX_PENDING) {
+                    pending.add(progress);
+                } else if (overflowSince == null) {
+                    log.warn("Leaderboard restore buffer full; records changed from now on will be re-read");
+                    overflowSince = LocalDateTime.now();
+                }
+                return;
+            }
+            apply(progress, pathMilestones);
+        }
+    }
+
+    @Override
+    public synchronized void onProgressRemoved(LearningProgress progress) {
+        if (progress.getUserId() == null || progress.getLearningPathId() == null) {
+            return;
+        }
+        if (!ready) {
+            pending.removeIf(p -> Objects.equals(p.getId(), progress.getId()));
+            return;
+        }
+        removeScores(progress);
+    }
+
+    @Override
+    public void invalidatePath(String pathId) {
+        if (pathId != null) {
+            pathSizes.remove(pathId);
+        }
+    }
+
+    @Override
+    public List<LeaderboardEntry> getTop(LeaderboardType type, String pathId, int limit) {
+        RankedSet board = boards.get(key(type, pathId));
+        return board == null ? new ArrayList<>() : board.range(0, limit);
+    }
+
+    @Override
+    public Optional<LeaderboardEntry> getRank(LeaderboardType type, String pathId, String userId) {
+        RankedSet board = boards.get(key(type, pathId));
+        if (board == null) {
+            return Optional.empty();
+        }
+        List<LeaderboardEntry> entry = board.around(userId, 0);
+        return entry.isEmpty() ? Optional.empty() : Optional.of(entry.get(0));
+    }
+
+    @Override
+    public List<LeaderboardEntry> getAround(LeaderboardType type, String pathId, String userId, int radius) {
+        RankedSet board = boards.get(key(type, pathId));
+        return board == null ? new ArrayList<>() : board.around(userId, radius);
+    }
+
+    @Override
+    public void restore() {
+        if (isReady() || !restoring.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            boards.clear();
+            restoreBoards();
+        } finally {
+            restoring.set(false);
+        }
+    }
+
+    private void restoreBoards() {
+        List<LeaderboardSnapshot> snapshots = leaderboardSnapshotRepository.findAll();
+        if (snapshots.isEmpty()) {
+            rebuildBoards();
+            return;
+        }
+
+        Map<String, List<LeaderboardSnapshot>> partsByBoard = new HashMap<>();
+        for (LeaderboardSnapshot snapshot : snapshots) {
+            partsByBoard.computeIfAbsent(boardKey(snapshot.getId()), key -> new ArrayList<>()).add(snapshot);
+        }
+
+        // Boards are only re-snapshotted when they change, so every board is
+        // current as of the newest snapshot time
+        LocalDateTime newest = LocalDateTime.MIN;
+        for (Map.Entry<String, List<LeaderboardSnapshot>> entry : partsByBoard.entrySet()) {
+            List<LeaderboardSnapshot> parts = completeParts(entry.getKey(), entry.getValue());
+            if (parts == null) {
+                log.warn("Leaderboard snapshot {} is incomplete; rebuilding from learning progress", entry.getKey());
+                boards.clear();
+                rebuildBoards();
+                return;
+            }
+            RankedSet board = newBoard(entry.getKey());
+            for (LeaderboardSnapshot part : parts) {
+                try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(part.getData()))) {
+                    board.readFrom(in);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            }
+            boards.put(entry.getKey(), board);
+            savedParts.put(entry.getKey(), entry.getValue().stream().mapToInt(LeaderboardSnapshot::getPart).max().orElse(0) + 1);
+            LocalDateTime takenAt = parts.get(0).getTakenAt();
+            if (takenAt != null && takenAt.isAfter(newest)) {
+                newest = takenAt;
+            }
+        }
+        pruneRemoved();
+
+        catchUp(newest);
+        replayPending();
+        log.info("Leaderboards restored from {} snapshots", snapshots.size());
+    }
+
+    /**
+     * Applies progress written since the given time, reaching back by the
+     * catch-up margin for clock skew between app servers and writes that
+     * committed late. Re-applying a record is idempotent because per-path
+     * scores are set, not added.
+     */
+    private void catchUp(LocalDateTime since) {
+        LocalDateTime from = since.equals(LocalDateTime.MIN) ? since : since.minus(catchUpMargin);
+        try (Stream<LearningProgress> changed = learningProgressRepository.streamByLastUpdatedAtGreaterThanEqual(from)) {
+            changed.forEach(progress -> applyLocked(progress, pathSize(progress.getLearningPathId())));
+        }
+    }
+
+    // First start, or unusable snapshots: derive every board from learning_progress
+    private void rebuildBoards() {
+        // Archived records go first so a newer hot copy of the same record wins
+        try (Stream<LearningProgress> archived = learningProgressRepository.streamArchived()) {
+            archived.forEach(progress -> applyLocked(progress, pathSize(progress.getLearningPathId())));
+        }
+        try (Stream<LearningProgress> all = learningProgressRepository.streamAllBy()) {
+            all.forEach(progress -> applyLocked(progress, pathSize(progress.getLearningPathId())));
+        }
+        replayPending();
+        log.info("Leaderboards rebuilt from learning progress: {} boards", boards.size());
+    }
+
+    /**
+     * The parts of one board written by the same snapshot, in order, or null
+     * if that snapshot was cut short. Leftover parts from a larger earlier
+     * snapshot are ignored.
+     */
+    private static List<LeaderboardSnapshot> completeParts(String key, List<LeaderboardSnapshot> found) {
+        LeaderboardSnapshot first = found.stream().filter(part -> part.getId().equals(key)).findFirst().orElse(null);
+        if (first == null) {
+            return null;
+        }
+        LeaderboardSnapshot[] parts = new LeaderboardSnapshot[first.getParts()];
+        for (LeaderboardSnapshot part : found) {
+            if (part.getPart() < parts.length && Objects.equals(part.getTakenAt(), first.getTakenAt())) {
+                parts[part.getPart()] = part;
+            }
+        }
+        List<LeaderboardSnapshot> ordered = new ArrayList<>(parts.length);
+        for (LeaderboardSnapshot part : parts) {
+            if (part == null) {
+                return null;
+            }
+            ordered.add(part);
+        }
+        return ordered;
+    }
+
+    /**
+     * Snapshots can't show progress deleted after they were taken, so each
+     * restored path board drops members who no longer have a record for it.
+     */
+    private void pruneRemoved() {
+        Set<String> pathIds = new HashSet<>();
+        for (String key : boards.keySet()) {
+            if (key.startsWith(PATH_PREFIX)) {
+                pathIds.add(key.substring(PATH_PREFIX.length(), key.lastIndexOf(':')));
+            }
+        }
+        int pruned = 0;
+        for (String pathId : pathIds) {
+            Set<String> enrolled = learningProgressRepository.findUserIdsByLearningPathId(pathId);
+            Set<String> gone = new HashSet<>();
+            for (LeaderboardType type : LeaderboardType.values()) {
+                RankedSet board = boards.get(key(type, pathId));
+                if (board != null) {
+                    board.members().stream().filter(userId -> !enrolled.contains(userId)).forEach(gone::add);
+                }
+            }
+            for (String userId : gone) {
+                LearningProgress removed = new LearningProgress();
+                removed.setUserId(userId);
+                removed.setLearningPathId(pathId);
+                removeLocked(removed);
+            }
+            pruned += gone.size();
+        }
+        if (pruned > 0) {
+            log.info("Dropped {} leaderboard entries for progress deleted since the last snapshot", pruned);
+        }
+    }
+
+    @Override
+    public void snapshot() {
+        List<LeaderboardSnapshot> toSave = new ArrayList<>();
+        Map<String, Integer> written = new HashMap<>();
+        LocalDateTime takenAt = LocalDateTime.now();
+
+        // Serialize under the lock so global and per-path boards are mutually consistent
+        synchronized (this) {
+            if (!ready) {
+                return;
+            }
+            for (String key : new ArrayList<>(dirty)) {
+                dirty.remove(key);
+                RankedSet board = boards.get(key);
+                if (board == null) {
+                    continue;
+                }
+                List<byte[]> parts;
+                try {
+                    parts = board.writeParts(partEntries);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+                for (int i = 0; i < parts.size(); i++) {
+                    toSave.add(new LeaderboardSnapshot(partId(key, i), board.size(), i, parts.size(), parts.get(i), takenAt));
+                }
+                written.put(key, parts.size());
+            }
+        }
+
+        if (toSave.isEmpty()) {
+            return;
+        }
+        try {
+            leaderboardSnapshotRepository.saveAll(toSave);
+        } catch (RuntimeException e) {
+            // Keep the boards dirty so the next run retries them
+            dirty.addAll(written.keySet());
+            throw e;
+        }
+
+        // Parts past the new count are ignored on restore; delete them so they don't pile up
+        List<String> stale = new ArrayList<>();
+        written.forEach((key, parts) -> {
+            Integer previous = savedParts.put(key, parts);
+            for (int i = parts; previous != null && i < previous; i++) {
+                stale.add(partId(key, i));
+            }
+        });
+        if (!stale.isEmpty()) {
+            leaderboardSnapshotRepository.deleteAllById(stale);
+        }
+    }
+
+    @Override
+    public synchronized boolean isReady() {
+        return ready;
+    }
+
+    private synchronized void applyLocked(LearningProgress progress, int pathMilestones) {
+        apply(progress, pathMilestones);
+    }
+
+    private synchronized void removeLocked(LearningProgress progress) {
+        removeScores(progress);
+    }
+
+    /**
+     * Applies events buffered during restore, newest last, and opens the boards
+     * to live updates once the buffer is drained. Events that did not fit in
+     * the buffer are recovered by re-reading every record changed since it
+     * filled up, streamed from the database rather than held in memory.
+     */
+    private void replayPending() {
+        while (true) {
+            List<LearningProgress> buffered;
+            LocalDateTime overflowed;
+            synchronized (this) {
+                if (pending.isEmpty() && overflowSince == null) {
+                    ready = true;
+                    return;
+                }
+                buffered = new ArrayList<>(pending);
+                pending.clear();
+                overflowed = overflowSince;
+                overflowSince = null;
+            }
+            for (LearningProgress progress : buffered) {
+                applyLocked(progress, pathSize(progress.getLearningPathId()));
+            }
+            // After the buffered events, which are older than the records re-read here
+            if (overflowed != null) {
+                catchUp(overflowed);
+            }
+        }
+    }
+
+    // Caller must hold the lock
+    private void apply(LearningProgress progress, int pathMilestones) {
+        if (progress.getUserId() == null || progress.getLearningPathId() == null) {
+            return;
+        }
+
+        List<LearningProgress.CompletedMilestone> completed = progress.getCompletedMilestones();
+        long milestones = completed == null ? 0 : completed.stream()
+                .map(LearningProgress.CompletedMilestone::getMilestoneId)
+                .filter(Objects::nonNull)
+                .distinct()
+                .count();
+        long badges = progress.getAwardedBadges() == null ? 0 : progress.getAwardedBadges().size();
+
+        setPathScore(LeaderboardType.MILESTONES, progress, milestones);
+        setPathScore(LeaderboardType.BADGES, progress, badges);
+        setPathScore(LeaderboardType.FASTEST, progress, completionSeconds(progress, milestones, pathMilestones));
+    }
+
+    // Caller must hold the lock
+    private void removeScores(LearningProgress progress) {
+        setPathScore(LeaderboardType.MILESTONES, progress, 0);
+        setPathScore(LeaderboardType.BADGES, progress, 0);
+        setPathScore(LeaderboardType.FASTEST, progress, 0);
+    }
+
+    /**
+     * Sets the user's score on a per-path board (0 removes the entry) and
+     * carries the difference to the matching global board.
+     */
+    private void setPathScore(LeaderboardType type, LearningProgress progress, long score) {
+        String pathKey = key(type, progress.getLearningPathId());
+        String userId = progress.getUserId();
+        RankedSet pathBoard = boards.computeIfAbsent(pathKey, this::newBoard);
+        Long previous = pathBoard.score(userId);
+        long delta = score - (previous == null ? 0 : previous);
+
+        if (score == 0) {
+            if (!pathBoard.remove(userId)) {
+                return;
+            }
+        } else if (delta == 0) {
+            return;
+        } else {
+            pathBoard.put(userId, score);
+        }
+        dirty.add(pathKey);
+
+        if (type != LeaderboardType.FASTEST && delta != 0) {
+            String globalKey = key(type, null);
+            RankedSet globalBoard = boards.computeIfAbsent(globalKey, this::newBoard);
+            if (globalBoard.increment(userId, delta) <= 0) {
+                globalBoard.remove(userId);
+            }
+            dirty.add(globalKey);
+        }
+    }
+
+    // 0 while the path is not fully completed
+    private static long completionSeconds(LearningProgress progress, long milestones, int pathMilestones) {
+        if (pathMilestones == 0 || milestones < pathMilestones || progress.getStartedAt() == null) {
+            return 0;
+        }
+        LocalDateTime finishedAt = progress.getCompletedMilestones().stream()
+                .map(LearningProgress.CompletedMilestone::getCompletedAt)
+                .filter(Objects::nonNull)
+                .max(LocalDateTime::compareTo)
+                .orElse(null);
+        if (finishedAt == null) {
+            return 0;
+        }
+        return Math.max(1, Duration.between(progress.getStartedAt(), finishedAt).getSeconds());
+    }
+
+    private int pathSize(String pathId) {
+        if (pathId == null) {
+            return 0;
+        }
+        // The entry stays locked while loading, so an invalidation can't be overtaken by a stale read
+        return pathSizes.computeIfAbsent(pathId, this::milestoneCount);
+    }
+
+    private int milestoneCount(String pathId) {
+        return learningPathRepository.findMilestoneIdsById(pathId)
+                .map(LearningPath::getMilestones)
+                .map(List::size)
+                .orElse(0);
+    }
+
+    private RankedSet newBoard(String key) {
+        return new RankedSet(key.endsWith(":" + LeaderboardType.FASTEST.name()));
+    }
+
+    private static String partId(String key, int part) {
+        return part == 0 ? key : key + PART_SEPARATOR + part;
+    }
+
+    private static String boardKey(String snapshotId) {
+        int separator = snapshotId.indexOf(PART_SEPARATOR);
+        return separator < 0 ? snapshotId : snapshotId.substring(0, separator);
+    }
+
+    private static String key(LeaderboardType type, String pathId) {
+        return pathId == null ? GLOBAL_PREFIX + type.name() : PATH_PREFIX + pathId + ":" + type.name();
+    }
+}
@@ -1,21 +1,114 @@
 package com.skillshare.service.impl;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mongodb.client.result.UpdateResult;
+import com.skillshare.model.DeletionJob;
+import com.skillshare.model.EngagementDaily;
 import com.skillshare.model.LearningPath;
+import com.skillshare.model.LikeEdge;
+import com.skillshare.model.LikeState;
+import com.skillshare.model.LiveUpdate;
+import com.skillshare.model.Notification;
 import com.skillshare.repository.LearningPathRepository;
+import com.skillshare.service.CascadeDeletionService;
+import com.skillshare.service.DashboardService;
+import com.skillshare.service.LeaderboardService;
+import com.skillshare.service.EngagementService;
 import com.skillshare.service.LearningPathService;
+import com.skillshare.service.LikeService;
+import com.skillshare.service.LiveUpdateService;
+import com.skillshare.service.NotificationService;
+import com.skillshare.service.UserStatsService;
+import com.skillshare.util.MergePatch;
+import com.skillshare.util.OrderKey;
+import com.skillshare.util.SingleFlight;
+import com.skillshare.util.TimeOrderedId;
+import com.skillshare.util.VersionGuard;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.bson.Document;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
 import org.springframework.stereotype.Service;
+import java.time.Duration;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
-import java.util.UUID;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
 
 @Service
 public class LearningPathServiceImpl implements LearningPathService {
 
+    // Managed by the server or by dedicated endpoints, never by a patch
+    private static final Set<String> PROTECTED_FIELDS = Set.of("id", "userId", "createdAt", "updatedAt", "likes", "version");
+
     private final LearningPathRepository learningPathRepository;
+    private final CascadeDeletionService cascadeDeletionService;
+    private final SingleFlight<String, Optional<LearningPath>> pathReads;
+    private final UserStatsService userStatsService;
+    private final DashboardService dashboardService;
+    private final LeaderboardService leaderboardService;
+    private final LiveUpdateService liveUpdateService;
+    private final NotificationService notificationService;
+    private final EngagementService engagementService;
+    private final LikeService likeService;
+    private final MongoTemplate mongoTemplate;
+    private final MergePatch mergePatch;
+    private final int maxRankLength;
+    private final int rebalanceBatchSize;
+    // LRU of milestone layouts by path id; writes built from one are version-guarded
+    private final Map<String, MilestoneIndex> milestoneIndexes;
 
-    public LearningPathServiceImpl(LearningPathRepository learningPathRepository) {
+    public LearningPathServiceImpl(LearningPathRepository learningPathRepository,
+                                   CascadeDeletionService cascadeDeletionService,
+                                   UserStatsService userStatsService,
+                                   DashboardService dashboardService,
+                                   LeaderboardService leaderboardService,
+                                   LiveUpdateService liveUpdateService,
+                                   NotificationService notificationService,
+                                   EngagementService engagementService,
+                                   LikeService likeService,
+                                   MongoTemplate mongoTemplate,
+                                   ObjectMapper objectMapper,
+                                   MeterRegistry meterRegistry,
+                                   @Value("${skillshare.singleflight.timeout-ms:2000}") long timeoutMs,
+                                   @Value("${skillshare.paths.milestone-index-size:1000}") int milestoneIndexSize,
+                                   @Value("${skillshare.paths.max-rank-length:12}") int maxRankLength,
+                                   @Value("${skillshare.paths.rebalance-batch-size:100}") int rebalanceBatchSize) {
         this.learningPathRepository = learningPathRepository;
+        this.cascadeDeletionService = cascadeDeletionService;
+        this.userStatsService = userStatsService;
+        this.dashboardService = dashboardService;
+        this.leaderboardService = leaderboardService;
+        this.liveUpdateService = liveUpdateService;
+        this.notificationService = notificationService;
+        this.engagementService = engagementService;
+        this.likeService = likeService;
+        this.mongoTemplate = mongoTemplate;
+        this.mergePatch = new MergePatch(objectMapper, mongoTemplate.getConverter());
+        this.pathReads = new SingleFlight<>("learning_path", Duration.ofMillis(timeoutMs), meterRegistry);
+        this.maxRankLength = maxRankLength;
+        this.rebalanceBatchSize = rebalanceBatchSize;
+        this.milestoneIndexes = Collections.synchronizedMap(new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, MilestoneIndex> eldest) {
+                return size() > milestoneIndexSize;
+            }
+        });
     }
 
     @Override
@@ -23,22 +116,17 @@ public class LearningPathServiceImpl implements LearningPathService {
         path.setCreatedAt(LocalDateTime.now());
         path.setUpdatedAt(LocalDateTime.now());
         
-        // Generate IDs for milestones if they don't have one
-        if (path.getMilestones() != null) {
-            for (LearningPath.Milestone milestone : path.getMilestones()) {
-                if (milestone.getId() == null || milestone.getId().isEmpty()) {
-                    milestone.setId(UUID.randomUUID().toString());
-                }
-            }
-        }
+        assignMilestoneIds(path);
+        assignMilestoneRanks(path);
         
-        return learningPathRepository.save(path);
+        LearningPath saved = learningPathRepository.save(path);
+        userStatsService.incrementPaths(saved.getUserId(), 1);
+        return saved;
     }
 
     @Override
     public Optional<LearningPath> getPathById(String id) {
-        System.out.println(learningPathRepository.findById(id).get().getTitle());
-        return learningPathRepository.findById(id);
+        return pathReads.execute(id, () -> learningPathRepository.findById(id));
     }
 
     @Override
@@ -56,6 +144,12 @@ public class LearningPathServiceImpl implements LearningPathService {
         return learningPathRepository.findByIsPublic(true);
     }
 
+    @Override
+    public List<LearningPath> getPublicPaths(int page, int size) {
+        return learningPathRepository.findByIsPublic(true,
+                PageRequest.of(page, size, Sort.by(Sort.Direction.DESC, "createdAt")));
+    }
+
     @Override
     public List<LearningPath> searchPathsByTitle(String title) {
         return learningPathRepository.findByTitleContainingIgnoreCase(title);
@@ -68,103 +162,369 @@ public class LearningPathServiceImpl implements LearningPathService {
 
     @Override
     public LearningPath updatePath(LearningPath path) {
-        if (!learningPathRepository.existsById(path.getId())) {
-            throw new RuntimeException("Learning path not found with ID: " + path.getId());
+        String id = path.getId();
+        // The body carries the version the client read; edits it never saw are a conflict
+        long expectedVersion = path.getVersion();
+        LearningPath stored = learningPathRepository.findById(id)
+                .orElseThrow(() -> new RuntimeException("Learning path not found with ID: " + id));
+        if (stored.getVersion() != expectedVersion) {
+            throw new OptimisticLockingFailureException("Learning path " + id + " is at version " + stored.getVersion());
         }
-        
-        path.setUpdatedAt(LocalDateTime.now());
-        
-        // Ensure all milestones have IDs
-        if (path.getMilestones() != null) {
-            for (LearningPath.Milestone milestone : path.getMilestones()) {
-                if (milestone.getId() == null || milestone.getId().isEmpty()) {
-                    milestone.setId(UUID.randomUUID().toString());
-                }
-            }
+
+        // Owner and like count are never the client's; likes change without a version bump
+        path.setUserId(stored.getUserId());
+        path.setCreatedAt(stored.getCreatedAt());
+        path.setUpdatedAt(stored.getUpdatedAt());
+        path.setLikes(stored.getLikes());
+        path.setVersion(stored.getVersion());
+        assignMilestoneIds(path);
+        assignMilestoneRanks(path);
+
+        // Write only the fields that differ, against the client's version
+        LocalDateTime now = LocalDateTime.now();
+        Update update = mergePatch.diff(stored, path).set("updatedAt", now).inc("version", 1);
+        UpdateResult result = mongoTemplate.updateFirst(VersionGuard.atVersion(id, expectedVersion), update, LearningPath.class);
+        if (result.getMatchedCount() == 0) {
+            throw new OptimisticLockingFailureException("Learning path " + id + " was modified concurrently");
         }
-        
-        return learningPathRepository.save(path);
+        path.setUpdatedAt(now);
+        path.setVersion(expectedVersion + 1);
+        LearningPath saved = path;
+        milestoneIndexes.remove(saved.getId());
+        dashboardService.invalidatePath(saved.getId());
+        leaderboardService.invalidatePath(saved.getId());
+        return saved;
+    }
+
+    @Override
+    public LearningPath patchPath(String id, long expectedVersion, Map<String, Object> patch) {
+        LearningPath stored = learningPathRepository.findById(id)
+                .orElseThrow(() -> new RuntimeException("Learning path not found with ID: " + id));
+        if (stored.getVersion() != expectedVersion) {
+            throw new OptimisticLockingFailureException("Learning path " + id + " is at version " + stored.getVersion());
+        }
+
+        LearningPath patched = mergePatch.apply(stored, patch, PROTECTED_FIELDS, LearningPath.class);
+        assignMilestoneIds(patched);
+        assignMilestoneRanks(patched);
+        Update update = mergePatch.diff(stored, patched);
+        if (update.getUpdateObject().isEmpty()) {
+            return stored;
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        update.set("updatedAt", now).inc("version", 1);
+        UpdateResult result = mongoTemplate.updateFirst(VersionGuard.atVersion(id, expectedVersion), update, LearningPath.class);
+        if (result.getMatchedCount() == 0) {
+            throw new OptimisticLockingFailureException("Learning path " + id + " was modified concurrently");
+        }
+        patched.setUpdatedAt(now);
+        patched.setVersion(expectedVersion + 1);
+
+        milestoneIndexes.remove(id);
+        dashboardService.invalidatePath(id);
+        leaderboardService.invalidatePath(id);
+        if (patched.getMilestones().size() != stored.getMilestones().size()) {
+            publishMilestoneCount(id, patched.getMilestones().size());
+        }
+        return patched;
     }
 
     @Override
-    public void deletePath(String id) {
+    public DeletionJob deletePath(String id) {
+        // Enrollments are removed in the background by the queued job
+        Optional<LearningPath> pathOpt = learningPathRepository.findById(id);
+        DeletionJob job = cascadeDeletionService.enqueuePathDeletion(id);
         learningPathRepository.deleteById(id);
+        milestoneIndexes.remove(id);
+        dashboardService.invalidatePath(id);
+        leaderboardService.invalidatePath(id);
+        pathOpt.ifPresent(path -> {
+            userStatsService.incrementPaths(path.getUserId(), -1);
+            userStatsService.incrementLikes(path.getUserId(), -path.getLikes());
+        });
+        return job;
     }
 
     @Override
     public void addMilestone(String pathId, LearningPath.Milestone milestone) {
-        Optional<LearningPath> pathOpt = learningPathRepository.findById(pathId);
-        if (pathOpt.isPresent()) {
-            LearningPath path = pathOpt.get();
-            
-            // Generate ID for the milestone
-            if (milestone.getId() == null || milestone.getId().isEmpty()) {
-                milestone.setId(UUID.randomUUID().toString());
-            }
-            
-            path.getMilestones().add(milestone);
-            path.setUpdatedAt(LocalDateTime.now());
-            
-            learningPathRepository.save(path);
-        } else {
-            throw new RuntimeException("Learning path not found with ID: " + pathId);
+        // Generate ID for the milestone
+        if (milestone.getId() == null || milestone.getId().isEmpty()) {
+            milestone.setId(TimeOrderedId.next());
         }
+
+        MilestoneIndex index = updateMilestones(pathId, current -> {
+            milestone.setRank(OrderKey.between(current.lastRank(), null));
+            return new Update().push("milestones", milestone);
+        });
+        milestoneIndexes.remove(pathId);
+        dashboardService.invalidatePath(pathId);
+        leaderboardService.invalidatePath(pathId);
+        publishMilestoneCount(pathId, index.size() + 1);
     }
 
     @Override
     public void updateMilestone(String pathId, LearningPath.Milestone milestone) {
-        Optional<LearningPath> pathOpt = learningPathRepository.findById(pathId);
-        if (pathOpt.isPresent()) {
-            LearningPath path = pathOpt.get();
-            
-            boolean found = false;
-            for (int i = 0; i < path.getMilestones().size(); i++) {
-                if (path.getMilestones().get(i).getId().equals(milestone.getId())) {
-                    path.getMilestones().set(i, milestone);
-                    found = true;
-                    break;
-                }
-            }
-            
-            if (!found) {
+        // Content only; the position is owned by moveMilestone
+        MilestoneIndex index = updateMilestones(pathId, current -> {
+            Integer position = current.position(milestone.getId());
+            if (position == null) {
                 throw new RuntimeException("Milestone not found with ID: " + milestone.getId());
             }
-            
-            path.setUpdatedAt(LocalDateTime.now());
-            learningPathRepository.save(path);
-        } else {
-            throw new RuntimeException("Learning path not found with ID: " + pathId);
-        }
+            String prefix = "milestones." + position + ".";
+            return new Update()
+                    .set(prefix + "title", milestone.getTitle())
+                    .set(prefix + "description", milestone.getDescription())
+                    .set(prefix + "resources", milestone.getResources());
+        });
+        milestoneIndexes.put(pathId, index.bumped());
     }
 
     @Override
     public void removeMilestone(String pathId, String milestoneId) {
-        Optional<LearningPath> pathOpt = learningPathRepository.findById(pathId);
-        if (pathOpt.isPresent()) {
-            LearningPath path = pathOpt.get();
-            
-            boolean removed = path.getMilestones().removeIf(m -> m.getId().equals(milestoneId));
-            
-            if (!removed) {
+        MilestoneIndex index = updateMilestones(pathId, current -> {
+            if (!current.contains(milestoneId)) {
                 throw new RuntimeException("Milestone not found with ID: " + milestoneId);
             }
-            
-            path.setUpdatedAt(LocalDateTime.now());
-            learningPathRepository.save(path);
-        } else {
-            throw new RuntimeException("Learning path not found with ID: " + pathId);
+            return new Update().pull("milestones", new Document("_id", milestoneId));
+        });
+        milestoneIndexes.remove(pathId);
+        dashboardService.invalidatePath(pathId);
+        leaderboardService.invalidatePath(pathId);
+        publishMilestoneCount(pathId, index.size() - 1);
+    }
+
+    @Override
+    public void moveMilestone(String pathId, String milestoneId, String afterMilestoneId) {
+        AtomicReference<String> rank = new AtomicReference<>();
+        MilestoneIndex index = updateMilestones(pathId, current -> {
+            if (!current.contains(milestoneId)) {
+                throw new RuntimeException("Milestone not found with ID: " + milestoneId);
+            }
+            if (afterMilestoneId != null && !current.contains(afterMilestoneId)) {
+                throw new RuntimeException("Milestone not found with ID: " + afterMilestoneId);
+            }
+            if (milestoneId.equals(afterMilestoneId) || Objects.equals(current.previous(milestoneId), afterMilestoneId)) {
+                return null;
+            }
+
+            LearningPath.Milestone next = current.next(afterMilestoneId, milestoneId);
+            rank.set(OrderKey.between(afterMilestoneId == null ? null : current.rank(afterMilestoneId),
+                    next == null ? null : next.getRank()));
+            return new Update().set("milestones." + current.position(milestoneId) + ".rank", rank.get());
+        });
+        if (rank.get() != null) {
+            milestoneIndexes.put(pathId, index.withRank(milestoneId, rank.get()));
         }
     }
 
     @Override
-    public void likePath(String pathId) {
-        Optional<LearningPath> pathOpt = learningPathRepository.findById(pathId);
-        if (pathOpt.isPresent()) {
-            LearningPath path = pathOpt.get();
-            path.setLikes(path.getLikes() + 1);
-            learningPathRepository.save(path);
-        } else {
-            throw new RuntimeException("Learning path not found with ID: " + pathId);
+    public int rebalanceMilestoneRanks() {
+        Query query = new Query(new Criteria().orOperator(
+                Criteria.where("milestones").elemMatch(Criteria.where("rank").exists(false)),
+                Criteria.where("milestones.rank").regex("^.{" + maxRankLength + ",}")));
+        query.fields().include("version", "milestones.id", "milestones.rank", "milestones.orderIndex");
+        query.limit(rebalanceBatchSize);
+
+        int rebalanced = 0;
+        for (LearningPath layout : mongoTemplate.find(query, LearningPath.class)) {
+            Update update = rerank(layout).inc("version", 1);
+            if (mongoTemplate.updateFirst(VersionGuard.atVersion(layout.getId(), layout.getVersion()), update, LearningPath.class)
+                    .getMatchedCount() > 0) {
+                milestoneIndexes.remove(layout.getId());
+                rebalanced++;
+            }
+        }
+        return rebalanced;
+    }
+
+    @Override
+    public LikeState likePath(String pathId, String userId) {
+        if (!likeService.like(LikeEdge.PATH, pathId, null, userId)) {
+            return likeState(pathId, true);
+        }
+        LearningPath path = incrementLikes(Criteria.where("_id").is(pathId), 1);
+        if (path == null) {
+            likeService.unlike(LikeEdge.PATH, pathId, userId);
+            return null;
+        }
+        userStatsService.incrementLikes(path.getUserId(), 1);
+
+        LiveUpdate update = new LiveUpdate(LiveUpdate.PATH, pathId);
+        update.setLikes(path.getLikes());
+        liveUpdateService.publish(update);
+        notificationService.notify(path.getUserId(), Notification.Type.LIKE, pathId, userId, null);
+        engagementService.record(EngagementDaily.PATH, pathId, EngagementDaily.Metric.LIKES);
+        engagementService.record(EngagementDaily.USER, path.getUserId(), EngagementDaily.Metric.LIKES);
+        return new LikeState(true, path.getLikes());
+    }
+
+    @Override
+    public LikeState unlikePath(String pathId, String userId) {
+        if (!likeService.unlike(LikeEdge.PATH, pathId, userId)) {
+            return likeState(pathId, false);
+        }
+        LearningPath path = incrementLikes(Criteria.where("_id").is(pathId).and("likes").gt(0), -1);
+        if (path == null) {
+            return likeState(pathId, false);
+        }
+        userStatsService.incrementLikes(path.getUserId(), -1);
+
+        LiveUpdate update = new LiveUpdate(LiveUpdate.PATH, pathId);
+        update.setLikes(path.getLikes());
+        liveUpdateService.publish(update);
+        return new LikeState(false, path.getLikes());
+    }
+
+    // The stored counter, for a like or unlike that changed nothing; null if there is no such path
+    private LikeState likeState(String pathId, boolean liked) {
+        Query query = new Query(Criteria.where("_id").is(pathId));
+        query.fields().include("likes");
+        LearningPath path = mongoTemplate.findOne(query, LearningPath.class);
+        return path == null ? null : new LikeState(liked, path.getLikes());
+    }
+
+    // $inc in place so concurrent likes are never lost; null if nothing matched
+    private LearningPath incrementLikes(Criteria criteria, int delta) {
+        return mongoTemplate.findAndModify(new Query(criteria), new Update().inc("likes", delta),
+                FindAndModifyOptions.options().returnNew(true), LearningPath.class);
+    }
+
+    private void publishMilestoneCount(String pathId, int milestoneCount) {
+        LiveUpdate update = new LiveUpdate(LiveUpdate.PATH, pathId);
+        update.setMilestoneCount(milestoneCount);
+        liveUpdateService.publish(update);
+    }
+
+    // Generate IDs for milestones if they don't have one
+    private static void assignMilestoneIds(LearningPath path) {
+        if (path.getMilestones() != null) {
+            for (LearningPath.Milestone milestone : path.getMilestones()) {
+                if (milestone.getId() == null || milestone.getId().isEmpty()) {
+                    milestone.setId(TimeOrderedId.next());
+                }
+            }
+        }
+    }
+
+    /**
+     * Runs one version-guarded write built from the path's milestone layout,
+     * reloading the layout and retrying once if the path has moved on. The
+     * write function returns null when there is nothing to do.
+     */
+    private MilestoneIndex updateMilestones(String pathId, Function<MilestoneIndex, Update> write) {
+        for (int attempt = 0; attempt < 2; attempt++) {
+            MilestoneIndex index = milestoneIndex(pathId, attempt > 0);
+            Update update = write.apply(index);
+            if (update == null) {
+                return index;
+            }
+            update.set("updatedAt", LocalDateTime.now()).inc("version", 1);
+            if (mongoTemplate.updateFirst(VersionGuard.atVersion(pathId, index.version()), update, LearningPath.class)
+                    .getMatchedCount() > 0) {
+                return index;
+            }
+            milestoneIndexes.remove(pathId);
+        }
+        throw new OptimisticLockingFailureException("Learning path " + pathId + " was modified concurrently");
+    }
+
+    private MilestoneIndex milestoneIndex(String pathId, boolean reload) {
+        if (!reload) {
+            MilestoneIndex cached = milestoneIndexes.get(pathId);
+            if (cached != null) {
+                return cached;
+            }
+        }
+
+        LearningPath layout = learningPathRepository.findMilestoneOrderById(pathId)
+                .orElseThrow(() -> new RuntimeException("Learning path not found with ID: " + pathId));
+        if (!hasRanks(layout.milestonesInOrder())) {
+            // Paths written before ranks existed get them on first use
+            Update update = rerank(layout).inc("version", 1);
+            if (mongoTemplate.updateFirst(VersionGuard.atVersion(pathId, layout.getVersion()), update, LearningPath.class)
+                    .getMatchedCount() == 0) {
+                throw new OptimisticLockingFailureException("Learning path " + pathId + " was modified concurrently");
+            }
+            layout.setVersion(layout.getVersion() + 1);
+        }
+
+        MilestoneIndex index = new MilestoneIndex(layout);
+        milestoneIndexes.put(pathId, index);
+        return index;
+    }
+
+    /**
+     * Keeps the ranks a full-list write carries when they agree with its
+     * orderIndex order and fills in missing ones between their neighbours;
+     * anything inconsistent gets a fresh, evenly spread set.
+     */
+    private static void assignMilestoneRanks(LearningPath path) {
+        if (path.getMilestones() == null) {
+            return;
+        }
+        List<LearningPath.Milestone> ordered = new ArrayList<>(path.getMilestones());
+        ordered.sort(Comparator.comparingInt(LearningPath.Milestone::getOrderIndex));
+
+        boolean usable = false;
+        String previous = null;
+        for (LearningPath.Milestone milestone : ordered) {
+            String rank = milestone.getRank();
+            if (rank == null) {
+                continue;
+            }
+            usable = OrderKey.isValid(rank) && (previous == null || rank.compareTo(previous) > 0);
+            if (!usable) {
+                break;
+            }
+            previous = rank;
+        }
+        if (!usable) {
+            List<String> keys = OrderKey.spread(ordered.size());
+            for (int i = 0; i < ordered.size(); i++) {
+                ordered.get(i).setRank(keys.get(i));
+            }
+            return;
+        }
+
+        String[] nextRanks = new String[ordered.size()];
+        for (int i = ordered.size() - 2; i >= 0; i--) {
+            String next = ordered.get(i + 1).getRank();
+            nextRanks[i] = next != null ? next : nextRanks[i + 1];
+        }
+        previous = null;
+        for (int i = 0; i < ordered.size(); i++) {
+            LearningPath.Milestone milestone = ordered.get(i);
+            if (milestone.getRank() == null) {
+                milestone.setRank(OrderKey.between(previous, nextRanks[i]));
+            }
+            previous = milestone.getRank();
+        }
+    }
+
+    private static boolean hasRanks(List<LearningPath.Milestone> ordered) {
+        String previous = null;
+        for (LearningPath.Milestone milestone : ordered) {
+            String rank = milestone.getRank();
+            if (!OrderKey.isValid(rank) || previous != null && rank.compareTo(previous) <= 0) {
+                return false;
+            }
+            previous = rank;
+        }
+        return true;
+    }
+
+    // Evenly spread ranks in the current display order, one positional $set per milestone
+    private static Update rerank(LearningPath layout) {
+        List<String> keys = OrderKey.spread(layout.getMilestones().size());
+        List<LearningPath.Milestone> ordered = layout.milestonesInOrder();
+        for (int i = 0; i < ordered.size(); i++) {
+            ordered.get(i).setRank(keys.get(i));
+        }
+        Update update = new Update();
+        for (int i = 0; i < layout.getMilestones().size(); i++) {
+            update.set("milestones." + i + ".rank", layout.getMilestones().get(i).getRank());
         }
+        return update;
     }
-}
\ No newline at end of file
+}
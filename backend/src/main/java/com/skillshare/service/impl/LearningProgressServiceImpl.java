@@ -1,29 +1,94 @@
 package com.skillshare.service.impl;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mongodb.client.result.UpdateResult;
+import com.skillshare.model.ActivityEvent;
+import com.skillshare.model.EngagementDaily;
 import com.skillshare.model.LearningProgress;
+import com.skillshare.model.LikeEdge;
+import com.skillshare.model.LikeState;
+import com.skillshare.model.Notification;
+import com.skillshare.service.ActivityService;
+import com.skillshare.service.DashboardService;
+import com.skillshare.service.EngagementService;
+import com.skillshare.service.LeaderboardService;
 import com.skillshare.service.LearningProgressService;
+import com.skillshare.service.LikeService;
+import com.skillshare.service.NotificationService;
+import com.skillshare.service.PathAnalyticsService;
+import com.skillshare.service.UserStatsService;
 import com.skillshare.repository.LearningProgressRepository;
+import com.skillshare.util.MergePatch;
+import com.skillshare.util.VersionGuard;
 import org.springframework.stereotype.Service;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 
 @Service
 public class LearningProgressServiceImpl implements LearningProgressService {
 
+    // Managed by the server or by dedicated endpoints, never by a patch
+    private static final Set<String> PROTECTED_FIELDS =
+            Set.of("id", "userId", "learningPathId", "startedAt", "lastUpdatedAt", "likes", "version");
+
     private final LearningProgressRepository learningProgressRepository;
+    private final LeaderboardService leaderboardService;
+    private final PathAnalyticsService pathAnalyticsService;
+    private final UserStatsService userStatsService;
+    private final DashboardService dashboardService;
+    private final NotificationService notificationService;
+    private final ActivityService activityService;
+    private final EngagementService engagementService;
+    private final LikeService likeService;
+    private final MongoTemplate mongoTemplate;
+    private final MergePatch mergePatch;
 
     @Autowired
-    public LearningProgressServiceImpl(LearningProgressRepository learningProgressRepository) {
+    public LearningProgressServiceImpl(LearningProgressRepository learningProgressRepository,
+                                       LeaderboardService leaderboardService,
+                                       PathAnalyticsService pathAnalyticsService,
+                                       UserStatsService userStatsService,
+                                       DashboardService dashboardService,
+                                       NotificationService notificationService,
+                                       ActivityService activityService,
+                                       EngagementService engagementService,
+                                       LikeService likeService,
+                                       MongoTemplate mongoTemplate,
+                                       ObjectMapper objectMapper) {
         this.learningProgressRepository = learningProgressRepository;
+        this.leaderboardService = leaderboardService;
+        this.pathAnalyticsService = pathAnalyticsService;
+        this.userStatsService = userStatsService;
+        this.dashboardService = dashboardService;
+        this.notificationService = notificationService;
+        this.activityService = activityService;
+        this.engagementService = engagementService;
+        this.likeService = likeService;
+        this.mongoTemplate = mongoTemplate;
+        this.mergePatch = new MergePatch(objectMapper, mongoTemplate.getConverter());
     }
 
     @Override
     public LearningProgress createProgress(LearningProgress progress) {
         progress.setStartedAt(LocalDateTime.now());
         progress.setLastUpdatedAt(LocalDateTime.now());
-        return learningProgressRepository.save(progress);
+        LearningProgress saved = learningProgressRepository.save(progress);
+        leaderboardService.onProgressChanged(saved);
+        pathAnalyticsService.onEnrollment(saved);
+        dashboardService.invalidateUser(saved.getUserId());
+        activityService.record(saved.getUserId(), new ActivityEvent(ActivityEvent.Type.PATH_STARTED, saved));
+        engagementService.record(EngagementDaily.PATH, saved.getLearningPathId(), EngagementDaily.Metric.ENROLLMENTS);
+        return saved;
     }
 
     @Override
@@ -53,62 +118,203 @@ public class LearningProgressServiceImpl implements LearningProgressService {
 
     @Override
     public LearningProgress updateProgress(LearningProgress progress) {
-        progress.setLastUpdatedAt(LocalDateTime.now());
-        return learningProgressRepository.save(progress);
+        String id = progress.getId();
+        // The body carries the version the client read; edits it never saw are a conflict
+        long expectedVersion = progress.getVersion();
+        LearningProgress stored = learningProgressRepository.findById(id)
+                .orElseThrow(() -> new RuntimeException("Learning progress not found with ID: " + id));
+        if (stored.getVersion() != expectedVersion) {
+            throw new OptimisticLockingFailureException("Learning progress " + id + " is at version " + stored.getVersion());
+        }
+
+        // Owner and like count are never the client's; likes change without a version bump
+        progress.setUserId(stored.getUserId());
+        progress.setStartedAt(stored.getStartedAt());
+        progress.setLastUpdatedAt(stored.getLastUpdatedAt());
+        progress.setLikes(stored.getLikes());
+        progress.setVersion(stored.getVersion());
+
+        // Write only the fields that differ, against the client's version
+        LocalDateTime now = LocalDateTime.now();
+        Update update = mergePatch.diff(stored, progress).set("lastUpdatedAt", now).inc("version", 1);
+        Query query = VersionGuard.atVersion(id, expectedVersion);
+        UpdateResult result = mongoTemplate.updateFirst(query, update, LearningProgress.class);
+        if (result.getMatchedCount() == 0 && learningProgressRepository.restoreFromArchive(id)) {
+            // Read from the archive tier; bring it back before updating in place
+            result = mongoTemplate.updateFirst(query, update, LearningProgress.class);
+        }
+        if (result.getMatchedCount() == 0) {
+            throw new OptimisticLockingFailureException("Learning progress " + id + " was modified concurrently");
+        }
+        progress.setLastUpdatedAt(now);
+        progress.setVersion(expectedVersion + 1);
+        LearningProgress saved = progress;
+        leaderboardService.onProgressChanged(saved);
+        dashboardService.invalidateUser(saved.getUserId());
+        // A full-document save may have rewritten completed milestones
+        pathAnalyticsService.onProgressReplaced(stored, saved);
+        return saved;
+    }
+
+    @Override
+    public LearningProgress patchProgress(String id, long expectedVersion, Map<String, Object> patch) {
+        LearningProgress stored = learningProgressRepository.findById(id)
+                .orElseThrow(() -> new RuntimeException("Learning progress not found with ID: " + id));
+        if (stored.getVersion() != expectedVersion) {
+            throw new OptimisticLockingFailureException("Learning progress " + id + " is at version " + stored.getVersion());
+        }
+
+        LearningProgress patched = mergePatch.apply(stored, patch, PROTECTED_FIELDS, LearningProgress.class);
+        Update update = mergePatch.diff(stored, patched);
+        if (update.getUpdateObject().isEmpty()) {
+            return stored;
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        update.set("lastUpdatedAt", now).inc("version", 1);
+        Query query = VersionGuard.atVersion(id, expectedVersion);
+        UpdateResult result = mongoTemplate.updateFirst(query, update, LearningProgress.class);
+        if (result.getMatchedCount() == 0 && learningProgressRepository.restoreFromArchive(id)) {
+            // Read from the archive tier; bring it back before updating in place
+            result = mongoTemplate.updateFirst(query, update, LearningProgress.class);
+        }
+        if (result.getMatchedCount() == 0) {
+            throw new OptimisticLockingFailureException("Learning progress " + id + " was modified concurrently");
+        }
+        patched.setLastUpdatedAt(now);
+        patched.setVersion(expectedVersion + 1);
+
+        leaderboardService.onProgressChanged(patched);
+        dashboardService.invalidateUser(patched.getUserId());
+        pathAnalyticsService.onProgressReplaced(stored, patched);
+        return patched;
     }
 
     @Override
     public void deleteProgress(String id) {
+        Optional<LearningProgress> progressOpt = learningProgressRepository.findById(id);
         learningProgressRepository.deleteById(id);
+        likeService.deleteEntities(LikeEdge.PROGRESS, List.of(id));
+        progressOpt.ifPresent(progress -> {
+            leaderboardService.onProgressRemoved(progress);
+            dashboardService.invalidateUser(progress.getUserId());
+            userStatsService.incrementLikes(progress.getUserId(), -progress.getLikes());
+            pathAnalyticsService.onProgressRemoved(progress);
+        });
     }
 
     @Override
     public void completeMilestone(String progressId, LearningProgress.CompletedMilestone milestone) {
-        Optional<LearningProgress> progressOpt = learningProgressRepository.findById(progressId);
-        if (progressOpt.isPresent()) {
-            LearningProgress progress = progressOpt.get();
-            milestone.setCompletedAt(LocalDateTime.now());
-            progress.getCompletedMilestones().add(milestone);
-            progress.setLastUpdatedAt(LocalDateTime.now());
-            learningProgressRepository.save(progress);
+        LocalDateTime now = LocalDateTime.now();
+        milestone.setCompletedAt(now);
+        // Matches only while the milestone is not yet completed, so a repeat is not counted twice
+        Query query = new Query(Criteria.where("_id").is(progressId)
+                .and("completedMilestones.milestoneId").ne(milestone.getMilestoneId()));
+        LearningProgress progress = modify(progressId, query, new Update()
+                .push("completedMilestones", milestone)
+                .set("lastUpdatedAt", now)
+                .inc("version", 1));
+        if (progress != null) {
+            leaderboardService.onProgressChanged(progress);
+            pathAnalyticsService.onMilestoneCompleted(progress, milestone);
+            dashboardService.invalidateUser(progress.getUserId());
+            ActivityEvent event = new ActivityEvent(ActivityEvent.Type.MILESTONE_COMPLETED, progress);
+            event.setMilestoneId(milestone.getMilestoneId());
+            activityService.record(progress.getUserId(), event);
         }
     }
 
     @Override
     public void updateProgressPercentage(String progressId) {
-        Optional<LearningProgress> progressOpt = learningProgressRepository.findById(progressId);
-        if (progressOpt.isPresent()) {
-            LearningProgress progress = progressOpt.get();
-            // Logic to calculate percentage would typically involve
-            // fetching the learning path to get total milestones
-            // For now we'll just update the timestamp
-            progress.setLastUpdatedAt(LocalDateTime.now());
-            learningProgressRepository.save(progress);
+        // Logic to calculate percentage would typically involve
+        // fetching the learning path to get total milestones
+        // For now we'll just update the timestamp
+        LearningProgress progress = modify(progressId, new Query(Criteria.where("_id").is(progressId)),
+                new Update().set("lastUpdatedAt", LocalDateTime.now()));
+        if (progress != null) {
+            dashboardService.invalidateUser(progress.getUserId());
         }
     }
 
     @Override
     public void awardBadge(String progressId, String badge) {
-        Optional<LearningProgress> progressOpt = learningProgressRepository.findById(progressId);
-        if (progressOpt.isPresent()) {
-            LearningProgress progress = progressOpt.get();
-            if (!progress.getAwardedBadges().contains(badge)) {
-                progress.getAwardedBadges().add(badge);
-                progress.setLastUpdatedAt(LocalDateTime.now());
-                learningProgressRepository.save(progress);
-            }
+        // Matches only while the badge is missing, so concurrent awards notify once
+        Query query = new Query(Criteria.where("_id").is(progressId).and("awardedBadges").ne(badge));
+        LearningProgress progress = modify(progressId, query, new Update()
+                .push("awardedBadges", badge)
+                .set("lastUpdatedAt", LocalDateTime.now())
+                .inc("version", 1));
+        if (progress != null) {
+            leaderboardService.onProgressChanged(progress);
+            dashboardService.invalidateUser(progress.getUserId());
+            notificationService.notify(progress.getUserId(), Notification.Type.BADGE, progressId, null, badge);
+            ActivityEvent event = new ActivityEvent(ActivityEvent.Type.BADGE_AWARDED, progress);
+            event.setBadge(badge);
+            activityService.record(progress.getUserId(), event);
+        }
+    }
+
+    @Override
+    public LikeState likeProgress(String progressId, String userId) {
+        if (!likeService.like(LikeEdge.PROGRESS, progressId, null, userId)) {
+            return likeState(progressId, true);
+        }
+        LearningProgress progress = incrementLikes(progressId, Criteria.where("_id").is(progressId), 1);
+        if (progress == null) {
+            likeService.unlike(LikeEdge.PROGRESS, progressId, userId);
+            return null;
         }
+        userStatsService.incrementLikes(progress.getUserId(), 1);
+        dashboardService.invalidateUser(progress.getUserId());
+        notificationService.notify(progress.getUserId(), Notification.Type.LIKE, progressId, userId, null);
+        engagementService.record(EngagementDaily.USER, progress.getUserId(), EngagementDaily.Metric.LIKES);
+        return new LikeState(true, progress.getLikes());
     }
 
     @Override
-    public void likeProgress(String progressId) {
-        Optional<LearningProgress> progressOpt = learningProgressRepository.findById(progressId);
-        if (progressOpt.isPresent()) {
-            LearningProgress progress = progressOpt.get();
-            progress.setLikes(progress.getLikes() + 1);
-            progress.setLastUpdatedAt(LocalDateTime.now());
-            learningProgressRepository.save(progress);
+    public LikeState unlikeProgress(String progressId, String userId) {
+        if (!likeService.unlike(LikeEdge.PROGRESS, progressId, userId)) {
+            return likeState(progressId, false);
+        }
+        LearningProgress progress = incrementLikes(progressId,
+                Criteria.where("_id").is(progressId).and("likes").gt(0), -1);
+        if (progress == null) {
+            return likeState(progressId, false);
+        }
+        userStatsService.incrementLikes(progress.getUserId(), -1);
+        dashboardService.invalidateUser(progress.getUserId());
+        return new LikeState(false, progress.getLikes());
+    }
+
+    // The stored counter, for a like or unlike that changed nothing; null if there is no such record
+    private LikeState likeState(String progressId, boolean liked) {
+        Query query = new Query(Criteria.where("_id").is(progressId));
+        query.fields().include("likes");
+        LearningProgress progress = mongoTemplate.findOne(query, LearningProgress.class);
+        if (progress == null) {
+            progress = mongoTemplate.findOne(query, LearningProgress.class, LearningProgress.ARCHIVE_COLLECTION);
+        }
+        return progress == null ? null : new LikeState(liked, progress.getLikes());
+    }
+
+    // $inc in place so concurrent likes are never lost
+    private LearningProgress incrementLikes(String progressId, Criteria criteria, int delta) {
+        return modify(progressId, new Query(criteria),
+                new Update().inc("likes", delta).set("lastUpdatedAt", LocalDateTime.now()));
+    }
+
+    /**
+     * Updates in place rather than saving the whole record, so counters
+     * changed since it was read are never overwritten; restores an archived
+     * record first. Returns the updated record, or null if nothing matched.
+     */
+    private LearningProgress modify(String progressId, Query query, Update update) {
+        FindAndModifyOptions returnNew = FindAndModifyOptions.options().returnNew(true);
+        LearningProgress progress = mongoTemplate.findAndModify(query, update, returnNew, LearningProgress.class);
+        if (progress == null && learningProgressRepository.restoreFromArchive(progressId)) {
+            progress = mongoTemplate.findAndModify(query, update, returnNew, LearningProgress.class);
         }
+        return progress;
     }
 
     @Override
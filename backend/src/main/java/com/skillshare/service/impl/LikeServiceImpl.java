@@ -0,0 +1,230 @@
+package com.skillshare.service.impl;
+
+import com.skillshare.model.LikeEdge;
+import com.skillshare.service.LikeService;
+import com.skillshare.util.CompactBitmap;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+@Service
+public class LikeServiceImpl implements LikeService {
+
+    private static final int GENERATION_STRIPES = 64;
+
+    private final MongoTemplate mongoTemplate;
+    // Process-local dense ids for users, assigned on first sight
+    private final Map<String, Integer> ordinals = new ConcurrentHashMap<>();
+    private final AtomicInteger nextOrdinal = new AtomicInteger();
+    // LRU of likers by entity key; guarded by its own monitor
+    private final Map<String, Likers> likers;
+    // Writes handled by other instances only reach this cache when an entry expires
+    private final long ttlMs;
+    // Bumped on every write, so a load that raced a write is not cached
+    private final long[] generations = new long[GENERATION_STRIPES];
+    private final Counter hits;
+    private final Counter misses;
+
+    public LikeServiceImpl(MongoTemplate mongoTemplate,
+                           MeterRegistry meterRegistry,
+                           @Value("${skillshare.likes.cache-size:10000}") int cacheSize,
+                           @Value("${skillshare.likes.cache-ttl-ms:30000}") long ttlMs) {
+        this.mongoTemplate = mongoTemplate;
+        this.ttlMs = ttlMs;
+        this.likers = Collections.synchronizedMap(new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Likers> eldest) {
+                return size() > cacheSize;
+            }
+        });
+        this.hits = Counter.builder("skillshare.likes.lookups").tag("result", "hit")
+                .description("Like membership lookups answered from memory").register(meterRegistry);
+        this.misses = Counter.builder("skillshare.likes.lookups").tag("result", "miss")
+                .description("Like membership lookups that loaded the likers from the database").register(meterRegistry);
+        Gauge.builder("skillshare.likes.cached", likers, Map::size).register(meterRegistry);
+    }
+
+    /**
+     * The insert is the check, since a second like by the same user collides
+     * on the edge id. The cached bitmap may be stale when another instance
+     * handled an unlike, so it is never used to reject a write.
+     */
+    @Override
+    public boolean like(String entityType, String entityId, String parentId, String userId) {
+        String key = LikeEdge.prefix(entityType, entityId);
+        boolean added = true;
+        try {
+            mongoTemplate.insert(new LikeEdge(entityType, entityId, parentId, userId));
+        } catch (DuplicateKeyException e) {
+            added = false;
+        }
+        CompactBitmap cached = afterWrite(key);
+        if (cached != null) {
+            cached.add(ordinal(userId));
+        }
+        return added;
+    }
+
+    @Override
+    public boolean unlike(String entityType, String entityId, String userId) {
+        String key = LikeEdge.prefix(entityType, entityId);
+        long removed = mongoTemplate.remove(new Query(Criteria.where("_id").is(key + userId)), LikeEdge.class)
+                .getDeletedCount();
+        CompactBitmap cached = afterWrite(key);
+        if (cached != null) {
+            cached.remove(ordinal(userId));
+        }
+        return removed > 0;
+    }
+
+    @Override
+    public boolean hasLiked(String entityType, String entityId, String userId) {
+        return likers(LikeEdge.prefix(entityType, entityId)).contains(ordinal(userId));
+    }
+
+    @Override
+    public Set<String> likedAmong(String entityType, Collection<String> entityIds, String userId) {
+        Set<String> liked = new HashSet<>();
+        if (entityIds.isEmpty()) {
+            return liked;
+        }
+        List<String> edgeIds = new ArrayList<>(entityIds.size());
+        for (String entityId : entityIds) {
+            edgeIds.add(LikeEdge.prefix(entityType, entityId) + userId);
+        }
+        Query query = new Query(Criteria.where("_id").in(edgeIds));
+        query.fields().include("entityId");
+        for (LikeEdge edge : mongoTemplate.find(query, LikeEdge.class)) {
+            liked.add(edge.getEntityId());
+        }
+        return liked;
+    }
+
+    @Override
+    public List<LikeEdge> findByUser(String userId, int limit) {
+        return mongoTemplate.find(new Query(Criteria.where("userId").is(userId)).limit(limit), LikeEdge.class);
+    }
+
+    @Override
+    public long deleteEntities(String entityType, Collection<String> entityIds) {
+        if (entityIds.isEmpty()) {
+            return 0;
+        }
+        List<Criteria> ranges = new ArrayList<>();
+        for (String entityId : entityIds) {
+            ranges.add(edgesOf(LikeEdge.prefix(entityType, entityId)));
+        }
+        long removed = mongoTemplate.remove(new Query(new Criteria().orOperator(ranges)), LikeEdge.class)
+                .getDeletedCount();
+        if (LikeEdge.POST.equals(entityType)) {
+            removed += mongoTemplate.remove(new Query(Criteria.where("parentId").in(entityIds)
+                    .and("entityType").is(LikeEdge.COMMENT)), LikeEdge.class).getDeletedCount();
+        }
+        synchronized (likers) {
+            for (String entityId : entityIds) {
+                String key = LikeEdge.prefix(entityType, entityId);
+                generations[stripe(key)]++;
+                likers.remove(key);
+            }
+        }
+        return removed;
+    }
+
+    @Override
+    public long deleteEntity(String entityType, String entityId, int limit) {
+        String key = LikeEdge.prefix(entityType, entityId);
+        Query query = new Query(edgesOf(key)).limit(limit);
+        query.fields().include("_id");
+        List<String> ids = mongoTemplate.find(query, LikeEdge.class).stream()
+                .map(LikeEdge::getId).collect(Collectors.toList());
+        if (ids.isEmpty()) {
+            return 0;
+        }
+        long removed = mongoTemplate.remove(new Query(Criteria.where("_id").in(ids)), LikeEdge.class).getDeletedCount();
+        synchronized (likers) {
+            generations[stripe(key)]++;
+            likers.remove(key);
+        }
+        return removed;
+    }
+
+    private CompactBitmap likers(String key) {
+        Likers cached = likers.get(key);
+        if (cached != null && System.currentTimeMillis() - cached.loadedAt < ttlMs) {
+            hits.increment();
+            return cached.bitmap;
+        }
+        misses.increment();
+
+        long generation;
+        synchronized (likers) {
+            generation = generations[stripe(key)];
+        }
+        CompactBitmap loaded = new CompactBitmap();
+        Query query = new Query(edgesOf(key));
+        query.fields().include("userId");
+        try (Stream<LikeEdge> edges = mongoTemplate.stream(query, LikeEdge.class)) {
+            edges.forEach(edge -> loaded.add(ordinal(edge.getUserId())));
+        }
+        synchronized (likers) {
+            if (generations[stripe(key)] != generation) {
+                // A write landed mid-load; answer from this copy but don't keep it
+                return loaded;
+            }
+            likers.put(key, new Likers(loaded, System.currentTimeMillis()));
+            return loaded;
+        }
+    }
+
+    // Call after the database write; returns the cached likers to patch, if any
+    private CompactBitmap afterWrite(String key) {
+        synchronized (likers) {
+            generations[stripe(key)]++;
+            Likers cached = likers.get(key);
+            return cached == null ? null : cached.bitmap;
+        }
+    }
+
+    private int ordinal(String userId) {
+        return ordinals.computeIfAbsent(userId, id -> nextOrdinal.getAndIncrement());
+    }
+
+    // Edge ids of one entity: the prefix up to (not including) prefix with ':' bumped to ';'
+    private static Criteria edgesOf(String prefix) {
+        String end = prefix.substring(0, prefix.length() - 1) + (char) (':' + 1);
+        return Criteria.where("_id").gte(prefix).lt(end);
+    }
+
+    private static int stripe(String key) {
+        return (key.hashCode() & 0x7fffffff) % GENERATION_STRIPES;
+    }
+
+    private static final class Likers {
+        final CompactBitmap bitmap;
+        final long loadedAt;
+
+        Likers(CompactBitmap bitmap, long loadedAt) {
+            this.bitmap = bitmap;
+            this.loadedAt = loadedAt;
+        }
+    }
+}
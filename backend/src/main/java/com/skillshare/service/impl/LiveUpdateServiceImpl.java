@@ -0,0 +1,157 @@
+package com.skillshare.service.impl;
+
+import com.skillshare.model.LiveUpdate;
+import com.skillshare.service.LiveUpdateService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.codec.ServerSentEvent;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Sinks;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+@Service
+public class LiveUpdateServiceImpl implements LiveUpdateService {
+
+    private static final int MAX_TOPICS_PER_SUBSCRIBER = 100;
+
+    private final Map<String, Set<Subscriber>> subscribersByTopic = new ConcurrentHashMap<>();
+    // Latest unsent change per topic; rapid changes to one target collapse here
+    private final Map<String, LiveUpdate> pending = new ConcurrentHashMap<>();
+    private final AtomicInteger subscriberCount = new AtomicInteger();
+    private final int bufferSize;
+    private final int maxSubscribers;
+    private final Duration heartbeatInterval;
+    private final Counter evictions;
+
+    public LiveUpdateServiceImpl(MeterRegistry meterRegistry,
+                                 @Value("${skillshare.live.buffer-size:32}") int bufferSize,
+                                 @Value("${skillshare.live.max-subscribers:10000}") int maxSubscribers,
+                                 @Value("${skillshare.live.heartbeat-ms:15000}") long heartbeatMs) {
+        this.bufferSize = bufferSize;
+        this.maxSubscribers = maxSubscribers;
+        this.heartbeatInterval = Duration.ofMillis(heartbeatMs);
+        this.evictions = Counter.builder("skillshare.live.evictions")
+                .description("Subscribers dropped because their buffer filled up")
+                .register(meterRegistry);
+        Gauge.builder("skillshare.live.subscribers", subscriberCount, AtomicInteger::get).register(meterRegistry);
+    }
+
+    @Override
+    public Flux<ServerSentEvent<LiveUpdate>> subscribe(Collection<String> postIds, Collection<String> pathIds) {
+        Set<String> topics = new LinkedHashSet<>();
+        postIds.forEach(id -> topics.add(LiveUpdate.POST + ":" + id));
+        pathIds.forEach(id -> topics.add(LiveUpdate.PATH + ":" + id));
+        if (topics.size() > MAX_TOPICS_PER_SUBSCRIBER) {
+            throw new IllegalArgumentException("At most " + MAX_TOPICS_PER_SUBSCRIBER + " posts and paths per stream");
+        }
+        if (subscriberCount.get() >= maxSubscribers) {
+            throw new IllegalStateException("Live update subscriber limit reached");
+        }
+
+        Subscriber subscriber = new Subscriber(topics, bufferSize);
+        Flux<ServerSentEvent<LiveUpdate>> heartbeats = Flux.interval(heartbeatInterval)
+                .map(tick -> ServerSentEvent.<LiveUpdate>builder().comment("heartbeat").build())
+                .takeUntilOther(subscriber.closed.asMono());
+        return subscriber.events.asFlux()
+                .mergeWith(heartbeats)
+                .doOnSubscribe(subscription -> register(subscriber))
+                .doFinally(signal -> unregister(subscriber));
+    }
+
+    @Override
+    public void publish(LiveUpdate update) {
+        String topic = update.topic();
+        // Nobody is watching this target; skip the bookkeeping entirely
+        if (!subscribersByTopic.containsKey(topic)) {
+            return;
+        }
+        pending.merge(topic, update, LiveUpdate::merge);
+    }
+
+    /**
+     * Sends every pending update to its subscribers. Emission never waits:
+     * a subscriber whose buffer is full is evicted and its stream ends, and
+     * the client is expected to reload the target when it reconnects.
+     */
+    @Override
+    public int flush() {
+        int delivered = 0;
+        for (String topic : pending.keySet()) {
+            LiveUpdate update = pending.remove(topic);
+            Set<Subscriber> subscribers = subscribersByTopic.get(topic);
+            if (update == null || subscribers == null) {
+                continue;
+            }
+            ServerSentEvent<LiveUpdate> event = ServerSentEvent.builder(update).event(update.getType()).build();
+            for (Subscriber subscriber : subscribers) {
+                Sinks.EmitResult result = subscriber.events.tryEmitNext(event);
+                if (result.isSuccess()) {
+                    delivered++;
+                } else if (result == Sinks.EmitResult.FAIL_OVERFLOW) {
+                    evict(subscriber);
+                }
+            }
+        }
+        return delivered;
+    }
+
+    @Override
+    public int getSubscriberCount() {
+        return subscriberCount.get();
+    }
+
+    private void register(Subscriber subscriber) {
+        if (!subscriber.registered.compareAndSet(false, true)) {
+            return;
+        }
+        subscriberCount.incrementAndGet();
+        for (String topic : subscriber.topics) {
+            subscribersByTopic.computeIfAbsent(topic, t -> ConcurrentHashMap.newKeySet()).add(subscriber);
+        }
+    }
+
+    private void unregister(Subscriber subscriber) {
+        if (!subscriber.registered.compareAndSet(true, false)) {
+            return;
+        }
+        subscriberCount.decrementAndGet();
+        for (String topic : subscriber.topics) {
+            subscribersByTopic.computeIfPresent(topic, (t, subscribers) -> {
+                subscribers.remove(subscriber);
+                return subscribers.isEmpty() ? null : subscribers;
+            });
+        }
+        subscriber.closed.tryEmitEmpty();
+    }
+
+    private void evict(Subscriber subscriber) {
+        evictions.increment();
+        unregister(subscriber);
+        subscriber.events.tryEmitComplete();
+    }
+
+    private static final class Subscriber {
+        final Set<String> topics;
+        // Only the flush thread emits, so the unicast sink is never raced
+        final Sinks.Many<ServerSentEvent<LiveUpdate>> events;
+        final Sinks.Empty<Void> closed = Sinks.empty();
+        final AtomicBoolean registered = new AtomicBoolean();
+
+        Subscriber(Set<String> topics, int bufferSize) {
+            this.topics = topics;
+            this.events = Sinks.many().unicast().onBackpressureBuffer(new ArrayBlockingQueue<>(bufferSize));
+        }
+    }
+}
@@ -0,0 +1,146 @@
+package com.skillshare.service.impl;
+
+import com.skillshare.model.MediaObject;
+import com.skillshare.repository.MediaObjectRepository;
+import com.skillshare.service.MediaService;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.web.multipart.MaxUploadSizeExceededException;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Optional;
+import java.util.regex.Pattern;
+
+@Service
+public class MediaServiceImpl implements MediaService {
+
+    private static final Pattern MEDIA_ID = Pattern.compile("[0-9a-f]{64}");
+    private static final int BUFFER_SIZE = 64 * 1024;
+    private static final String DEFAULT_CONTENT_TYPE = "application/octet-stream";
+
+    private final MediaObjectRepository mediaObjectRepository;
+    private final Path root;
+    private final long maxBytes;
+
+    public MediaServiceImpl(MediaObjectRepository mediaObjectRepository,
+                            @Value("${skillshare.media.root:media-store}") String root,
+                            @Value("${skillshare.media.max-bytes:104857600}") long maxBytes) {
+        this.mediaObjectRepository = mediaObjectRepository;
+        this.root = Paths.get(root).toAbsolutePath().normalize();
+        this.maxBytes = maxBytes;
+    }
+
+    @Override
+    public MediaObject store(InputStream content, String contentType) {
+        return store(content, contentType, true);
+    }
+
+    @Override
+    public MediaObject storeVariant(InputStream content, String contentType) {
+        // Variants are final renditions; never queue them for resizing themselves
+        return store(content, contentType, false);
+    }
+
+    private MediaObject store(InputStream content, String contentType, boolean queueVariants) {
+        try {
+            Files.createDirectories(root.resolve("tmp"));
+            Path temp = Files.createTempFile(root.resolve("tmp"), "upload-", ".part");
+            try {
+                // Hash while copying so the upload is read exactly once, in fixed-size chunks
+                MessageDigest digest = MessageDigest.getInstance("SHA-256");
+                long size = 0;
+                byte[] buffer = new byte[BUFFER_SIZE];
+                try (OutputStream out = Files.newOutputStream(temp)) {
+                    int read;
+                    while ((read = content.read(buffer)) != -1) {
+                        size += read;
+                        if (size > maxBytes) {
+                            throw new MaxUploadSizeExceededException(maxBytes);
+                        }
+                        digest.update(buffer, 0, read);
+                        out.write(buffer, 0, read);
+                    }
+                }
+
+                String id = HexFormat.of().formatHex(digest.digest());
+                Path target = pathFor(id);
+                if (Files.exists(target)) {
+                    // Same bytes already stored
+                    Files.delete(temp);
+                } else {
+                    Files.createDirectories(target.getParent());
+                    Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+                }
+
+                Optional<MediaObject> existing = mediaObjectRepository.findById(id);
+                if (existing.isPresent()) {
+                    return existing.get();
+                }
+                MediaObject media = new MediaObject(id, sanitizeContentType(contentType), size);
+                if (queueVariants && media.getContentType().startsWith("image/")) {
+                    media.setVariantStatus(MediaObject.VariantStatus.PENDING);
+                    media.setVariantLeaseUntil(media.getCreatedAt());
+                }
+                return mediaObjectRepository.save(media);
+            } finally {
+                Files.deleteIfExists(temp);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not store media", e);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    @Override
+    public Optional<MediaObject> getMedia(String id) {
+        if (!isValidId(id)) {
+            return Optional.empty();
+        }
+        return mediaObjectRepository.findById(id);
+    }
+
+    @Override
+    public Optional<Path> resolve(String id) {
+        if (!isValidId(id)) {
+            return Optional.empty();
+        }
+        Path path = pathFor(id);
+        return Files.isRegularFile(path) ? Optional.of(path) : Optional.empty();
+    }
+
+    // Two levels of fan-out keep directory sizes small: ab/cd/abcd...
+    private Path pathFor(String id) {
+        return root.resolve(id.substring(0, 2)).resolve(id.substring(2, 4)).resolve(id);
+    }
+
+    private static boolean isValidId(String id) {
+        return id != null && MEDIA_ID.matcher(id).matches();
+    }
+
+    /**
+     * Media is served from the API origin, so only inert types keep their
+     * declared content type; anything else (e.g. HTML, SVG) is stored as binary.
+     */
+    private static String sanitizeContentType(String contentType) {
+        if (contentType == null) {
+            return DEFAULT_CONTENT_TYPE;
+        }
+        String type = contentType.toLowerCase().split(";")[0].trim();
+        if ((type.startsWith("image/") && !type.equals("image/svg+xml"))
+                || type.startsWith("video/") || type.startsWith("audio/") || type.equals("application/pdf")) {
+            return type;
+        }
+        return DEFAULT_CONTENT_TYPE;
+    }
+}
@@ -0,0 +1,99 @@
+package com.skillshare.service.impl;
+
+import com.skillshare.model.LearningPath;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Snapshot of one path's milestone layout at a given version: where each
+ * milestone sits in the stored array and where it sits in display order.
+ * Writes built from it are guarded by the version, so a stale snapshot only
+ * costs a reload.
+ */
+final class MilestoneIndex {
+
+    private final long version;
+    private final List<LearningPath.Milestone> stored;
+    private final Map<String, Integer> positions = new HashMap<>();
+    private final Map<String, Integer> orderById = new HashMap<>();
+    private final List<LearningPath.Milestone> ordered;
+
+    MilestoneIndex(LearningPath path) {
+        this(path.getVersion(), path.getMilestones());
+    }
+
+    private MilestoneIndex(long version, List<LearningPath.Milestone> stored) {
+        this.version = version;
+        this.stored = stored;
+        for (int i = 0; i < stored.size(); i++) {
+            positions.put(stored.get(i).getId(), i);
+        }
+        this.ordered = LearningPath.inDisplayOrder(stored);
+        for (int i = 0; i < ordered.size(); i++) {
+            orderById.put(ordered.get(i).getId(), i);
+        }
+    }
+
+    long version() {
+        return version;
+    }
+
+    int size() {
+        return stored.size();
+    }
+
+    boolean contains(String milestoneId) {
+        return positions.containsKey(milestoneId);
+    }
+
+    // Index into the stored milestones array, for positional updates
+    Integer position(String milestoneId) {
+        return positions.get(milestoneId);
+    }
+
+    String rank(String milestoneId) {
+        return ordered.get(orderById.get(milestoneId)).getRank();
+    }
+
+    String lastRank() {
+        return ordered.isEmpty() ? null : ordered.get(ordered.size() - 1).getRank();
+    }
+
+    // The milestone displayed right before, or null for the first
+    String previous(String milestoneId) {
+        int order = orderById.get(milestoneId);
+        return order == 0 ? null : ordered.get(order - 1).getId();
+    }
+
+    /**
+     * The milestone displayed right after {@code milestoneId} (or the first
+     * one if null), skipping {@code excluded}; null at the end of the order.
+     */
+    LearningPath.Milestone next(String milestoneId, String excluded) {
+        int i = milestoneId == null ? 0 : orderById.get(milestoneId) + 1;
+        if (i < ordered.size() && ordered.get(i).getId().equals(excluded)) {
+            i++;
+        }
+        return i < ordered.size() ? ordered.get(i) : null;
+    }
+
+    // The same layout after a write that changed only milestone contents
+    MilestoneIndex bumped() {
+        return new MilestoneIndex(version + 1, stored);
+    }
+
+    /**
+     * The layout after one milestone's rank changed, without reloading.
+     */
+    MilestoneIndex withRank(String milestoneId, String rank) {
+        LearningPath.Milestone moved = new LearningPath.Milestone();
+        moved.setId(milestoneId);
+        moved.setRank(rank);
+        List<LearningPath.Milestone> milestones = new ArrayList<>(stored);
+        milestones.set(positions.get(milestoneId), moved);
+        return new MilestoneIndex(version + 1, milestones);
+    }
+}
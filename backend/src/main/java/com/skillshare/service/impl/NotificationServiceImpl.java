@@ -0,0 +1,348 @@
+package com.skillshare.service.impl;
+
+import com.mongodb.client.result.UpdateResult;
+import com.skillshare.model.Notification;
+import com.skillshare.model.NotificationBucket;
+import com.skillshare.model.NotificationInbox;
+import com.skillshare.model.NotificationPage;
+import com.skillshare.service.NotificationService;
+import com.skillshare.util.TimeOrderedId;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+@Service
+public class NotificationServiceImpl implements NotificationService {
+
+    private static final Logger log = LoggerFactory.getLogger(NotificationServiceImpl.class);
+    private static final int MAX_PAGE_SIZE = 100;
+
+    private final MongoTemplate mongoTemplate;
+    private final int bucketSize;
+    private final int maxPending;
+    private final Counter dropped;
+    // Events not yet written, keyed by recipient and group key
+    private final Map<String, Pending> pending = new ConcurrentHashMap<>();
+    // Unread increments for notifications already written to a bucket
+    private final Map<String, Integer> owedUnread = new ConcurrentHashMap<>();
+
+    public NotificationServiceImpl(MongoTemplate mongoTemplate,
+                                   MeterRegistry meterRegistry,
+                                   @Value("${skillshare.notifications.bucket-size:50}") int bucketSize,
+                                   @Value("${skillshare.notifications.max-pending:100000}") int maxPending) {
+        this.mongoTemplate = mongoTemplate;
+        this.bucketSize = bucketSize;
+        this.maxPending = maxPending;
+        this.dropped = Counter.builder("skillshare.notifications.dropped")
+                .description("Notifications discarded because the pending buffer was full")
+                .register(meterRegistry);
+        Gauge.builder("skillshare.notifications.pending", pending, Map::size).register(meterRegistry);
+    }
+
+    @Override
+    public void notify(String recipientId, Notification.Type type, String targetId, String actorId, String detail) {
+        if (recipientId == null || recipientId.equals(actorId)) {
+            return;
+        }
+        String groupKey = groupKey(type, targetId, detail);
+        String key = recipientId + "|" + groupKey;
+        // Shed load rather than grow without bound while the database is unavailable
+        if (pending.size() >= maxPending && !pending.containsKey(key)) {
+            dropped.increment();
+            return;
+        }
+        pending.compute(key, (k, entry) -> {
+            Pending updated = entry != null ? entry : new Pending(recipientId, type, targetId, groupKey);
+            updated.add(actorId, 1, detail);
+            return updated;
+        });
+    }
+
+    /**
+     * Writes pending notifications grouped by recipient. On a database error
+     * only the events that were not applied go back into the buffer, and
+     * unread increments that could not be written are retried next flush.
+     */
+    @Override
+    public int flush() {
+        Map<String, List<Pending>> byRecipient = new LinkedHashMap<>();
+        for (String key : pending.keySet()) {
+            Pending entry = pending.remove(key);
+            if (entry != null) {
+                byRecipient.computeIfAbsent(entry.recipientId, id -> new ArrayList<>()).add(entry);
+            }
+        }
+        if (byRecipient.isEmpty() && owedUnread.isEmpty()) {
+            return 0;
+        }
+
+        int written = 0;
+        try {
+            for (String userId : owedUnread.keySet()) {
+                addUnread(userId, 0);
+            }
+            for (Map.Entry<String, List<Pending>> recipient : byRecipient.entrySet()) {
+                List<Pending> entries = recipient.getValue();
+                int before = entries.size();
+                try {
+                    deliver(recipient.getKey(), entries);
+                } finally {
+                    written += before - entries.size();
+                }
+            }
+        } catch (RuntimeException e) {
+            log.warn("Could not write notifications, will retry: {}", e.getMessage());
+            byRecipient.values().forEach(entries -> entries.forEach(this::requeue));
+        }
+        return written;
+    }
+
+    @Override
+    public NotificationPage getNotifications(String userId, String before, int limit) {
+        int pageSize = Math.max(1, Math.min(limit, MAX_PAGE_SIZE));
+        Criteria criteria = Criteria.where("userId").is(userId);
+        if (before != null && !before.isEmpty()) {
+            criteria = criteria.and("firstId").lt(before);
+        }
+        // The first bucket may be partly newer than the cursor; the rest are full
+        Query query = new Query(criteria)
+                .with(Sort.by(Sort.Direction.DESC, "firstId"))
+                .limit(pageSize / bucketSize + 2);
+
+        List<Notification> page = new ArrayList<>();
+        boolean more = false;
+        for (NotificationBucket bucket : mongoTemplate.find(query, NotificationBucket.class)) {
+            List<Notification> notifications = bucket.getNotifications();
+            for (int i = notifications.size() - 1; i >= 0 && !more; i--) {
+                Notification notification = notifications.get(i);
+                if (before != null && !before.isEmpty() && notification.getId().compareTo(before) >= 0) {
+                    continue;
+                }
+                if (page.size() == pageSize) {
+                    more = true;
+                } else {
+                    page.add(notification);
+                }
+            }
+        }
+
+        NotificationInbox inbox = mongoTemplate.findById(userId, NotificationInbox.class);
+        LocalDateTime lastReadAt = inbox == null ? null : inbox.getLastReadAt();
+        for (Notification notification : page) {
+            notification.setRead(lastReadAt != null && notification.getUpdatedAt() != null
+                    && !notification.getUpdatedAt().isAfter(lastReadAt));
+        }
+        String nextCursor = more ? page.get(page.size() - 1).getId() : null;
+        return new NotificationPage(page, nextCursor, inbox == null ? 0 : inbox.getUnreadCount());
+    }
+
+    @Override
+    public long getUnreadCount(String userId) {
+        NotificationInbox inbox = mongoTemplate.findById(userId, NotificationInbox.class);
+        return inbox == null ? 0 : inbox.getUnreadCount();
+    }
+
+    @Override
+    public void markAllRead(String userId) {
+        mongoTemplate.upsert(byId(userId), new Update()
+                .set("unreadCount", 0)
+                .set("lastReadAt", LocalDateTime.now()), NotificationInbox.class);
+    }
+
+    /**
+     * Folds each event into a matching unread notification in the newest
+     * bucket where possible and appends the rest. Entries are removed from
+     * the list as soon as their write lands, so on failure the list holds
+     * exactly the events still to be applied.
+     */
+    private void deliver(String userId, List<Pending> entries) {
+        LocalDateTime now = LocalDateTime.now();
+        NotificationInbox inbox = mongoTemplate.findById(userId, NotificationInbox.class);
+        LocalDateTime lastReadAt = inbox == null ? null : inbox.getLastReadAt();
+
+        Query newestQuery = new Query(Criteria.where("userId").is(userId))
+                .with(Sort.by(Sort.Direction.DESC, "firstId"))
+                .limit(1);
+        newestQuery.fields().exclude("notifications");
+        NotificationBucket newest = mongoTemplate.findOne(newestQuery, NotificationBucket.class);
+
+        // A merged event joins a notification that is already unread
+        List<Notification> fresh = new ArrayList<>();
+        Iterator<Pending> it = entries.iterator();
+        while (it.hasNext()) {
+            Pending entry = it.next();
+            if (newest != null && entry.type != Notification.Type.BADGE && mergeUnread(newest, entry, lastReadAt, now)) {
+                it.remove();
+            } else {
+                fresh.add(entry.toNotification(now));
+            }
+        }
+        if (fresh.isEmpty()) {
+            return;
+        }
+
+        int appended = 0;
+        int room = newest == null ? 0 : bucketSize - newest.getCount();
+        if (room > 0) {
+            List<Notification> head = fresh.subList(0, Math.min(room, fresh.size()));
+            // Guard on count so a concurrent writer cannot overfill the bucket
+            UpdateResult result = mongoTemplate.updateFirst(
+                    new Query(Criteria.where("_id").is(newest.getId()).and("count").lte(bucketSize - head.size())),
+                    new Update().push("notifications").each(head.toArray())
+                            .inc("count", head.size())
+                            .set("updatedAt", now),
+                    NotificationBucket.class);
+            if (result.getModifiedCount() > 0) {
+                appended = head.size();
+                applied(userId, entries, appended);
+            }
+        }
+        for (int start = appended; start < fresh.size(); start += bucketSize) {
+            List<Notification> chunk = new ArrayList<>(fresh.subList(start, Math.min(start + bucketSize, fresh.size())));
+            NotificationBucket bucket = new NotificationBucket();
+            bucket.setUserId(userId);
+            bucket.setFirstId(chunk.get(0).getId());
+            bucket.setCount(chunk.size());
+            bucket.setNotifications(chunk);
+            bucket.setCreatedAt(now);
+            bucket.setUpdatedAt(now);
+            mongoTemplate.insert(bucket);
+            applied(userId, entries, chunk.size());
+        }
+    }
+
+    // The first count entries now have notifications of their own
+    private void applied(String userId, List<Pending> entries, int count) {
+        entries.subList(0, count).clear();
+        addUnread(userId, count);
+    }
+
+    /**
+     * Adds delta plus anything still owed to the recipient's unread count.
+     * If the write fails the total stays owed for the next flush.
+     */
+    private void addUnread(String userId, int delta) {
+        if (delta > 0) {
+            owedUnread.merge(userId, delta, Integer::sum);
+        }
+        Integer owed = owedUnread.remove(userId);
+        if (owed == null || owed == 0) {
+            return;
+        }
+        try {
+            mongoTemplate.upsert(byId(userId), new Update().inc("unreadCount", owed), NotificationInbox.class);
+        } catch (RuntimeException e) {
+            owedUnread.merge(userId, owed, Integer::sum);
+            throw e;
+        }
+    }
+
+    private boolean mergeUnread(NotificationBucket bucket, Pending entry, LocalDateTime lastReadAt, LocalDateTime now) {
+        Criteria element = Criteria.where("groupKey").is(entry.groupKey);
+        if (lastReadAt != null) {
+            element = element.and("updatedAt").gt(lastReadAt);
+        }
+        Update update = new Update()
+                .inc("notifications.$.actorCount", entry.count)
+                .set("notifications.$.updatedAt", now)
+                .set("updatedAt", now);
+        if (entry.detail != null) {
+            update.set("notifications.$.detail", entry.detail);
+        }
+        if (!entry.actors.isEmpty()) {
+            update.push("notifications.$.actorIds").slice(-Notification.MAX_ACTORS).each(entry.actors.toArray());
+        }
+        UpdateResult result = mongoTemplate.updateFirst(
+                new Query(Criteria.where("_id").is(bucket.getId()).and("notifications").elemMatch(element)),
+                update, NotificationBucket.class);
+        return result.getModifiedCount() > 0;
+    }
+
+    private void requeue(Pending entry) {
+        pending.merge(entry.recipientId + "|" + entry.groupKey, entry, (current, failed) -> {
+            Pending combined = new Pending(failed.recipientId, failed.type, failed.targetId, failed.groupKey);
+            failed.actors.forEach(actor -> combined.add(actor, 0, null));
+            combined.add(null, failed.count, failed.detail);
+            current.actors.forEach(actor -> combined.add(actor, 0, null));
+            combined.add(null, current.count, current.detail);
+            return combined;
+        });
+    }
+
+    // Events with the same key fold into one notification; badges never do
+    private static String groupKey(Notification.Type type, String targetId, String detail) {
+        switch (type) {
+            case FOLLOW:
+                return "FOLLOW";
+            case BADGE:
+                return "BADGE:" + targetId + ":" + detail;
+            default:
+                return type + ":" + targetId;
+        }
+    }
+
+    private static Query byId(String id) {
+        return new Query(Criteria.where("_id").is(id));
+    }
+
+    private static final class Pending {
+        final String recipientId;
+        final Notification.Type type;
+        final String targetId;
+        final String groupKey;
+        final LinkedHashSet<String> actors = new LinkedHashSet<>();
+        long count;
+        String detail;
+
+        Pending(String recipientId, Notification.Type type, String targetId, String groupKey) {
+            this.recipientId = recipientId;
+            this.type = type;
+            this.targetId = targetId;
+            this.groupKey = groupKey;
+        }
+
+        // Keeps the most recent distinct actors, newest last
+        void add(String actorId, long events, String latestDetail) {
+            count += events;
+            if (latestDetail != null) {
+                detail = latestDetail;
+            }
+            if (actorId != null) {
+                actors.remove(actorId);
+                actors.add(actorId);
+                if (actors.size() > Notification.MAX_ACTORS) {
+                    actors.remove(actors.iterator().next());
+                }
+            }
+        }
+
+        Notification toNotification(LocalDateTime now) {
+            Notification notification = new Notification(type, targetId, detail);
+            notification.setId(TimeOrderedId.next());
+            notification.setGroupKey(groupKey);
+            notification.setActorIds(new ArrayList<>(actors));
+            notification.setActorCount(count);
+            notification.setCreatedAt(now);
+            notification.setUpdatedAt(now);
+            return notification;
+        }
+    }
+}
@@ -0,0 +1,406 @@
+package com.skillshare.service.impl;
+
+import com.skillshare.model.FunnelReport;
+import com.skillshare.model.LearningPath;
+import com.skillshare.model.LearningProgress;
+import com.skillshare.model.PathFunnel;
+import com.skillshare.repository.LearningPathRepository;
+import com.skillshare.repository.PathFunnelRepository;
+import com.skillshare.service.PathAnalyticsService;
+import com.skillshare.util.SingleFlight;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.bson.Document;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.aggregation.AggregationOperation;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeMap;
+
+@Service
+public class PathAnalyticsServiceImpl implements PathAnalyticsService {
+
+    private static final Logger log = LoggerFactory.getLogger(PathAnalyticsServiceImpl.class);
+    // Recomputes that keep racing increments give up and leave the funnel to the next reconcile
+    private static final int MAX_COMPUTE_ATTEMPTS = 3;
+
+    private final MongoTemplate mongoTemplate;
+    private final PathFunnelRepository pathFunnelRepository;
+    private final LearningPathRepository learningPathRepository;
+    // A missing funnel is aggregated once, however many readers ask for it at the same time
+    private final SingleFlight<String, PathFunnel> computations;
+
+    public PathAnalyticsServiceImpl(MongoTemplate mongoTemplate,
+                                    PathFunnelRepository pathFunnelRepository,
+                                    LearningPathRepository learningPathRepository,
+                                    MeterRegistry meterRegistry,
+                                    @Value("${skillshare.singleflight.timeout-ms:2000}") long timeoutMs) {
+        this.mongoTemplate = mongoTemplate;
+        this.pathFunnelRepository = pathFunnelRepository;
+        this.learningPathRepository = learningPathRepository;
+        this.computations = new SingleFlight<>("path_funnel", Duration.ofMillis(timeoutMs), meterRegistry);
+    }
+
+    @Override
+    public Optional<FunnelReport> getFunnel(String pathId) {
+        Optional<LearningPath> pathOpt = learningPathRepository.findById(pathId);
+        if (pathOpt.isEmpty()) {
+            return Optional.empty();
+        }
+
+        // A funnel holding only increments has not been aggregated yet
+        PathFunnel funnel = pathFunnelRepository.findById(pathId)
+                .filter(stored -> stored.getComputedAt() != null)
+                .orElseGet(() -> computations.execute(pathId, () -> compute(pathId),
+                        // A reader that gives up waiting serves what is stored rather than aggregate again
+                        () -> pathFunnelRepository.findById(pathId).orElseGet(() -> new PathFunnel(pathId))));
+        return Optional.of(toReport(pathOpt.get(), funnel));
+    }
+
+    @Override
+    public void recomputeFunnel(String pathId) {
+        compute(pathId);
+    }
+
+    @Override
+    public int reconcileFunnels() {
+        Query ids = new Query();
+        ids.fields().include("_id");
+        int recomputed = 0;
+        for (PathFunnel stored : mongoTemplate.find(ids, PathFunnel.class)) {
+            if (!learningPathRepository.existsById(stored.getId())) {
+                invalidate(stored.getId());
+                continue;
+            }
+            try {
+                compute(stored.getId());
+                recomputed++;
+            } catch (RuntimeException e) {
+                log.warn("Could not recompute funnel for path {}: {}", stored.getId(), e.getMessage());
+            }
+        }
+        log.info("Reconciled {} path funnels", recomputed);
+        return recomputed;
+    }
+
+    @Async
+    @Override
+    public void onEnrollment(LearningProgress progress) {
+        Map<String, Long> deltas = new HashMap<>();
+        deltas.put("enrollments", 1L);
+        apply(progress.getLearningPathId(), deltas);
+    }
+
+    @Async
+    @Override
+    public void onMilestoneCompleted(LearningProgress progress, LearningProgress.CompletedMilestone milestone) {
+        String pathId = progress.getLearningPathId();
+        String milestoneId = milestone.getMilestoneId();
+        if (pathId == null || milestoneId == null) {
+            return;
+        }
+        if (milestoneId.contains(".") || milestoneId.startsWith("$")) {
+            // Not usable as a field name; fall back to a full recompute on next read
+            invalidate(pathId);
+            return;
+        }
+
+        // The record as stored after the completion; the entry before it is the previous completion
+        List<LearningProgress.CompletedMilestone> completed = progress.getCompletedMilestones();
+        int index = -1;
+        for (int i = 0; i < completed.size() && index < 0; i++) {
+            if (milestoneId.equals(completed.get(i).getMilestoneId())) {
+                index = i;
+            }
+        }
+        if (index < 0) {
+            return;
+        }
+        LocalDateTime previous = index > 0 ? completed.get(index - 1).getCompletedAt() : progress.getStartedAt();
+        LocalDateTime completedAt = completed.get(index).getCompletedAt();
+        long seconds = previous == null || completedAt == null
+                ? 0 : Duration.between(previous, completedAt).getSeconds();
+
+        String prefix = "milestones." + milestoneId + ".";
+        Map<String, Long> deltas = new HashMap<>();
+        deltas.put(prefix + "completions", 1L);
+        deltas.put(prefix + "durationHistogram." + bucket(seconds), 1L);
+        apply(pathId, deltas);
+    }
+
+    @Async
+    @Override
+    public void onProgressReplaced(LearningProgress before, LearningProgress after) {
+        Map<String, Long> removed = contributions(before);
+        Map<String, Long> added = contributions(after);
+        if (removed == null || added == null) {
+            // Not usable as field names; fall back to a full recompute on next read
+            apply(pathOf(before), null);
+            apply(after.getLearningPathId(), null);
+        } else if (Objects.equals(pathOf(before), after.getLearningPathId())) {
+            added.replaceAll((field, count) -> count - removed.getOrDefault(field, 0L));
+            removed.forEach((field, count) -> added.putIfAbsent(field, -count));
+            apply(after.getLearningPathId(), added);
+        } else {
+            removed.replaceAll((field, count) -> -count);
+            apply(pathOf(before), removed);
+            apply(after.getLearningPathId(), added);
+        }
+    }
+
+    @Async
+    @Override
+    public void onProgressRemoved(LearningProgress progress) {
+        Map<String, Long> removed = contributions(progress);
+        if (removed != null) {
+            removed.replaceAll((field, count) -> -count);
+        }
+        apply(progress.getLearningPathId(), removed);
+    }
+
+    @Override
+    public void invalidate(String pathId) {
+        pathFunnelRepository.deleteById(pathId);
+    }
+
+    /**
+     * Aggregates the funnel and stores it only if no increment was applied
+     * while the aggregation ran, since such an increment may or may not be
+     * part of the result. Retries a few times before leaving the stored
+     * funnel as it is; the result is returned either way.
+     */
+    private PathFunnel compute(String pathId) {
+        PathFunnel funnel = null;
+        for (int attempt = 0; attempt < MAX_COMPUTE_ATTEMPTS; attempt++) {
+            Query writesQuery = byId(pathId);
+            writesQuery.fields().include("writes");
+            PathFunnel before = mongoTemplate.findOne(writesQuery, PathFunnel.class);
+
+            funnel = aggregate(pathId);
+            if (before == null) {
+                try {
+                    return mongoTemplate.insert(funnel);
+                } catch (DuplicateKeyException e) {
+                    // An increment created the document meanwhile
+                    continue;
+                }
+            }
+            funnel.setWrites(before.getWrites());
+            if (mongoTemplate.findAndReplace(unchangedSince(pathId, before.getWrites()), funnel) != null) {
+                return funnel;
+            }
+        }
+        log.info("Funnel for path {} kept changing during recompute; leaving it to the next reconcile", pathId);
+        return funnel;
+    }
+
+    // Documents written before the counter existed have no writes field
+    private static Query unchangedSince(String pathId, long writes) {
+        Criteria writesCriteria = writes == 0
+                ? Criteria.where("writes").in(0L, null)
+                : Criteria.where("writes").is(writes);
+        return new Query(Criteria.where("_id").is(pathId).andOperator(writesCriteria));
+    }
+
+    /**
+     * Aggregates completions per (milestone, duration bucket) for one path.
+     * Completed milestones are stored in completion order, so the previous
+     * completion of element i is element i - 1 (or the enrollment time).
+     * Only the first completion of a milestone in an enrollment counts.
+     */
+    private PathFunnel aggregate(String pathId) {
+        AggregationOperation project = context -> new Document("$project", new Document("startedAt", 1)
+                .append("completed", "$completedMilestones")
+                .append("completedAt", "$completedMilestones.completedAt"));
+        AggregationOperation unwind = context -> new Document("$unwind",
+                new Document("path", "$completed").append("includeArrayIndex", "idx"));
+        AggregationOperation duration = context -> new Document("$project", new Document()
+                .append("milestoneId", "$completed.milestoneId")
+                .append("seconds", new Document("$divide", Arrays.asList(
+                        new Document("$subtract", Arrays.asList("$completed.completedAt",
+                                new Document("$cond", Arrays.asList(
+                                        new Document("$eq", Arrays.asList("$idx", 0)),
+                                        "$startedAt",
+                                        new Document("$arrayElemAt", Arrays.asList("$completedAt",
+                                                new Document("$subtract", Arrays.asList("$idx", 1)))))))),
+                        1000))));
+        AggregationOperation bucket = context -> new Document("$project", new Document()
+                .append("milestoneId", 1)
+                .append("bucket", new Document("$floor", new Document("$log", Arrays.asList(
+                        new Document("$add", Arrays.asList(
+                                new Document("$max", Arrays.asList("$seconds", 0)), 1)), 2)))));
+        AggregationOperation firstCompletion = context -> new Document("$group", new Document()
+                .append("_id", new Document("p", "$_id").append("m", "$milestoneId"))
+                .append("bucket", new Document("$first", "$bucket")));
+        AggregationOperation group = context -> new Document("$group", new Document()
+                .append("_id", new Document("m", "$_id.m").append("b", "$bucket"))
+                .append("count", new Document("$sum", 1)));
+
+        // Archived enrollments are old but still part of the funnel
+        AggregationOperation archived = context -> new Document("$unionWith", new Document()
+                .append("coll", LearningProgress.ARCHIVE_COLLECTION)
+                .append("pipeline", List.of(new Document("$match", new Document("learningPathId", pathId)))));
+
+        Aggregation aggregation = Aggregation.newAggregation(
+                Aggregation.match(Criteria.where("learningPathId").is(pathId)),
+                archived, project, unwind, duration, bucket, firstCompletion, group);
+
+        Query enrolled = new Query(Criteria.where("learningPathId").is(pathId));
+        PathFunnel funnel = new PathFunnel(pathId);
+        funnel.setEnrollments(mongoTemplate.count(enrolled, LearningProgress.class)
+                + mongoTemplate.count(enrolled, LearningProgress.ARCHIVE_COLLECTION));
+
+        for (Document row : mongoTemplate.aggregate(aggregation, LearningProgress.class, Document.class)) {
+            Document key = (Document) row.get("_id");
+            Object milestoneId = key.get("m");
+            if (milestoneId == null) {
+                continue;
+            }
+            long count = ((Number) row.get("count")).longValue();
+            Number bucketValue = (Number) key.get("b");
+            int b = bucketValue == null ? 0 : bucketValue.intValue();
+
+            PathFunnel.MilestoneFunnel stats = funnel.getMilestones()
+                    .computeIfAbsent(milestoneId.toString(), id -> new PathFunnel.MilestoneFunnel());
+            stats.setCompletions(stats.getCompletions() + count);
+            stats.getDurationHistogram().merge(String.valueOf(b), count, Long::sum);
+        }
+        return funnel;
+    }
+
+    /**
+     * What one enrollment adds to its path's funnel, as $inc amounts by field,
+     * bucketed the same way as {@link #compute}. Null if a milestone id can't
+     * be used as a field name.
+     */
+    private static Map<String, Long> contributions(LearningProgress progress) {
+        Map<String, Long> fields = new HashMap<>();
+        if (progress == null || progress.getLearningPathId() == null) {
+            return fields;
+        }
+        fields.put("enrollments", 1L);
+        List<LearningProgress.CompletedMilestone> completed = progress.getCompletedMilestones();
+        if (completed == null) {
+            return fields;
+        }
+        LocalDateTime previous = progress.getStartedAt();
+        Set<String> seen = new HashSet<>();
+        for (LearningProgress.CompletedMilestone milestone : completed) {
+            String milestoneId = milestone.getMilestoneId();
+            if (milestoneId != null && seen.add(milestoneId)) {
+                if (milestoneId.contains(".") || milestoneId.startsWith("$")) {
+                    return null;
+                }
+                long seconds = previous == null || milestone.getCompletedAt() == null
+                        ? 0 : Duration.between(previous, milestone.getCompletedAt()).getSeconds();
+                String prefix = "milestones." + milestoneId + ".";
+                fields.merge(prefix + "completions", 1L, Long::sum);
+                fields.merge(prefix + "durationHistogram." + bucket(seconds), 1L, Long::sum);
+            }
+            previous = milestone.getCompletedAt();
+        }
+        return fields;
+    }
+
+    private static String pathOf(LearningProgress progress) {
+        return progress == null ? null : progress.getLearningPathId();
+    }
+
+    /**
+     * Upserts the increments, so none is lost while the funnel is missing or
+     * being recomputed, and counts the write for the recompute's check.
+     */
+    private void apply(String pathId, Map<String, Long> deltas) {
+        if (pathId == null) {
+            return;
+        }
+        if (deltas == null) {
+            invalidate(pathId);
+            return;
+        }
+        Update update = new Update();
+        deltas.forEach((field, delta) -> {
+            if (delta != 0) {
+                update.inc(field, delta);
+            }
+        });
+        if (!update.getUpdateObject().isEmpty()) {
+            mongoTemplate.upsert(byId(pathId), update.inc("writes", 1), PathFunnel.class);
+        }
+    }
+
+    private FunnelReport toReport(LearningPath path, PathFunnel funnel) {
+        FunnelReport report = new FunnelReport();
+        report.setPathId(path.getId());
+        report.setEnrollments(funnel.getEnrollments());
+
+        for (LearningPath.Milestone milestone : path.getMilestones()) {
+            PathFunnel.MilestoneFunnel stats = funnel.getMilestones().get(milestone.getId());
+
+            FunnelReport.Step step = new FunnelReport.Step();
+            step.setMilestoneId(milestone.getId());
+            step.setTitle(milestone.getTitle());
+            step.setOrderIndex(milestone.getOrderIndex());
+            if (stats != null) {
+                step.setCompletions(stats.getCompletions());
+                step.setMedianSecondsFromPrevious(median(stats));
+            }
+            step.setCompletionRate(funnel.getEnrollments() == 0 ? 0
+                    : (double) step.getCompletions() / funnel.getEnrollments());
+            report.getSteps().add(step);
+        }
+
+        report.getSteps().sort((a, b) -> Integer.compare(a.getOrderIndex(), b.getOrderIndex()));
+        return report;
+    }
+
+    private static Long median(PathFunnel.MilestoneFunnel stats) {
+        long total = 0;
+        TreeMap<Integer, Long> buckets = new TreeMap<>();
+        for (Map.Entry<String, Long> entry : stats.getDurationHistogram().entrySet()) {
+            buckets.put(Integer.parseInt(entry.getKey()), entry.getValue());
+            total += entry.getValue();
+        }
+        if (total == 0) {
+            return null;
+        }
+
+        long seen = 0;
+        for (Map.Entry<Integer, Long> entry : buckets.entrySet()) {
+            seen += entry.getValue();
+            if (seen * 2 >= total) {
+                // Bucket b covers [2^b - 1, 2^(b+1) - 1) seconds
+                long low = (1L << entry.getKey()) - 1;
+                long high = (1L << (entry.getKey() + 1)) - 1;
+                return (low + high) / 2;
+            }
+        }
+        return null;
+    }
+
+    private static int bucket(long seconds) {
+        return 63 - Long.numberOfLeadingZeros(Math.max(0, seconds) + 1);
+    }
+
+    private static Query byId(String id) {
+        return new Query(Criteria.where("_id").is(id));
+    }
+}
@@ -0,0 +1,97 @@
+package com.skillshare.service.impl;
+
+import com.skillshare.model.LearningPath;
+import com.skillshare.model.LearningProgress;
+import com.skillshare.model.PathRecommendation;
+import com.skillshare.recommendation.CoEnrollmentTable;
+import com.skillshare.repository.LearningPathRepository;
+import com.skillshare.repository.LearningProgressRepository;
+import com.skillshare.service.PathRecommendationService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+@Service
+public class PathRecommendationServiceImpl implements PathRecommendationService {
+
+    private static final Logger log = LoggerFactory.getLogger(PathRecommendationServiceImpl.class);
+    private static final int MAX_LIMIT = 50;
+
+    private final LearningProgressRepository learningProgressRepository;
+    private final LearningPathRepository learningPathRepository;
+    private final int neighboursPerPath;
+    private final int maxBasketSize;
+
+    private volatile CoEnrollmentTable table = CoEnrollmentTable.empty();
+
+    public PathRecommendationServiceImpl(LearningProgressRepository learningProgressRepository,
+                                         LearningPathRepository learningPathRepository,
+                                         @Value("${skillshare.recommendations.neighbours-per-path:20}") int neighboursPerPath,
+                                         @Value("${skillshare.recommendations.max-basket-size:200}") int maxBasketSize) {
+        this.learningProgressRepository = learningProgressRepository;
+        this.learningPathRepository = learningPathRepository;
+        this.neighboursPerPath = neighboursPerPath;
+        this.maxBasketSize = maxBasketSize;
+    }
+
+    @Override
+    public List<PathRecommendation> getRelatedPaths(String pathId, int limit) {
+        return table.related(pathId, clamp(limit));
+    }
+
+    @Override
+    public List<PathRecommendation> getRecommendedPaths(String userId, int limit) {
+        Set<String> enrolled = learningProgressRepository.findEnrollmentsByUserId(userId).stream()
+                .map(LearningProgress::getLearningPathId)
+                .collect(Collectors.toSet());
+        return table.recommend(enrolled, clamp(limit));
+    }
+
+    @Override
+    public void refresh() {
+        long started = System.currentTimeMillis();
+        CoEnrollmentTable.Builder builder = new CoEnrollmentTable.Builder(maxBasketSize);
+
+        // Records arrive sorted by user, so each user's basket is a contiguous run
+        try (Stream<LearningProgress> enrollments = learningProgressRepository.streamEnrollmentsOrderByUserId()) {
+            Iterator<LearningProgress> iterator = enrollments.iterator();
+            String currentUser = null;
+            List<String> basket = new ArrayList<>();
+            while (iterator.hasNext()) {
+                LearningProgress enrollment = iterator.next();
+                if (currentUser != null && !currentUser.equals(enrollment.getUserId())) {
+                    builder.addBasket(basket);
+                    basket = new ArrayList<>();
+                }
+                currentUser = enrollment.getUserId();
+                if (enrollment.getLearningPathId() != null) {
+                    basket.add(enrollment.getLearningPathId());
+                }
+            }
+            builder.addBasket(basket);
+        }
+
+        Set<String> publicPaths = new HashSet<>();
+        for (LearningPath path : learningPathRepository.findIdsByIsPublic(true)) {
+            publicPaths.add(path.getId());
+        }
+
+        CoEnrollmentTable built = builder.build(publicPaths, neighboursPerPath);
+        table = built;
+        log.info("Path recommendations refreshed for {} paths in {} ms",
+                built.size(), System.currentTimeMillis() - started);
+    }
+
+    private static int clamp(int limit) {
+        return Math.max(1, Math.min(limit, MAX_LIMIT));
+    }
+}
@@ -1,11 +1,38 @@
 package com.skillshare.service.impl;
 
+import com.skillshare.model.EngagementDaily;
+import com.skillshare.model.LikeEdge;
+import com.skillshare.model.LikeState;
+import com.skillshare.model.LiveUpdate;
+import com.skillshare.model.Notification;
 import com.skillshare.model.Post;
 import com.skillshare.repository.PostRepository;
+import com.skillshare.service.EngagementService;
+import com.skillshare.service.LikeService;
+import com.skillshare.service.LiveUpdateService;
+import com.skillshare.service.NotificationService;
 import com.skillshare.service.PostService;
+import com.skillshare.service.UserStatsService;
+import com.skillshare.util.SingleFlight;
+import com.skillshare.util.TimeOrderedId;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.bson.Document;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.aggregation.AggregationOperation;
+import org.springframework.data.mongodb.core.aggregation.TypedAggregation;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
 import org.springframework.stereotype.Service;
+import java.time.Duration;
 import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Date;
 import java.util.List;
 import java.util.Optional;
 
@@ -13,22 +40,47 @@ import java.util.Optional;
 public class PostServiceImpl implements PostService {
 
     private final PostRepository postRepository;
+    private final SingleFlight<String, Optional<Post>> postReads;
+    private final UserStatsService userStatsService;
+    private final MongoTemplate mongoTemplate;
+    private final LiveUpdateService liveUpdateService;
+    private final NotificationService notificationService;
+    private final EngagementService engagementService;
+    private final LikeService likeService;
 
     @Autowired
-    public PostServiceImpl(PostRepository postRepository) {
+    public PostServiceImpl(PostRepository postRepository,
+                           UserStatsService userStatsService,
+                           MongoTemplate mongoTemplate,
+                           LiveUpdateService liveUpdateService,
+                           NotificationService notificationService,
+                           EngagementService engagementService,
+                           LikeService likeService,
+                           MeterRegistry meterRegistry,
+                           @Value("${skillshare.singleflight.timeout-ms:2000}") long timeoutMs) {
         this.postRepository = postRepository;
+        this.userStatsService = userStatsService;
+        this.mongoTemplate = mongoTemplate;
+        this.liveUpdateService = liveUpdateService;
+        this.notificationService = notificationService;
+        this.engagementService = engagementService;
+        this.likeService = likeService;
+        this.postReads = new SingleFlight<>("post", Duration.ofMillis(timeoutMs), meterRegistry);
     }
 
     @Override
     public Post createPost(Post post) {
         post.setCreatedAt(LocalDateTime.now());
         post.setUpdatedAt(LocalDateTime.now());
-        return postRepository.save(post);
+        Post saved = postRepository.save(post);
+        userStatsService.incrementPosts(saved.getUserId(), 1);
+        return saved;
     }
 
     @Override
     public Optional<Post> getPostById(String id) {
-        return postRepository.findById(id);
+        // A widely shared post is read by many requests at once; share one query
+        return postReads.execute(id, () -> postRepository.findById(id));
     }
 
     @Override
@@ -61,49 +113,120 @@ public class PostServiceImpl implements PostService {
         return postRepository.findTop10ByOrderByLikesDesc();
     }
 
+    /**
+     * Sets only the fields an author edits. Likes, comments and shares are
+     * changed by their own in-place updates and are never taken from the
+     * request body. Returns null if there is no such post.
+     */
     @Override
     public Post updatePost(Post post) {
-        post.setUpdatedAt(LocalDateTime.now());
-        return postRepository.save(post);
+        Update update = new Update()
+                .set("title", post.getTitle())
+                .set("content", post.getContent())
+                .set("mediaUrls", post.getMediaUrls())
+                .set("tags", post.getTags())
+                .set("updatedAt", LocalDateTime.now());
+        return modify(post.getId(), new Query(Criteria.where("_id").is(post.getId())), update, true);
     }
 
     @Override
     public void deletePost(String id) {
+        Optional<Post> postOpt = postRepository.findById(id);
         postRepository.deleteById(id);
+        engagementService.delete(EngagementDaily.POST, List.of(id));
+        likeService.deleteEntities(LikeEdge.POST, List.of(id));
+
+        // The author loses the post and its likes; commenters lose their comment likes
+        postOpt.ifPresent(post -> {
+            userStatsService.incrementPosts(post.getUserId(), -1);
+            userStatsService.incrementLikes(post.getUserId(), -post.getLikes());
+            if (post.getComments() != null) {
+                for (Post.Comment comment : post.getComments()) {
+                    userStatsService.incrementLikes(comment.getUserId(), -comment.getLikes());
+                }
+            }
+        });
     }
 
     @Override
-    public void likePost(String id) {
-        Optional<Post> postOpt = postRepository.findById(id);
-        if (postOpt.isPresent()) {
-            Post post = postOpt.get();
-            post.setLikes(post.getLikes() + 1);
-            post.setUpdatedAt(LocalDateTime.now());
-            postRepository.save(post);
+    public LikeState likePost(String id, String userId) {
+        if (!likeService.like(LikeEdge.POST, id, null, userId)) {
+            return likeState(id, true);
         }
+        Post post = incrementLikes(id, Criteria.where("_id").is(id), "likes", 1);
+        if (post == null) {
+            // No such post; don't keep a like for it
+            likeService.unlike(LikeEdge.POST, id, userId);
+            return null;
+        }
+        userStatsService.incrementLikes(post.getUserId(), 1);
+
+        LiveUpdate update = new LiveUpdate(LiveUpdate.POST, id);
+        update.setLikes(post.getLikes());
+        liveUpdateService.publish(update);
+        notificationService.notify(post.getUserId(), Notification.Type.LIKE, id, userId, null);
+        engagementService.record(EngagementDaily.POST, id, EngagementDaily.Metric.LIKES);
+        engagementService.record(EngagementDaily.USER, post.getUserId(), EngagementDaily.Metric.LIKES);
+        return new LikeState(true, post.getLikes());
+    }
+
+    @Override
+    public LikeState unlikePost(String id, String userId) {
+        if (!likeService.unlike(LikeEdge.POST, id, userId)) {
+            return likeState(id, false);
+        }
+        Post post = incrementLikes(id, Criteria.where("_id").is(id).and("likes").gt(0), "likes", -1);
+        if (post == null) {
+            return likeState(id, false);
+        }
+        userStatsService.incrementLikes(post.getUserId(), -1);
+
+        LiveUpdate update = new LiveUpdate(LiveUpdate.POST, id);
+        update.setLikes(post.getLikes());
+        liveUpdateService.publish(update);
+        return new LikeState(false, post.getLikes());
+    }
+
+    // The stored counter, for a like or unlike that changed nothing; null if there is no such post
+    private LikeState likeState(String id, boolean liked) {
+        Query query = new Query(Criteria.where("_id").is(id));
+        query.fields().include("likes");
+        Post post = mongoTemplate.findOne(query, Post.class);
+        if (post == null) {
+            post = mongoTemplate.findOne(query, Post.class, Post.ARCHIVE_COLLECTION);
+        }
+        return post == null ? null : new LikeState(liked, post.getLikes());
     }
 
     @Override
     public void sharePost(String id) {
-        Optional<Post> postOpt = postRepository.findById(id);
-        if (postOpt.isPresent()) {
-            Post post = postOpt.get();
-            post.setShares(post.getShares() + 1);
-            post.setUpdatedAt(LocalDateTime.now());
-            postRepository.save(post);
+        Post post = modify(id, new Query(Criteria.where("_id").is(id)),
+                new Update().inc("shares", 1).set("updatedAt", LocalDateTime.now()), true);
+        if (post != null) {
+            LiveUpdate update = new LiveUpdate(LiveUpdate.POST, id);
+            update.setShares(post.getShares());
+            liveUpdateService.publish(update);
+            engagementService.record(EngagementDaily.POST, id, EngagementDaily.Metric.SHARES);
+            engagementService.record(EngagementDaily.USER, post.getUserId(), EngagementDaily.Metric.SHARES);
         }
     }
 
     // Comment related implementations
     @Override
     public Optional<Post> addCommentToPost(String postId, Post.Comment comment) {
-        Optional<Post> postOpt = postRepository.findById(postId);
-        
-        if (postOpt.isPresent()) {
-            Post post = postOpt.get();
-            post.addComment(comment);
-            post.setUpdatedAt(LocalDateTime.now());
-            return Optional.of(postRepository.save(post));
+        Post saved = modify(postId, new Query(Criteria.where("_id").is(postId)),
+                new Update().push("comments", comment).set("updatedAt", LocalDateTime.now()), true);
+
+        if (saved != null) {
+            LiveUpdate update = new LiveUpdate(LiveUpdate.POST, postId);
+            update.setCommentCount(saved.getComments().size());
+            update.setNewCommentIds(List.of(comment.getId()));
+            liveUpdateService.publish(update);
+            notificationService.notify(saved.getUserId(), Notification.Type.COMMENT, postId,
+                    comment.getUserId(), comment.getId());
+            engagementService.record(EngagementDaily.POST, postId, EngagementDaily.Metric.COMMENTS);
+            engagementService.record(EngagementDaily.USER, saved.getUserId(), EngagementDaily.Metric.COMMENTS);
+            return Optional.of(saved);
         }
         
         return Optional.empty();
@@ -111,57 +234,155 @@ public class PostServiceImpl implements PostService {
 
     @Override
     public Optional<Post.Comment> updateCommentInPost(String postId, String commentId, String userId, String content) {
-        Optional<Post> postOpt = postRepository.findById(postId);
-        
-        if (postOpt.isPresent()) {
-            Post post = postOpt.get();
-            Post.Comment updatedComment = post.updateComment(commentId, userId, content);
-            
-            if (updatedComment != null) {
-                post.setUpdatedAt(LocalDateTime.now());
-                postRepository.save(post);
-                return Optional.of(updatedComment);
-            }
-        }
-        
-        return Optional.empty();
+        LocalDateTime now = LocalDateTime.now();
+        Post post = modify(postId, ownComment(postId, commentId, userId), new Update()
+                .set("comments.$.content", content)
+                .set("comments.$.updatedAt", now)
+                .set("updatedAt", now), true);
+        return Optional.ofNullable(post == null ? null : findComment(post, commentId));
     }
 
     @Override
     public boolean removeCommentFromPost(String postId, String commentId, String userId) {
-        Optional<Post> postOpt = postRepository.findById(postId);
-        
-        if (postOpt.isPresent()) {
-            Post post = postOpt.get();
-            boolean removed = post.removeComment(commentId, userId);
-            
-            if (removed) {
-                post.setUpdatedAt(LocalDateTime.now());
-                postRepository.save(post);
-                return true;
-            }
+        // The document as it was before the pull carries the comment's final like count
+        Post before = modify(postId, ownComment(postId, commentId, userId), new Update()
+                .pull("comments", new Document("_id", commentId))
+                .set("updatedAt", LocalDateTime.now()), false);
+        Post.Comment removed = before == null ? null : findComment(before, commentId);
+        if (removed == null) {
+            return false;
         }
-        
-        return false;
+        userStatsService.incrementLikes(userId, -removed.getLikes());
+        likeService.deleteEntities(LikeEdge.COMMENT, List.of(commentId));
+
+        LiveUpdate update = new LiveUpdate(LiveUpdate.POST, postId);
+        update.setCommentCount(before.getComments().size() - 1);
+        update.setRemovedCommentIds(List.of(commentId));
+        liveUpdateService.publish(update);
+        return true;
+    }
+
+    private static Query ownComment(String postId, String commentId, String userId) {
+        return new Query(Criteria.where("_id").is(postId)
+                .and("comments").elemMatch(Criteria.where("_id").is(commentId).and("userId").is(userId)));
     }
 
     @Override
-    public boolean likeCommentInPost(String postId, String commentId) {
-        Optional<Post> postOpt = postRepository.findById(postId);
-        
-        if (postOpt.isPresent()) {
-            Post post = postOpt.get();
-            
-            for (Post.Comment comment : post.getComments()) {
-                if (comment.getId().equals(commentId)) {
-                    comment.setLikes(comment.getLikes() + 1);
-                    post.setUpdatedAt(LocalDateTime.now());
-                    postRepository.save(post);
-                    return true;
-                }
+    public boolean likeCommentInPost(String postId, String commentId, String userId) {
+        if (!likeService.like(LikeEdge.COMMENT, commentId, postId, userId)) {
+            return true;
+        }
+        Post post = incrementLikes(postId, Criteria.where("_id").is(postId)
+                .and("comments").elemMatch(Criteria.where("_id").is(commentId)), "comments.$.likes", 1);
+        Post.Comment comment = post == null ? null : findComment(post, commentId);
+        if (comment == null) {
+            likeService.unlike(LikeEdge.COMMENT, commentId, userId);
+            return false;
+        }
+        userStatsService.incrementLikes(comment.getUserId(), 1);
+        // Target is the comment; detail carries the post to link to
+        notificationService.notify(comment.getUserId(), Notification.Type.LIKE, commentId, userId, postId);
+        engagementService.record(EngagementDaily.USER, comment.getUserId(), EngagementDaily.Metric.LIKES);
+        return true;
+    }
+
+    @Override
+    public boolean unlikeCommentInPost(String postId, String commentId, String userId) {
+        if (!likeService.unlike(LikeEdge.COMMENT, commentId, userId)) {
+            return false;
+        }
+        Post post = incrementLikes(postId, Criteria.where("_id").is(postId)
+                .and("comments").elemMatch(Criteria.where("_id").is(commentId).and("likes").gt(0)), "comments.$.likes", -1);
+        Post.Comment comment = post == null ? null : findComment(post, commentId);
+        if (comment != null) {
+            userStatsService.incrementLikes(comment.getUserId(), -1);
+        }
+        return true;
+    }
+
+    /**
+     * Adjusts a like counter in place with $inc, so concurrent likes are never
+     * lost, and returns the updated post; null if nothing matched.
+     */
+    private Post incrementLikes(String postId, Criteria criteria, String field, int delta) {
+        return modify(postId, new Query(criteria),
+                new Update().inc(field, delta).set("updatedAt", LocalDateTime.now()), true);
+    }
+
+    /**
+     * Applies an in-place update so that no write replaces the whole document
+     * and overwrites counters changed in the meantime. A post in the archive
+     * tier is restored first. Returns the post after (or before) the update;
+     * null if nothing matched.
+     */
+    private Post modify(String postId, Query query, Update update, boolean returnNew) {
+        FindAndModifyOptions options = FindAndModifyOptions.options().returnNew(returnNew);
+        Post post = mongoTemplate.findAndModify(query, update, options, Post.class);
+        if (post == null && postRepository.restoreFromArchive(postId)) {
+            post = mongoTemplate.findAndModify(query, update, options, Post.class);
+        }
+        return post;
+    }
+
+    private static Post.Comment findComment(Post post, String commentId) {
+        if (post.getComments() == null) {
+            return null;
+        }
+        return post.getComments().stream()
+                .filter(comment -> commentId.equals(comment.getId()))
+                .findFirst()
+                .orElse(null);
+    }
+
+    /**
+     * One page of comments after the given cursor. Comments are appended in
+     * creation order, so the page starts right after the cursor's position
+     * in the embedded array. Positions are looked up by id rather than
+     * compared as strings, since older comments have UUID ids that do not
+     * sort with the time-ordered ones.
+     */
+    @Override
+    public Optional<List<Post.Comment>> getComments(String postId, String afterCommentId, int limit) {
+        Document page;
+        if (afterCommentId == null) {
+            page = new Document("$slice", Arrays.asList("$comments", limit));
+        } else {
+            Document rest = new Document("$slice", Arrays.asList("$comments",
+                    new Document("$add", Arrays.asList("$$at", 1)), limit));
+            page = new Document("$let", new Document()
+                    .append("vars", new Document("at",
+                            new Document("$indexOfArray", Arrays.asList("$comments._id", afterCommentId))))
+                    .append("in", new Document("$cond", Arrays.asList(
+                            new Document("$gte", Arrays.asList("$$at", 0)), rest, afterDeleted(afterCommentId, limit)))));
+        }
+        AggregationOperation project = context -> new Document("$project", new Document("comments", page));
+
+        TypedAggregation<Post> aggregation = Aggregation.newAggregation(Post.class,
+                Aggregation.match(Criteria.where("_id").is(postId)), project);
+        Post post = mongoTemplate.aggregate(aggregation, Post.class).getUniqueMappedResult();
+        if (post == null) {
+            post = mongoTemplate.aggregate(aggregation, Post.ARCHIVE_COLLECTION, Post.class).getUniqueMappedResult();
+        }
+        return Optional.ofNullable(post).map(Post::getComments);
+    }
+
+    /**
+     * The page after a cursor comment that has since been deleted: comments
+     * created after the time encoded in its id. A deleted UUID cursor cannot
+     * be placed and ends the listing.
+     */
+    private static Object afterDeleted(String afterCommentId, int limit) {
+        Date cursorTime;
+        try {
+            if (afterCommentId.length() != 26) {
+                return Collections.emptyList();
             }
+            cursorTime = new Date(TimeOrderedId.timestampOf(afterCommentId));
+        } catch (IllegalArgumentException e) {
+            return Collections.emptyList();
         }
-        
-        return false;
+        Document later = new Document("$filter", new Document("input", "$comments")
+                .append("cond", new Document("$gt", Arrays.asList("$$this.createdAt", cursorTime))));
+        return new Document("$slice", Arrays.asList(later, limit));
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,60 @@
+package com.skillshare.service.impl;
+
+import com.skillshare.model.LearningPath;
+import com.skillshare.model.Post;
+import com.skillshare.repository.reactive.ReactiveLearningPathRepository;
+import com.skillshare.repository.reactive.ReactivePostRepository;
+import com.skillshare.service.ReactiveFeedService;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+
+@Service
+public class ReactiveFeedServiceImpl implements ReactiveFeedService {
+
+    // Upper bound on elements requested from the driver ahead of the consumer
+    private static final int PREFETCH = 64;
+
+    private final ReactivePostRepository reactivePostRepository;
+    private final ReactiveLearningPathRepository reactiveLearningPathRepository;
+
+    public ReactiveFeedServiceImpl(ReactivePostRepository reactivePostRepository,
+                                   ReactiveLearningPathRepository reactiveLearningPathRepository) {
+        this.reactivePostRepository = reactivePostRepository;
+        this.reactiveLearningPathRepository = reactiveLearningPathRepository;
+    }
+
+    @Override
+    public Flux<Post> streamAllPosts() {
+        return reactivePostRepository.findAllBy().limitRate(PREFETCH);
+    }
+
+    @Override
+    public Flux<Post> streamPostsByUserId(String userId) {
+        return reactivePostRepository.findByUserId(userId).limitRate(PREFETCH);
+    }
+
+    @Override
+    public Flux<Post> streamPostsByTag(String tag) {
+        return reactivePostRepository.findByTagsContaining(tag).limitRate(PREFETCH);
+    }
+
+    @Override
+    public Flux<Post> streamRecentPosts() {
+        return reactivePostRepository.findTop10ByOrderByCreatedAtDesc();
+    }
+
+    @Override
+    public Flux<Post> streamPopularPosts() {
+        return reactivePostRepository.findTop10ByOrderByLikesDesc();
+    }
+
+    @Override
+    public Flux<LearningPath> streamPublicPaths() {
+        return reactiveLearningPathRepository.findByIsPublic(true).limitRate(PREFETCH);
+    }
+
+    @Override
+    public Flux<LearningPath> streamPathsByTag(String tag) {
+        return reactiveLearningPathRepository.findByTagsContaining(tag).limitRate(PREFETCH);
+    }
+}
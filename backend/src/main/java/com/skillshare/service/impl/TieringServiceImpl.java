@@ -0,0 +1,179 @@
+package com.skillshare.service.impl;
+
+import com.skillshare.model.LearningProgress;
+import com.skillshare.model.Post;
+import com.skillshare.model.TieringState;
+import com.skillshare.service.TieringService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.FindAndReplaceOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Function;
+
+@Service
+public class TieringServiceImpl implements TieringService {
+
+    private static final Logger log = LoggerFactory.getLogger(TieringServiceImpl.class);
+
+    private final MongoTemplate mongoTemplate;
+    private final long minAgeDays;
+    private final long idleDays;
+    private final int batchSize;
+    private final int maxBatchesPerRun;
+    private final long batchPauseMs;
+
+    // Age is measured from creation, activity from the last write
+    private final List<Tier<?>> tiers;
+
+    public TieringServiceImpl(MongoTemplate mongoTemplate,
+                              MeterRegistry meterRegistry,
+                              @Value("${skillshare.tiering.min-age-days:180}") long minAgeDays,
+                              @Value("${skillshare.tiering.idle-days:60}") long idleDays,
+                              @Value("${skillshare.tiering.batch-size:500}") int batchSize,
+                              @Value("${skillshare.tiering.max-batches-per-run:20}") int maxBatchesPerRun,
+                              @Value("${skillshare.tiering.batch-pause-ms:50}") long batchPauseMs) {
+        this.mongoTemplate = mongoTemplate;
+        this.minAgeDays = minAgeDays;
+        this.idleDays = idleDays;
+        this.batchSize = batchSize;
+        this.maxBatchesPerRun = maxBatchesPerRun;
+        this.batchPauseMs = batchPauseMs;
+        this.tiers = Arrays.asList(
+                new Tier<>(mongoTemplate.getCollectionName(Post.class), Post.class, Post.ARCHIVE_COLLECTION,
+                        "createdAt", "updatedAt", Post::getId, meterRegistry),
+                new Tier<>(mongoTemplate.getCollectionName(LearningProgress.class), LearningProgress.class,
+                        LearningProgress.ARCHIVE_COLLECTION, "startedAt", "lastUpdatedAt", LearningProgress::getId,
+                        meterRegistry));
+    }
+
+    @Override
+    public long archiveStale() {
+        LocalDateTime now = LocalDateTime.now();
+        long archived = 0;
+        for (Tier<?> tier : tiers) {
+            archived += archive(tier, now.minusDays(minAgeDays), now.minusDays(idleDays));
+        }
+        return archived;
+    }
+
+    /**
+     * Walks the hot collection in _id order from the saved position. A batch
+     * shorter than the batch size ends the pass, and the next run starts over
+     * to pick up documents that have gone stale since.
+     */
+    private <T> long archive(Tier<T> tier, LocalDateTime createdBefore, LocalDateTime idleSince) {
+        TieringState state = mongoTemplate.findById(tier.collection, TieringState.class);
+        if (state == null) {
+            state = new TieringState(tier.collection);
+        }
+        Criteria stale = Criteria.where(tier.createdField).lt(createdBefore).and(tier.activityField).lt(idleSince);
+
+        long archived = 0;
+        for (int batch = 0; batch < maxBatchesPerRun; batch++) {
+            if (state.getLastId() == null) {
+                state.setPassStartedAt(LocalDateTime.now());
+                state.setArchivedInPass(0);
+            }
+            Criteria criteria = state.getLastId() == null ? stale
+                    : new Criteria().andOperator(stale, Criteria.where("_id").gt(state.getLastId()));
+            List<T> documents = mongoTemplate.find(new Query(criteria)
+                    .with(Sort.by(Sort.Direction.ASC, "_id")).limit(batchSize), tier.type);
+
+            long moved = documents.isEmpty() ? 0 : move(tier, documents, stale);
+            boolean passDone = documents.size() < batchSize;
+            state.setLastId(passDone ? null : tier.idOf.apply(documents.get(documents.size() - 1)));
+            state.setArchivedInPass(state.getArchivedInPass() + moved);
+            state.setArchivedTotal(state.getArchivedTotal() + moved);
+            state.setUpdatedAt(LocalDateTime.now());
+            mongoTemplate.save(state);
+            tier.archived.increment(moved);
+            archived += moved;
+
+            if (passDone) {
+                log.info("Tiering pass over {} finished: {} documents archived", tier.collection, state.getArchivedInPass());
+                break;
+            }
+            pause();
+        }
+        return archived;
+    }
+
+    /**
+     * Copies first and then deletes only what is still stale, so a crash in
+     * between leaves a duplicate for the next pass to overwrite, never a
+     * loss. A document written meanwhile stays hot and its fresh archive copy
+     * is dropped, so no id is counted in both tiers.
+     */
+    private <T> long move(Tier<T> tier, List<T> documents, Criteria stale) {
+        BulkOperations copy = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, tier.type, tier.archiveCollection);
+        List<String> ids = new ArrayList<>();
+        for (T document : documents) {
+            String id = tier.idOf.apply(document);
+            ids.add(id);
+            copy.replaceOne(new Query(Criteria.where("_id").is(id)), document, FindAndReplaceOptions.options().upsert());
+        }
+        copy.execute();
+        long moved = mongoTemplate.remove(new Query(new Criteria().andOperator(Criteria.where("_id").in(ids), stale)),
+                tier.type).getDeletedCount();
+        if (moved < ids.size()) {
+            Query stayed = new Query(Criteria.where("_id").in(ids));
+            stayed.fields().include("_id");
+            List<String> hotIds = new ArrayList<>();
+            for (T document : mongoTemplate.find(stayed, tier.type)) {
+                hotIds.add(tier.idOf.apply(document));
+            }
+            if (!hotIds.isEmpty()) {
+                mongoTemplate.remove(new Query(Criteria.where("_id").in(hotIds)), tier.type, tier.archiveCollection);
+            }
+        }
+        return moved;
+    }
+
+    private void pause() {
+        if (batchPauseMs <= 0) {
+            return;
+        }
+        try {
+            Thread.sleep(batchPauseMs);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Tiering interrupted", e);
+        }
+    }
+
+    private static final class Tier<T> {
+        final String collection;
+        final Class<T> type;
+        final String archiveCollection;
+        final String createdField;
+        final String activityField;
+        final Function<T, String> idOf;
+        final Counter archived;
+
+        Tier(String collection, Class<T> type, String archiveCollection, String createdField, String activityField,
+             Function<T, String> idOf, MeterRegistry meterRegistry) {
+            this.collection = collection;
+            this.type = type;
+            this.archiveCollection = archiveCollection;
+            this.createdField = createdField;
+            this.activityField = activityField;
+            this.idOf = idOf;
+            this.archived = Counter.builder("skillshare.tiering.archived")
+                    .tag("collection", collection)
+                    .register(meterRegistry);
+        }
+    }
+}
@@ -0,0 +1,184 @@
+package com.skillshare.service.impl;
+
+import com.skillshare.model.User;
+import com.skillshare.repository.UserRepository;
+import com.skillshare.service.UserAvailabilityService;
+import com.skillshare.util.CuckooFilter;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.function.BooleanSupplier;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+@Service
+public class UserAvailabilityServiceImpl implements UserAvailabilityService {
+
+    private static final Logger log = LoggerFactory.getLogger(UserAvailabilityServiceImpl.class);
+    // Extra capacity so users created between rebuilds keep the load factor low
+    private static final double HEADROOM = 1.5;
+
+    private final UserRepository userRepository;
+    private final Counter definitelyAvailable;
+    private final Counter possibleHits;
+    private final Counter falsePositives;
+
+    // Null until the first build completes; every check goes to the database until then
+    private volatile Filters filters;
+    private List<Consumer<Filters>> pendingChanges;
+
+    public UserAvailabilityServiceImpl(UserRepository userRepository, MeterRegistry meterRegistry) {
+        this.userRepository = userRepository;
+        this.definitelyAvailable = Counter.builder("skillshare.availability.lookups")
+                .tag("result", "definitely_available").register(meterRegistry);
+        this.possibleHits = Counter.builder("skillshare.availability.lookups")
+                .tag("result", "possible_hit").register(meterRegistry);
+        this.falsePositives = Counter.builder("skillshare.availability.false_positives")
+                .register(meterRegistry);
+        Gauge.builder("skillshare.availability.false_positive_rate", this, UserAvailabilityServiceImpl::falsePositiveRate)
+                .description("False positives / (false positives + true negatives) since startup")
+                .register(meterRegistry);
+        Gauge.builder("skillshare.availability.filter_load", this, UserAvailabilityServiceImpl::loadFactor)
+                .register(meterRegistry);
+    }
+
+    @Override
+    public boolean isUsernameTaken(String username) {
+        if (username == null) {
+            return false;
+        }
+        Filters current = filters;
+        return check(current == null ? null : current.usernames, username,
+                () -> userRepository.existsByUsername(username));
+    }
+
+    @Override
+    public boolean isEmailTaken(String email) {
+        if (email == null) {
+            return false;
+        }
+        Filters current = filters;
+        return check(current == null ? null : current.emails, email,
+                () -> userRepository.existsByEmail(email));
+    }
+
+    @Override
+    public synchronized void onUserSaved(String previousUsername, String previousEmail, User user) {
+        Consumer<Filters> change = f -> {
+            replace(f.usernames, previousUsername, user.getUsername());
+            replace(f.emails, previousEmail, user.getEmail());
+        };
+        apply(change);
+    }
+
+    @Override
+    public synchronized void onUserDeleted(User user) {
+        Consumer<Filters> change = f -> {
+            replace(f.usernames, user.getUsername(), null);
+            replace(f.emails, user.getEmail(), null);
+        };
+        apply(change);
+    }
+
+    @Override
+    public void rebuild() {
+        synchronized (this) {
+            if (pendingChanges != null) {
+                return;
+            }
+            pendingChanges = new ArrayList<>();
+        }
+
+        try {
+            int expected = (int) Math.min(Integer.MAX_VALUE / 4, (long) (userRepository.count() * HEADROOM) + 1024);
+            Filters built = new Filters(new CuckooFilter(expected), new CuckooFilter(expected));
+            try (Stream<User> users = userRepository.streamUsernamesAndEmailsBy()) {
+                users.forEach(user -> {
+                    if (user.getUsername() != null) {
+                        built.usernames.add(user.getUsername());
+                    }
+                    if (user.getEmail() != null) {
+                        built.emails.add(user.getEmail());
+                    }
+                });
+            }
+
+            synchronized (this) {
+                pendingChanges.forEach(change -> change.accept(built));
+                filters = built;
+            }
+            log.info("Username/email filters built for {} users (load {})",
+                    built.usernames.size(), String.format("%.2f", built.usernames.loadFactor()));
+        } finally {
+            synchronized (this) {
+                pendingChanges = null;
+            }
+        }
+    }
+
+    private boolean check(CuckooFilter filter, String value, BooleanSupplier lookup) {
+        if (filter != null && !filter.mightContain(value)) {
+            definitelyAvailable.increment();
+            return false;
+        }
+        boolean exists = lookup.getAsBoolean();
+        if (filter != null) {
+            possibleHits.increment();
+            if (!exists) {
+                falsePositives.increment();
+            }
+        }
+        return exists;
+    }
+
+    // Caller must hold the lock
+    private void apply(Consumer<Filters> change) {
+        Filters current = filters;
+        if (current != null) {
+            change.accept(current);
+        }
+        if (pendingChanges != null) {
+            pendingChanges.add(change);
+        }
+    }
+
+    private static void replace(CuckooFilter filter, String previous, String next) {
+        if (Objects.equals(previous, next)) {
+            return;
+        }
+        if (previous != null) {
+            filter.remove(previous);
+        }
+        if (next != null) {
+            filter.add(next);
+        }
+    }
+
+    private double falsePositiveRate() {
+        double fp = falsePositives.count();
+        double negatives = fp + definitelyAvailable.count();
+        return negatives == 0 ? 0 : fp / negatives;
+    }
+
+    private double loadFactor() {
+        Filters current = filters;
+        return current == null ? 0 : current.usernames.loadFactor();
+    }
+
+    private static final class Filters {
+        final CuckooFilter usernames;
+        final CuckooFilter emails;
+
+        Filters(CuckooFilter usernames, CuckooFilter emails) {
+            this.usernames = usernames;
+            this.emails = emails;
+        }
+    }
+}
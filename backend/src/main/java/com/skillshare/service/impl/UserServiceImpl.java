@@ -1,20 +1,77 @@
 package com.skillshare.service.impl;
 
+import com.mongodb.client.result.UpdateResult;
+import com.skillshare.model.DeletionJob;
+import com.skillshare.model.FollowEdge;
+import com.skillshare.model.FollowPage;
+import com.skillshare.model.Notification;
 import com.skillshare.model.User;
+import com.skillshare.model.UserSummary;
+import com.skillshare.repository.FollowEdgeRepository;
 import com.skillshare.repository.UserRepository;
+import com.skillshare.service.CascadeDeletionService;
+import com.skillshare.service.FollowSuggestionService;
+import com.skillshare.service.NotificationService;
+import com.skillshare.service.UserAvailabilityService;
 import com.skillshare.service.UserService;
+import com.skillshare.service.UserStatsService;
+import com.skillshare.util.SingleFlight;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
 import org.springframework.stereotype.Service;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.Base64;
+import java.util.stream.Collectors;
 
 @Service
 public class UserServiceImpl implements UserService {
 
-    private final UserRepository userRepository;
+    private static final Logger log = LoggerFactory.getLogger(UserServiceImpl.class);
+    private static final int MAX_FOLLOW_PAGE_SIZE = 100;
 
-    public UserServiceImpl(UserRepository userRepository) {
+    private final UserRepository userRepository;
+    private final FollowEdgeRepository followEdgeRepository;
+    private final MongoTemplate mongoTemplate;
+    private final FollowSuggestionService followSuggestionService;
+    private final UserAvailabilityService userAvailabilityService;
+    private final CascadeDeletionService cascadeDeletionService;
+    private final UserStatsService userStatsService;
+    private final NotificationService notificationService;
+    private final SingleFlight<String, Optional<User>> userReads;
+
+    public UserServiceImpl(UserRepository userRepository,
+                           FollowEdgeRepository followEdgeRepository,
+                           MongoTemplate mongoTemplate,
+                           FollowSuggestionService followSuggestionService,
+                           UserAvailabilityService userAvailabilityService,
+                           CascadeDeletionService cascadeDeletionService,
+                           UserStatsService userStatsService,
+                           NotificationService notificationService,
+                           MeterRegistry meterRegistry,
+                           @Value("${skillshare.singleflight.timeout-ms:2000}") long timeoutMs) {
         this.userRepository = userRepository;
+        this.followEdgeRepository = followEdgeRepository;
+        this.mongoTemplate = mongoTemplate;
+        this.followSuggestionService = followSuggestionService;
+        this.userAvailabilityService = userAvailabilityService;
+        this.cascadeDeletionService = cascadeDeletionService;
+        this.userStatsService = userStatsService;
+        this.notificationService = notificationService;
+        this.userReads = new SingleFlight<>("user", Duration.ofMillis(timeoutMs), meterRegistry);
     }
 
     @Override
@@ -22,12 +79,20 @@ public class UserServiceImpl implements UserService {
         // In a real application, you would hash the password before storing it
         // user.setPassword(bCryptPasswordEncoder.encode(user.getPassword()));
 
-        return userRepository.save(user);
+        User saved;
+        try {
+            saved = userRepository.save(user);
+        } catch (DuplicateKeyException e) {
+            // Lost a race with a concurrent registration; the unique index is the final check
+            throw new RuntimeException(duplicateMessage(e));
+        }
+        userAvailabilityService.onUserSaved(null, null, saved);
+        return saved;
     }
 
     @Override
     public Optional<User> getUserById(String id) {
-        return userRepository.findById(id);
+        return userReads.execute(id, () -> userRepository.findById(id));
     }
 
     @Override
@@ -55,114 +120,213 @@ public class UserServiceImpl implements UserService {
         }
 
         User existingUser = existingUserOpt.get();
+        String previousUsername = existingUser.getUsername();
+        String previousEmail = existingUser.getEmail();
+
+        // $set only the edited fields; follow counters and badges change concurrently
+        Update update = new Update();
 
         // Update user fields but preserve sensitive information
         if (user.getUsername() != null) {
             // If username is changing, check if the new username is already taken
-            if (!existingUser.getUsername().equals(user.getUsername()) &&
-                    userRepository.existsByUsername(user.getUsername())) {
+            if (!user.getUsername().equals(existingUser.getUsername()) &&
+                    userAvailabilityService.isUsernameTaken(user.getUsername())) {
                 throw new RuntimeException("Username already taken");
             }
-            existingUser.setUsername(user.getUsername());
+            update.set("username", user.getUsername());
         }
 
         if (user.getEmail() != null) {
             // If email is changing, check if the new email is already taken
-            if (!existingUser.getEmail().equals(user.getEmail()) &&
-                    userRepository.existsByEmail(user.getEmail())) {
+            if (!user.getEmail().equals(existingUser.getEmail()) &&
+                    userAvailabilityService.isEmailTaken(user.getEmail())) {
                 throw new RuntimeException("Email already in use");
             }
-            existingUser.setEmail(user.getEmail());
+            update.set("email", user.getEmail());
         }
 
         // Update non-sensitive fields
         if (user.getProfilePicture() != null) {
-            existingUser.setProfilePicture(user.getProfilePicture());
+            update.set("profilePicture", user.getProfilePicture());
         }
 
         // Only update password if it's provided and not empty
         if (user.getPassword() != null && !user.getPassword().isEmpty()) {
             // In production, you should use password hashing here
-            // existingUser.setPassword(bCryptPasswordEncoder.encode(user.getPassword()));
-            existingUser.setPassword(user.getPassword());
+            // update.set("password", bCryptPasswordEncoder.encode(user.getPassword()));
+            update.set("password", user.getPassword());
         }
 
         // Update other fields as needed
         if (user.getRole() != null) {
-            existingUser.setRole(user.getRole());
+            update.set("role", user.getRole());
         }
 
-        return userRepository.save(existingUser);
+        if (update.getUpdateObject().isEmpty()) {
+            return existingUser;
+        }
+        User saved;
+        try {
+            saved = mongoTemplate.findAndModify(byId(user.getId()), update,
+                    FindAndModifyOptions.options().returnNew(true), User.class);
+        } catch (DuplicateKeyException e) {
+            // Another account claimed the name or email after the availability check
+            throw new RuntimeException(duplicateMessage(e));
+        }
+        if (saved == null) {
+            throw new RuntimeException("User not found with ID: " + user.getId());
+        }
+        userAvailabilityService.onUserSaved(previousUsername, previousEmail, saved);
+        return saved;
+    }
+
+    // Which unique index rejected the write, as the message the controllers map to 409
+    private static String duplicateMessage(DuplicateKeyException e) {
+        return e.getMessage() != null && e.getMessage().contains("email")
+                ? "Email already in use" : "Username already taken";
     }
 
     @Override
-    public void deleteUser(String id) {
+    public DeletionJob deleteUser(String id) {
         // Check if user exists
-        if (!userRepository.existsById(id)) {
+        Optional<User> userOpt = userRepository.findById(id);
+        if (userOpt.isEmpty()) {
             throw new RuntimeException("User not found with ID: " + id);
         }
 
-        // In a real application, you might want to:
-        // 1. Delete or anonymize user's posts
-        // 2. Delete or anonymize user's comments
-        // 3. Remove user from followers/following lists
-        // 4. Handle any other related data
-
-        // For now, simply delete the user
+        // Queue the cleanup first so a crash after the delete cannot orphan
+        // the user's posts, comments, progress and follow edges
+        DeletionJob job = cascadeDeletionService.enqueueUserDeletion(id);
         userRepository.deleteById(id);
+        userAvailabilityService.onUserDeleted(userOpt.get());
 
         // Log the deletion for audit purposes
-        System.out.println("User deleted: " + id);
+        log.info("User deleted: {} (cleanup job {})", id, job.getId());
+        return job;
     }
 
     @Override
     public boolean existsByUsername(String username) {
-        return userRepository.existsByUsername(username);
+        return userAvailabilityService.isUsernameTaken(username);
     }
 
     @Override
     public boolean existsByEmail(String email) {
-        return userRepository.existsByEmail(email);
+        return userAvailabilityService.isEmailTaken(email);
     }
 
     @Override
     public void addBadge(String userId, String badge) {
-        Optional<User> userOpt = userRepository.findById(userId);
-        if (userOpt.isPresent()) {
-            User user = userOpt.get();
-            if (!user.getBadges().contains(badge)) {
-                user.getBadges().add(badge);
-                userRepository.save(user);
-            }
-        } else {
+        // Matches only while the badge is missing, so a repeat award changes nothing
+        UpdateResult result = mongoTemplate.updateFirst(
+                new Query(Criteria.where("_id").is(userId).and("badges").ne(badge)),
+                new Update().addToSet("badges", badge), User.class);
+        if (result.getModifiedCount() > 0) {
+            userStatsService.addBadge(userId, badge);
+        } else if (!userRepository.existsById(userId)) {
             throw new RuntimeException("User not found with ID: " + userId);
         }
     }
 
     @Override
     public void followUser(String userId, String followedUserId) {
-        Optional<User> userOpt = userRepository.findById(userId);
-        if (userOpt.isPresent()) {
-            User user = userOpt.get();
-            if (!user.getFollowingUsers().contains(followedUserId)) {
-                user.getFollowingUsers().add(followedUserId);
-                userRepository.save(user);
-            }
-        } else {
+        if (userId.equals(followedUserId)) {
+            throw new IllegalArgumentException("Users cannot follow themselves");
+        }
+        if (!userRepository.existsById(userId)) {
             throw new RuntimeException("User not found with ID: " + userId);
         }
+        if (!userRepository.existsById(followedUserId)) {
+            throw new RuntimeException("User not found with ID: " + followedUserId);
+        }
+
+        // The unique (followerId, followeeId) index makes the edge insert the
+        // single point of truth for whether anything changed
+        try {
+            followEdgeRepository.insert(new FollowEdge(userId, followedUserId));
+        } catch (DuplicateKeyException e) {
+            return;
+        }
+
+        mongoTemplate.updateFirst(byId(userId),
+                new Update().addToSet("followingUsers", followedUserId).inc("followingCount", 1), User.class);
+        mongoTemplate.updateFirst(byId(followedUserId),
+                new Update().inc("followerCount", 1), User.class);
+        userStatsService.incrementFollows(userId, followedUserId, 1);
+        followSuggestionService.onFollow(userId, followedUserId);
+        notificationService.notify(followedUserId, Notification.Type.FOLLOW, null, userId, null);
     }
 
     @Override
     public void unfollowUser(String userId, String unfollowedUserId) {
-        Optional<User> userOpt = userRepository.findById(userId);
-        if (userOpt.isPresent()) {
-            User user = userOpt.get();
-            user.getFollowingUsers().remove(unfollowedUserId);
-            userRepository.save(user);
-        } else {
+        if (!userRepository.existsById(userId)) {
             throw new RuntimeException("User not found with ID: " + userId);
         }
+
+        long removed = followEdgeRepository.deleteByFollowerIdAndFolloweeId(userId, unfollowedUserId);
+        if (removed == 0) {
+            return;
+        }
+
+        mongoTemplate.updateFirst(byId(userId),
+                new Update().pull("followingUsers", unfollowedUserId).inc("followingCount", -1), User.class);
+        mongoTemplate.updateFirst(byId(unfollowedUserId),
+                new Update().inc("followerCount", -1), User.class);
+        userStatsService.incrementFollows(userId, unfollowedUserId, -1);
+        followSuggestionService.onUnfollow(userId, unfollowedUserId);
+    }
+
+    @Override
+    public FollowPage getFollowers(String userId, String before, int limit) {
+        PageRequest page = PageRequest.of(0, clampPageSize(limit));
+        List<FollowEdge> edges = (before == null || before.isEmpty())
+                ? followEdgeRepository.findByFolloweeIdOrderByIdDesc(userId, page)
+                : followEdgeRepository.findByFolloweeIdAndIdLessThanOrderByIdDesc(userId, before, page);
+
+        List<String> ids = edges.stream().map(FollowEdge::getFollowerId).collect(Collectors.toList());
+        long total = userRepository.findFollowCountsById(userId).map(User::getFollowerCount).orElse(0L);
+        return toFollowPage(edges, ids, page.getPageSize(), total);
+    }
+
+    @Override
+    public FollowPage getFollowing(String userId, String before, int limit) {
+        PageRequest page = PageRequest.of(0, clampPageSize(limit));
+        List<FollowEdge> edges = (before == null || before.isEmpty())
+                ? followEdgeRepository.findByFollowerIdOrderByIdDesc(userId, page)
+                : followEdgeRepository.findByFollowerIdAndIdLessThanOrderByIdDesc(userId, before, page);
+
+        List<String> ids = edges.stream().map(FollowEdge::getFolloweeId).collect(Collectors.toList());
+        long total = userRepository.findFollowCountsById(userId).map(User::getFollowingCount).orElse(0L);
+        return toFollowPage(edges, ids, page.getPageSize(), total);
+    }
+
+    private FollowPage toFollowPage(List<FollowEdge> edges, List<String> userIds, int pageSize, long total) {
+        // One projected $in query for the whole page, then restore edge order
+        Query query = new Query(Criteria.where("_id").in(userIds));
+        query.fields().include(UserSummary.FIELDS);
+        Map<String, UserSummary> usersById = new HashMap<>();
+        for (UserSummary user : mongoTemplate.find(query, UserSummary.class, mongoTemplate.getCollectionName(User.class))) {
+            usersById.put(user.getId(), user);
+        }
+
+        List<UserSummary> users = new ArrayList<>(userIds.size());
+        for (String id : userIds) {
+            UserSummary user = usersById.get(id);
+            if (user != null) {
+                users.add(user);
+            }
+        }
+
+        String nextCursor = edges.size() == pageSize ? edges.get(edges.size() - 1).getId() : null;
+        return new FollowPage(users, nextCursor, total);
+    }
+
+    private static int clampPageSize(int limit) {
+        return Math.max(1, Math.min(limit, MAX_FOLLOW_PAGE_SIZE));
+    }
+
+    private static Query byId(String id) {
+        return new Query(Criteria.where("_id").is(id));
     }
 
     @Override
@@ -0,0 +1,240 @@
+package com.skillshare.service.impl;
+
+import com.skillshare.model.FollowEdge;
+import com.skillshare.model.LearningPath;
+import com.skillshare.model.LearningProgress;
+import com.skillshare.model.Post;
+import com.skillshare.model.User;
+import com.skillshare.model.UserStats;
+import com.skillshare.repository.UserRepository;
+import com.skillshare.repository.UserStatsRepository;
+import com.skillshare.service.UserStatsService;
+import org.bson.Document;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.aggregation.AggregationOperation;
+import org.springframework.data.mongodb.core.aggregation.AggregationOptions;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+@Service
+public class UserStatsServiceImpl implements UserStatsService {
+
+    private static final Logger log = LoggerFactory.getLogger(UserStatsServiceImpl.class);
+    private static final int BULK_BATCH_SIZE = 1000;
+
+    private final MongoTemplate mongoTemplate;
+    private final UserStatsRepository userStatsRepository;
+    private final UserRepository userRepository;
+
+    public UserStatsServiceImpl(MongoTemplate mongoTemplate,
+                                UserStatsRepository userStatsRepository,
+                                UserRepository userRepository) {
+        this.mongoTemplate = mongoTemplate;
+        this.userStatsRepository = userStatsRepository;
+        this.userRepository = userRepository;
+    }
+
+    @Override
+    public Optional<UserStats> getStats(String userId) {
+        Optional<UserStats> stats = userStatsRepository.findById(userId);
+        if (stats.isPresent()) {
+            return stats;
+        }
+        if (!userRepository.existsById(userId)) {
+            return Optional.empty();
+        }
+        return Optional.of(reconcile(userId));
+    }
+
+    @Override
+    public void incrementPosts(String userId, long delta) {
+        inc(userId, "postCount", delta);
+    }
+
+    @Override
+    public void incrementPaths(String userId, long delta) {
+        inc(userId, "pathCount", delta);
+    }
+
+    @Override
+    public void incrementLikes(String userId, long delta) {
+        inc(userId, "likesReceived", delta);
+    }
+
+    @Override
+    public void incrementFollows(String followerId, String followeeId, long delta) {
+        inc(followerId, "followingCount", delta);
+        inc(followeeId, "followerCount", delta);
+    }
+
+    @Override
+    public void addBadge(String userId, String badge) {
+        mongoTemplate.updateFirst(byId(userId), new Update().addToSet("badges", badge), UserStats.class);
+    }
+
+    @Override
+    public void remove(String userId) {
+        userStatsRepository.deleteById(userId);
+    }
+
+    @Override
+    public UserStats reconcile(String userId) {
+        Map<String, UserStats> stats = new HashMap<>();
+        collectCounts(Criteria.where("userId").is(userId), Criteria.where("comments.userId").is(userId),
+                Criteria.where("followerId").is(userId), Criteria.where("followeeId").is(userId), stats);
+
+        UserStats result = stats.getOrDefault(userId, new UserStats(userId));
+        result.setBadges(userRepository.findById(userId).map(User::getBadges).orElse(new ArrayList<>()));
+        result.setReconciledAt(LocalDateTime.now());
+        return userStatsRepository.save(result);
+    }
+
+    /**
+     * Recomputes every user's stats with one grouped aggregation per source
+     * collection and writes them back in bulk. Increments that land between
+     * the aggregation and the write may be overwritten; the next run fixes them.
+     */
+    @Override
+    public int reconcileAll() {
+        Map<String, UserStats> stats = new HashMap<>();
+        collectCounts(null, null, null, null, stats);
+
+        LocalDateTime now = LocalDateTime.now();
+        int written = 0;
+        BulkOperations ops = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, UserStats.class);
+        int pending = 0;
+        try (Stream<User> users = userRepository.streamBadgesBy()) {
+            for (User user : (Iterable<User>) users::iterator) {
+                UserStats userStats = stats.getOrDefault(user.getId(), new UserStats(user.getId()));
+                ops.upsert(byId(user.getId()), new Update()
+                        .set("postCount", userStats.getPostCount())
+                        .set("pathCount", userStats.getPathCount())
+                        .set("followerCount", userStats.getFollowerCount())
+                        .set("followingCount", userStats.getFollowingCount())
+                        .set("likesReceived", userStats.getLikesReceived())
+                        .set("badges", user.getBadges() == null ? new ArrayList<>() : user.getBadges())
+                        .set("reconciledAt", now));
+                if (++pending == BULK_BATCH_SIZE) {
+                    ops.execute();
+                    written += pending;
+                    pending = 0;
+                    ops = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, UserStats.class);
+                }
+            }
+        }
+        if (pending > 0) {
+            ops.execute();
+            written += pending;
+        }
+        log.info("Reconciled profile stats for {} users", written);
+        return written;
+    }
+
+    /**
+     * Runs the grouped counting pipelines, optionally restricted to one user
+     * (a null criteria means all users), and accumulates the results.
+     */
+    private void collectCounts(Criteria ownedBy, Criteria commentedBy, Criteria following, Criteria followedBy,
+                               Map<String, UserStats> stats) {
+        // Archived posts and progress still count towards profile stats
+        for (String posts : Arrays.asList(mongoTemplate.getCollectionName(Post.class), Post.ARCHIVE_COLLECTION)) {
+            for (Document row : groupBy(posts, ownedBy, null, "userId", "likes")) {
+                UserStats s = statsFor(stats, row);
+                s.setPostCount(s.getPostCount() + count(row));
+                s.setLikesReceived(s.getLikesReceived() + likes(row));
+            }
+            for (Document row : groupBy(posts, commentedBy, "comments", "comments.userId", "comments.likes")) {
+                UserStats s = statsFor(stats, row);
+                s.setLikesReceived(s.getLikesReceived() + likes(row));
+            }
+        }
+        for (Document row : groupBy(LearningPath.class, ownedBy, null, "userId", "likes")) {
+            UserStats s = statsFor(stats, row);
+            s.setPathCount(s.getPathCount() + count(row));
+            s.setLikesReceived(s.getLikesReceived() + likes(row));
+        }
+        for (String progress : Arrays.asList(mongoTemplate.getCollectionName(LearningProgress.class),
+                LearningProgress.ARCHIVE_COLLECTION)) {
+            for (Document row : groupBy(progress, ownedBy, null, "userId", "likes")) {
+                UserStats s = statsFor(stats, row);
+                s.setLikesReceived(s.getLikesReceived() + likes(row));
+            }
+        }
+        for (Document row : groupBy(FollowEdge.class, following, null, "followerId", null)) {
+            UserStats s = statsFor(stats, row);
+            s.setFollowingCount(count(row));
+        }
+        for (Document row : groupBy(FollowEdge.class, followedBy, null, "followeeId", null)) {
+            UserStats s = statsFor(stats, row);
+            s.setFollowerCount(count(row));
+        }
+    }
+
+    // { $match } -> [{ $unwind } -> { $match }] -> { $group: { _id: key, count, likes } }
+    private List<Document> groupBy(Class<?> type, Criteria match, String unwind, String key, String likesField) {
+        return groupBy(mongoTemplate.getCollectionName(type), match, unwind, key, likesField);
+    }
+
+    private List<Document> groupBy(String collection, Criteria match, String unwind, String key, String likesField) {
+        List<AggregationOperation> stages = new ArrayList<>();
+        if (match != null) {
+            stages.add(Aggregation.match(match));
+        }
+        if (unwind != null) {
+            stages.add(context -> new Document("$unwind", "$" + unwind));
+            if (match != null) {
+                // Keep only the unwound elements that belong to the user
+                stages.add(Aggregation.match(match));
+            }
+        }
+        stages.add(context -> new Document("$group", new Document("_id", "$" + key)
+                .append("count", new Document("$sum", 1))
+                .append("likes", new Document("$sum", likesField == null ? 0 : "$" + likesField))));
+
+        Aggregation aggregation = Aggregation.newAggregation(stages)
+                .withOptions(AggregationOptions.builder().allowDiskUse(true).build());
+        return mongoTemplate.aggregate(aggregation, collection, Document.class).getMappedResults();
+    }
+
+    private static UserStats statsFor(Map<String, UserStats> stats, Document row) {
+        Object id = row.get("_id");
+        String userId = id == null ? "" : id.toString();
+        return stats.computeIfAbsent(userId, UserStats::new);
+    }
+
+    private static long count(Document row) {
+        Number value = (Number) row.get("count");
+        return value == null ? 0 : value.longValue();
+    }
+
+    private static long likes(Document row) {
+        Number value = (Number) row.get("likes");
+        return value == null ? 0 : value.longValue();
+    }
+
+    private void inc(String userId, String field, long delta) {
+        if (userId == null || delta == 0) {
+            return;
+        }
+        mongoTemplate.updateFirst(byId(userId), new Update().inc(field, delta), UserStats.class);
+    }
+
+    private static Query byId(String id) {
+        return new Query(Criteria.where("_id").is(id));
+    }
+}
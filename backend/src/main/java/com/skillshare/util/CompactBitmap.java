@@ -0,0 +1,191 @@
+package com.skillshare.util;
+
+import java.util.Arrays;
+
+/**
+ * Compressed set of ints in the style of a roaring bitmap. Values are split
+ * by their high 16 bits into containers; a container holds its low 16 bits
+ * as a sorted char array while sparse (2 bytes per value) and switches to a
+ * fixed 8 KB bitmap once it passes {@value #ARRAY_MAX} values.
+ *
+ * contains is a binary search over containers plus one in the container;
+ * add and remove are O(log n) plus an array shift of at most 8 KB. All
+ * methods are synchronized.
+ */
+public class CompactBitmap {
+
+    private static final int ARRAY_MAX = 4096;
+    // Converting back later than forward keeps a container from flapping
+    private static final int ARRAY_MIN_FROM_BITMAP = ARRAY_MAX / 2;
+    private static final int BITMAP_WORDS = 1 << 10;
+
+    private char[] keys = new char[0];
+    private Container[] containers = new Container[0];
+    private int containerCount;
+    private int cardinality;
+
+    public synchronized int cardinality() {
+        return cardinality;
+    }
+
+    public synchronized boolean contains(int value) {
+        int i = find(high(value));
+        return i >= 0 && containers[i].contains(low(value));
+    }
+
+    public synchronized boolean add(int value) {
+        char high = high(value);
+        int i = find(high);
+        if (i < 0) {
+            i = -i - 1;
+            insertContainer(i, high);
+        }
+        if (!containers[i].add(low(value))) {
+            return false;
+        }
+        cardinality++;
+        return true;
+    }
+
+    public synchronized boolean remove(int value) {
+        int i = find(high(value));
+        if (i < 0 || !containers[i].remove(low(value))) {
+            return false;
+        }
+        cardinality--;
+        if (containers[i].size == 0) {
+            removeContainer(i);
+        }
+        return true;
+    }
+
+    // Approximate heap use of the values, for sizing caches
+    public synchronized long sizeInBytes() {
+        long bytes = 16L + keys.length * 2L + containers.length * 8L;
+        for (int i = 0; i < containerCount; i++) {
+            Container container = containers[i];
+            bytes += 24 + (container.bits != null ? BITMAP_WORDS * 8L : container.values.length * 2L);
+        }
+        return bytes;
+    }
+
+    private int find(char high) {
+        return Arrays.binarySearch(keys, 0, containerCount, high);
+    }
+
+    private void insertContainer(int i, char high) {
+        if (containerCount == keys.length) {
+            int capacity = Math.max(4, containerCount * 2);
+            keys = Arrays.copyOf(keys, capacity);
+            containers = Arrays.copyOf(containers, capacity);
+        }
+        System.arraycopy(keys, i, keys, i + 1, containerCount - i);
+        System.arraycopy(containers, i, containers, i + 1, containerCount - i);
+        keys[i] = high;
+        containers[i] = new Container();
+        containerCount++;
+    }
+
+    private void removeContainer(int i) {
+        System.arraycopy(keys, i + 1, keys, i, containerCount - i - 1);
+        System.arraycopy(containers, i + 1, containers, i, containerCount - i - 1);
+        containerCount--;
+        containers[containerCount] = null;
+    }
+
+    private static char high(int value) {
+        return (char) (value >>> 16);
+    }
+
+    private static char low(int value) {
+        return (char) value;
+    }
+
+    private static final class Container {
+        // Sorted low bits while sparse; null once converted to bits
+        char[] values = new char[4];
+        long[] bits;
+        int size;
+
+        boolean contains(char low) {
+            if (bits != null) {
+                return (bits[low >>> 6] & (1L << low)) != 0;
+            }
+            return Arrays.binarySearch(values, 0, size, low) >= 0;
+        }
+
+        boolean add(char low) {
+            if (bits != null) {
+                long mask = 1L << low;
+                if ((bits[low >>> 6] & mask) != 0) {
+                    return false;
+                }
+                bits[low >>> 6] |= mask;
+                size++;
+                return true;
+            }
+            int i = Arrays.binarySearch(values, 0, size, low);
+            if (i >= 0) {
+                return false;
+            }
+            if (size == ARRAY_MAX) {
+                toBits();
+                return add(low);
+            }
+            i = -i - 1;
+            if (size == values.length) {
+                values = Arrays.copyOf(values, Math.min(ARRAY_MAX, size * 2));
+            }
+            System.arraycopy(values, i, values, i + 1, size - i);
+            values[i] = low;
+            size++;
+            return true;
+        }
+
+        boolean remove(char low) {
+            if (bits != null) {
+                long mask = 1L << low;
+                if ((bits[low >>> 6] & mask) == 0) {
+                    return false;
+                }
+                bits[low >>> 6] &= ~mask;
+                size--;
+                if (size <= ARRAY_MIN_FROM_BITMAP) {
+                    toValues();
+                }
+                return true;
+            }
+            int i = Arrays.binarySearch(values, 0, size, low);
+            if (i < 0) {
+                return false;
+            }
+            System.arraycopy(values, i + 1, values, i, size - i - 1);
+            size--;
+            if (values.length > 16 && size < values.length / 4) {
+                values = Arrays.copyOf(values, values.length / 2);
+            }
+            return true;
+        }
+
+        private void toBits() {
+            bits = new long[BITMAP_WORDS];
+            for (int i = 0; i < size; i++) {
+                bits[values[i] >>> 6] |= 1L << values[i];
+            }
+            values = null;
+        }
+
+        private void toValues() {
+            values = new char[Math.max(4, size)];
+            int n = 0;
+            for (int word = 0; word < BITMAP_WORDS; word++) {
+                long w = bits[word];
+                while (w != 0) {
+                    values[n++] = (char) (word * 64 + Long.numberOfTrailingZeros(w));
+                    w &= w - 1;
+                }
+            }
+            bits = null;
+        }
+    }
+}
@@ -0,0 +1,166 @@
+package com.skillshare.util;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Approximate set membership with deletes: 16-bit fingerprints in buckets of
+ * four, placed by partial-key cuckoo hashing. {@link #mightContain} never
+ * returns false for an item that was added and not removed; it returns true
+ * for absent items with probability of roughly 8 / 2^16 at high load.
+ *
+ * Only remove items that were added, otherwise a colliding fingerprint of a
+ * different item may be dropped. Once an insert fails to find room the
+ * filter is marked saturated and answers true for everything until rebuilt.
+ */
+public class CuckooFilter {
+
+    private static final int SLOTS_PER_BUCKET = 4;
+    private static final int MAX_KICKS = 500;
+
+    private final short[] table;
+    private final int bucketMask;
+    private int size;
+    private boolean saturated;
+    private int kickSeed = 0x2545F491;
+
+    /**
+     * @param expectedItems number of items the filter should hold at ~50% load
+     */
+    public CuckooFilter(int expectedItems) {
+        int buckets = Integer.highestOneBit(Math.max(16, expectedItems * 2 / SLOTS_PER_BUCKET) - 1) << 1;
+        this.table = new short[buckets * SLOTS_PER_BUCKET];
+        this.bucketMask = buckets - 1;
+    }
+
+    public synchronized int size() {
+        return size;
+    }
+
+    public synchronized boolean isSaturated() {
+        return saturated;
+    }
+
+    public synchronized double loadFactor() {
+        return (double) size / table.length;
+    }
+
+    public synchronized boolean add(String item) {
+        long hash = hash(item);
+        short fingerprint = fingerprint(hash);
+        int i1 = (int) hash & bucketMask;
+        int i2 = alternate(i1, fingerprint);
+        if (insertInto(i1, fingerprint) || insertInto(i2, fingerprint)) {
+            size++;
+            return true;
+        }
+
+        // Both buckets full: evict random residents along the cuckoo chain
+        int bucket = nextRandom() % 2 == 0 ? i1 : i2;
+        short carried = fingerprint;
+        for (int kick = 0; kick < MAX_KICKS; kick++) {
+            int slot = bucket * SLOTS_PER_BUCKET + Math.floorMod(nextRandom(), SLOTS_PER_BUCKET);
+            short evicted = table[slot];
+            table[slot] = carried;
+            carried = evicted;
+            bucket = alternate(bucket, carried);
+            if (insertInto(bucket, carried)) {
+                size++;
+                return true;
+            }
+        }
+
+        // The carried fingerprint has no home; answer conservatively from now on
+        saturated = true;
+        return false;
+    }
+
+    public synchronized boolean mightContain(String item) {
+        if (saturated) {
+            return true;
+        }
+        long hash = hash(item);
+        short fingerprint = fingerprint(hash);
+        int i1 = (int) hash & bucketMask;
+        return bucketContains(i1, fingerprint) || bucketContains(alternate(i1, fingerprint), fingerprint);
+    }
+
+    public synchronized boolean remove(String item) {
+        long hash = hash(item);
+        short fingerprint = fingerprint(hash);
+        int i1 = (int) hash & bucketMask;
+        if (removeFrom(i1, fingerprint) || removeFrom(alternate(i1, fingerprint), fingerprint)) {
+            size--;
+            return true;
+        }
+        return false;
+    }
+
+    private boolean insertInto(int bucket, short fingerprint) {
+        int base = bucket * SLOTS_PER_BUCKET;
+        for (int i = 0; i < SLOTS_PER_BUCKET; i++) {
+            if (table[base + i] == 0) {
+                table[base + i] = fingerprint;
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private boolean bucketContains(int bucket, short fingerprint) {
+        int base = bucket * SLOTS_PER_BUCKET;
+        for (int i = 0; i < SLOTS_PER_BUCKET; i++) {
+            if (table[base + i] == fingerprint) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private boolean removeFrom(int bucket, short fingerprint) {
+        int base = bucket * SLOTS_PER_BUCKET;
+        for (int i = 0; i < SLOTS_PER_BUCKET; i++) {
+            if (table[base + i] == fingerprint) {
+                table[base + i] = 0;
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private int alternate(int bucket, short fingerprint) {
+        return (bucket ^ (int) mix(fingerprint & 0xFFFF)) & bucketMask;
+    }
+
+    private int nextRandom() {
+        // xorshift; only used to pick eviction victims
+        kickSeed ^= kickSeed << 13;
+        kickSeed ^= kickSeed >>> 17;
+        kickSeed ^= kickSeed << 5;
+        return kickSeed & Integer.MAX_VALUE;
+    }
+
+    // Zero marks an empty slot, so fingerprints are never zero
+    private static short fingerprint(long hash) {
+        int fp = (int) (hash >>> 48) & 0xFFFF;
+        return (short) (fp == 0 ? 1 : fp);
+    }
+
+    // 64-bit FNV-1a over the UTF-8 bytes followed by a murmur3 finalizer
+    private static long hash(String item) {
+        long h = 0xcbf29ce484222325L;
+        for (byte b : item.getBytes(StandardCharsets.UTF_8)) {
+            h ^= b & 0xFF;
+            h *= 0x100000001b3L;
+        }
+        return mix(h);
+    }
+
+    private static long mix(long h) {
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        h ^= h >>> 33;
+        return h;
+    }
+}
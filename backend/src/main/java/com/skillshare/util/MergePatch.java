@@ -0,0 +1,133 @@
+package com.skillshare.util;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import org.bson.Document;
+import org.springframework.data.mongodb.core.convert.MongoConverter;
+import org.springframework.data.mongodb.core.query.Update;
+
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * Applies a JSON Merge Patch (RFC 7386) to a stored entity and turns the
+ * difference into the smallest Mongo update that produces the result:
+ * changed fields become $set, removed ones $unset, appends to an array
+ * $push, and edits inside arrays whose elements keep their ids in place
+ * become per-element $set. Anything else replaces the field wholesale.
+ */
+public class MergePatch {
+
+    private final ObjectMapper objectMapper;
+    private final MongoConverter mongoConverter;
+
+    public MergePatch(ObjectMapper objectMapper, MongoConverter mongoConverter) {
+        this.objectMapper = objectMapper;
+        this.mongoConverter = mongoConverter;
+    }
+
+    /**
+     * Returns a patched copy of {@code stored}; fields named in
+     * {@code protectedFields} are ignored if present in the patch.
+     */
+    public <T> T apply(T stored, Map<String, Object> patch, Set<String> protectedFields, Class<T> type) {
+        ObjectNode patchNode = objectMapper.valueToTree(patch);
+        patchNode.remove(protectedFields);
+        JsonNode merged = merge(objectMapper.valueToTree(stored), patchNode);
+        try {
+            return objectMapper.treeToValue(merged, type);
+        } catch (Exception e) {
+            throw new IllegalArgumentException("Invalid patch: " + e.getMessage(), e);
+        }
+    }
+
+    public Update diff(Object before, Object after) {
+        Document beforeDocument = new Document();
+        Document afterDocument = new Document();
+        mongoConverter.write(before, beforeDocument);
+        mongoConverter.write(after, afterDocument);
+        Update update = new Update();
+        diffDocuments("", beforeDocument, afterDocument, update);
+        return update;
+    }
+
+    static JsonNode merge(JsonNode target, JsonNode patch) {
+        if (!patch.isObject()) {
+            return patch.deepCopy();
+        }
+        ObjectNode result = target != null && target.isObject()
+                ? ((ObjectNode) target).deepCopy() : ((ObjectNode) patch).objectNode();
+        Iterator<Map.Entry<String, JsonNode>> fields = patch.fields();
+        while (fields.hasNext()) {
+            Map.Entry<String, JsonNode> field = fields.next();
+            if (field.getValue().isNull()) {
+                result.remove(field.getKey());
+            } else {
+                result.set(field.getKey(), merge(result.get(field.getKey()), field.getValue()));
+            }
+        }
+        return result;
+    }
+
+    static void diffDocuments(String prefix, Document before, Document after, Update update) {
+        for (Map.Entry<String, Object> entry : after.entrySet()) {
+            String path = prefix + entry.getKey();
+            if (!before.containsKey(entry.getKey())) {
+                update.set(path, entry.getValue());
+            } else {
+                diffValues(path, before.get(entry.getKey()), entry.getValue(), update);
+            }
+        }
+        for (String key : before.keySet()) {
+            if (!after.containsKey(key)) {
+                update.unset(prefix + key);
+            }
+        }
+    }
+
+    private static void diffValues(String path, Object before, Object after, Update update) {
+        if (Objects.equals(before, after)) {
+            return;
+        }
+        if (before instanceof Document && after instanceof Document) {
+            diffDocuments(path + ".", (Document) before, (Document) after, update);
+        } else if (before instanceof List && after instanceof List) {
+            diffLists(path, (List<?>) before, (List<?>) after, update);
+        } else {
+            update.set(path, after);
+        }
+    }
+
+    private static void diffLists(String path, List<?> before, List<?> after, Update update) {
+        if (before.size() == after.size() && alignedById(before, after)) {
+            for (int i = 0; i < after.size(); i++) {
+                diffValues(path + "." + i, before.get(i), after.get(i), update);
+            }
+        } else if (after.size() > before.size() && after.subList(0, before.size()).equals(before)) {
+            update.push(path).each(after.subList(before.size(), after.size()).toArray());
+        } else {
+            update.set(path, after);
+        }
+    }
+
+    // Elements line up if each pair is the same embedded entity or both are plain values
+    private static boolean alignedById(List<?> before, List<?> after) {
+        for (int i = 0; i < before.size(); i++) {
+            Object b = before.get(i);
+            Object a = after.get(i);
+            if (b instanceof Document && a instanceof Document) {
+                Object id = ((Document) b).get("_id");
+                if (id == null || !id.equals(((Document) a).get("_id"))) {
+                    return false;
+                }
+            } else if (b instanceof Document || a instanceof Document) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
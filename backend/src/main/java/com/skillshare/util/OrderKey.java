@@ -0,0 +1,96 @@
+package com.skillshare.util;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Lexicographic ordering keys: base-62 digit strings compared as plain
+ * strings, read as fractions in [0, 1). A key can always be generated
+ * strictly between two others, so moving an item rewrites only its own key.
+ *
+ * Valid keys are non-empty and never end in '0' (the smallest digit), which
+ * is what guarantees there is room below every key. Repeated inserts at the
+ * same spot grow keys by about one character per six inserts; {@link #spread}
+ * produces short, evenly spaced keys to rebalance with.
+ */
+public final class OrderKey {
+
+    private static final String DIGITS = "0123456789ABCDEFGHIJKLMNOPQRSTUVWXYZabcdefghijklmnopqrstuvwxyz";
+    private static final int BASE = DIGITS.length();
+
+    private OrderKey() {}
+
+    /**
+     * A key strictly between {@code before} and {@code after}; either may be
+     * null to mean the start or the end of the order.
+     */
+    public static String between(String before, String after) {
+        if (before != null && !isValid(before) || after != null && !isValid(after)) {
+            throw new IllegalArgumentException("Invalid order key: " + (before != null && !isValid(before) ? before : after));
+        }
+        if (before != null && after != null && before.compareTo(after) >= 0) {
+            throw new IllegalArgumentException("Order keys out of order: " + before + " >= " + after);
+        }
+
+        String low = before == null ? "" : before;
+        String high = after;
+        StringBuilder key = new StringBuilder();
+        for (int i = 0; ; i++) {
+            int lowDigit = i < low.length() ? DIGITS.indexOf(low.charAt(i)) : 0;
+            int highDigit = high == null ? BASE : DIGITS.indexOf(high.charAt(i));
+            if (lowDigit == highDigit) {
+                key.append(DIGITS.charAt(lowDigit));
+                continue;
+            }
+            int mid = (lowDigit + highDigit) / 2;
+            if (mid > lowDigit) {
+                return key.append(DIGITS.charAt(mid)).toString();
+            }
+            // Adjacent digits: keep the lower one, then anything above the rest of low will do
+            key.append(DIGITS.charAt(lowDigit));
+            high = null;
+        }
+    }
+
+    /**
+     * {@code count} ascending keys spaced evenly over the whole range, all of
+     * the same (minimal) length with room for ~62 inserts between neighbours.
+     */
+    public static List<String> spread(int count) {
+        int width = 1;
+        long range = BASE;
+        while (range < (long) (count + 1) * BASE) {
+            range *= BASE;
+            width++;
+        }
+        long step = range / (count + 1);
+
+        List<String> keys = new ArrayList<>(count);
+        char[] digits = new char[width];
+        for (int i = 1; i <= count; i++) {
+            long value = step * i;
+            for (int d = width - 1; d >= 0; d--) {
+                digits[d] = DIGITS.charAt((int) (value % BASE));
+                value /= BASE;
+            }
+            int length = width;
+            while (digits[length - 1] == '0') {
+                length--;
+            }
+            keys.add(new String(digits, 0, length));
+        }
+        return keys;
+    }
+
+    public static boolean isValid(String key) {
+        if (key == null || key.isEmpty() || key.charAt(key.length() - 1) == '0') {
+            return false;
+        }
+        for (int i = 0; i < key.length(); i++) {
+            if (DIGITS.indexOf(key.charAt(i)) < 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
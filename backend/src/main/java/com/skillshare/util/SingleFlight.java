@@ -0,0 +1,95 @@
+package com.skillshare.util;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+/**
+ * Collapses concurrent loads of the same key into one. The first caller for
+ * a key runs the loader on its own thread; callers arriving while it is in
+ * flight wait for and share its result or exception. Nothing is cached once
+ * the load completes, so a read that starts after a write sees the write.
+ *
+ * A waiting caller that exceeds the timeout stops waiting and runs the
+ * loader itself, or a cheaper fallback where one is given, so a stuck
+ * leader cannot stall every reader of a key.
+ * Shared results are handed to several callers and must not be mutated.
+ */
+public class SingleFlight<K, V> {
+
+    private final ConcurrentHashMap<K, CompletableFuture<V>> inFlight = new ConcurrentHashMap<>();
+    private final long timeoutNanos;
+    private final Counter leaders;
+    private final Counter collapsed;
+    private final Counter timeouts;
+
+    public SingleFlight(String name, Duration timeout, MeterRegistry meterRegistry) {
+        this.timeoutNanos = timeout.toNanos();
+        this.leaders = Counter.builder("skillshare.singleflight.calls")
+                .tag("name", name).tag("result", "leader").register(meterRegistry);
+        this.collapsed = Counter.builder("skillshare.singleflight.calls")
+                .tag("name", name).tag("result", "collapsed").register(meterRegistry);
+        this.timeouts = Counter.builder("skillshare.singleflight.calls")
+                .tag("name", name).tag("result", "timeout").register(meterRegistry);
+    }
+
+    public V execute(K key, Supplier<V> loader) {
+        return execute(key, loader, loader);
+    }
+
+    /**
+     * As {@link #execute(Object, Supplier)}, but a caller that times out
+     * waiting runs {@code onTimeout} instead of the loader, for loads too
+     * expensive to repeat.
+     */
+    public V execute(K key, Supplier<V> loader, Supplier<V> onTimeout) {
+        CompletableFuture<V> mine = new CompletableFuture<>();
+        CompletableFuture<V> existing = inFlight.putIfAbsent(key, mine);
+        if (existing != null) {
+            return await(existing, onTimeout);
+        }
+
+        leaders.increment();
+        try {
+            V value = loader.get();
+            mine.complete(value);
+            return value;
+        } catch (RuntimeException | Error e) {
+            mine.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, mine);
+        }
+    }
+
+    private V await(CompletableFuture<V> leader, Supplier<V> onTimeout) {
+        try {
+            V value = leader.get(timeoutNanos, TimeUnit.NANOSECONDS);
+            collapsed.increment();
+            return value;
+        } catch (TimeoutException e) {
+            timeouts.increment();
+            return onTimeout.get();
+        } catch (ExecutionException e) {
+            collapsed.increment();
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw new IllegalStateException(cause);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for " + leader, e);
+        }
+    }
+}
@@ -0,0 +1,90 @@
+package com.skillshare.util;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * ULID-style identifiers: 48 bits of millisecond timestamp followed by 80
+ * random bits, written as 26 Crockford base32 characters. Ids sort
+ * lexicographically in creation order (to the millisecond across threads,
+ * strictly within a thread), so they can serve as keyset cursors.
+ *
+ * Each thread keeps its own state and draws from {@link ThreadLocalRandom},
+ * so generation takes no locks and never touches SecureRandom. Within one
+ * millisecond a thread increments its random part instead of redrawing it;
+ * if the clock moves backwards it keeps counting from the last timestamp.
+ */
+public final class TimeOrderedId {
+
+    private static final char[] ALPHABET = "0123456789ABCDEFGHJKMNPQRSTVWXYZ".toCharArray();
+    private static final ThreadLocal<State> STATE = ThreadLocal.withInitial(State::new);
+
+    private TimeOrderedId() {}
+
+    public static String next() {
+        return STATE.get().next();
+    }
+
+    /**
+     * The creation time in epoch milliseconds encoded in {@code id}.
+     */
+    public static long timestampOf(String id) {
+        long millis = 0;
+        for (int i = 0; i < 10; i++) {
+            millis = (millis << 5) | decode(id.charAt(i));
+        }
+        return millis;
+    }
+
+    private static int decode(char c) {
+        for (int i = 0; i < ALPHABET.length; i++) {
+            if (ALPHABET[i] == Character.toUpperCase(c)) {
+                return i;
+            }
+        }
+        throw new IllegalArgumentException("Not a time-ordered id character: " + c);
+    }
+
+    private static final class State {
+        private long lastMillis = -1;
+        // 80 random bits: the upper 16 in high, the lower 64 in low
+        private int high;
+        private long low;
+
+        String next() {
+            long now = System.currentTimeMillis();
+            if (now > lastMillis) {
+                lastMillis = now;
+                ThreadLocalRandom random = ThreadLocalRandom.current();
+                high = random.nextInt() & 0xFFFF;
+                low = random.nextLong();
+            } else if (++low == 0) {
+                high = (high + 1) & 0xFFFF;
+                if (high == 0) {
+                    // 2^80 ids in one millisecond; borrow the next one
+                    lastMillis++;
+                }
+            }
+            return encode(lastMillis, high, low);
+        }
+
+        private static String encode(long millis, int high, long low) {
+            char[] out = new char[26];
+            for (int i = 0; i < 10; i++) {
+                out[i] = ALPHABET[(int) (millis >>> (45 - 5 * i)) & 31];
+            }
+            for (int i = 0; i < 16; i++) {
+                int shift = 75 - 5 * i;
+                long bits;
+                if (shift >= 64) {
+                    bits = high >>> (shift - 64);
+                } else if (shift > 59) {
+                    bits = (low >>> shift) | ((long) high << (64 - shift));
+                } else {
+                    bits = low >>> shift;
+                }
+                out[10 + i] = ALPHABET[(int) bits & 31];
+            }
+            return new String(out);
+        }
+    }
+}
@@ -0,0 +1,21 @@
+package com.skillshare.util;
+
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+
+/**
+ * Queries for optimistic writes against the {@code version} field that paths
+ * and progress records bump on every content edit.
+ */
+public final class VersionGuard {
+
+    private VersionGuard() {}
+
+    // Missing version fields predate versioning and count as version 0
+    public static Query atVersion(String id, long version) {
+        Criteria versionCriteria = version == 0
+                ? Criteria.where("version").in(0L, null)
+                : Criteria.where("version").is(version);
+        return new Query(Criteria.where("_id").is(id).andOperator(versionCriteria));
+    }
+}
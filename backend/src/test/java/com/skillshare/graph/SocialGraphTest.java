@@ -0,0 +1,62 @@
+package com.skillshare.graph;
+
+import com.skillshare.model.FollowSuggestion;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SocialGraphTest {
+
+	@Test
+	void suggestsSecondHopUsersRankedByMutualCount() {
+		SocialGraph graph = new SocialGraph.Builder()
+				.addEdges("alice", List.of("bob", "carol"))
+				.addEdges("bob", List.of("dave", "erin", "alice"))
+				.addEdges("carol", List.of("dave", "bob"))
+				.build();
+
+		List<FollowSuggestion> suggestions = graph.suggest("alice", 10);
+
+		assertEquals(2, suggestions.size());
+		assertEquals("dave", suggestions.get(0).getUserId());
+		assertEquals(2, suggestions.get(0).getMutualCount());
+		assertEquals("erin", suggestions.get(1).getUserId());
+	}
+
+	@Test
+	void appliesFollowAndUnfollowDeltas() {
+		SocialGraph graph = new SocialGraph.Builder()
+				.addEdges("alice", List.of("bob"))
+				.addEdges("bob", List.of("carol"))
+				.build();
+
+		graph.addEdge("alice", "carol");
+		graph.removeEdge("alice", "bob");
+		graph.addEdge("carol", "frank");
+
+		assertEquals(List.of("carol"), graph.following("alice"));
+		assertEquals("frank", graph.suggest("alice", 5).get(0).getUserId());
+		assertEquals(3, graph.edgeCount());
+	}
+
+	@Test
+	void parallelTraversalMatchesLargeFanOut() {
+		SocialGraph.Builder builder = new SocialGraph.Builder();
+		List<String> followees = new ArrayList<>();
+		for (int i = 0; i < 500; i++) {
+			followees.add("f" + i);
+			builder.addEdges("f" + i, List.of("popular", "u" + (i % 7)));
+		}
+		SocialGraph graph = builder.addEdges("me", followees).build();
+
+		List<FollowSuggestion> suggestions = graph.suggest("me", 3);
+
+		assertEquals("popular", suggestions.get(0).getUserId());
+		assertEquals(500, suggestions.get(0).getMutualCount());
+		assertTrue(suggestions.get(1).getMutualCount() >= suggestions.get(2).getMutualCount());
+	}
+}
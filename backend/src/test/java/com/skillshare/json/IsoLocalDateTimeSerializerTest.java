@@ -0,0 +1,41 @@
+package com.skillshare.json;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class IsoLocalDateTimeSerializerTest {
+
+	private final ObjectMapper mapper = new ObjectMapper()
+			.registerModule(new SimpleModule().addSerializer(LocalDateTime.class, new IsoLocalDateTimeSerializer()));
+
+	@Test
+	void matchesIsoFormatter() throws Exception {
+		Random random = new Random(42);
+		for (int i = 0; i < 10000; i++) {
+			int nano = switch (i % 4) {
+				case 0 -> 0;
+				case 1 -> random.nextInt(1000) * 1_000_000;
+				case 2 -> random.nextInt(1_000_000) * 1000;
+				default -> random.nextInt(1_000_000_000);
+			};
+			LocalDateTime value = LocalDateTime.of(random.nextInt(10000), 1 + random.nextInt(12), 1 + random.nextInt(28),
+					random.nextInt(24), random.nextInt(60), random.nextInt(60), nano);
+
+			String expected = "\"" + DateTimeFormatter.ISO_LOCAL_DATE_TIME.format(value) + "\"";
+			assertEquals(expected, mapper.writeValueAsString(value));
+		}
+	}
+
+	@Test
+	void fallsBackForYearsOutsideFourDigits() throws Exception {
+		LocalDateTime value = LocalDateTime.of(12345, 6, 7, 8, 9, 10);
+		assertEquals("\"" + DateTimeFormatter.ISO_LOCAL_DATE_TIME.format(value) + "\"", mapper.writeValueAsString(value));
+	}
+}
@@ -0,0 +1,82 @@
+package com.skillshare.leaderboard;
+
+import com.skillshare.model.LeaderboardEntry;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class RankedSetTest {
+
+	@Test
+	void ranksByScoreThenMember() {
+		RankedSet board = new RankedSet(false);
+		board.put("carol", 5);
+		board.put("alice", 9);
+		board.put("bob", 5);
+		board.put("dave", 1);
+
+		assertEquals(0, board.rank("alice"));
+		assertEquals(1, board.rank("bob"));
+		assertEquals(2, board.rank("carol"));
+		assertEquals(3, board.rank("dave"));
+		assertEquals(-1, board.rank("erin"));
+	}
+
+	@Test
+	void updatesMoveMembersAndKeepRangesConsistent() {
+		RankedSet board = new RankedSet(false);
+		for (int i = 0; i < 1000; i++) {
+			board.put("user" + i, i);
+		}
+		board.increment("user0", 5000);
+		board.remove("user999");
+
+		assertEquals(999, board.size());
+		assertEquals(0, board.rank("user0"));
+		List<LeaderboardEntry> window = board.around("user500", 2);
+		assertEquals(5, window.size());
+		assertEquals("user502", window.get(0).getUserId());
+		assertEquals("user500", window.get(2).getUserId());
+		assertEquals(board.rank("user500") + 1, window.get(2).getRank());
+	}
+
+	@Test
+	void ascendingBoardsRankLowestFirstAndSurviveSnapshots() throws Exception {
+		RankedSet board = new RankedSet(true);
+		board.put("slow", 900);
+		board.put("fast", 60);
+
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		board.writeTo(new DataOutputStream(bytes));
+		RankedSet restored = new RankedSet(true);
+		restored.readFrom(new DataInputStream(new ByteArrayInputStream(bytes.toByteArray())));
+
+		assertEquals("fast", restored.range(0, 1).get(0).getUserId());
+		assertEquals(1, restored.rank("slow"));
+	}
+
+	@Test
+	void snapshotPartsReassembleTheWholeBoard() throws Exception {
+		RankedSet board = new RankedSet(false);
+		for (int i = 0; i < 250; i++) {
+			board.put("user" + i, i);
+		}
+
+		List<byte[]> parts = board.writeParts(100);
+		assertEquals(3, parts.size());
+		RankedSet restored = new RankedSet(false);
+		for (byte[] part : parts) {
+			restored.readFrom(new DataInputStream(new ByteArrayInputStream(part)));
+		}
+
+		assertEquals(250, restored.size());
+		assertEquals(0, restored.rank("user249"));
+		assertEquals(1, new RankedSet(false).writeParts(100).size());
+	}
+}
@@ -0,0 +1,55 @@
+package com.skillshare.media;
+
+import org.junit.jupiter.api.Test;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ImageResizerTest {
+
+	@Test
+	void rendersVariantsWithinBoundsKeepingAspectRatio() throws IOException {
+		byte[] source = encode(new BufferedImage(1600, 1200, BufferedImage.TYPE_INT_RGB), "jpeg");
+
+		Map<ImageVariant, ImageResizer.Rendered> variants =
+				ImageResizer.render(new ByteArrayInputStream(source), ImageVariant.values());
+
+		ImageResizer.Rendered medium = variants.get(ImageVariant.MEDIUM);
+		ImageResizer.Rendered thumb = variants.get(ImageVariant.THUMB);
+		assertEquals(800, medium.getWidth());
+		assertEquals(600, medium.getHeight());
+		assertEquals(200, thumb.getWidth());
+		assertEquals(150, thumb.getHeight());
+		assertEquals("image/jpeg", thumb.getContentType());
+		assertEquals(200, ImageIO.read(new ByteArrayInputStream(thumb.getData())).getWidth());
+	}
+
+	@Test
+	void keepsAlphaAsPngAndSkipsVariantsLargerThanSource() throws IOException {
+		byte[] source = encode(new BufferedImage(500, 250, BufferedImage.TYPE_INT_ARGB), "png");
+
+		Map<ImageVariant, ImageResizer.Rendered> variants =
+				ImageResizer.render(new ByteArrayInputStream(source), ImageVariant.values());
+
+		assertEquals(1, variants.size());
+		assertEquals("image/png", variants.get(ImageVariant.THUMB).getContentType());
+	}
+
+	@Test
+	void ignoresNonImages() throws IOException {
+		assertTrue(ImageResizer.render(new ByteArrayInputStream("not an image".getBytes()), ImageVariant.values()).isEmpty());
+	}
+
+	private static byte[] encode(BufferedImage image, String format) throws IOException {
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		ImageIO.write(image, format, out);
+		return out.toByteArray();
+	}
+}
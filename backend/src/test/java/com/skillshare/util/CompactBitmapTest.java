@@ -0,0 +1,56 @@
+package com.skillshare.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashSet;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class CompactBitmapTest {
+
+	@Test
+	void matchesAHashSetUnderRandomAddsAndRemoves() {
+		Random random = new Random(7);
+		CompactBitmap bitmap = new CompactBitmap();
+		Set<Integer> expected = new HashSet<>();
+		for (int i = 0; i < 200000; i++) {
+			// Dense low range forces bitmap containers, the wide range array ones
+			int value = random.nextBoolean() ? random.nextInt(20000) : random.nextInt(Integer.MAX_VALUE);
+			if (random.nextInt(3) == 0) {
+				assertEquals(expected.remove(value), bitmap.remove(value));
+			} else {
+				assertEquals(expected.add(value), bitmap.add(value));
+			}
+		}
+		assertEquals(expected.size(), bitmap.cardinality());
+		for (int value : expected) {
+			assertTrue(bitmap.contains(value));
+		}
+		for (int i = 0; i < 20000; i++) {
+			assertEquals(expected.contains(i), bitmap.contains(i));
+		}
+	}
+
+	@Test
+	void staysCompactAndShrinksBack() {
+		CompactBitmap bitmap = new CompactBitmap();
+		for (int i = 0; i < 100000; i++) {
+			bitmap.add(i);
+		}
+		// Two full containers as bits: about one bit per value
+		assertTrue(bitmap.sizeInBytes() < 100000 / 8 + 8192 + 256, String.valueOf(bitmap.sizeInBytes()));
+		for (int i = 0; i < 100000; i++) {
+			if (i % 1000 != 0) {
+				assertTrue(bitmap.remove(i));
+			}
+		}
+		assertEquals(100, bitmap.cardinality());
+		assertTrue(bitmap.sizeInBytes() < 2048, String.valueOf(bitmap.sizeInBytes()));
+		assertTrue(bitmap.contains(5000));
+		assertFalse(bitmap.contains(5001));
+	}
+}
@@ -0,0 +1,50 @@
+package com.skillshare.util;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class CuckooFilterTest {
+
+	@Test
+	void neverReportsAddedItemsAsAbsent() {
+		CuckooFilter filter = new CuckooFilter(10000);
+		for (int i = 0; i < 10000; i++) {
+			assertTrue(filter.add("user" + i));
+		}
+		for (int i = 0; i < 10000; i++) {
+			assertTrue(filter.mightContain("user" + i));
+		}
+		assertFalse(filter.isSaturated());
+		assertEquals(10000, filter.size());
+	}
+
+	@Test
+	void keepsFalsePositiveRateLow() {
+		CuckooFilter filter = new CuckooFilter(10000);
+		for (int i = 0; i < 10000; i++) {
+			filter.add("user" + i);
+		}
+		int falsePositives = 0;
+		for (int i = 0; i < 100000; i++) {
+			if (filter.mightContain("other" + i)) {
+				falsePositives++;
+			}
+		}
+		assertTrue(falsePositives < 500, "false positives: " + falsePositives);
+	}
+
+	@Test
+	void removesItems() {
+		CuckooFilter filter = new CuckooFilter(100);
+		filter.add("alice");
+		filter.add("bob");
+
+		assertTrue(filter.remove("alice"));
+		assertFalse(filter.mightContain("alice"));
+		assertTrue(filter.mightContain("bob"));
+		assertEquals(1, filter.size());
+	}
+}
@@ -0,0 +1,105 @@
+package com.skillshare.util;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.skillshare.model.LearningPath;
+import org.bson.Document;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.mongodb.core.convert.MappingMongoConverter;
+import org.springframework.data.mongodb.core.convert.MongoCustomConversions;
+import org.springframework.data.mongodb.core.convert.NoOpDbRefResolver;
+import org.springframework.data.mongodb.core.mapping.MongoMappingContext;
+import org.springframework.data.mongodb.core.query.Update;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class MergePatchTest {
+
+	private MergePatch mergePatch;
+	private LearningPath stored;
+
+	@BeforeEach
+	void setUp() {
+		MongoCustomConversions conversions = new MongoCustomConversions(List.of());
+		MongoMappingContext context = new MongoMappingContext();
+		context.setSimpleTypeHolder(conversions.getSimpleTypeHolder());
+		MappingMongoConverter converter = new MappingMongoConverter(NoOpDbRefResolver.INSTANCE, context);
+		converter.setCustomConversions(conversions);
+		converter.afterPropertiesSet();
+		mergePatch = new MergePatch(new ObjectMapper().registerModule(new JavaTimeModule()), converter);
+
+		stored = new LearningPath();
+		stored.setId("path-1");
+		stored.setTitle("Sourdough");
+		stored.setDescription("From starter to loaf");
+		stored.setUserId("user-1");
+		stored.setCreatedAt(LocalDateTime.of(2024, 1, 1, 9, 0));
+		stored.setTags(new ArrayList<>(List.of("baking", "bread")));
+		for (int i = 0; i < 3; i++) {
+			LearningPath.Milestone milestone = new LearningPath.Milestone();
+			milestone.setId("m" + i);
+			milestone.setTitle("Step " + i);
+			milestone.setOrderIndex(i);
+			stored.getMilestones().add(milestone);
+		}
+	}
+
+	@Test
+	void editInsideArraySetsOnlyThatElementField() {
+		Map<String, Object> patch = new HashMap<>();
+		List<Map<String, Object>> milestones = new ArrayList<>();
+		for (LearningPath.Milestone milestone : stored.getMilestones()) {
+			milestones.add(new HashMap<>(Map.of("id", milestone.getId(), "title", milestone.getTitle(),
+					"orderIndex", milestone.getOrderIndex())));
+		}
+		milestones.get(1).put("title", "Shaping");
+		patch.put("milestones", milestones);
+
+		Document update = diff(patch, Set.of());
+
+		assertEquals(new Document("$set", new Document("milestones.1.title", "Shaping")), update);
+	}
+
+	@Test
+	void appendBecomesPushAndNullBecomesUnset() {
+		Map<String, Object> patch = new HashMap<>();
+		patch.put("tags", List.of("baking", "bread", "fermentation"));
+		patch.put("description", null);
+
+		Document update = diff(patch, Set.of());
+
+		assertEquals(new Document("description", 1), update.get("$unset"));
+		Document push = (Document) update.get("$push");
+		Update.Modifier each = ((Update.Modifiers) push.get("tags")).getModifiers().iterator().next();
+		assertEquals("$each", each.getKey());
+		assertArrayEquals(new Object[] { "fermentation" }, (Object[]) each.getValue());
+		assertTrue(!update.containsKey("$set"));
+	}
+
+	@Test
+	void protectedFieldsAreIgnored() {
+		Map<String, Object> patch = new HashMap<>();
+		patch.put("userId", "someone-else");
+		patch.put("title", "Rye");
+
+		Document update = diff(patch, Set.of("userId"));
+
+		assertEquals(new Document("$set", new Document("title", "Rye")), update);
+	}
+
+	private Document diff(Map<String, Object> patch, Set<String> protectedFields) {
+		LearningPath patched = mergePatch.apply(stored, patch, protectedFields, LearningPath.class);
+		Update update = mergePatch.diff(stored, patched);
+		return update.getUpdateObject();
+	}
+}
@@ -0,0 +1,54 @@
+package com.skillshare.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class OrderKeyTest {
+
+	@Test
+	void randomInsertsKeepStrictOrder() {
+		Random random = new Random(42);
+		List<String> keys = new ArrayList<>(OrderKey.spread(5));
+		for (int i = 0; i < 5000; i++) {
+			int slot = random.nextInt(keys.size() + 1);
+			String before = slot == 0 ? null : keys.get(slot - 1);
+			String after = slot == keys.size() ? null : keys.get(slot);
+			String key = OrderKey.between(before, after);
+			assertTrue(OrderKey.isValid(key), key);
+			assertTrue(before == null || before.compareTo(key) < 0, before + " !< " + key);
+			assertTrue(after == null || key.compareTo(after) < 0, key + " !< " + after);
+			keys.add(slot, key);
+		}
+	}
+
+	@Test
+	void repeatedInsertsAtOneSpotGrowSlowly() {
+		String low = "V";
+		String high = "W";
+		for (int i = 0; i < 60; i++) {
+			high = OrderKey.between(low, high);
+		}
+		// Each insert halves a base-62 gap: about one character per six inserts
+		assertTrue(high.length() <= 2 + 60 / 5, high);
+		assertEquals("0V", OrderKey.between(null, "1"));
+	}
+
+	@Test
+	void spreadIsAscendingAndShort() {
+		List<String> keys = OrderKey.spread(200);
+		assertEquals(200, keys.size());
+		for (int i = 0; i < keys.size(); i++) {
+			assertTrue(OrderKey.isValid(keys.get(i)), keys.get(i));
+			assertTrue(keys.get(i).length() <= 3, keys.get(i));
+			assertTrue(i == 0 || keys.get(i - 1).compareTo(keys.get(i)) < 0);
+		}
+		assertThrows(IllegalArgumentException.class, () -> OrderKey.between("b", "a"));
+	}
+}
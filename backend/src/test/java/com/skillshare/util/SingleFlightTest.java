@@ -0,0 +1,107 @@
+package com.skillshare.util;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class SingleFlightTest {
+
+	@Test
+	void concurrentCallersShareOneLoad() throws Exception {
+		SimpleMeterRegistry registry = new SimpleMeterRegistry();
+		SingleFlight<String, String> flight = new SingleFlight<>("test", Duration.ofSeconds(10), registry);
+		AtomicInteger loads = new AtomicInteger();
+		CountDownLatch started = new CountDownLatch(1);
+		CountDownLatch release = new CountDownLatch(1);
+
+		ExecutorService pool = Executors.newFixedThreadPool(8);
+		try {
+			List<Future<String>> results = new ArrayList<>();
+			results.add(pool.submit(() -> flight.execute("post-1", () -> {
+				loads.incrementAndGet();
+				started.countDown();
+				await(release);
+				return "value";
+			})));
+			started.await();
+			for (int i = 0; i < 7; i++) {
+				results.add(pool.submit(() -> flight.execute("post-1", () -> {
+					loads.incrementAndGet();
+					return "other";
+				})));
+			}
+			// Give the followers time to attach to the in-flight load
+			Thread.sleep(200);
+			release.countDown();
+
+			for (Future<String> result : results) {
+				assertEquals("value", result.get(5, TimeUnit.SECONDS));
+			}
+			assertEquals(1, loads.get());
+			assertEquals(7.0, registry.get("skillshare.singleflight.calls").tag("result", "collapsed").counter().count());
+		} finally {
+			pool.shutdownNow();
+		}
+	}
+
+	@Test
+	void propagatesLeaderFailureAndForgetsIt() {
+		SingleFlight<String, String> flight = new SingleFlight<>("test", Duration.ofSeconds(1), new SimpleMeterRegistry());
+
+		assertThrows(IllegalStateException.class, () -> flight.execute("k", () -> {
+			throw new IllegalStateException("database down");
+		}));
+		assertEquals("ok", flight.execute("k", () -> "ok"));
+	}
+
+	@Test
+	void timedOutCallerRunsFallbackInsteadOfLoader() throws Exception {
+		SingleFlight<String, String> flight = new SingleFlight<>("test", Duration.ofMillis(100), new SimpleMeterRegistry());
+		AtomicInteger loads = new AtomicInteger();
+		CountDownLatch started = new CountDownLatch(1);
+		CountDownLatch release = new CountDownLatch(1);
+
+		ExecutorService pool = Executors.newSingleThreadExecutor();
+		try {
+			Future<String> leader = pool.submit(() -> flight.execute("funnel", () -> {
+				loads.incrementAndGet();
+				started.countDown();
+				await(release);
+				return "computed";
+			}, () -> "stored"));
+			started.await();
+
+			String follower = flight.execute("funnel", () -> {
+				loads.incrementAndGet();
+				return "computed again";
+			}, () -> "stored");
+			assertEquals("stored", follower);
+
+			release.countDown();
+			assertEquals("computed", leader.get(5, TimeUnit.SECONDS));
+			assertEquals(1, loads.get());
+		} finally {
+			pool.shutdownNow();
+		}
+	}
+
+	private static void await(CountDownLatch latch) {
+		try {
+			latch.await();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+	}
+}
@@ -0,0 +1,60 @@
+package com.skillshare.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TimeOrderedIdTest {
+
+	@Test
+	void idsFromOneThreadAreStrictlyIncreasing() {
+		String previous = TimeOrderedId.next();
+		for (int i = 0; i < 100000; i++) {
+			String id = TimeOrderedId.next();
+			assertEquals(26, id.length());
+			assertTrue(id.compareTo(previous) > 0, previous + " !< " + id);
+			previous = id;
+		}
+	}
+
+	@Test
+	void encodesCreationTime() {
+		long before = System.currentTimeMillis();
+		String id = TimeOrderedId.next();
+		long after = System.currentTimeMillis();
+
+		long timestamp = TimeOrderedId.timestampOf(id);
+		assertTrue(timestamp >= before && timestamp <= after);
+	}
+
+	@Test
+	void idsAreUniqueAcrossThreads() throws Exception {
+		Set<String> ids = ConcurrentHashMap.newKeySet();
+		ExecutorService pool = Executors.newFixedThreadPool(4);
+		try {
+			List<Future<?>> tasks = new ArrayList<>();
+			for (int t = 0; t < 4; t++) {
+				tasks.add(pool.submit(() -> {
+					for (int i = 0; i < 50000; i++) {
+						ids.add(TimeOrderedId.next());
+					}
+				}));
+			}
+			for (Future<?> task : tasks) {
+				task.get();
+			}
+		} finally {
+			pool.shutdownNow();
+		}
+		assertEquals(200000, ids.size());
+	}
+}
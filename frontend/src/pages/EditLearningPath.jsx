@@ -24,6 +24,8 @@ function EditLearningPath() {
   const [milestones, setMilestones] = useState([]);
   const [isPublic, setIsPublic] = useState(true);
   const [userId, setUserId] = useState('');
+  // Version the form was loaded from; the server rejects the save if the path changed since
+  const [version, setVersion] = useState(0);
 
   // Fetch the learning path data when component mounts
   useEffect(() => {
@@ -50,10 +52,12 @@ function EditLearningPath() {
         setTips(path.tips || '');
         setIsPublic(path.isPublic !== undefined ? path.isPublic : true);
         setUserId(path.userId);
+        setVersion(path.version || 0);
         
-        // Set milestones, making sure each has a resources array
+        // Set milestones in display order, making sure each has a resources array
         if (path.milestones && path.milestones.length > 0) {
-          setMilestones(path.milestones.map(m => ({
+          const sortedMilestones = [...path.milestones].sort((a, b) => a.orderIndex - b.orderIndex);
+          setMilestones(sortedMilestones.map(m => ({
             ...m,
             resources: m.resources || []
           })));
@@ -173,6 +177,7 @@ function EditLearningPath() {
         isPublic,
         tips,
         userId, // Keep the original userId
+        version,
       };
       
       // Use the user ID for authorization
@@ -185,6 +190,8 @@ function EditLearningPath() {
       console.error('Failed to update learning path:', err);
       if (err.response?.status === 403) {
         setError('You do not have permission to update this learning path');
+      } else if (err.response?.status === 409) {
+        setError('This learning path was changed elsewhere. Reload the page to get the latest version before saving.');
       } else {
         setError('Failed to update learning path. Please try again.');
       }
@@ -16,6 +16,7 @@ function LearningPathDetail() {
   const [error, setError] = useState("");
   const [showAllMilestones, setShowAllMilestones] = useState(false);
   const [likingPath, setLikingPath] = useState(false);
+  const [liked, setLiked] = useState(false);
 
   useEffect(() => {
     const fetchPathDetails = async () => {
@@ -35,6 +36,12 @@ function LearningPathDetail() {
           } catch (err) {
             console.error("Error fetching user progress:", err);
           }
+          try {
+            const likedResponse = await LearningPathService.hasLikedPath(pathId, currentUser._id || currentUser.id);
+            setLiked(likedResponse.data.liked);
+          } catch (err) {
+            console.error("Error fetching like status:", err);
+          }
         }
 
         setLoading(false);
@@ -54,14 +61,10 @@ function LearningPathDetail() {
       const response = await LearningProgressService.startProgress(pathId);
       setProgress(response.data);
       
-      // Increment the likes count on the path
-      await LearningPathService.likePath(pathId);
-      
-      // Update the path with the new like count
-      setPath(prevPath => ({
-        ...prevPath,
-        likes: (prevPath.likes || 0) + 1
-      }));
+      // Like the path; the server ignores a repeat like and returns the stored count
+      const likeResponse = await LearningPathService.likePath(pathId, currentUser._id || currentUser.id);
+      setLiked(likeResponse.data.liked);
+      setPath(prevPath => ({ ...prevPath, likes: likeResponse.data.likes }));
       
       setLikingPath(false);
       navigate(`/learning-progress/${response.data._id || response.data.id}`);
@@ -80,13 +83,14 @@ function LearningPathDetail() {
     
     try {
       setLikingPath(true);
-      await LearningPathService.likePath(pathId);
+      const userId = currentUser._id || currentUser.id;
+      const response = liked
+        ? await LearningPathService.unlikePath(pathId, userId)
+        : await LearningPathService.likePath(pathId, userId);
       
-      // Update the path with the new like count
-      setPath(prevPath => ({
-        ...prevPath,
-        likes: (prevPath.likes || 0) + 1
-      }));
+      // Show what the server stored rather than counting clicks
+      setLiked(response.data.liked);
+      setPath(prevPath => ({ ...prevPath, likes: response.data.likes }));
       
       setLikingPath(false);
     } catch (err) {
@@ -129,10 +133,13 @@ function LearningPathDetail() {
     );
   }
 
+  // Milestones are stored in creation order; orderIndex carries the display order
+  const sortedMilestones = [...(path.milestones || [])].sort((a, b) => a.orderIndex - b.orderIndex);
+
   // Display only first 3 milestones by default, unless expanded
   const displayedMilestones = showAllMilestones 
-    ? path.milestones 
-    : (path.milestones || []).slice(0, 3);
+    ? sortedMilestones 
+    : sortedMilestones.slice(0, 3);
 
   return (
     <div className="container mx-auto px-4 py-8">
@@ -338,7 +345,7 @@ function LearningPathDetail() {
                 </span>
               ) : (
                 <>
-                  <FaHeart className="mr-2" /> Like This Path
+                  <FaHeart className="mr-2" /> {liked ? "Unlike This Path" : "Like This Path"}
                 </>
               )}
             </button>
@@ -25,28 +25,21 @@ function LearningProgressPage() {
       try {
         setLoading(true);
         const userId = currentUser._id || currentUser.id;
-        const response = await LearningProgressService.getUserProgress(userId);
+        const response = await LearningProgressService.getDashboard(userId);
 
-        // Get full details for each learning progress
-        const progressDetails = await Promise.all(
-          response.data.map(async (progress) => {
-            const detailResponse = await LearningProgressService.getProgressDetail(progress._id || progress.id);
-            return detailResponse.data;
-          })
-        );
+        // The dashboard joins each enrollment with a summary of its path
+        const enrollments = response.data.enrollments.map(({ progress, path }) => ({
+          ...progress,
+          learningPath: path && { ...path, _id: path.id }
+        }));
 
-        setUserProgress(progressDetails);
+        setUserProgress(enrollments);
         setLoading(false);
 
-        // If progressId is provided in URL, select that progress
-        if (progressId) {
-          const selectedProgress = progressDetails.find(p => 
-            (p._id || p.id) === progressId
-          );
-          
-          if (selectedProgress) {
-            setSelectedProgress(selectedProgress);
-          }
+        // If progressId is provided in URL, load full milestone details for that progress only
+        if (progressId && enrollments.some(p => (p._id || p.id) === progressId)) {
+          const detailResponse = await LearningProgressService.getProgressDetail(progressId);
+          setSelectedProgress(detailResponse.data);
         }
       } catch (err) {
         console.error("Failed to fetch user progress:", err);
@@ -116,9 +109,11 @@ function LearningProgressPage() {
   // Add a function to uncomplete a milestone
   const uncompleteMilestone = async (progressId, milestoneId) => {
     try {
-      // First find the completed milestone to delete
-      const progress = userProgress.find(p => (p._id || p.id) === progressId);
-      if (!progress || !progress.completedMilestones) return;
+      // First find the completed milestone to delete; only the selected progress has full milestone details
+      const progress = selectedProgress && (selectedProgress._id || selectedProgress.id) === progressId
+        ? selectedProgress
+        : userProgress.find(p => (p._id || p.id) === progressId);
+      if (!progress || !progress.completedMilestones || !progress.learningPath?.milestones) return;
       
       // Check if this is the last milestone in sequence - only allow uncompleting the most recent milestone
       const sortedMilestones = [...progress.learningPath.milestones].sort((a, b) => a.orderIndex - b.orderIndex);
@@ -387,7 +382,7 @@ function LearningProgressPage() {
           //if (!path) return null;
           
           // Calculate total milestones and completed ones
-          const totalMilestones = path?.milestones?.length || 0;
+          const totalMilestones = path?.milestones?.length ?? path?.milestoneCount ?? 0;
           const completedCount = progress.completedMilestones?.length || 0;
           
           // Generate node indicators for each milestone
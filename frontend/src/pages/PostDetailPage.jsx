@@ -15,6 +15,7 @@ function PostDetailPage() {
   const [showDeleteModal, setShowDeleteModal] = useState(false);
   const [editingCommentId, setEditingCommentId] = useState(null);
   const [editCommentContent, setEditCommentContent] = useState("");
+  const [isLiked, setIsLiked] = useState(false);
 
   useEffect(() => {
     // If no postId is provided, redirect to posts listing
@@ -39,14 +40,22 @@ function PostDetailPage() {
         throw new Error("Post not found");
       }
       
-      // Ensure likes and comments arrays exist
+      // Ensure the like count and comments array exist
       const postData = {
         ...response.data,
-        likes: response.data.likes || [],
+        likes: response.data.likes || 0,
         comments: response.data.comments || []
       };
       
       setPost(postData);
+      if (isAuthenticated && currentUser) {
+        try {
+          const likedResponse = await PostService.hasLikedPost(postId, currentUser._id || currentUser.id);
+          setIsLiked(likedResponse.data.liked);
+        } catch (err) {
+          console.error("Error fetching like status:", err);
+        }
+      }
       setLoading(false);
     } catch (err) {
       console.error("Error fetching post:", err);
@@ -62,22 +71,14 @@ function PostDetailPage() {
     }
 
     try {
-      await PostService.likePost(postId);
+      const currentUserId = currentUser._id || currentUser.id;
+      const response = isLiked
+        ? await PostService.unlikePost(postId, currentUserId)
+        : await PostService.likePost(postId, currentUserId);
       
-      // Update post in the state
-      setPost(prevPost => {
-        // Ensure prevPost.likes is an array
-        const currentLikes = Array.isArray(prevPost.likes) ? prevPost.likes : [];
-        const currentUserId = currentUser._id || currentUser.id;
-        const alreadyLiked = currentLikes.includes(currentUserId);
-        
-        return {
-          ...prevPost,
-          likes: alreadyLiked 
-            ? currentLikes.filter(id => id !== currentUserId)
-            : [...currentLikes, currentUserId]
-        };
-      });
+      // Show what the server stored rather than counting clicks
+      setIsLiked(response.data.liked);
+      setPost(prevPost => ({ ...prevPost, likes: response.data.likes }));
     } catch (err) {
       console.error("Failed to like post:", err);
     }
@@ -194,13 +195,6 @@ function PostDetailPage() {
       (post.userId && (currentUser._id === post.userId || currentUser.id === post.userId))
     );
   
-  // Fix the isLiked calculation with a more robust approach
-  let isLiked = false;
-  if (isAuthenticated && currentUser && post && post.likes) {
-    const currentUserId = currentUser._id || currentUser.id;
-    isLiked = Array.isArray(post.likes) && post.likes.includes(currentUserId);
-  }
-
   const handleDeletePost = async () => {
     // Check if the user is the author
     if (!isAuthor) {
@@ -250,7 +244,7 @@ function PostDetailPage() {
   }
   
   // Ensure likes and comments exist
-  const likes = Array.isArray(post.likes) ? post.likes : [];
+  const likes = post.likes || 0;
   const comments = Array.isArray(post.comments) ? post.comments : [];
 
   return (
@@ -392,7 +386,7 @@ function PostDetailPage() {
                 disabled={!isAuthenticated}
               >
                 <i className="bi bi-heart-fill me-1"></i>
-                {likes.length} {likes.length === 1 ? "Like" : "Likes"}
+                {likes} {likes === 1 ? "Like" : "Likes"}
               </button>
               
               <button 
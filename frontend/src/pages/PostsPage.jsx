@@ -51,7 +51,7 @@ function PostsPage() {
         comments: post.comments || []
       }));
 
-      setPosts(processedPosts);
+      setPosts(await withLikeState(processedPosts));
       setLoading(false);
     } catch (err) {
       setError("Failed to load posts");
@@ -60,6 +60,27 @@ function PostsPage() {
     }
   };
 
+  // The list endpoints don't know the viewer, so ask which of these posts they liked
+  const withLikeState = async (postList) => {
+    if (!isAuthenticated || !currentUser || postList.length === 0) {
+      return postList;
+    }
+    try {
+      const userId = currentUser._id || currentUser.id;
+      const ids = postList.map(post => post._id);
+      const chunks = [];
+      for (let i = 0; i < ids.length; i += 100) {
+        chunks.push(ids.slice(i, i + 100));
+      }
+      const responses = await Promise.all(chunks.map(chunk => PostService.getLikedPostIds(chunk, userId)));
+      const liked = new Set(responses.flatMap(response => response.data));
+      return postList.map(post => ({ ...post, liked: liked.has(post._id) }));
+    } catch (err) {
+      console.error("Error fetching like state:", err);
+      return postList;
+    }
+  };
+
   const handleSearch = async (e) => {
     e.preventDefault();
     if (!searchTerm.trim()) {
@@ -70,7 +91,7 @@ function PostsPage() {
     try {
       setLoading(true);
       const response = await PostService.searchPosts(searchTerm);
-      setPosts(response.data);
+      setPosts(await withLikeState(response.data.map(post => ({ ...post, _id: post._id || post.id }))));
       setLoading(false);
     } catch (err) {
       setError("Failed to search posts");
@@ -86,21 +107,16 @@ function PostsPage() {
     }
 
     try {
-      await PostService.likePost(postId);
-
-      setPosts(posts.map(post => {
-        if (post._id === postId) {
-          const currentLikes = Array.isArray(post.likes) ? post.likes : [];
-          const alreadyLiked = currentLikes.includes(currentUser._id);
-          return {
-            ...post,
-            likes: alreadyLiked 
-              ? currentLikes.filter(id => id !== currentUser._id)
-              : [...currentLikes, currentUser._id]
-          };
-        }
-        return post;
-      }));
+      const userId = currentUser._id || currentUser.id;
+      const target = posts.find(post => post._id === postId);
+      const response = target?.liked
+        ? await PostService.unlikePost(postId, userId)
+        : await PostService.likePost(postId, userId);
+
+      // The server answers with what it stored, so repeat clicks never drift the count
+      setPosts(posts.map(post => post._id === postId
+        ? { ...post, liked: response.data.liked, likes: response.data.likes }
+        : post));
     } catch (err) {
       console.error("Failed to like post:", err);
     }
@@ -592,20 +608,20 @@ function PostsPage() {
                     <div className="flex items-center gap-3">
                       <button 
                         className={`flex items-center ${
-                          isAuthenticated && post.likes && Array.isArray(post.likes) && post.likes.includes(currentUser?._id)
+                          isAuthenticated && post.liked
                             ? "text-red-500" 
                             : "text-gray-500 hover:text-red-500"
                         } transition-colors group`}
                         onClick={() => likePost(post._id)}
                       >
                         <svg xmlns="http://www.w3.org/2000/svg" className="h-6 w-6 mr-1.5 group-hover:scale-110 transition-transform" fill={
-                          isAuthenticated && post.likes && Array.isArray(post.likes) && post.likes.includes(currentUser?._id)
+                          isAuthenticated && post.liked
                             ? "currentColor" 
                             : "none"
                         } viewBox="0 0 24 24" stroke="currentColor">
                           <path strokeLinecap="round" strokeLinejoin="round" strokeWidth={2} d="M4.318 6.318a4.5 4.5 0 000 6.364L12 20.364l7.682-7.682a4.5 4.5 0 00-6.364-6.364L12 7.636l-1.318-1.318a4.5 4.5 0 00-6.364 0z" />
                         </svg>
-                        <span className="font-medium">{Array.isArray(post.likes) ? post.likes.length : 0}</span>
+                        <span className="font-medium">{post.likes || 0}</span>
                       </button>
                       
                       <Link to={`/posts/${post._id}`} className="flex items-center text-gray-500 hover:text-purple-500 transition-colors group">
@@ -42,8 +42,16 @@ const LearningPathService = {
   },
   
   // Like a path
-  likePath: (pathId) => {
-    return api.put(`/paths/${pathId}/like`);
+  likePath: (pathId, userId) => {
+    return api.put(`/paths/${pathId}/like?userId=${userId}`);
+  },
+
+  unlikePath: (pathId, userId) => {
+    return api.delete(`/paths/${pathId}/like?userId=${userId}`);
+  },
+
+  hasLikedPath: (pathId, userId) => {
+    return api.get(`/paths/${pathId}/like?userId=${userId}`);
   },
   
   // Get public paths
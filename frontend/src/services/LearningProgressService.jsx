@@ -11,6 +11,11 @@ const LearningProgressService = {
     return api.get(`/progress/${progressId}`);
   },
 
+  // Every enrollment of a user with a summary of its path, in one request
+  getDashboard: (userId) => {
+    return api.get(`/users/${userId}/dashboard`);
+  },
+
   // Get progress for a specific user and learning path
   getProgressByUserAndPath: (userId, pathId) => {
     return api.get(`/progress/users/${userId}/paths/${pathId}`);
@@ -61,8 +66,16 @@ const LearningProgressService = {
   },
 
   // Like a progress
-  likeProgress: (progressId) => {
-    return api.put(`/progress/${progressId}/like`);
+  likeProgress: (progressId, userId) => {
+    return api.put(`/progress/${progressId}/like?userId=${userId}`);
+  },
+
+  unlikeProgress: (progressId, userId) => {
+    return api.delete(`/progress/${progressId}/like?userId=${userId}`);
+  },
+
+  hasLikedProgress: (progressId, userId) => {
+    return api.get(`/progress/${progressId}/like?userId=${userId}`);
   },
 
   // Get recent progress for a user
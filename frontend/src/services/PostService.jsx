@@ -58,10 +58,22 @@ const PostService = {
     return api.delete(`/posts/${postId}`);
   },
 
-  // Like/unlike a post
-  likePost: (postId) => {
-    // Try POST method instead of PUT if that's what your backend expects
-    return api.post(`/posts/${postId}/like`);
+  // Like/unlike a post; repeat likes by the same user are ignored
+  likePost: (postId, userId) => {
+    return api.put(`/posts/${postId}/like?userId=${userId}`);
+  },
+
+  unlikePost: (postId, userId) => {
+    return api.delete(`/posts/${postId}/like?userId=${userId}`);
+  },
+
+  hasLikedPost: (postId, userId) => {
+    return api.get(`/posts/${postId}/like?userId=${userId}`);
+  },
+
+  // Ids among postIds that the user has liked, for marking a whole feed at once
+  getLikedPostIds: (postIds, userId) => {
+    return api.get(`/posts/liked?ids=${postIds.map(encodeURIComponent).join(",")}&userId=${userId}`);
   },
 
   // Add a comment to a post
@@ -84,8 +96,12 @@ const PostService = {
   },
 
   // Like a comment
-  likeComment: (postId, commentId) => {
-    return api.post(`/posts/${postId}/comments/${commentId}/like`);
+  likeComment: (postId, commentId, userId) => {
+    return api.post(`/posts/${postId}/comments/${commentId}/like?userId=${userId}`);
+  },
+
+  unlikeComment: (postId, commentId, userId) => {
+    return api.delete(`/posts/${postId}/comments/${commentId}/like?userId=${userId}`);
   },
 
   // Search posts by keyword